@@ -0,0 +1,96 @@
+package com.esports.arena.benchmarks;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.model.TournamentFormat;
+import com.esports.arena.service.BracketGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Bracket generation alone (no database): elimination brackets and a mid-event Swiss round for
+// open-qualifier sizes, and full round-robin schedules, which grow with the square of the teams
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BracketBenchmark {
+
+    private static final BracketGenerator.Schedule SCHEDULE =
+            new BracketGenerator.Schedule(LocalDateTime.of(2025, 3, 1, 12, 0), Duration.ofHours(1), 16);
+
+    @Param({"128", "1024", "4096"})
+    public int teams;
+
+    private List<Integer> seeds;
+    private List<Match> swissPlayed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        seeds = IntStream.rangeClosed(1, teams).boxed().toList();
+        // Three Swiss rounds with random results, so round four has standings and rematches to avoid
+        Random random = new Random(1);
+        swissPlayed = new ArrayList<>();
+        for (int round = 1; round <= 3; round++) {
+            List<Match> pairings = round == 1
+                    ? BracketGenerator.generate(TournamentFormat.SWISS, 1, seeds, SCHEDULE)
+                    : BracketGenerator.swissRound(1, seeds, swissPlayed, round, SCHEDULE);
+            BracketGenerator.assignIds(pairings, swissPlayed.size() + 1);
+            for (Match match : pairings) {
+                match.endMatch(random.nextBoolean() ? match.getTeam1Id() : match.getTeam2Id());
+            }
+            swissPlayed.addAll(pairings);
+        }
+    }
+
+    @Benchmark
+    public List<Match> singleElimination() {
+        return BracketGenerator.generate(TournamentFormat.SINGLE_ELIMINATION, 1, seeds, SCHEDULE);
+    }
+
+    @Benchmark
+    public List<Match> doubleElimination() {
+        return BracketGenerator.generate(TournamentFormat.DOUBLE_ELIMINATION, 1, seeds, SCHEDULE);
+    }
+
+    @Benchmark
+    public List<Match> swissRound() {
+        return BracketGenerator.swissRound(1, seeds, swissPlayed, 4, SCHEDULE);
+    }
+
+    @State(Scope.Benchmark)
+    public static class RoundRobinTeams {
+        @Param({"16", "64", "256"})
+        public int roundRobinTeams;
+
+        List<Integer> seeds;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            seeds = IntStream.rangeClosed(1, roundRobinTeams).boxed().toList();
+        }
+    }
+
+    @Benchmark
+    public List<Match> roundRobin(RoundRobinTeams roundRobin) {
+        return BracketGenerator.generate(TournamentFormat.ROUND_ROBIN, 1, roundRobin.seeds, SCHEDULE);
+    }
+}
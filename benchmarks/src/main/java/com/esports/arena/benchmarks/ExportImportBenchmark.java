@@ -0,0 +1,129 @@
+package com.esports.arena.benchmarks;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.dao.TournamentDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.service.BulkImporter;
+import com.esports.arena.service.JsonExportImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Mirrors the organizer dashboard's Export Data / Import Data handlers. The imports write
+// every entity, so they run single-shot against a freshly seeded database each iteration:
+// importData is the old one-create-per-entity loop, bulkImportData the batched BulkImporter.
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportImportBenchmark {
+
+    private PlayerDAO playerDAO;
+    private TeamDAO teamDAO;
+    private TournamentDAO tournamentDAO;
+    private MatchDAO matchDAO;
+    private JsonExportImportService jsonService;
+    private File exportFile;
+    private File importFile;
+
+    @Setup(Level.Trial)
+    public void setup(SeededDatabase db) throws Exception {
+        playerDAO = new PlayerDAO();
+        teamDAO = new TeamDAO();
+        tournamentDAO = new TournamentDAO();
+        matchDAO = new MatchDAO();
+        jsonService = new JsonExportImportService();
+        exportFile = File.createTempFile("arena-export", ".json");
+        importFile = File.createTempFile("arena-import", ".json");
+        if (!exportAll(importFile)) {
+            throw new IllegalStateException("Could not prepare the import file");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reseed(SeededDatabase db) {
+        db.seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(exportFile.toPath());
+        Files.deleteIfExists(importFile.toPath());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public boolean exportData(SeededDatabase db) {
+        return exportAll(exportFile);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public JsonExportImportService.ExportData parseImportFile() {
+        return jsonService.importAllDataAsync(importFile.getAbsolutePath()).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public int importData(SeededDatabase db) {
+        JsonExportImportService.ExportData data = jsonService.importAllDataAsync(importFile.getAbsolutePath()).join();
+        int created = 0;
+        for (Player player : data.getPlayers()) {
+            created += playerDAO.createPlayer(player) > 0 ? 1 : 0;
+        }
+        for (Team team : data.getTeams()) {
+            created += teamDAO.createTeam(team) > 0 ? 1 : 0;
+        }
+        for (Tournament tournament : data.getTournaments()) {
+            created += tournamentDAO.createTournament(tournament) > 0 ? 1 : 0;
+        }
+        for (Match match : data.getMatches()) {
+            created += matchDAO.createMatch(match) > 0 ? 1 : 0;
+        }
+        return created;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public int bulkImportData(SeededDatabase db) throws Exception {
+        return new BulkImporter().importFile(importFile.toPath(), null).totalRows();
+    }
+
+    private boolean exportAll(File file) {
+        JsonExportImportService.ExportData data = new JsonExportImportService.ExportData();
+        data.setPlayers(playerDAO.getAllPlayers());
+        data.setTeams(teamDAO.getAllTeams());
+        data.setTournaments(tournamentDAO.getAllTournaments());
+        data.setMatches(matchDAO.getAllMatches());
+        List<PlayerMatchStats> allStats = new ArrayList<>();
+        for (Match match : data.getMatches()) {
+            if (match.getPlayerStats() != null) {
+                allStats.addAll(match.getPlayerStats());
+            }
+        }
+        data.setStats(allStats);
+        return jsonService.exportAllDataAsync(data, file.getAbsolutePath()).join();
+    }
+}
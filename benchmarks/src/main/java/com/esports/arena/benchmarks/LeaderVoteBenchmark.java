@@ -0,0 +1,61 @@
+package com.esports.arena.benchmarks;
+
+import com.esports.arena.dao.LeaderVoteDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Vote counts, the current leader and a changed vote for one team at a time, walking across all teams
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderVoteBenchmark {
+
+    private LeaderVoteDAO voteDAO;
+    private int teams;
+    private int nextTeam;
+    private int nextVoter;
+
+    @Setup(Level.Trial)
+    public void setup(SeededDatabase db) {
+        voteDAO = new LeaderVoteDAO();
+        teams = db.teamCount();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> voteCounts(SeededDatabase db) {
+        nextTeam = nextTeam % teams + 1;
+        return voteDAO.getVoteCounts(nextTeam);
+    }
+
+    @Benchmark
+    public Integer currentLeader(SeededDatabase db) {
+        nextTeam = nextTeam % teams + 1;
+        return voteDAO.getCurrentLeader(nextTeam);
+    }
+
+    // Cycles voters and candidates through the team, so most calls change an existing vote
+    @Benchmark
+    public boolean castVote(SeededDatabase db) {
+        nextTeam = nextTeam % teams + 1;
+        int firstPlayer = (nextTeam - 1) * SeededDatabase.TEAM_SIZE + 1;
+        nextVoter++;
+        int voter = firstPlayer + nextVoter % SeededDatabase.TEAM_SIZE;
+        int candidate = firstPlayer + (nextVoter / SeededDatabase.TEAM_SIZE) % SeededDatabase.TEAM_SIZE;
+        return voteDAO.castVote(nextTeam, voter, candidate);
+    }
+}
@@ -0,0 +1,65 @@
+package com.esports.arena.benchmarks;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Team;
+import com.esports.arena.service.LeaderboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    private TeamDAO teamDAO;
+    private LeaderboardService standings;
+    private int teams;
+    private int nextTeam;
+
+    @Setup(Level.Trial)
+    public void setup(SeededDatabase db) {
+        teamDAO = new TeamDAO();
+        standings = new LeaderboardService(teamDAO, new MatchDAO());
+        standings.getStandings(null);
+        standings.getStandings(1);
+        teams = db.teamCount();
+    }
+
+    // Download and sort every team, as a refresh did before the standings were kept in memory
+    @Benchmark
+    public List<Team> leaderboard(SeededDatabase db) {
+        return teamDAO.getLeaderboard();
+    }
+
+    @Benchmark
+    public List<Team> standingsTop10(SeededDatabase db) {
+        return standings.getTop(null, 10);
+    }
+
+    @Benchmark
+    public int standingsRank(SeededDatabase db) {
+        nextTeam = nextTeam % teams + 1;
+        return standings.getRank(null, nextTeam);
+    }
+
+    @Benchmark
+    public List<Team> tournamentStandings(SeededDatabase db) {
+        return standings.getStandings(1);
+    }
+}
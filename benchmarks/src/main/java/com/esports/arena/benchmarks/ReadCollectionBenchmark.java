@@ -0,0 +1,40 @@
+package com.esports.arena.benchmarks;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.service.RealtimeDatabaseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Whole-collection reads: the buffered readCollection path against the streaming one
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReadCollectionBenchmark {
+
+    @Benchmark
+    public Map<String, Player> readPlayers(SeededDatabase db) throws Exception {
+        return RealtimeDatabaseService.readCollection("players", Player.class);
+    }
+
+    @Benchmark
+    public void streamPlayers(SeededDatabase db, Blackhole blackhole) throws Exception {
+        RealtimeDatabaseService.forEachInCollection("players", Player.class, (key, player) -> blackhole.consume(player));
+    }
+
+    @Benchmark
+    public Map<String, Match> readMatches(SeededDatabase db) throws Exception {
+        return RealtimeDatabaseService.readCollection("matches", Match.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.esports.arena.benchmarks;
+
+import com.esports.arena.dao.LeaderVoteDAO;
+import com.esports.arena.model.LeaderVote;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.service.EntityCache;
+import com.esports.arena.service.RealtimeDatabaseService;
+import com.esports.arena.support.LocalFirebaseServer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+// A LocalFirebaseServer seeded with a deterministic dataset scaled by the number of players:
+// teams of TEAM_SIZE, TOURNAMENTS tournaments, one match per MATCH_EVERY players (each with a
+// stat line for all ten players) and a handful of leader votes per team. The client cache is
+// off so every call pays for the request and the deserialization.
+@State(Scope.Benchmark)
+public class SeededDatabase {
+    static final int TEAM_SIZE = 5;
+    static final int TOURNAMENTS = 10;
+    static final int MATCH_EVERY = 10;
+
+    @Param({"1000", "10000", "100000"})
+    public int players;
+
+    LocalFirebaseServer server;
+    private String previousUrl;
+    private EntityCache previousCache;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    int teamCount() {
+        return Math.max(2, players / TEAM_SIZE);
+    }
+
+    int matchCount() {
+        return Math.max(1, players / MATCH_EVERY);
+    }
+
+    void seed() {
+        server.clear();
+        Random random = new Random(42);
+
+        Map<String, Player> playerNodes = new LinkedHashMap<>();
+        for (int id = 1; id <= players; id++) {
+            Player player = new Player("player" + id, "Player " + id, "player" + id + "@arena.test", "DPS");
+            player.setId(id);
+            player.setTeamId(teamOf(id));
+            player.setJoinDate(LocalDate.of(2024, 1, 1).plusDays(id % 365));
+            player.setTotalKills(random.nextInt(2000));
+            player.setTotalDeaths(random.nextInt(2000));
+            player.setTotalAssists(random.nextInt(2000));
+            player.setMatchesPlayed(random.nextInt(200));
+            playerNodes.put(String.valueOf(id), player);
+        }
+        server.seed("players", playerNodes);
+
+        Map<String, Team> teamNodes = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> voteNodes = new LinkedHashMap<>();
+        for (int id = 1; id <= teamCount(); id++) {
+            Team team = new Team("Team " + id, "T" + id, id % 2 == 0 ? "EU" : "NA");
+            team.setId(id);
+            team.setWins(random.nextInt(50));
+            team.setLosses(random.nextInt(50));
+            team.setDraws(random.nextInt(5));
+            teamNodes.put(String.valueOf(id), team);
+
+            Map<String, LeaderVote> votes = new LinkedHashMap<>();
+            Map<Integer, Integer> tallies = new LinkedHashMap<>();
+            int firstPlayer = (id - 1) * TEAM_SIZE + 1;
+            for (int voter = 0; voter < TEAM_SIZE; voter++) {
+                LeaderVote vote = new LeaderVote(id, firstPlayer + voter, firstPlayer + random.nextInt(TEAM_SIZE));
+                vote.setId((id - 1) * TEAM_SIZE + voter + 1);
+                votes.put(String.valueOf(vote.getVoterId()), vote);
+                tallies.merge(vote.getCandidateId(), 1, Integer::sum);
+            }
+            Map<String, Object> election = new LinkedHashMap<>();
+            election.put("votes", votes);
+            election.put("tallies", tallies);
+            election.put("leader", LeaderVoteDAO.leaderOf(tallies));
+            voteNodes.put(String.valueOf(id), election);
+        }
+        server.seed("teams", teamNodes);
+        server.seed("leader_votes", voteNodes);
+
+        Map<String, Tournament> tournamentNodes = new LinkedHashMap<>();
+        for (int id = 1; id <= TOURNAMENTS; id++) {
+            Tournament tournament = new Tournament("Cup " + id, "Valorant", "Single Elimination",
+                    LocalDate.of(2025, 1, id), LocalDate.of(2025, 2, id), 10_000, 16);
+            tournament.setId(id);
+            for (int t = 0; t < 16 && t < teamCount(); t++) {
+                tournament.getTeamIds().add((id * 16 + t) % teamCount() + 1);
+            }
+            tournamentNodes.put(String.valueOf(id), tournament);
+        }
+        server.seed("tournaments", tournamentNodes);
+
+        Map<String, Match> matchNodes = new LinkedHashMap<>();
+        int statId = 1;
+        for (int id = 1; id <= matchCount(); id++) {
+            int team1 = (id * 2 - 2) % teamCount() + 1;
+            int team2 = (id * 2 - 1) % teamCount() + 1;
+            Match match = new Match(id % TOURNAMENTS + 1, team1, team2,
+                    LocalDateTime.of(2025, 1, 1, 18, 0).plusHours(id), "Round " + (id % 5 + 1));
+            match.setId(id);
+            match.setTeam1Score(random.nextInt(14));
+            match.setTeam2Score(random.nextInt(14));
+            match.setStatus(Match.MatchStatus.COMPLETED);
+            match.setWinnerId(match.getTeam1Score() >= match.getTeam2Score() ? team1 : team2);
+            for (int team : new int[] {team1, team2}) {
+                for (int slot = 0; slot < TEAM_SIZE; slot++) {
+                    int playerId = (team - 1) * TEAM_SIZE + slot + 1;
+                    if (playerId > players) {
+                        continue;
+                    }
+                    PlayerMatchStats stats = new PlayerMatchStats(id, playerId);
+                    stats.setId(statId++);
+                    stats.setKills(random.nextInt(30));
+                    stats.setDeaths(random.nextInt(30));
+                    stats.setAssists(random.nextInt(30));
+                    match.getPlayerStats().add(stats);
+                }
+            }
+            matchNodes.put(String.valueOf(id), match);
+        }
+        server.seed("matches", matchNodes);
+
+        server.seed("counters/players", players);
+        server.seed("counters/teams", teamCount());
+        server.seed("counters/tournaments", TOURNAMENTS);
+        server.seed("counters/matches", matchCount());
+        server.seed("counters/playerMatchStats", statId - 1);
+        server.seed("counters/leaderVotes", teamCount() * TEAM_SIZE);
+    }
+
+    private int teamOf(int playerId) {
+        return Math.min(teamCount(), (playerId - 1) / TEAM_SIZE + 1);
+    }
+}
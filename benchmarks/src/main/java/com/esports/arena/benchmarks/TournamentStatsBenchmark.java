@@ -0,0 +1,56 @@
+package com.esports.arena.benchmarks;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.service.TournamentStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Tournament stats end to end (match query + player read + aggregation) and the aggregation alone
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TournamentStatsBenchmark {
+
+    private TournamentStatsService statsService;
+    private MatchDAO matchDAO;
+    private PlayerDAO playerDAO;
+    private List<Match> matches;
+    private List<Player> players;
+
+    @Setup(Level.Trial)
+    public void setup(SeededDatabase db) {
+        statsService = new TournamentStatsService();
+        matchDAO = new MatchDAO();
+        playerDAO = new PlayerDAO();
+        matches = matchDAO.getMatchesByTournament(1);
+        players = playerDAO.getAllPlayers();
+    }
+
+    @Benchmark
+    public TournamentStatsService.TournamentStatsSnapshot fetchAndAggregate(SeededDatabase db) {
+        return statsService.getTournamentStats(1);
+    }
+
+    @Benchmark
+    public TournamentStatsService.TournamentStatsSnapshot aggregateOnly() {
+        return TournamentStatsService.aggregate(matches, players);
+    }
+}
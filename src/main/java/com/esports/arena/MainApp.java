@@ -3,6 +3,10 @@ package com.esports.arena;
 import java.io.IOException;
 
 import com.esports.arena.model.Player;
+import com.esports.arena.service.IoExecutor;
+import com.esports.arena.service.RealtimeDatabaseService;
+import com.esports.arena.service.SnapshotStore;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -154,6 +158,11 @@ public class MainApp extends Application {
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 primaryStage.close();
+                SnapshotStore.shared().save();
+                UiTaskScheduler.shared().shutdown();
+                // Let in-flight writes finish before the backend is closed
+                IoExecutor.shared().close();
+                RealtimeDatabaseService.shutdown();
                 System.exit(0);
             }
         });
@@ -1,24 +1,25 @@
 package com.esports.arena;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import com.esports.arena.dao.LeaderVoteDAO;
 import com.esports.arena.dao.MatchDAO;
 import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.dao.TeamDAO;
 import com.esports.arena.dao.TournamentDAO;
-import com.esports.arena.model.Match;
-import com.esports.arena.model.PlayerMatchStats;
 import com.esports.arena.model.Team;
+import com.esports.arena.service.BulkImporter;
 import com.esports.arena.service.JsonExportImportService;
+import com.esports.arena.service.SnapshotStore;
 import com.esports.arena.tabs.LeaderboardTabController;
 import com.esports.arena.tabs.MatchesTabController;
 import com.esports.arena.tabs.PlayersTabController;
 import com.esports.arena.tabs.TeamsTabController;
 import com.esports.arena.tabs.TournamentsTabController;
 import com.esports.arena.util.LoadingDialog;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -113,7 +114,7 @@ public class OrganizerDashboardController {
                 matchesTabController.updateMatchesList();
             }
             if (leaderboardTabController != null) {
-                leaderboardTabController.updateLeaderboard();
+                leaderboardTabController.refreshLeaderboard();
             }
             
             // Hide loading after a short delay to ensure all updates start
@@ -129,7 +130,7 @@ public class OrganizerDashboardController {
         
         refreshTask.setOnFailed(e -> LoadingDialog.hideLoading());
         
-        new Thread(refreshTask).start();
+        UiTaskScheduler.shared().runOnce("dashboard:refresh", refreshTask);
     }
 
     private void initializeTabControllers() {
@@ -235,7 +236,25 @@ public class OrganizerDashboardController {
             LoadingDialog.hideLoading();
         });
 
-        new Thread(loadTeamsTask).start();
+        UiTaskScheduler.shared().runOnce("dashboard:teams", loadTeamsTask);
+    }
+
+    // Closes the tabs' database streams when leaving the dashboard
+    private void stopLiveUpdates() {
+        if (teamsTabController != null) {
+            teamsTabController.stopLiveUpdates();
+        }
+        if (playersTabController != null) {
+            playersTabController.stopLiveUpdates();
+        }
+        if (matchesTabController != null) {
+            matchesTabController.stopLiveUpdates();
+        }
+        if (leaderboardTabController != null) {
+            leaderboardTabController.stopLiveUpdates();
+        }
+        // Next time the dashboard opens with this data and only catches up on changes
+        SnapshotStore.shared().save();
     }
 
     @FXML
@@ -247,6 +266,7 @@ public class OrganizerDashboardController {
 
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
+                stopLiveUpdates();
                 mainApp.showMainMenu();
             }
         });
@@ -256,8 +276,9 @@ public class OrganizerDashboardController {
     private void handleExportData() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Export Data");
-        fileChooser.getExtensionFilters().add(
-                new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON Files", "*.json"),
+                new FileChooser.ExtensionFilter("Compressed JSON Files", "*.json.gz"));
         File file = fileChooser.showSaveDialog(mainTabPane.getScene().getWindow());
 
         if (file != null) {
@@ -266,30 +287,10 @@ public class OrganizerDashboardController {
             Task<Boolean> exportTask = new Task<>() {
                 @Override
                 protected Boolean call() {
-                    try {
-                        JsonExportImportService.ExportData data = new JsonExportImportService.ExportData();
-                        
-                        // Gather all data
-                        data.setPlayers(playerDAO.getAllPlayers());
-                        data.setTeams(teamDAO.getAllTeams());
-                        data.setTournaments(tournamentDAO.getAllTournaments());
-                        data.setMatches(matchDAO.getAllMatches());
-                        
-                        // Collect all player match stats from all matches
-                        List<PlayerMatchStats> allStats = new ArrayList<>();
-                        for (Match match : data.getMatches()) {
-                            if (match.getPlayerStats() != null) {
-                                allStats.addAll(match.getPlayerStats());
-                            }
-                        }
-                        data.setStats(allStats);
-                        
-                        return jsonService.exportAllDataAsync(data, file.getAbsolutePath()).join();
-                    } catch (Exception e) {
-                        System.err.println("Export error: " + e.getMessage());
-                        e.printStackTrace();
-                        return false;
-                    }
+                    // Streamed page by page from the database into the file; nothing is gathered first
+                    JsonExportImportService.ExportResult result = jsonService.exportDatabaseAsync(file.getAbsolutePath(),
+                            JsonExportImportService.ExportOptions.forFile(file.getName()), null).join();
+                    return result != null;
                 }
             };
 
@@ -311,7 +312,7 @@ public class OrganizerDashboardController {
                     exportTask.getException().getMessage());
             });
 
-            new Thread(exportTask).start();
+            UiTaskScheduler.shared().runOnce("dashboard:export", exportTask);
         }
     }
 
@@ -322,7 +323,7 @@ public class OrganizerDashboardController {
         confirmAlert.setTitle("Import Data");
         confirmAlert.setHeaderText("Import data from JSON file?");
         confirmAlert.setContentText("Warning: This will add imported data to the existing database.\n" +
-                "Duplicate IDs may cause conflicts.\n\nContinue?");
+                "Imported records are given new IDs.\n\nContinue?");
         
         if (confirmAlert.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
             return;
@@ -331,7 +332,7 @@ public class OrganizerDashboardController {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Import Data");
         fileChooser.getExtensionFilters().add(
-                new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+                new FileChooser.ExtensionFilter("JSON Files", "*.json", "*.json.gz"));
         File file = fileChooser.showOpenDialog(mainTabPane.getScene().getWindow());
 
         if (file != null) {
@@ -340,69 +341,21 @@ public class OrganizerDashboardController {
             Task<Boolean> importTask = new Task<>() {
                 @Override
                 protected Boolean call() {
-                    try {
-                        JsonExportImportService.ExportData data = 
-                            jsonService.importAllDataAsync(file.getAbsolutePath()).join();
-                        
-                        if (data == null) {
-                            return false;
-                        }
-                        
-                        int playersCount = 0, teamsCount = 0, tournamentsCount = 0, 
-                            matchesCount = 0, statsCount = 0;
-                        
-                        // Import players
-                        if (data.getPlayers() != null) {
-                            for (com.esports.arena.model.Player player : data.getPlayers()) {
-                                if (playerDAO.createPlayer(player) > 0) {
-                                    playersCount++;
-                                }
-                            }
-                        }
-                        
-                        // Import teams
-                        if (data.getTeams() != null) {
-                            for (Team team : data.getTeams()) {
-                                if (teamDAO.createTeam(team) > 0) {
-                                    teamsCount++;
-                                }
-                            }
-                        }
-                        
-                        // Import tournaments
-                        if (data.getTournaments() != null) {
-                            for (com.esports.arena.model.Tournament tournament : data.getTournaments()) {
-                                if (tournamentDAO.createTournament(tournament) > 0) {
-                                    tournamentsCount++;
-                                }
-                            }
-                        }
-                        
-                        // Import matches (with their stats embedded)
-                        if (data.getMatches() != null) {
-                            for (Match match : data.getMatches()) {
-                                if (matchDAO.createMatch(match) > 0) {
-                                    matchesCount++;
-                                    if (match.getPlayerStats() != null) {
-                                        statsCount += match.getPlayerStats().size();
-                                    }
-                                }
-                            }
-                        }
-                        
-                        updateMessage("Imported:\n" +
-                            playersCount + " players\n" +
-                            teamsCount + " teams\n" +
-                            tournamentsCount + " tournaments\n" +
-                            matchesCount + " matches\n" +
-                            statsCount + " player stats");
-                        
-                        return true;
-                    } catch (Exception e) {
-                        System.err.println("Import error: " + e.getMessage());
-                        e.printStackTrace();
+                    // Streamed into batched writes with new ids; the dialog follows the file position
+                    BulkImporter.Result result = jsonService.importDatabaseAsync(file.getAbsolutePath(),
+                            p -> LoadingDialog.updateLoading(String.format("Importing %s... %d rows (%.0f rows/s)",
+                                    p.collection(), p.rowsWritten(), p.rowsPerSecond()), p.fileFraction())).join();
+                    if (result == null) {
                         return false;
                     }
+                    Map<String, Integer> rows = result.rows();
+                    updateMessage("Imported:\n" +
+                        rows.getOrDefault("players", 0) + " players\n" +
+                        rows.getOrDefault("teams", 0) + " teams\n" +
+                        rows.getOrDefault("tournaments", 0) + " tournaments\n" +
+                        rows.getOrDefault("matches", 0) + " matches\n" +
+                        String.format("in %.1f s", result.elapsedMillis() / 1000.0));
+                    return true;
                 }
             };
 
@@ -425,7 +378,7 @@ public class OrganizerDashboardController {
                     "An error occurred during import: " + importTask.getException().getMessage());
             });
 
-            new Thread(importTask).start();
+            UiTaskScheduler.shared().runOnce("dashboard:import", importTask);
         }
     }
 }
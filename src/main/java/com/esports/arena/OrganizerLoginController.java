@@ -3,6 +3,7 @@ package com.esports.arena;
 import com.esports.arena.dao.OrganizerDAO;
 import com.esports.arena.model.Organizer;
 import com.esports.arena.util.LoadingDialog;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
@@ -73,7 +74,7 @@ public class OrganizerLoginController {
             loginBtn.setDisable(false);
         });
 
-        new Thread(loginTask).start();
+        UiTaskScheduler.shared().runOnce("organizer-login", loginTask);
     }
 
     @FXML
@@ -11,6 +11,7 @@ import com.esports.arena.tabs.PlayerStatsTabController;
 import com.esports.arena.tabs.PlayerTeamTabController;
 import com.esports.arena.tabs.PlayerVotingTabController;
 import com.esports.arena.util.LoadingDialog;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
@@ -92,7 +93,7 @@ public class PlayerDashboardController {
             LoadingDialog.hideLoading();
         });
         
-        new Thread(loadTask).start();
+        UiTaskScheduler.shared().runLatest("player-dashboard:player", loadTask);
     }
     
     @FXML
@@ -107,6 +108,9 @@ public class PlayerDashboardController {
             };
             
             refreshTask.setOnSucceeded(e -> {
+                if (leaderboardTabController != null) {
+                    leaderboardTabController.refreshLeaderboard();
+                }
                 Player refreshedPlayer = refreshTask.getValue();
                 if (refreshedPlayer != null) {
                     setCurrentPlayer(refreshedPlayer);
@@ -117,7 +121,7 @@ public class PlayerDashboardController {
             
             refreshTask.setOnFailed(e -> LoadingDialog.hideLoading());
             
-            new Thread(refreshTask).start();
+            UiTaskScheduler.shared().runOnce("player-dashboard:refresh", refreshTask);
         }
     }
 
@@ -184,6 +188,9 @@ public class PlayerDashboardController {
 
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
+                if (leaderboardTabController != null) {
+                    leaderboardTabController.stopLiveUpdates();
+                }
                 mainApp.showMainMenu();
             }
         });
@@ -207,7 +214,7 @@ public class PlayerDashboardController {
 
             refreshTask.setOnFailed(e -> MainApp.showError("Error", "Failed to refresh player data"));
 
-            new Thread(refreshTask).start();
+            UiTaskScheduler.shared().runOnce("player-dashboard:refresh", refreshTask);
         }
     }
 
@@ -3,6 +3,7 @@ package com.esports.arena;
 import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.model.Player;
 import com.esports.arena.util.LoadingDialog;
+import com.esports.arena.util.UiTaskScheduler;
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -76,7 +77,7 @@ public class PlayerLoginController {
             errorLabel.setText("Login failed: " + task.getException().getMessage());
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runOnce("player-login", task);
     }
 
     @FXML
@@ -3,6 +3,7 @@ package com.esports.arena;
 import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.model.Player;
 import com.esports.arena.util.LoadingDialog;
+import com.esports.arena.util.UiTaskScheduler;
 import javafx.collections.FXCollections;
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
@@ -138,7 +139,7 @@ public class PlayerSignupController {
                     }
                 });
 
-                new Thread(loadTask).start();
+                UiTaskScheduler.shared().run(loadTask);
             } else {
                 errorLabel.setText("❌ Failed to create account. Please try again.");
             }
@@ -150,7 +151,7 @@ public class PlayerSignupController {
             errorLabel.setText("Signup failed: " + task.getException().getMessage());
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runOnce("player-signup", task);
     }
 
     @FXML
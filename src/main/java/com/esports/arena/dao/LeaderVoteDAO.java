@@ -2,47 +2,74 @@ package com.esports.arena.dao;
 
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import com.esports.arena.model.LeaderVote;
+import com.esports.arena.model.Player;
+import com.esports.arena.service.IoExecutor;
 import com.esports.arena.service.RealtimeDatabaseService;
-import com.fasterxml.jackson.core.type.TypeReference;
-
+import com.esports.arena.service.ServerValue;
+import com.fasterxml.jackson.databind.JsonNode;
+
+// Each team's election lives under leader_votes/{teamId}:
+//   votes/{voterId}     the voter's current vote
+//   tallies/{candidate} active votes per candidate, maintained with server-side increments
+//   leader              candidate with the most votes as of the last cast
+//   history/{voteId}    replaced votes, without the fields implied by the path
 public class LeaderVoteDAO {
     private static final String COLLECTION = "leader_votes";
 
-    private final ExecutorService executor;
+    private final Executor executor;
+    private final PlayerDAO playerDAO;
 
     public LeaderVoteDAO() {
-        this.executor = Executors.newFixedThreadPool(2);
+        this(IoExecutor.shared());
+    }
+
+    public LeaderVoteDAO(Executor executor) {
+        this.executor = executor;
+        this.playerDAO = new PlayerDAO(executor);
     }
 
     public CompletableFuture<Boolean> castVoteAsync(int teamId, int voterId, int candidateId) {
         return CompletableFuture.supplyAsync(() -> castVote(teamId, voterId, candidateId), executor);
     }
 
+    // Swaps the voter's vote with a compare-and-set on votes/{voterId}, then applies both tally
+    // changes, the history entry and the new leader in one root PATCH. Only the cast whose swap
+    // won sends that PATCH, for the vote it actually replaced, so concurrent casts by the same
+    // voter (two windows, a double click) cannot both move the tallies off one old vote. The
+    // leader can lag a concurrent cast by another voter until the next one.
     public boolean castVote(int teamId, int voterId, int candidateId) {
         try {
-            List<LeaderVote> votes = getAllVotes(teamId);
-            // Deactivate previous active votes by this voter
-            votes.forEach(v -> {
-                if (v.getVoterId() == voterId) {
-                    v.setActive(false);
-                }
-            });
-
-            long nextId = RealtimeDatabaseService.nextId("counters/leaderVotes");
             LeaderVote vote = new LeaderVote(teamId, voterId, candidateId);
-            vote.setId(Math.toIntExact(nextId));
-            votes.add(vote);
-
-            RealtimeDatabaseService.write(path(teamId), votes);
+            vote.setId(Math.toIntExact(RealtimeDatabaseService.nextId("counters/leaderVotes")));
+            LeaderVote[] replaced = {null};
+            LeaderVote stored = RealtimeDatabaseService.transaction(votePath(teamId, voterId), LeaderVote.class, current -> {
+                replaced[0] = current;
+                return current != null && current.getCandidateId() == candidateId ? null : vote;
+            });
+            if (stored == null) {
+                return true;
+            }
+            LeaderVote previous = replaced[0];
+
+            Map<Integer, Integer> tallies = readTallies(teamId);
+            Map<String, Object> updates = new LinkedHashMap<>();
+            updates.put(path(teamId) + "/tallies/" + candidateId, ServerValue.increment(1));
+            tallies.merge(candidateId, 1, Integer::sum);
+            if (previous != null) {
+                updates.put(path(teamId) + "/tallies/" + previous.getCandidateId(), ServerValue.increment(-1));
+                updates.put(path(teamId) + "/history/" + previous.getId(), compact(previous));
+                tallies.merge(previous.getCandidateId(), -1, Integer::sum);
+            }
+            updates.put(path(teamId) + "/leader", leaderOf(tallies));
+            RealtimeDatabaseService.updateMultiPath(updates);
             return true;
         } catch (Exception e) {
             System.err.println("Error casting vote: " + e.getMessage());
@@ -50,26 +77,72 @@ public class LeaderVoteDAO {
         }
     }
 
+    // Tallies, the voter's vote and the roster, requested together; null if any of them failed
+    public CompletableFuture<VotingSnapshot> getVotingSnapshotAsync(int teamId, int voterId) {
+        CompletableFuture<JsonNode> tallies = RealtimeDatabaseService.readAsync(path(teamId) + "/tallies", JsonNode.class);
+        CompletableFuture<LeaderVote> vote = RealtimeDatabaseService.readAsync(votePath(teamId, voterId), LeaderVote.class);
+        CompletableFuture<List<Player>> roster = playerDAO.getPlayersByTeamAsync(teamId);
+        return CompletableFuture.allOf(tallies, vote, roster)
+                .thenApply(ignored -> new VotingSnapshot(teamId, voterId, roster.join(), toTallies(tallies.join()),
+                        vote.join() == null ? null : vote.join().getCandidateId()))
+                .exceptionally(e -> {
+                    System.err.println("Error loading voting snapshot: " + e.getMessage());
+                    return null;
+                });
+    }
+
+    public VotingSnapshot getVotingSnapshot(int teamId, int voterId) {
+        return getVotingSnapshotAsync(teamId, voterId).join();
+    }
+
     public CompletableFuture<List<LeaderVote>> getActiveVotesAsync(int teamId) {
         return CompletableFuture.supplyAsync(() -> getActiveVotes(teamId), executor);
     }
 
     public List<LeaderVote> getActiveVotes(int teamId) {
-        return getAllVotes(teamId).stream()
-                .filter(LeaderVote::isActive)
-                .collect(Collectors.toList());
+        try {
+            return RealtimeDatabaseService.readCollection(path(teamId) + "/votes", LeaderVote.class).values().stream()
+                    .sorted(Comparator.comparing(LeaderVote::getVoteTime))
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            System.err.println("Error loading votes: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Replaced votes, oldest first
+    public List<LeaderVote> getVoteHistory(int teamId) {
+        try {
+            List<LeaderVote> history = new ArrayList<>();
+            RealtimeDatabaseService.readCollection(path(teamId) + "/history", LeaderVote.class).forEach((id, vote) -> {
+                vote.setId(Integer.parseInt(id));
+                vote.setTeamId(teamId);
+                vote.setActive(false);
+                history.add(vote);
+            });
+            history.sort(Comparator.comparing(LeaderVote::getVoteTime));
+            return history;
+        } catch (Exception e) {
+            System.err.println("Error loading vote history: " + e.getMessage());
+            return new ArrayList<>();
+        }
     }
 
     public CompletableFuture<Map<Integer, Integer>> getVoteCountsAsync(int teamId) {
         return CompletableFuture.supplyAsync(() -> getVoteCounts(teamId), executor);
     }
 
+    // Candidates with at least one vote, most votes first
     public Map<Integer, Integer> getVoteCounts(int teamId) {
-        Map<Integer, Integer> counts = new HashMap<>();
-        getActiveVotes(teamId).forEach(v -> counts.merge(v.getCandidateId(), 1, Integer::sum));
-        return counts.entrySet().stream()
-                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, HashMap::new));
+        try {
+            return readTallies(teamId).entrySet().stream()
+                    .filter(e -> e.getValue() > 0)
+                    .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        } catch (Exception e) {
+            System.err.println("Error loading vote counts: " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
     }
 
     public CompletableFuture<Integer> getCurrentLeaderAsync(int teamId) {
@@ -77,14 +150,21 @@ public class LeaderVoteDAO {
     }
 
     public Integer getCurrentLeader(int teamId) {
-        return getVoteCounts(teamId).entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(null);
+        try {
+            return RealtimeDatabaseService.read(path(teamId) + "/leader", Integer.class);
+        } catch (Exception e) {
+            System.err.println("Error loading leader: " + e.getMessage());
+            return null;
+        }
     }
 
     public boolean hasVoted(int teamId, int voterId) {
-        return getActiveVotes(teamId).stream().anyMatch(v -> v.getVoterId() == voterId);
+        try {
+            return RealtimeDatabaseService.read(votePath(teamId, voterId), LeaderVote.class) != null;
+        } catch (Exception e) {
+            System.err.println("Error loading vote: " + e.getMessage());
+            return false;
+        }
     }
 
     public CompletableFuture<Boolean> resetVotesAsync(int teamId) {
@@ -101,35 +181,66 @@ public class LeaderVoteDAO {
         }
     }
 
+    // Every voter has exactly one active vote, so the tallies alone answer all three
     public Map<String, Object> getVotingStats(int teamId) {
-        Map<String, Object> stats = new HashMap<>();
-        List<LeaderVote> active = getActiveVotes(teamId);
-        stats.put("totalVoters", (int) active.stream().map(LeaderVote::getVoterId).distinct().count());
-        stats.put("totalVotes", active.size());
-        stats.put("totalCandidates", (int) active.stream().map(LeaderVote::getCandidateId).distinct().count());
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<Integer, Integer> counts = getVoteCounts(teamId);
+        int votes = counts.values().stream().mapToInt(Integer::intValue).sum();
+        stats.put("totalVoters", votes);
+        stats.put("totalVotes", votes);
+        stats.put("totalCandidates", counts.size());
         return stats;
     }
 
-    private List<LeaderVote> getAllVotes(int teamId) {
-        try {
-            List<LeaderVote> votes = RealtimeDatabaseService.read(path(teamId), new TypeReference<List<LeaderVote>>() {});
-            if (votes == null) {
-                return new ArrayList<>();
+    // Most votes wins; ties go to the lower player id. Null when nobody has a vote.
+    public static Integer leaderOf(Map<Integer, Integer> tallies) {
+        return tallies.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .max(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    // History entry for a replaced vote; id, team and active flag come from where it is stored
+    public static Map<String, Object> compact(LeaderVote vote) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("voterId", vote.getVoterId());
+        entry.put("candidateId", vote.getCandidateId());
+        entry.put("voteTime", vote.getVoteTime());
+        return entry;
+    }
+
+    private Map<Integer, Integer> readTallies(int teamId) throws Exception {
+        return toTallies(RealtimeDatabaseService.read(path(teamId) + "/tallies", JsonNode.class));
+    }
+
+    // Small sequential candidate ids make Firebase return the tallies as an array
+    private static Map<Integer, Integer> toTallies(JsonNode node) {
+        Map<Integer, Integer> tallies = new LinkedHashMap<>();
+        if (node == null) {
+            return tallies;
+        }
+        if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                if (node.get(i).isNumber()) {
+                    tallies.put(i, node.get(i).intValue());
+                }
             }
-            return votes.stream()
-                    .sorted(Comparator.comparing(LeaderVote::getVoteTime))
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            System.err.println("Error loading votes: " + e.getMessage());
-            return new ArrayList<>();
+        } else {
+            node.fields().forEachRemaining(entry -> {
+                if (entry.getValue().isNumber()) {
+                    tallies.put(Integer.parseInt(entry.getKey()), entry.getValue().intValue());
+                }
+            });
         }
+        return tallies;
     }
 
-    private String path(int teamId) {
-        return COLLECTION + "/" + teamId;
+    private String votePath(int teamId, int voterId) {
+        return path(teamId) + "/votes/" + voterId;
     }
 
-    public void shutdown() {
-        executor.shutdown();
+    private String path(int teamId) {
+        return COLLECTION + "/" + teamId;
     }
-}
\ No newline at end of file
+}
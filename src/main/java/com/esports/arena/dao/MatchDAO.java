@@ -3,24 +3,33 @@ package com.esports.arena.dao;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.esports.arena.model.Match;
 import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.service.DatabaseQuery;
+import com.esports.arena.service.IoExecutor;
 import com.esports.arena.service.RealtimeDatabaseService;
 
 public class MatchDAO {
     private static final String COLLECTION = "matches";
+    private static final String STATS_COUNTER = "counters/playerMatchStats";
 
-    private final ExecutorService executor;
+    private final Executor executor;
 
     public MatchDAO() {
-        this.executor = Executors.newFixedThreadPool(3);
+        this(IoExecutor.shared());
+    }
+
+    public MatchDAO(Executor executor) {
+        this.executor = executor;
     }
 
     public CompletableFuture<Integer> createMatchAsync(Match match) {
@@ -61,34 +70,46 @@ public class MatchDAO {
     }
 
     public List<Match> getMatchesByTournament(int tournamentId) {
-        return getAllMatches().stream()
-                .filter(m -> m.getTournamentId() == tournamentId)
-                .sorted(Comparator.comparing(Match::getScheduledTime, Comparator.nullsLast(LocalDateTime::compareTo)))
-                .collect(Collectors.toList());
+        return queryMatches(DatabaseQuery.orderByChild("tournamentId").equalTo(tournamentId));
     }
 
     public List<Match> getMatchesByStatus(Match.MatchStatus status) {
-        return getAllMatches().stream()
-                .filter(m -> m.getStatus() == status)
-                .sorted(Comparator.comparing(Match::getScheduledTime, Comparator.nullsLast(LocalDateTime::compareTo)))
-                .collect(Collectors.toList());
+        return queryMatches(DatabaseQuery.orderByChild("status").equalTo(status));
     }
 
-    public List<Match> getAllMatches() {
+    private List<Match> queryMatches(DatabaseQuery query) {
         try {
-            Map<String, Match> map = RealtimeDatabaseService.readCollection(COLLECTION, Match.class);
-            if (map == null) {
-                return new ArrayList<>();
-            }
+            Map<String, Match> map = RealtimeDatabaseService.query(COLLECTION, query, Match.class);
             return map.values().stream()
-                    .sorted(Comparator.comparing(Match::getScheduledTime, Comparator.nullsLast(LocalDateTime::compareTo)).reversed())
+                    .sorted(Comparator.comparing(Match::getScheduledTime, Comparator.nullsLast(LocalDateTime::compareTo)))
                     .collect(Collectors.toList());
         } catch (Exception e) {
-            System.err.println("Error getting all matches: " + e.getMessage());
+            System.err.println("Error querying matches: " + e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    public List<Match> getAllMatches() {
+        List<Match> matches = new ArrayList<>();
+        if (!forEachMatch(matches::add)) {
+            return new ArrayList<>();
+        }
+        matches.sort(Comparator.comparing(Match::getScheduledTime, Comparator.nullsLast(LocalDateTime::compareTo)).reversed());
+        return matches;
+    }
+
+    // Visits every match as it is parsed off the response; only the current match is held by the parser.
+    // Returns false if the read failed part-way.
+    public boolean forEachMatch(Consumer<Match> consumer) {
+        try {
+            RealtimeDatabaseService.forEachInCollection(COLLECTION, Match.class, (key, match) -> consumer.accept(match));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error streaming matches: " + e.getMessage());
+            return false;
+        }
+    }
+
     public CompletableFuture<Boolean> updateMatchAsync(Match match) {
         return CompletableFuture.supplyAsync(() -> updateMatch(match), executor);
     }
@@ -106,13 +127,16 @@ public class MatchDAO {
         }
     }
 
+    // Status changes are patched so they never overwrite stat lines written in the meantime
     public boolean startMatch(int matchId) {
         Match match = getMatchById(matchId);
         if (match == null) {
             return false;
         }
         match.startMatch();
-        return updateMatch(match);
+        return patchMatch(matchId, Map.of(
+                "status", match.getStatus(),
+                "actualStartTime", match.getActualStartTime()));
     }
 
     public boolean endMatch(int matchId, int winnerId) {
@@ -121,66 +145,101 @@ public class MatchDAO {
             return false;
         }
         match.endMatch(winnerId);
-        return updateMatch(match);
+        try {
+            // The result and the winner's (and loser's) move to their next bracket match, together
+            Map<String, Object> updates = new LinkedHashMap<>();
+            updates.put(path(matchId) + "/status", match.getStatus());
+            updates.put(path(matchId) + "/actualEndTime", match.getActualEndTime());
+            updates.put(path(matchId) + "/winnerId", winnerId);
+            updates.putAll(advancement(match));
+            RealtimeDatabaseService.updateMultiPath(updates);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error updating match: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Root-relative updates that move a finished bracket match's winner into its next match and,
+    // from a double-elimination upper bracket, its loser into the lower bracket. Empty for draws
+    // and for matches not made by BracketGenerator.
+    public static Map<String, Object> advancement(Match match) {
+        Map<String, Object> updates = new LinkedHashMap<>();
+        Integer winnerId = match.getWinnerId();
+        if (!match.isCompleted() || winnerId == null) {
+            return updates;
+        }
+        if (match.getNextMatchId() != null) {
+            updates.put(slotPath(match.getNextMatchId(), match.getNextMatchSlot()), winnerId);
+        }
+        if (match.getLoserMatchId() != null) {
+            int loserId = winnerId == match.getTeam1Id() ? match.getTeam2Id() : match.getTeam1Id();
+            updates.put(slotPath(match.getLoserMatchId(), match.getLoserMatchSlot()), loserId);
+        }
+        return updates;
+    }
+
+    private static String slotPath(int matchId, Integer slot) {
+        return COLLECTION + "/" + matchId + "/team" + (slot != null && slot == 2 ? 2 : 1) + "Id";
+    }
+
+    private boolean patchMatch(int matchId, Map<String, Object> fields) {
+        try {
+            RealtimeDatabaseService.patch(path(matchId), fields);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error updating match: " + e.getMessage());
+            return false;
+        }
     }
 
     public CompletableFuture<Boolean> addPlayerStatsAsync(PlayerMatchStats stats) {
         return CompletableFuture.supplyAsync(() -> addPlayerStats(stats), executor);
     }
 
+    // Writes only matches/{matchId}/playerStats/{playerId}; an existing line for the player is replaced
     public boolean addPlayerStats(PlayerMatchStats stats) {
-        Match match = getMatchById(stats.getMatchId());
-        if (match == null) {
-            return false;
-        }
         try {
-            long nextId = RealtimeDatabaseService.nextId("counters/playerMatchStats");
-            stats.setId(Math.toIntExact(nextId));
-            if (match.getPlayerStats() == null) {
-                match.setPlayerStats(new ArrayList<>());
+            if (!matchExists(stats.getMatchId())) {
+                return false;
             }
-            match.getPlayerStats().add(stats);
-            return updateMatch(match);
+            long nextId = RealtimeDatabaseService.nextId(STATS_COUNTER);
+            stats.setId(Math.toIntExact(nextId));
+            RealtimeDatabaseService.write(statsPath(stats.getMatchId(), stats.getPlayerId()), stats);
+            return true;
         } catch (Exception e) {
             System.err.println("Error adding player stats: " + e.getMessage());
             return false;
         }
     }
 
+    // Patches the three counters of one stat line, so scorekeepers updating different players
+    // of the same match cannot overwrite each other. A new line also gets its id and keys.
     public boolean updatePlayerStats(int matchId, int playerId, int kills, int deaths, int assists) {
-        Match match = getMatchById(matchId);
-        if (match == null) {
-            return false;
-        }
-
-        if (match.getPlayerStats() == null) {
-            match.setPlayerStats(new ArrayList<>());
-        }
-
-        PlayerMatchStats existing = match.getPlayerStats().stream()
-                .filter(ps -> ps.getPlayerId() == playerId)
-                .findFirst()
-                .orElse(null);
-
-        if (existing == null) {
-            try {
-                long nextId = RealtimeDatabaseService.nextId("counters/playerMatchStats");
-                existing = new PlayerMatchStats();
-                existing.setId(Math.toIntExact(nextId));
-                existing.setMatchId(matchId);
-                existing.setPlayerId(playerId);
-                match.getPlayerStats().add(existing);
-            } catch (Exception e) {
-                System.err.println("Error updating player stats: " + e.getMessage());
-                return false;
+        try {
+            String statsPath = statsPath(matchId, playerId);
+            Map<String, Object> fields = new HashMap<>();
+            if (RealtimeDatabaseService.read(statsPath + "/id", Integer.class) == null) {
+                if (!matchExists(matchId)) {
+                    return false;
+                }
+                fields.put("id", Math.toIntExact(RealtimeDatabaseService.nextId(STATS_COUNTER)));
+                fields.put("matchId", matchId);
+                fields.put("playerId", playerId);
             }
+            fields.put("kills", kills);
+            fields.put("deaths", deaths);
+            fields.put("assists", assists);
+            RealtimeDatabaseService.patch(statsPath, fields);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error updating player stats: " + e.getMessage());
+            return false;
         }
+    }
 
-        existing.setKills(kills);
-        existing.setDeaths(deaths);
-        existing.setAssists(assists);
-
-        return updateMatch(match);
+    private boolean matchExists(int matchId) throws Exception {
+        return RealtimeDatabaseService.read(path(matchId) + "/id", Integer.class) != null;
     }
 
     public List<PlayerMatchStats> getPlayerStatsByMatch(int matchId) {
@@ -213,7 +272,7 @@ public class MatchDAO {
         return COLLECTION + "/" + id;
     }
 
-    public void shutdown() {
-        executor.shutdown();
+    private String statsPath(int matchId, int playerId) {
+        return COLLECTION + "/" + matchId + "/playerStats/" + playerId;
     }
 }
\ No newline at end of file
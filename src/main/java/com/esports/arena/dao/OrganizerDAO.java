@@ -7,23 +7,41 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import com.esports.arena.model.Organizer;
+import com.esports.arena.service.DatabaseQuery;
+import com.esports.arena.service.IoExecutor;
 import com.esports.arena.service.RealtimeDatabaseService;
 
 public class OrganizerDAO {
     private static final String COLLECTION = "organizers";
 
-    private final ExecutorService executor;
+    private final Executor executor;
 
     public OrganizerDAO() {
-        this.executor = Executors.newFixedThreadPool(2);
+        this(IoExecutor.shared());
+    }
+
+    public OrganizerDAO(Executor executor) {
+        this.executor = executor;
     }
 
     public Organizer getOrganizerByUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        try {
+            Map<String, Organizer> map = RealtimeDatabaseService.query(COLLECTION,
+                    DatabaseQuery.orderByChild("username").equalTo(username), Organizer.class);
+            if (!map.isEmpty()) {
+                return map.values().iterator().next();
+            }
+        } catch (Exception e) {
+            System.err.println("Error querying organizer by username: " + e.getMessage());
+        }
+        // The server match is case-sensitive; keep accepting logins typed in a different case
         return getAllOrganizers().stream()
                 .filter(o -> o.getUsername() != null && o.getUsername().equalsIgnoreCase(username))
                 .findFirst()
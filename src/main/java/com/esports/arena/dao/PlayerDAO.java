@@ -3,23 +3,29 @@ package com.esports.arena.dao;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import com.esports.arena.model.Player;
+import com.esports.arena.service.DatabaseQuery;
+import com.esports.arena.service.IoExecutor;
 import com.esports.arena.service.RealtimeDatabaseService;
 
 public class PlayerDAO {
     private static final String COLLECTION = "players";
 
-    private final ExecutorService executor;
+    private final Executor executor;
 
     public PlayerDAO() {
-        this.executor = Executors.newFixedThreadPool(4);
+        this(IoExecutor.shared());
+    }
+
+    public PlayerDAO(Executor executor) {
+        this.executor = executor;
     }
 
     public CompletableFuture<Integer> createPlayerAsync(Player player) {
@@ -56,6 +62,19 @@ public class PlayerDAO {
     }
 
     public Player getPlayerByUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        try {
+            Map<String, Player> map = RealtimeDatabaseService.query(COLLECTION,
+                    DatabaseQuery.orderByChild("username").equalTo(username), Player.class);
+            if (!map.isEmpty()) {
+                return map.values().iterator().next();
+            }
+        } catch (Exception e) {
+            System.err.println("Error querying player by username: " + e.getMessage());
+        }
+        // The server match is case-sensitive; keep accepting logins typed in a different case
         return getAllPlayers().stream()
                 .filter(p -> p.getUsername() != null && p.getUsername().equalsIgnoreCase(username))
                 .findFirst()
@@ -81,13 +100,28 @@ public class PlayerDAO {
         }
     }
 
+    // Non-blocking: the query is in flight as soon as this returns
     public CompletableFuture<List<Player>> getPlayersByTeamAsync(int teamId) {
-        return CompletableFuture.supplyAsync(() -> getPlayersByTeam(teamId), executor);
+        return RealtimeDatabaseService.queryAsync(COLLECTION, DatabaseQuery.orderByChild("teamId").equalTo(teamId), Player.class)
+                .thenApply(PlayerDAO::byUsername)
+                .exceptionally(e -> {
+                    System.err.println("Error getting players by team: " + e.getMessage());
+                    return new ArrayList<>();
+                });
     }
 
     public List<Player> getPlayersByTeam(int teamId) {
-        return getAllPlayers().stream()
-                .filter(p -> p.getTeamId() != null && p.getTeamId() == teamId)
+        try {
+            return byUsername(RealtimeDatabaseService.query(COLLECTION,
+                    DatabaseQuery.orderByChild("teamId").equalTo(teamId), Player.class));
+        } catch (Exception e) {
+            System.err.println("Error getting players by team: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static List<Player> byUsername(Map<String, Player> players) {
+        return players.values().stream()
                 .sorted(Comparator.comparing(Player::getUsername, Comparator.nullsLast(String::compareToIgnoreCase)))
                 .collect(Collectors.toList());
     }
@@ -112,17 +146,70 @@ public class PlayerDAO {
         }
     }
 
+    // One player's contribution to a match, added to their career totals
+    public record StatLine(int playerId, int kills, int deaths, int assists, boolean won) { }
+
+    // Adds to the career totals with one increment PATCH instead of reading and rewriting the player.
+    // Only the player's id is read first, so a missing player is not recreated as a node of counters.
     public boolean updatePlayerStats(int playerId, int kills, int deaths, int assists, boolean won) {
-        Player player = getPlayerById(playerId);
-        if (player == null) {
+        try {
+            if (RealtimeDatabaseService.read(path(playerId) + "/id", Integer.class) == null) {
+                System.err.println("Cannot update stats of missing player " + playerId);
+                return false;
+            }
+            RealtimeDatabaseService.increment(path(playerId), statDeltas(new StatLine(playerId, kills, deaths, assists, won)));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error updating player stats: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Whole roster of a match in one atomic request. The players' ids are read together first and
+    // nothing is written if one is missing, so no counters-only player node can be created.
+    public boolean updatePlayerStats(List<StatLine> roster) {
+        try {
+            Map<Integer, CompletableFuture<Integer>> ids = new LinkedHashMap<>();
+            roster.forEach(line -> ids.computeIfAbsent(line.playerId(),
+                    id -> RealtimeDatabaseService.readAsync(path(id) + "/id", Integer.class)));
+            for (Map.Entry<Integer, CompletableFuture<Integer>> id : ids.entrySet()) {
+                if (id.getValue().join() == null) {
+                    System.err.println("Cannot update stats of missing player " + id.getKey());
+                    return false;
+                }
+            }
+            RealtimeDatabaseService.incrementMultiPath(careerDeltas(roster));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error updating roster stats: " + e.getMessage());
             return false;
         }
-        player.setTotalKills(player.getTotalKills() + kills);
-        player.setTotalDeaths(player.getTotalDeaths() + deaths);
-        player.setTotalAssists(player.getTotalAssists() + assists);
-        player.setMatchesPlayed(player.getMatchesPlayed() + 1);
-        player.setMatchesWon(player.getMatchesWon() + (won ? 1 : 0));
-        return updatePlayer(player);
+    }
+
+    // Root-relative counter paths and deltas for the roster, e.g. "players/4/totalKills" -> 12
+    public static Map<String, Integer> careerDeltas(List<StatLine> roster) {
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        for (StatLine line : roster) {
+            statDeltas(line).forEach((field, delta) -> deltas.merge(COLLECTION + "/" + line.playerId() + "/" + field, delta, Integer::sum));
+        }
+        return deltas;
+    }
+
+    // Zero deltas are left out; they would only add bytes to the request
+    private static Map<String, Integer> statDeltas(StatLine line) {
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        putNonZero(deltas, "totalKills", line.kills());
+        putNonZero(deltas, "totalDeaths", line.deaths());
+        putNonZero(deltas, "totalAssists", line.assists());
+        deltas.put("matchesPlayed", 1);
+        putNonZero(deltas, "matchesWon", line.won() ? 1 : 0);
+        return deltas;
+    }
+
+    private static void putNonZero(Map<String, Integer> deltas, String field, int delta) {
+        if (delta != 0) {
+            deltas.put(field, delta);
+        }
     }
 
     public CompletableFuture<Boolean> updateAvailabilityAsync(int playerId, boolean available, String reason) {
@@ -152,8 +239,4 @@ public class PlayerDAO {
     private String path(int id) {
         return COLLECTION + "/" + id;
     }
-
-    public void shutdown() {
-        executor.shutdown();
-    }
 }
\ No newline at end of file
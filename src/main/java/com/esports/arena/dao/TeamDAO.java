@@ -2,26 +2,41 @@ package com.esports.arena.dao;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import com.esports.arena.model.Team;
+import com.esports.arena.model.TeamSummary;
+import com.esports.arena.service.IoExecutor;
 import com.esports.arena.service.RealtimeDatabaseService;
 
 public class TeamDAO {
     private static final String COLLECTION = "teams";
+    private static final String SUMMARIES = "team_summaries";
 
-    private final ExecutorService executor;
+    // Most wins first, then fewest games played, then name
+    public static final Comparator<Team> LEADERBOARD_ORDER = Comparator
+            .comparingInt(Team::getWins).reversed()
+            .thenComparingInt(t -> t.getWins() + t.getLosses() + t.getDraws())
+            .thenComparing(Team::getName, Comparator.nullsLast(String::compareToIgnoreCase));
+
+    private final Executor executor;
     private final PlayerDAO playerDAO;
 
     public TeamDAO() {
-        this.executor = Executors.newFixedThreadPool(4);
-        this.playerDAO = new PlayerDAO();
+        this(IoExecutor.shared());
+    }
+
+    public TeamDAO(Executor executor) {
+        this.executor = executor;
+        this.playerDAO = new PlayerDAO(executor);
     }
 
     public CompletableFuture<Integer> createTeamAsync(Team team) {
@@ -36,7 +51,7 @@ public class TeamDAO {
             if (team.getCreatedDate() == null) {
                 team.setCreatedDate(LocalDate.now());
             }
-            RealtimeDatabaseService.write(path(id), team);
+            RealtimeDatabaseService.updateMultiPath(withSummary(team));
             return id;
         } catch (Exception e) {
             System.err.println("Error creating team: " + e.getMessage());
@@ -44,8 +59,19 @@ public class TeamDAO {
         }
     }
 
+    // The team and its roster are requested together rather than one after the other
     public CompletableFuture<Team> getTeamByIdAsync(int id) {
-        return CompletableFuture.supplyAsync(() -> getTeamById(id), executor);
+        return RealtimeDatabaseService.readAsync(path(id), Team.class)
+                .thenCombine(playerDAO.getPlayersByTeamAsync(id), (team, players) -> {
+                    if (team != null) {
+                        team.setPlayers(players);
+                    }
+                    return team;
+                })
+                .exceptionally(e -> {
+                    System.err.println("Error getting team: " + e.getMessage());
+                    return null;
+                });
     }
 
     public Team getTeamById(int id) {
@@ -66,28 +92,80 @@ public class TeamDAO {
     }
 
     public List<Team> getAllTeams() {
+        return getTeamsById().values().stream()
+                .sorted(Comparator.comparing(Team::getName, Comparator.nullsLast(String::compareToIgnoreCase)))
+                .collect(Collectors.toList());
+    }
+
+    // Every team keyed by id with rosters attached. Two reads (teams + players) regardless of
+    // team count; rosters are joined in memory through a TeamRosterIndex.
+    public Map<Integer, Team> getTeamsById() {
         try {
             Map<String, Team> map = RealtimeDatabaseService.readCollection(COLLECTION, Team.class);
-            if (map == null) {
-                return new ArrayList<>();
+            Map<Integer, Team> teams = new HashMap<>();
+            if (map == null || map.isEmpty()) {
+                return teams;
             }
-            return map.values().stream()
-                    .peek(t -> t.setPlayers(playerDAO.getPlayersByTeam(t.getId())))
-                    .sorted(Comparator.comparing(Team::getName, Comparator.nullsLast(String::compareToIgnoreCase)))
-                    .collect(Collectors.toList());
+            TeamRosterIndex rosters = new TeamRosterIndex(playerDAO.getAllPlayers());
+            for (Team team : map.values()) {
+                rosters.hydrate(team);
+                teams.put(team.getId(), team);
+            }
+            return teams;
         } catch (Exception e) {
             System.err.println("Error getting all teams: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    public CompletableFuture<List<TeamSummary>> getTeamSummariesAsync() {
+        return CompletableFuture.supplyAsync(this::getTeamSummaries, executor);
+    }
+
+    // By name, from the summary index alone (no rosters)
+    public List<TeamSummary> getTeamSummaries() {
+        try {
+            Map<String, TeamSummary> map = RealtimeDatabaseService.readCollection(SUMMARIES, TeamSummary.class);
+            Collection<TeamSummary> summaries = map.isEmpty() ? rebuildSummaries() : map.values();
+            return summaries.stream()
+                    .sorted(Comparator.comparing(TeamSummary::getName, Comparator.nullsLast(String::compareToIgnoreCase)))
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            System.err.println("Error getting team summaries: " + e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    public TeamSummary getTeamSummary(int id) {
+        try {
+            return RealtimeDatabaseService.read(summaryPath(id), TeamSummary.class);
+        } catch (Exception e) {
+            System.err.println("Error getting team summary: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Rewrites the summary index from the teams; see TournamentDAO.rebuildSummaries
+    public List<TeamSummary> rebuildSummaries() throws Exception {
+        Map<String, TeamSummary> summaries = new LinkedHashMap<>();
+        RealtimeDatabaseService.forEachInCollection(COLLECTION, Team.class, (key, team) -> {
+            if (team != null) {
+                summaries.put(String.valueOf(team.getId()), TeamSummary.of(team));
+            }
+        });
+        if (!summaries.isEmpty()) {
+            RealtimeDatabaseService.write(SUMMARIES, summaries);
+        }
+        return new ArrayList<>(summaries.values());
+    }
+
     public CompletableFuture<Boolean> updateTeamAsync(Team team) {
         return CompletableFuture.supplyAsync(() -> updateTeam(team), executor);
     }
 
     public boolean updateTeam(Team team) {
         try {
-            RealtimeDatabaseService.write(path(team.getId()), team);
+            RealtimeDatabaseService.updateMultiPath(withSummary(team));
             return true;
         } catch (Exception e) {
             System.err.println("Error updating team: " + e.getMessage());
@@ -108,24 +186,33 @@ public class TeamDAO {
         return updateTeam(team);
     }
 
+    // Counts one result with a single increment PATCH after reading only the team's id, so a
+    // missing team is not recreated as a node of counters
     public boolean updateTeamRecord(int teamId, boolean won, boolean draw) {
-        Team team = getTeamById(teamId);
-        if (team == null) {
+        try {
+            if (RealtimeDatabaseService.read(path(teamId) + "/id", Integer.class) == null) {
+                System.err.println("Cannot update record of missing team " + teamId);
+                return false;
+            }
+            RealtimeDatabaseService.increment(path(teamId), Map.of(recordField(won, draw), 1));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error updating team record: " + e.getMessage());
             return false;
         }
-        if (draw) {
-            team.setDraws(team.getDraws() + 1);
-        } else if (won) {
-            team.setWins(team.getWins() + 1);
-        } else {
-            team.setLosses(team.getLosses() + 1);
-        }
-        return updateTeam(team);
+    }
+
+    // Record counter a result adds to: "wins", "losses" or "draws"
+    public static String recordField(boolean won, boolean draw) {
+        return draw ? "draws" : won ? "wins" : "losses";
     }
 
     public boolean deleteTeam(int id) {
         try {
-            RealtimeDatabaseService.delete(path(id));
+            Map<String, Object> updates = new HashMap<>();
+            updates.put(path(id), null);
+            updates.put(summaryPath(id), null);
+            RealtimeDatabaseService.updateMultiPath(updates);
             return true;
         } catch (Exception e) {
             System.err.println("Error deleting team: " + e.getMessage());
@@ -139,19 +226,22 @@ public class TeamDAO {
 
     public List<Team> getLeaderboard() {
         return getAllTeams().stream()
-                .sorted(Comparator
-                        .comparingInt(Team::getWins).reversed()
-                        .thenComparingInt(t -> t.getWins() + t.getLosses() + t.getDraws())
-                        .thenComparing(Team::getName, Comparator.nullsLast(String::compareToIgnoreCase)))
+                .sorted(LEADERBOARD_ORDER)
                 .collect(Collectors.toList());
     }
 
-    private String path(int id) {
-        return COLLECTION + "/" + id;
+    private Map<String, Object> withSummary(Team team) {
+        Map<String, Object> updates = new LinkedHashMap<>();
+        updates.put(path(team.getId()), team);
+        updates.put(summaryPath(team.getId()), TeamSummary.of(team));
+        return updates;
+    }
+
+    public static String summaryPath(int id) {
+        return SUMMARIES + "/" + id;
     }
 
-    public void shutdown() {
-        executor.shutdown();
-        playerDAO.shutdown();
+    private String path(int id) {
+        return COLLECTION + "/" + id;
     }
 }
\ No newline at end of file
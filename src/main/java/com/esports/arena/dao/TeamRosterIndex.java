@@ -0,0 +1,37 @@
+package com.esports.arena.dao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.esports.arena.model.Player;
+import com.esports.arena.model.Team;
+
+// Players grouped by teamId, built from a single read of the players collection.
+// Lets callers hydrate any number of teams without a per-team roster query.
+public class TeamRosterIndex {
+    private final Map<Integer, List<Player>> playersByTeam = new HashMap<>();
+
+    // Input order is kept within each roster (PlayerDAO.getAllPlayers sorts by username)
+    public TeamRosterIndex(List<Player> players) {
+        for (Player player : players) {
+            if (player.getTeamId() != null) {
+                playersByTeam.computeIfAbsent(player.getTeamId(), id -> new ArrayList<>()).add(player);
+            }
+        }
+    }
+
+    public List<Player> getPlayers(int teamId) {
+        List<Player> roster = playersByTeam.get(teamId);
+        return roster == null ? new ArrayList<>() : new ArrayList<>(roster);
+    }
+
+    public void hydrate(Team team) {
+        team.setPlayers(getPlayers(team.getId()));
+    }
+
+    public int getTeamCount() {
+        return playersByTeam.size();
+    }
+}
@@ -2,27 +2,42 @@ package com.esports.arena.dao;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import com.esports.arena.model.IdSetJson;
 import com.esports.arena.model.Team;
 import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentSummary;
+import com.esports.arena.service.IoExecutor;
 import com.esports.arena.service.RealtimeDatabaseService;
+import com.fasterxml.jackson.databind.JsonNode;
 
 public class TournamentDAO {
     private static final String COLLECTION = "tournaments";
+    private static final String SUMMARIES = "tournament_summaries";
+    private static final Comparator<TournamentSummary> NEWEST_FIRST = Comparator.comparing(
+            TournamentSummary::getStartDate, Comparator.nullsLast(LocalDate::compareTo)).reversed();
 
-    private final ExecutorService executor;
+    private final Executor executor;
     private final TeamDAO teamDAO;
+    private final MatchDAO matchDAO;
 
     public TournamentDAO() {
-        this.executor = Executors.newFixedThreadPool(3);
-        this.teamDAO = new TeamDAO();
+        this(IoExecutor.shared());
+    }
+
+    public TournamentDAO(Executor executor) {
+        this.executor = executor;
+        this.teamDAO = new TeamDAO(executor);
+        this.matchDAO = new MatchDAO(executor);
     }
 
     public CompletableFuture<Integer> createTournamentAsync(Tournament tournament) {
@@ -34,13 +49,7 @@ public class TournamentDAO {
             long nextId = RealtimeDatabaseService.nextId("counters/tournaments");
             int id = Math.toIntExact(nextId);
             tournament.setId(id);
-            if (tournament.getRegisteredTeams() == null) {
-                tournament.setRegisteredTeams(new ArrayList<>());
-            }
-            if (tournament.getMatches() == null) {
-                tournament.setMatches(new ArrayList<>());
-            }
-            RealtimeDatabaseService.write(path(id), tournament);
+            RealtimeDatabaseService.updateMultiPath(withSummary(tournament));
             return id;
         } catch (Exception e) {
             System.err.println("Error creating tournament: " + e.getMessage());
@@ -52,18 +61,10 @@ public class TournamentDAO {
         return CompletableFuture.supplyAsync(() -> getTournamentById(id), executor);
     }
 
+    // Team and match ids only; getRegisteredTeams or a TournamentResolver fills in the rest
     public Tournament getTournamentById(int id) {
         try {
-            Tournament tournament = RealtimeDatabaseService.read(path(id), Tournament.class);
-            if (tournament != null) {
-                // Refresh registered teams from TeamDAO to include players
-                List<Team> refreshed = tournament.getRegisteredTeams() == null ? new ArrayList<>() : tournament.getRegisteredTeams().stream()
-                        .map(t -> teamDAO.getTeamById(t.getId()))
-                        .filter(t -> t != null)
-                        .collect(Collectors.toList());
-                tournament.setRegisteredTeams(refreshed);
-            }
-            return tournament;
+            return RealtimeDatabaseService.read(path(id), Tournament.class);
         } catch (Exception e) {
             System.err.println("Error getting tournament: " + e.getMessage());
             return null;
@@ -74,22 +75,16 @@ public class TournamentDAO {
         return CompletableFuture.supplyAsync(this::getAllTournaments, executor);
     }
 
+    // With registered teams resolved: across all tournaments that is usually one teams and one
+    // players read, shared by every tournament
     public List<Tournament> getAllTournaments() {
         try {
             Map<String, Tournament> map = RealtimeDatabaseService.readCollection(COLLECTION, Tournament.class);
             if (map == null) {
                 return new ArrayList<>();
             }
+            new TournamentResolver(teamDAO, matchDAO).resolveTeams(map.values());
             return map.values().stream()
-                    .peek(t -> {
-                        if (t.getRegisteredTeams() != null) {
-                            List<Team> refreshed = t.getRegisteredTeams().stream()
-                                    .map(team -> teamDAO.getTeamById(team.getId()))
-                                    .filter(team -> team != null)
-                                    .collect(Collectors.toList());
-                            t.setRegisteredTeams(refreshed);
-                        }
-                    })
                     .sorted(Comparator.comparing(Tournament::getStartDate, Comparator.nullsLast(LocalDate::compareTo)).reversed())
                     .collect(Collectors.toList());
         } catch (Exception e) {
@@ -98,13 +93,68 @@ public class TournamentDAO {
         }
     }
 
+    public CompletableFuture<List<TournamentSummary>> getTournamentSummariesAsync() {
+        return CompletableFuture.supplyAsync(this::getTournamentSummaries, executor);
+    }
+
+    // Newest first, from the summary index alone: one small read with no teams or matches
+    public List<TournamentSummary> getTournamentSummaries() {
+        try {
+            Map<String, TournamentSummary> map = RealtimeDatabaseService.readCollection(SUMMARIES, TournamentSummary.class);
+            Collection<TournamentSummary> summaries = map.isEmpty() ? rebuildSummaries() : map.values();
+            return summaries.stream().sorted(NEWEST_FIRST).collect(Collectors.toList());
+        } catch (Exception e) {
+            System.err.println("Error getting tournament summaries: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Rewrites the whole summary index from the tournaments. Called when the index is empty (a
+    // database written before it existed); after restoring older data, call it directly.
+    public List<TournamentSummary> rebuildSummaries() throws Exception {
+        Map<String, TournamentSummary> summaries = new LinkedHashMap<>();
+        RealtimeDatabaseService.forEachInCollection(COLLECTION, Tournament.class, (key, tournament) -> {
+            if (tournament != null) {
+                summaries.put(String.valueOf(tournament.getId()), TournamentSummary.of(tournament));
+            }
+        });
+        if (!summaries.isEmpty()) {
+            RealtimeDatabaseService.write(SUMMARIES, summaries);
+        }
+        return new ArrayList<>(summaries.values());
+    }
+
     public CompletableFuture<Boolean> updateTournamentAsync(Tournament tournament) {
         return CompletableFuture.supplyAsync(() -> updateTournament(tournament), executor);
     }
 
     public boolean updateTournament(Tournament tournament) {
         try {
-            RealtimeDatabaseService.write(path(tournament.getId()), tournament);
+            RealtimeDatabaseService.updateMultiPath(withSummary(tournament));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error updating tournament: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Changes only the status, on the tournament and its summary
+    public boolean updateTournamentStatus(int id, Tournament.TournamentStatus status) {
+        return patchFields(id, Map.of("status", status));
+    }
+
+    public boolean finishTournament(int id, int winnerId) {
+        return patchFields(id, Map.of("status", Tournament.TournamentStatus.COMPLETED, "winnerId", winnerId));
+    }
+
+    private boolean patchFields(int id, Map<String, Object> fields) {
+        try {
+            Map<String, Object> updates = new LinkedHashMap<>();
+            fields.forEach((field, value) -> {
+                updates.put(path(id) + "/" + field, value);
+                updates.put(summaryPath(id) + "/" + field, value);
+            });
+            RealtimeDatabaseService.updateMultiPath(updates);
             return true;
         } catch (Exception e) {
             System.err.println("Error updating tournament: " + e.getMessage());
@@ -116,29 +166,42 @@ public class TournamentDAO {
         return CompletableFuture.supplyAsync(() -> registerTeam(tournamentId, teamId), executor);
     }
 
+    // Reads the tournament and the team together, then adds the id to teamIds with a compare-and-set,
+    // so concurrent registrations can neither pass maxTeams nor add one team twice. Only a
+    // registration that wrote the id bumps the summary's team count.
     public boolean registerTeam(int tournamentId, int teamId) {
-        Tournament tournament = getTournamentById(tournamentId);
-        Team team = teamDAO.getTeamById(teamId);
-        if (tournament == null || team == null) {
-            return false;
-        }
-        if (tournament.getRegisteredTeams() == null) {
-            tournament.setRegisteredTeams(new ArrayList<>());
-        }
-        boolean already = tournament.getRegisteredTeams().stream().anyMatch(t -> t.getId() == teamId);
-        if (already || tournament.getRegisteredTeams().size() >= tournament.getMaxTeams()) {
+        try {
+            CompletableFuture<Team> team = RealtimeDatabaseService.readAsync("teams/" + teamId, Team.class);
+            Tournament tournament = RealtimeDatabaseService.read(path(tournamentId), Tournament.class);
+            if (tournament == null || team.join() == null) {
+                return false;
+            }
+            JsonNode written = RealtimeDatabaseService.transaction(path(tournamentId) + "/teamIds", JsonNode.class, current -> {
+                List<Integer> ids = IdSetJson.fromTree(current);
+                if (ids.contains(teamId) || ids.size() >= tournament.getMaxTeams()) {
+                    return null;
+                }
+                ids.add(teamId);
+                return IdSetJson.toTree(ids);
+            });
+            if (written == null) {
+                return false;
+            }
+            RealtimeDatabaseService.increment(summaryPath(tournamentId), Map.of("teamCount", 1));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error registering team: " + e.getMessage());
             return false;
         }
-        tournament.getRegisteredTeams().add(team);
-        return updateTournament(tournament);
     }
 
+    // Current teams with rosters, by id (the stored id set keeps no registration order)
     public List<Team> getRegisteredTeams(int tournamentId) {
         Tournament tournament = getTournamentById(tournamentId);
-        if (tournament == null || tournament.getRegisteredTeams() == null) {
+        if (tournament == null) {
             return new ArrayList<>();
         }
-        return new ArrayList<>(tournament.getRegisteredTeams());
+        return new TournamentResolver(teamDAO, matchDAO).teams(tournament.getTeamIds());
     }
 
     public List<Tournament> getTournamentsByStatus(Tournament.TournamentStatus status) {
@@ -150,7 +213,10 @@ public class TournamentDAO {
 
     public boolean deleteTournament(int id) {
         try {
-            RealtimeDatabaseService.delete(path(id));
+            Map<String, Object> updates = new HashMap<>();
+            updates.put(path(id), null);
+            updates.put(summaryPath(id), null);
+            RealtimeDatabaseService.updateMultiPath(updates);
             return true;
         } catch (Exception e) {
             System.err.println("Error deleting tournament: " + e.getMessage());
@@ -158,12 +224,19 @@ public class TournamentDAO {
         }
     }
 
-    private String path(int id) {
-        return COLLECTION + "/" + id;
+    // The tournament and its summary, written together in one PATCH
+    private Map<String, Object> withSummary(Tournament tournament) {
+        Map<String, Object> updates = new LinkedHashMap<>();
+        updates.put(path(tournament.getId()), tournament);
+        updates.put(summaryPath(tournament.getId()), TournamentSummary.of(tournament));
+        return updates;
+    }
+
+    public static String summaryPath(int id) {
+        return SUMMARIES + "/" + id;
     }
 
-    public void shutdown() {
-        executor.shutdown();
-        teamDAO.shutdown();
+    private String path(int id) {
+        return COLLECTION + "/" + id;
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.esports.arena.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.service.IoExecutor;
+
+// Fills in the teams and matches behind a tournament's stored ids. Ids are collected across every
+// tournament passed in and each entity is fetched at most once per resolver. Up to BY_ID_LIMIT
+// missing ids are read by id, concurrently; more than that, and one read of the whole collection
+// is cheaper. Keep a resolver for one screen or request, not for the life of the app.
+public class TournamentResolver {
+    // About a full bracket; each team read by id is two requests (team + roster)
+    static final int BY_ID_LIMIT = 16;
+
+    private final TeamDAO teamDAO;
+    private final MatchDAO matchDAO;
+    private final Map<Integer, Team> teams = new ConcurrentHashMap<>();
+    private final Map<Integer, Match> matches = new ConcurrentHashMap<>();
+
+    public TournamentResolver() {
+        this(IoExecutor.shared());
+    }
+
+    public TournamentResolver(Executor executor) {
+        this(new TeamDAO(executor), new MatchDAO(executor));
+    }
+
+    TournamentResolver(TeamDAO teamDAO, MatchDAO matchDAO) {
+        this.teamDAO = teamDAO;
+        this.matchDAO = matchDAO;
+    }
+
+    public Tournament resolveTeams(Tournament tournament) {
+        resolveTeams(List.of(tournament));
+        return tournament;
+    }
+
+    // Sets registeredTeams on each tournament, in teamIds order; ids of deleted teams are skipped
+    public void resolveTeams(Collection<Tournament> tournaments) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        tournaments.forEach(t -> ids.addAll(t.getTeamIds()));
+        loadTeams(ids);
+        for (Tournament tournament : tournaments) {
+            tournament.getRegisteredTeams().clear();
+            tournament.getRegisteredTeams().addAll(lookup(tournament.getTeamIds(), teams));
+        }
+    }
+
+    public List<Team> teams(Collection<Integer> ids) {
+        loadTeams(ids);
+        return lookup(ids, teams);
+    }
+
+    // Sets matches on each tournament, in matchIds order
+    public void resolveMatches(Collection<Tournament> tournaments) {
+        Set<Integer> missing = new LinkedHashSet<>();
+        tournaments.forEach(t -> t.getMatchIds().stream().filter(id -> !matches.containsKey(id)).forEach(missing::add));
+        if (missing.size() > BY_ID_LIMIT) {
+            // A tournament's matches are one indexed query, however many there are
+            for (Tournament tournament : tournaments) {
+                matchDAO.getMatchesByTournament(tournament.getId()).forEach(m -> matches.put(m.getId(), m));
+            }
+        } else if (!missing.isEmpty()) {
+            List<CompletableFuture<Match>> reads = new ArrayList<>();
+            missing.forEach(id -> reads.add(matchDAO.getMatchByIdAsync(id)));
+            reads.stream().map(CompletableFuture::join)
+                    .filter(m -> m != null)
+                    .forEach(m -> matches.put(m.getId(), m));
+        }
+        for (Tournament tournament : tournaments) {
+            tournament.getMatches().clear();
+            tournament.getMatches().addAll(lookup(tournament.getMatchIds(), matches));
+        }
+    }
+
+    private void loadTeams(Collection<Integer> ids) {
+        List<Integer> missing = ids.stream().filter(id -> !teams.containsKey(id)).distinct().toList();
+        if (missing.size() > BY_ID_LIMIT) {
+            teams.putAll(teamDAO.getTeamsById());
+        } else if (!missing.isEmpty()) {
+            List<CompletableFuture<Team>> reads = new ArrayList<>();
+            missing.forEach(id -> reads.add(teamDAO.getTeamByIdAsync(id)));
+            reads.stream().map(CompletableFuture::join)
+                    .filter(t -> t != null)
+                    .forEach(t -> teams.put(t.getId(), t));
+        }
+    }
+
+    private static <T> List<T> lookup(Collection<Integer> ids, Map<Integer, T> loaded) {
+        List<T> found = new ArrayList<>();
+        for (Integer id : ids) {
+            T entity = loaded.get(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+}
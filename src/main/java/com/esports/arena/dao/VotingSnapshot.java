@@ -0,0 +1,61 @@
+package com.esports.arena.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.esports.arena.model.Player;
+
+// Everything the voting tab shows for one voter: the team roster, the tallies and the voter's
+// current vote, as read together by LeaderVoteDAO.getVotingSnapshot. Immutable; withVote gives
+// the state a successful cast will produce, so the tab can show it before the write completes.
+public class VotingSnapshot {
+    private final int teamId;
+    private final int voterId;
+    private final List<Player> roster;
+    private final Map<Integer, Integer> tallies;
+    private final Integer currentVote;
+
+    public VotingSnapshot(int teamId, int voterId, List<Player> roster, Map<Integer, Integer> tallies, Integer currentVote) {
+        this.teamId = teamId;
+        this.voterId = voterId;
+        this.roster = Collections.unmodifiableList(new ArrayList<>(roster));
+        this.tallies = Collections.unmodifiableMap(new LinkedHashMap<>(tallies));
+        this.currentVote = currentVote;
+    }
+
+    public int getTeamId() { return teamId; }
+    public int getVoterId() { return voterId; }
+    public List<Player> getRoster() { return roster; }
+    public Map<Integer, Integer> getTallies() { return tallies; }
+
+    // Candidate the voter currently backs, or null before their first vote
+    public Integer getCurrentVote() { return currentVote; }
+
+    public boolean hasVoted() {
+        return currentVote != null;
+    }
+
+    public int getVotes(int candidateId) {
+        return Math.max(0, tallies.getOrDefault(candidateId, 0));
+    }
+
+    public Integer getLeader() {
+        return LeaderVoteDAO.leaderOf(tallies);
+    }
+
+    // The voter's vote moved to candidateId, as LeaderVoteDAO.castVote applies it
+    public VotingSnapshot withVote(int candidateId) {
+        if (currentVote != null && currentVote == candidateId) {
+            return this;
+        }
+        Map<Integer, Integer> updated = new LinkedHashMap<>(tallies);
+        updated.merge(candidateId, 1, Integer::sum);
+        if (currentVote != null) {
+            updated.merge(currentVote, -1, Integer::sum);
+        }
+        return new VotingSnapshot(teamId, voterId, roster, updated, candidateId);
+    }
+}
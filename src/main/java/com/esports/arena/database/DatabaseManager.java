@@ -1,9 +0,0 @@
-package com.esports.arena.database;
-
-// Deprecated: SQLite backend removed in favor of Firebase Realtime Database.
-// This placeholder remains only to avoid breaking imports if any linger.
-public final class DatabaseManager {
-    private DatabaseManager() {
-        throw new UnsupportedOperationException("SQLite backend removed; use Firebase DAOs");
-    }
-}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.esports.arena.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// A list of entity ids stored as {"<id>": true, ...}, the usual Firebase set, so one id can be
+// added or removed with a PATCH of a single key (e.g. tournaments/{id}/teamIds/{teamId}).
+public final class IdSetJson {
+
+    private IdSetJson() { }
+
+    // The same set as a tree, for code that updates the node directly (see TournamentDAO.registerTeam)
+    public static List<Integer> fromTree(JsonNode node) {
+        List<Integer> ids = new ArrayList<>();
+        if (node == null) {
+            return ids;
+        }
+        if (node.isArray()) {
+            for (int index = 0; index < node.size(); index++) {
+                JsonNode value = node.get(index);
+                if (value.isBoolean() && value.asBoolean()) {
+                    ids.add(index);
+                } else if (value.isInt()) {
+                    ids.add(value.asInt());
+                }
+            }
+        } else if (node.isObject()) {
+            node.fields().forEachRemaining(entry -> {
+                if (entry.getValue().asBoolean()) {
+                    ids.add(Integer.parseInt(entry.getKey()));
+                }
+            });
+        }
+        return ids;
+    }
+
+    public static ObjectNode toTree(List<Integer> ids) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        ids.forEach(id -> node.put(String.valueOf(id), true));
+        return node;
+    }
+
+    public static class Serializer extends StdSerializer<List<Integer>> {
+        @SuppressWarnings("unchecked")
+        public Serializer() {
+            super((Class<List<Integer>>) (Class<?>) List.class);
+        }
+
+        @Override
+        public void serialize(List<Integer> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            for (Integer id : value) {
+                if (id != null) {
+                    gen.writeBooleanField(String.valueOf(id), true);
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    // Accepts the keyed set, the array Firebase returns for it when the ids are small
+    // ([null, true, true] for 1 and 2), and a plain list of ids
+    public static class Deserializer extends StdDeserializer<List<Integer>> {
+        public Deserializer() {
+            super(List.class);
+        }
+
+        @Override
+        public List<Integer> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            List<Integer> ids = new ArrayList<>();
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_ARRAY) {
+                for (int index = 0; p.nextToken() != JsonToken.END_ARRAY; index++) {
+                    if (p.currentToken() == JsonToken.VALUE_TRUE) {
+                        ids.add(index);
+                    } else if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                        ids.add(p.getIntValue());
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else if (token == JsonToken.START_OBJECT || token == JsonToken.FIELD_NAME) {
+                if (token == JsonToken.START_OBJECT) {
+                    p.nextToken();
+                }
+                for (; p.currentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                    String key = p.currentName();
+                    if (p.nextToken() == JsonToken.VALUE_TRUE) {
+                        ids.add(Integer.parseInt(key));
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else if (token != JsonToken.END_OBJECT) {
+                ctxt.handleUnexpectedToken(List.class, p);
+            }
+            return ids;
+        }
+
+        @Override
+        public List<Integer> getNullValue(DeserializationContext ctxt) {
+            return new ArrayList<>();
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.esports.arena.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -45,7 +48,28 @@ public class Match {
     @JsonProperty("winnerId")
     private Integer winnerId;
 
+    // Set on matches built by BracketGenerator: the round within its bracket, and where the
+    // winner (and, from a double-elimination upper bracket, the loser) goes next. Slots are 1 or 2
+    // for team1Id / team2Id; a team id of 0 is a slot still waiting for that result.
+    @JsonProperty("bracketRound")
+    private Integer bracketRound;
+
+    @JsonProperty("nextMatchId")
+    private Integer nextMatchId;
+
+    @JsonProperty("nextMatchSlot")
+    private Integer nextMatchSlot;
+
+    @JsonProperty("loserMatchId")
+    private Integer loserMatchId;
+
+    @JsonProperty("loserMatchSlot")
+    private Integer loserMatchSlot;
+
+    // Stored keyed by player id, see PlayerStatsJson
     @JsonProperty("playerStats")
+    @JsonSerialize(using = PlayerStatsJson.Serializer.class)
+    @JsonDeserialize(using = PlayerStatsJson.Deserializer.class)
     private List<PlayerMatchStats> playerStats;
 
     public enum MatchStatus {
@@ -103,6 +127,21 @@ public class Match {
     public Integer getWinnerId() { return winnerId; }
     public void setWinnerId(Integer winnerId) { this.winnerId = winnerId; }
 
+    public Integer getBracketRound() { return bracketRound; }
+    public void setBracketRound(Integer bracketRound) { this.bracketRound = bracketRound; }
+
+    public Integer getNextMatchId() { return nextMatchId; }
+    public void setNextMatchId(Integer nextMatchId) { this.nextMatchId = nextMatchId; }
+
+    public Integer getNextMatchSlot() { return nextMatchSlot; }
+    public void setNextMatchSlot(Integer nextMatchSlot) { this.nextMatchSlot = nextMatchSlot; }
+
+    public Integer getLoserMatchId() { return loserMatchId; }
+    public void setLoserMatchId(Integer loserMatchId) { this.loserMatchId = loserMatchId; }
+
+    public Integer getLoserMatchSlot() { return loserMatchSlot; }
+    public void setLoserMatchSlot(Integer loserMatchSlot) { this.loserMatchSlot = loserMatchSlot; }
+
     public List<PlayerMatchStats> getPlayerStats() { return playerStats; }
     public void setPlayerStats(List<PlayerMatchStats> playerStats) { this.playerStats = playerStats; }
 
@@ -125,6 +164,12 @@ public class Match {
         return status == MatchStatus.COMPLETED;
     }
 
+    // Both teams are known (bracket matches wait for earlier results)
+    @JsonIgnore
+    public boolean hasTeams() {
+        return team1Id > 0 && team2Id > 0;
+    }
+
     public boolean isLive() {
         return status == MatchStatus.LIVE;
     }
@@ -0,0 +1,83 @@
+package com.esports.arena.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Match.playerStats is stored as a map keyed by player id (matches/{id}/playerStats/{playerId})
+// so a single stat line can be written with a targeted PATCH. The Java side keeps the list.
+public final class PlayerStatsJson {
+
+    private PlayerStatsJson() { }
+
+    public static String keyOf(PlayerMatchStats stats) {
+        return String.valueOf(stats.getPlayerId());
+    }
+
+    public static class Serializer extends StdSerializer<List<PlayerMatchStats>> {
+        @SuppressWarnings("unchecked")
+        public Serializer() {
+            super((Class<List<PlayerMatchStats>>) (Class<?>) List.class);
+        }
+
+        @Override
+        public void serialize(List<PlayerMatchStats> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            for (PlayerMatchStats stats : value) {
+                if (stats != null) {
+                    gen.writeFieldName(keyOf(stats));
+                    provider.defaultSerializeValue(stats, gen);
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    // Accepts the keyed map, the legacy list, and the array Firebase returns for a map whose keys
+    // happen to be small sequential integers (with null holes). Every entry carries its playerId.
+    public static class Deserializer extends StdDeserializer<List<PlayerMatchStats>> {
+        public Deserializer() {
+            super(List.class);
+        }
+
+        @Override
+        public List<PlayerMatchStats> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            List<PlayerMatchStats> stats = new ArrayList<>();
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_ARRAY) {
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    addEntry(p, ctxt, stats);
+                }
+            } else if (token == JsonToken.START_OBJECT || token == JsonToken.FIELD_NAME) {
+                if (token == JsonToken.START_OBJECT) {
+                    p.nextToken();
+                }
+                for (; p.currentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                    p.nextToken();
+                    addEntry(p, ctxt, stats);
+                }
+            } else if (token != JsonToken.END_OBJECT) {
+                ctxt.handleUnexpectedToken(List.class, p);
+            }
+            return stats;
+        }
+
+        @Override
+        public List<PlayerMatchStats> getNullValue(DeserializationContext ctxt) {
+            return new ArrayList<>();
+        }
+
+        private static void addEntry(JsonParser p, DeserializationContext ctxt, List<PlayerMatchStats> stats) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_NULL) {
+                stats.add(ctxt.readValue(p, PlayerMatchStats.class));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.esports.arena.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+
+// Name, tag and region of a team, stored at team_summaries/{id} (see TeamDAO) for pickers
+// and labels that would otherwise load the team with its roster
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TeamSummary {
+    @JsonProperty("id")
+    private int id;
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("tag")
+    private String tag;
+
+    @JsonProperty("region")
+    private String region;
+
+    public TeamSummary() {
+    }
+
+    public static TeamSummary of(Team team) {
+        TeamSummary summary = new TeamSummary();
+        summary.id = team.getId();
+        summary.name = team.getName();
+        summary.tag = team.getTag();
+        summary.region = team.getRegion();
+        return summary;
+    }
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getTag() { return tag; }
+    public void setTag(String tag) { this.tag = tag; }
+
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TeamSummary that = (TeamSummary) o;
+        return id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return tag + " - " + name;
+    }
+}
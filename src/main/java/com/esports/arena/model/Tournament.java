@@ -1,11 +1,15 @@
 package com.esports.arena.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.ToIntFunction;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Tournament {
@@ -39,10 +43,26 @@ public class Tournament {
     @JsonProperty("winnerId")
     private Integer winnerId;
 
-    @JsonProperty("registeredTeams")
+    // Last Swiss round paired; claimed with a compare-and-set before pairing the next (see BracketService)
+    @JsonProperty("pairedRound")
+    private Integer pairedRound;
+
+    // Only ids are stored (see IdSetJson); the Team and Match objects are filled in on demand
+    // by TournamentResolver and are never written back
+    @JsonProperty("teamIds")
+    @JsonSerialize(using = IdSetJson.Serializer.class)
+    @JsonDeserialize(using = IdSetJson.Deserializer.class)
+    private List<Integer> teamIds;
+
+    @JsonProperty("matchIds")
+    @JsonSerialize(using = IdSetJson.Serializer.class)
+    @JsonDeserialize(using = IdSetJson.Deserializer.class)
+    private List<Integer> matchIds;
+
+    @JsonIgnore
     private List<Team> registeredTeams;
 
-    @JsonProperty("matches")
+    @JsonIgnore
     private List<Match> matches;
 
     public enum TournamentStatus {
@@ -50,6 +70,8 @@ public class Tournament {
     }
 
     public Tournament() {
+        this.teamIds = new ArrayList<>();
+        this.matchIds = new ArrayList<>();
         this.registeredTeams = new ArrayList<>();
         this.matches = new ArrayList<>();
         this.status = TournamentStatus.UPCOMING;
@@ -79,6 +101,10 @@ public class Tournament {
     public String getFormat() { return format; }
     public void setFormat(String format) { this.format = format; }
 
+    // The format as a TournamentFormat; null for free text no generator understands
+    @JsonIgnore
+    public TournamentFormat getFormatType() { return TournamentFormat.fromLabel(format); }
+
     public LocalDate getStartDate() { return startDate; }
     public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
 
@@ -97,33 +123,88 @@ public class Tournament {
     public Integer getWinnerId() { return winnerId; }
     public void setWinnerId(Integer winnerId) { this.winnerId = winnerId; }
 
+    public Integer getPairedRound() { return pairedRound; }
+    public void setPairedRound(Integer pairedRound) { this.pairedRound = pairedRound; }
+
+    public List<Integer> getTeamIds() { return teamIds; }
+    public void setTeamIds(List<Integer> teamIds) { this.teamIds = teamIds == null ? new ArrayList<>() : teamIds; }
+
+    public List<Integer> getMatchIds() { return matchIds; }
+    public void setMatchIds(List<Integer> matchIds) { this.matchIds = matchIds == null ? new ArrayList<>() : matchIds; }
+
+    // Resolved teams; empty until TournamentResolver has hydrated this tournament
+    @JsonIgnore
     public List<Team> getRegisteredTeams() { return registeredTeams; }
-    public void setRegisteredTeams(List<Team> registeredTeams) { this.registeredTeams = registeredTeams; }
 
+    // Also replaces the stored ids with those of the given teams
+    @JsonIgnore
+    public void setRegisteredTeams(List<Team> registeredTeams) {
+        this.registeredTeams = registeredTeams == null ? new ArrayList<>() : registeredTeams;
+        this.teamIds = idsOf(this.registeredTeams, Team::getId);
+    }
+
+    @JsonIgnore
     public List<Match> getMatches() { return matches; }
-    public void setMatches(List<Match> matches) { this.matches = matches; }
+
+    @JsonIgnore
+    public void setMatches(List<Match> matches) {
+        this.matches = matches == null ? new ArrayList<>() : matches;
+        this.matchIds = idsOf(this.matches, Match::getId);
+    }
+
+    // Documents written before ids were stored embed whole teams and matches; keep their ids
+    @JsonProperty(value = "registeredTeams", access = JsonProperty.Access.WRITE_ONLY)
+    private void setLegacyRegisteredTeams(List<Team> teams) {
+        if (teams != null) {
+            teamIds = idsOf(teams, Team::getId);
+        }
+    }
+
+    @JsonProperty(value = "matches", access = JsonProperty.Access.WRITE_ONLY)
+    private void setLegacyMatches(List<Match> legacy) {
+        if (legacy != null) {
+            matchIds = idsOf(legacy, Match::getId);
+        }
+    }
 
     public boolean canRegisterTeam() {
-        return registeredTeams.size() < maxTeams &&
+        return teamIds.size() < maxTeams &&
                 status == TournamentStatus.REGISTRATION_OPEN;
     }
 
     public void registerTeam(Team team) {
-        if (canRegisterTeam() && !registeredTeams.contains(team)) {
+        if (canRegisterTeam() && !teamIds.contains(team.getId())) {
+            teamIds.add(team.getId());
             registeredTeams.add(team);
         }
     }
 
     public void addMatch(Match match) {
+        if (!matchIds.contains(match.getId())) {
+            matchIds.add(match.getId());
+        }
         matches.add(match);
     }
 
+    // Derived from teamIds, so not stored: registration only patches the ids
+    @JsonIgnore
     public int getRegisteredTeamCount() {
-        return registeredTeams.size();
+        return teamIds.size();
     }
 
+    @JsonIgnore
     public boolean isFull() {
-        return registeredTeams.size() >= maxTeams;
+        return teamIds.size() >= maxTeams;
+    }
+
+    private static <T> List<Integer> idsOf(List<T> entities, ToIntFunction<T> id) {
+        List<Integer> ids = new ArrayList<>();
+        for (T entity : entities) {
+            if (entity != null && !ids.contains(id.applyAsInt(entity))) {
+                ids.add(id.applyAsInt(entity));
+            }
+        }
+        return ids;
     }
 
     @Override
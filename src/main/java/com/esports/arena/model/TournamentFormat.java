@@ -0,0 +1,45 @@
+package com.esports.arena.model;
+
+// The formats BracketGenerator can build. Tournaments store the label (Tournament.format), so
+// documents written when the format was free text keep working.
+public enum TournamentFormat {
+    SINGLE_ELIMINATION("Single Elimination"),
+    DOUBLE_ELIMINATION("Double Elimination"),
+    ROUND_ROBIN("Round Robin"),
+    SWISS("Swiss");
+
+    private final String label;
+
+    TournamentFormat(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    public boolean isElimination() {
+        return this == SINGLE_ELIMINATION || this == DOUBLE_ELIMINATION;
+    }
+
+    // Matches labels and constant names, ignoring case, spaces, dashes and underscores; null if unknown
+    public static TournamentFormat fromLabel(String text) {
+        if (text == null) {
+            return null;
+        }
+        String key = normalize(text);
+        for (TournamentFormat format : values()) {
+            if (normalize(format.label).equals(key) || normalize(format.name()).equals(key)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String text) {
+        return text.replaceAll("[\\s_-]", "").toLowerCase();
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,100 @@
+package com.esports.arena.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// The fields of a tournament that lists and dropdowns show, without the registered teams and
+// matches. Stored at tournament_summaries/{id} next to the tournament itself (see TournamentDAO).
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TournamentSummary {
+    @JsonProperty("id")
+    private int id;
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("game")
+    private String game;
+
+    @JsonProperty("status")
+    private Tournament.TournamentStatus status;
+
+    @JsonProperty("startDate")
+    private LocalDate startDate;
+
+    @JsonProperty("prizePool")
+    private double prizePool;
+
+    @JsonProperty("maxTeams")
+    private int maxTeams;
+
+    @JsonProperty("teamCount")
+    private int teamCount;
+
+    @JsonProperty("winnerId")
+    private Integer winnerId;
+
+    public TournamentSummary() {
+    }
+
+    public static TournamentSummary of(Tournament tournament) {
+        TournamentSummary summary = new TournamentSummary();
+        summary.id = tournament.getId();
+        summary.name = tournament.getName();
+        summary.game = tournament.getGame();
+        summary.status = tournament.getStatus();
+        summary.startDate = tournament.getStartDate();
+        summary.prizePool = tournament.getPrizePool();
+        summary.maxTeams = tournament.getMaxTeams();
+        summary.teamCount = tournament.getRegisteredTeamCount();
+        summary.winnerId = tournament.getWinnerId();
+        return summary;
+    }
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getGame() { return game; }
+    public void setGame(String game) { this.game = game; }
+
+    public Tournament.TournamentStatus getStatus() { return status; }
+    public void setStatus(Tournament.TournamentStatus status) { this.status = status; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public double getPrizePool() { return prizePool; }
+    public void setPrizePool(double prizePool) { this.prizePool = prizePool; }
+
+    public int getMaxTeams() { return maxTeams; }
+    public void setMaxTeams(int maxTeams) { this.maxTeams = maxTeams; }
+
+    public int getTeamCount() { return teamCount; }
+    public void setTeamCount(int teamCount) { this.teamCount = teamCount; }
+
+    public Integer getWinnerId() { return winnerId; }
+    public void setWinnerId(Integer winnerId) { this.winnerId = winnerId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TournamentSummary that = (TournamentSummary) o;
+        return id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + game + ")";
+    }
+}
@@ -0,0 +1,370 @@
+package com.esports.arena.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+// Compact binary image of whole collections, for cold start and backups. Children are stored as
+// the JSON trees the database returns (and LiveCollection mirrors), so every model class round-trips
+// without per-class code. Layout, big-endian:
+//   header    magic "ARSN", version, savedAt (epoch millis)
+//   strings   count, then length + UTF-8 each: collection and field names, plus any string value
+//             that occurs more than once (roles, regions, statuses...)
+//   sections  count, then per collection: name index, child count, body offset and length
+//   bodies    per child: key, value
+// A value is a tag byte followed by nothing (null, false, true), a zigzag varint (integers), eight
+// bytes (doubles), length + UTF-8 (strings), a string index (shared strings) or a count of
+// fields (name index + value) or items. open() memory-maps the file and reads only the header;
+// a collection is decoded straight from the mapping when it is asked for.
+public final class BinarySnapshot {
+    private static final int MAGIC = 0x4152534E;
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte STRING = 5;
+    private static final byte SHARED = 6;
+    private static final byte OBJECT = 7;
+    private static final byte ARRAY = 8;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private record Section(int children, int offset, int length) { }
+
+    private final ByteBuffer buffer;
+    private final long savedAt;
+    private final String[] strings;
+    private final Map<String, Section> sections = new LinkedHashMap<>();
+    private final int bodies;
+
+    private BinarySnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.remaining() < 16 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a snapshot file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        savedAt = buffer.getLong();
+        strings = new String[(int) readVarint(buffer)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readUtf(buffer);
+        }
+        int count = (int) readVarint(buffer);
+        for (int i = 0; i < count; i++) {
+            String name = strings[(int) readVarint(buffer)];
+            sections.put(name, new Section(buffer.getInt(), buffer.getInt(), buffer.getInt()));
+        }
+        bodies = buffer.position();
+        for (Section section : sections.values()) {
+            if ((long) bodies + section.offset() + section.length() > buffer.limit()) {
+                throw new IOException("Truncated snapshot");
+            }
+        }
+    }
+
+    // Maps the file read-only; the mapping stays valid after the channel is closed
+    public static BinarySnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new BinarySnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt snapshot " + file + ": " + e, e);
+        }
+    }
+
+    public long getSavedAt() {
+        return savedAt;
+    }
+
+    public Set<String> getCollections() {
+        return Collections.unmodifiableSet(sections.keySet());
+    }
+
+    public int size(String collection) {
+        Section section = sections.get(collection);
+        return section == null ? 0 : section.children();
+    }
+
+    // The collection as an object keyed by child key, or null if the snapshot does not have it
+    public ObjectNode read(String collection) throws IOException {
+        Section section = sections.get(collection);
+        if (section == null) {
+            return null;
+        }
+        ByteBuffer in = buffer.duplicate();
+        in.position(bodies + section.offset());
+        in.limit(bodies + section.offset() + section.length());
+        ObjectNode result = NODES.objectNode();
+        try {
+            for (int i = 0; i < section.children(); i++) {
+                String key = readValue(in).asText();
+                result.set(key, readValue(in));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt snapshot section " + collection + ": " + e, e);
+        }
+        return result;
+    }
+
+    // Binds every child of a collection; children that no longer bind are skipped
+    public <T> Map<String, T> read(String collection, Class<T> type) throws IOException {
+        Map<String, T> result = new LinkedHashMap<>();
+        ObjectNode children = read(collection);
+        if (children == null) {
+            return result;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = children.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> child = fields.next();
+            try {
+                result.put(child.getKey(), MAPPER.treeToValue(child.getValue(), type));
+            } catch (Exception e) {
+                System.err.println("Skipping " + collection + "/" + child.getKey() + " in snapshot: " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    // Writes collections (name -> object or array of children, as read from the database) to
+    // file, replacing it only once the new snapshot is complete
+    public static void write(Path file, Map<String, ? extends JsonNode> collections) throws IOException {
+        Map<String, ObjectNode> children = new LinkedHashMap<>();
+        collections.forEach((name, node) -> children.put(name, toObject(node)));
+
+        // Strings used more than once go into the table; names always do
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, Integer> table = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectNode> collection : children.entrySet()) {
+            table.putIfAbsent(collection.getKey(), table.size());
+            collection.getValue().fields().forEachRemaining(child -> countStrings(child.getValue(), table, counts));
+        }
+        counts.forEach((value, count) -> {
+            if (count > 1) {
+                table.putIfAbsent(value, table.size());
+            }
+        });
+
+        List<byte[]> bodies = new ArrayList<>();
+        for (ObjectNode collection : children.values()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            Iterator<Map.Entry<String, JsonNode>> fields = collection.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> child = fields.next();
+                writeValue(out, NODES.textNode(child.getKey()), table);
+                writeValue(out, child.getValue(), table);
+            }
+            out.flush();
+            bodies.add(bytes.toByteArray());
+        }
+
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".part");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                writeVarint(out, table.size());
+                for (String value : table.keySet()) {
+                    writeUtf(out, value);
+                }
+                writeVarint(out, children.size());
+                int offset = 0;
+                int index = 0;
+                for (Map.Entry<String, ObjectNode> collection : children.entrySet()) {
+                    byte[] body = bodies.get(index++);
+                    writeVarint(out, table.get(collection.getKey()));
+                    out.writeInt(collection.getValue().size());
+                    out.writeInt(offset);
+                    out.writeInt(body.length);
+                    offset = Math.addExact(offset, body.length);
+                }
+                for (byte[] body : bodies) {
+                    out.write(body);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void countStrings(JsonNode node, Map<String, Integer> table, Map<String, Integer> counts) {
+        if (node.isObject()) {
+            node.fields().forEachRemaining(field -> {
+                table.putIfAbsent(field.getKey(), table.size());
+                countStrings(field.getValue(), table, counts);
+            });
+        } else if (node.isArray()) {
+            node.forEach(item -> countStrings(item, table, counts));
+        } else if (node.isTextual()) {
+            counts.merge(node.textValue(), 1, Integer::sum);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, JsonNode node, Map<String, Integer> table) throws IOException {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            out.writeByte(NULL);
+        } else if (node.isBoolean()) {
+            out.writeByte(node.booleanValue() ? TRUE : FALSE);
+        } else if (node.isIntegralNumber() && node.canConvertToLong()) {
+            out.writeByte(INT);
+            long value = node.longValue();
+            writeVarint(out, (value << 1) ^ (value >> 63));
+        } else if (node.isNumber()) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(node.doubleValue());
+        } else if (node.isObject()) {
+            out.writeByte(OBJECT);
+            writeVarint(out, node.size());
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                writeVarint(out, table.get(field.getKey()));
+                writeValue(out, field.getValue(), table);
+            }
+        } else if (node.isArray()) {
+            out.writeByte(ARRAY);
+            writeVarint(out, node.size());
+            for (JsonNode item : node) {
+                writeValue(out, item, table);
+            }
+        } else {
+            String text = node.asText();
+            Integer shared = table.get(text);
+            if (shared != null) {
+                out.writeByte(SHARED);
+                writeVarint(out, shared);
+            } else {
+                out.writeByte(STRING);
+                writeUtf(out, text);
+            }
+        }
+    }
+
+    private JsonNode readValue(ByteBuffer in) {
+        byte tag = in.get();
+        switch (tag) {
+            case NULL:
+                return NODES.nullNode();
+            case FALSE:
+                return NODES.booleanNode(false);
+            case TRUE:
+                return NODES.booleanNode(true);
+            case INT: {
+                long raw = readVarint(in);
+                long value = (raw >>> 1) ^ -(raw & 1);
+                return value == (int) value ? NODES.numberNode((int) value) : NODES.numberNode(value);
+            }
+            case DOUBLE:
+                return NODES.numberNode(in.getDouble());
+            case STRING:
+                return NODES.textNode(readUtf(in));
+            case SHARED:
+                return NODES.textNode(strings[(int) readVarint(in)]);
+            case OBJECT: {
+                int size = (int) readVarint(in);
+                ObjectNode object = NODES.objectNode();
+                for (int i = 0; i < size; i++) {
+                    String name = strings[(int) readVarint(in)];
+                    object.set(name, readValue(in));
+                }
+                return object;
+            }
+            case ARRAY: {
+                int size = (int) readVarint(in);
+                ArrayNode array = NODES.arrayNode(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(readValue(in));
+                }
+                return array;
+            }
+            default:
+                throw new IllegalStateException("Unknown value tag " + tag);
+        }
+    }
+
+    // Firebase returns collections with sequential keys as arrays; snapshots always key by string
+    private static ObjectNode toObject(JsonNode node) {
+        ObjectNode object = NODES.objectNode();
+        if (node == null) {
+            return object;
+        }
+        if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                if (!node.get(i).isNull()) {
+                    object.set(String.valueOf(i), node.get(i));
+                }
+            }
+        } else if (node.isObject()) {
+            object.setAll((ObjectNode) node);
+        }
+        return object;
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static void writeUtf(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readUtf(ByteBuffer in) {
+        byte[] bytes = new byte[(int) readVarint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,408 @@
+package com.esports.arena.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.model.TournamentFormat;
+
+// Builds a tournament's matches in memory, with no database access, so BracketService can write
+// them in one go. Elimination brackets are laid out for the next power of two with the standard
+// seeding (1 and 2 can only meet in the final); the byes go to the top seeds and are dropped, with
+// each team placed straight into the match it would have advanced to. Matches are numbered 1..n in
+// play order, and each carries where its winner (and, in double elimination, its loser) goes next;
+// assignIds moves them onto real ids. Everything is linear in the number of matches, except Swiss
+// pairing, which avoids rematches by scanning down the standings.
+public final class BracketGenerator {
+
+    // Matches that can be played at once share a start time; parallelMatches caps how many run
+    // together (0 for no limit), and each later wave starts matchLength after the previous one.
+    public record Schedule(LocalDateTime start, Duration matchLength, int parallelMatches) { }
+
+    private BracketGenerator() { }
+
+    // Every match of the format; for SWISS, the first round only (see swissRound)
+    public static List<Match> generate(TournamentFormat format, int tournamentId, List<Integer> seeds, Schedule schedule) {
+        if (seeds.size() < 2) {
+            return new ArrayList<>();
+        }
+        return switch (format) {
+            case SINGLE_ELIMINATION -> build(tournamentId, elimination(seeds, false), schedule);
+            case DOUBLE_ELIMINATION -> build(tournamentId, elimination(seeds, true), schedule);
+            case ROUND_ROBIN -> build(tournamentId, roundRobin(seeds), schedule);
+            case SWISS -> swissRound(tournamentId, seeds, new ArrayList<>(), 1, schedule);
+        };
+    }
+
+    // Renumbers matches made here from 1..n to firstId..firstId+n-1, references included
+    public static void assignIds(List<Match> matches, int firstId) {
+        int offset = firstId - 1;
+        for (Match match : matches) {
+            match.setId(match.getId() + offset);
+            if (match.getNextMatchId() != null) {
+                match.setNextMatchId(match.getNextMatchId() + offset);
+            }
+            if (match.getLoserMatchId() != null) {
+                match.setLoserMatchId(match.getLoserMatchId() + offset);
+            }
+        }
+    }
+
+    public static int swissRounds(int teams) {
+        return teams < 2 ? 0 : 32 - Integer.numberOfLeadingZeros(teams - 1);
+    }
+
+    // Pairs the given Swiss round from the results so far: teams are ordered by points, then seed,
+    // and each is paired with the next team below it that it has not met yet. Round 1 pairs the top
+    // half against the bottom half. With an odd count, the lowest-ranked team without a bye sits out.
+    public static List<Match> swissRound(int tournamentId, List<Integer> seeds, List<Match> played, int round, Schedule schedule) {
+        List<Integer> order = round == 1 ? new ArrayList<>(seeds) : standings(seeds, played);
+        Map<Integer, Set<Integer>> opponents = new HashMap<>();
+        for (Match match : played) {
+            if (match.hasTeams()) {
+                opponents.computeIfAbsent(match.getTeam1Id(), t -> new HashSet<>()).add(match.getTeam2Id());
+                opponents.computeIfAbsent(match.getTeam2Id(), t -> new HashSet<>()).add(match.getTeam1Id());
+            }
+        }
+        if (order.size() % 2 == 1) {
+            Set<Integer> hadBye = byes(seeds, played).keySet();
+            int sitOut = order.size() - 1;
+            while (sitOut > 0 && hadBye.contains(order.get(sitOut))) {
+                sitOut--;
+            }
+            order.remove(sitOut);
+        }
+
+        List<Node> nodes = new ArrayList<>();
+        String label = "Swiss Round " + round;
+        if (round == 1) {
+            int half = order.size() / 2;
+            for (int i = 0; i < half; i++) {
+                nodes.add(new Node(label, round, Slot.team(order.get(i)), Slot.team(order.get(i + half))));
+            }
+        } else {
+            boolean[] paired = new boolean[order.size()];
+            for (int i = 0; i < order.size(); i++) {
+                if (paired[i]) {
+                    continue;
+                }
+                Set<Integer> met = opponents.getOrDefault(order.get(i), Set.of());
+                int partner = -1;
+                for (int j = i + 1; j < order.size(); j++) {
+                    if (!paired[j]) {
+                        if (partner < 0) {
+                            partner = j; // a rematch if nobody else is left
+                        }
+                        if (!met.contains(order.get(j))) {
+                            partner = j;
+                            break;
+                        }
+                    }
+                }
+                paired[i] = true;
+                paired[partner] = true;
+                nodes.add(new Node(label, round, Slot.team(order.get(i)), Slot.team(order.get(partner))));
+            }
+        }
+        return build(tournamentId, nodes, schedule);
+    }
+
+    // Team ids, best first: two points per win (a Swiss bye counts as one), one per draw, then seed
+    public static List<Integer> standings(List<Integer> seeds, List<Match> played) {
+        Map<Integer, Integer> points = new HashMap<>(byes(seeds, played));
+        points.replaceAll((team, byes) -> 2 * byes);
+        for (Match match : played) {
+            if (!match.isCompleted() || !match.hasTeams()) {
+                continue;
+            }
+            if (match.getWinnerId() == null) {
+                points.merge(match.getTeam1Id(), 1, Integer::sum);
+                points.merge(match.getTeam2Id(), 1, Integer::sum);
+            } else {
+                points.merge(match.getWinnerId(), 2, Integer::sum);
+            }
+        }
+        Map<Integer, Integer> seedOf = new HashMap<>();
+        for (int i = 0; i < seeds.size(); i++) {
+            seedOf.put(seeds.get(i), i);
+        }
+        List<Integer> order = new ArrayList<>(seeds);
+        order.sort(Comparator.<Integer>comparingInt(t -> -points.getOrDefault(t, 0)).thenComparingInt(seedOf::get));
+        return order;
+    }
+
+    // Byes per team: in each Swiss round played so far, the teams that had no match
+    private static Map<Integer, Integer> byes(List<Integer> seeds, List<Match> played) {
+        Map<Integer, Set<Integer>> playing = new HashMap<>();
+        for (Match match : played) {
+            if (match.getBracketRound() != null && match.getRound() != null && match.getRound().startsWith("Swiss")) {
+                Set<Integer> teams = playing.computeIfAbsent(match.getBracketRound(), r -> new HashSet<>());
+                teams.add(match.getTeam1Id());
+                teams.add(match.getTeam2Id());
+            }
+        }
+        Map<Integer, Integer> byes = new HashMap<>();
+        for (Set<Integer> teams : playing.values()) {
+            for (Integer team : seeds) {
+                if (!teams.contains(team)) {
+                    byes.merge(team, 1, Integer::sum);
+                }
+            }
+        }
+        return byes;
+    }
+
+    // Circle method: one team stays put while the rest rotate, so every pair meets exactly once
+    // over n-1 rounds (n rounded up to even; the odd one out rests each round)
+    private static List<Node> roundRobin(List<Integer> seeds) {
+        List<Integer> ring = new ArrayList<>(seeds);
+        if (ring.size() % 2 == 1) {
+            ring.add(0);
+        }
+        int n = ring.size();
+        List<Node> nodes = new ArrayList<>(n / 2 * (n - 1));
+        int[] at = new int[n];
+        for (int i = 0; i < n; i++) {
+            at[i] = i;
+        }
+        for (int round = 1; round < n; round++) {
+            for (int i = 0; i < n / 2; i++) {
+                int home = ring.get(at[i]);
+                int away = ring.get(at[n - 1 - i]);
+                if (home != 0 && away != 0) {
+                    // Alternate sides so nobody is always team 1
+                    boolean swap = i == 0 && round % 2 == 0;
+                    Node node = new Node("Round " + round, round, Slot.team(swap ? away : home), Slot.team(swap ? home : away));
+                    node.wave = round; // rounds are played in turn even though no result feeds the next
+                    nodes.add(node);
+                }
+            }
+            int last = at[n - 1];
+            System.arraycopy(at, 1, at, 2, n - 2);
+            at[1] = last;
+        }
+        return nodes;
+    }
+
+    // The upper bracket, then (for double elimination) the lower bracket and a single grand final
+    private static List<Node> elimination(List<Integer> seeds, boolean doubleElimination) {
+        int size = Integer.highestOneBit(seeds.size() - 1) << 1;
+        int rounds = Integer.numberOfTrailingZeros(size);
+        String prefix = doubleElimination ? "Upper " : "";
+        List<Node> nodes = new ArrayList<>(2 * size);
+
+        List<List<Node>> upper = new ArrayList<>();
+        List<Node> round = new ArrayList<>();
+        int[] positions = seedPositions(size);
+        for (int i = 0; i < size; i += 2) {
+            round.add(new Node(prefix + eliminationLabel(1, rounds), 1,
+                    seedSlot(seeds, positions[i]), seedSlot(seeds, positions[i + 1])));
+        }
+        upper.add(round);
+        for (int r = 2; r <= rounds; r++) {
+            round = pairWinners(round, prefix + eliminationLabel(r, rounds), r);
+            upper.add(round);
+        }
+        upper.forEach(nodes::addAll);
+        if (!doubleElimination) {
+            return nodes;
+        }
+
+        // Losers of upper round 1 meet each other; every later upper round drops its losers in
+        // against the lower bracket survivors, crossed over on alternate rounds to avoid rematches
+        Node upperFinal = upper.get(rounds - 1).get(0);
+        Slot lowerChampion = Slot.loser(upperFinal);
+        if (rounds > 1) {
+            int lowerRounds = 2 * (rounds - 1);
+            int lowerRound = 1;
+            List<Node> lower = new ArrayList<>();
+            List<Node> first = upper.get(0);
+            for (int i = 0; i < first.size(); i += 2) {
+                lower.add(new Node(lowerLabel(lowerRound, lowerRounds), lowerRound,
+                        Slot.loser(first.get(i)), Slot.loser(first.get(i + 1))));
+            }
+            nodes.addAll(lower);
+            for (int r = 1; r < rounds; r++) {
+                List<Node> dropping = upper.get(r);
+                boolean cross = r % 2 == 1;
+                List<Node> next = new ArrayList<>();
+                lowerRound++;
+                for (int i = 0; i < lower.size(); i++) {
+                    Node loserFrom = dropping.get(cross ? dropping.size() - 1 - i : i);
+                    next.add(new Node(lowerLabel(lowerRound, lowerRounds), lowerRound,
+                            Slot.winner(lower.get(i)), Slot.loser(loserFrom)));
+                }
+                lower = next;
+                nodes.addAll(lower);
+                if (r < rounds - 1) {
+                    lowerRound++;
+                    lower = pairWinners(lower, lowerLabel(lowerRound, lowerRounds), lowerRound);
+                    nodes.addAll(lower);
+                }
+            }
+            lowerChampion = Slot.winner(lower.get(0));
+        }
+        nodes.add(new Node("Grand Final", 1, Slot.winner(upperFinal), lowerChampion));
+        return nodes;
+    }
+
+    private static List<Node> pairWinners(List<Node> previous, String label, int round) {
+        List<Node> next = new ArrayList<>(previous.size() / 2);
+        for (int i = 0; i < previous.size(); i += 2) {
+            next.add(new Node(label, round, Slot.winner(previous.get(i)), Slot.winner(previous.get(i + 1))));
+        }
+        return next;
+    }
+
+    // Seed numbers (1-based) in bracket order: [1, 4, 2, 3] for four, so 1 and 2 meet last
+    static int[] seedPositions(int size) {
+        int[] order = {1};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            int sum = next.length + 1;
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = sum - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    private static Slot seedSlot(List<Integer> seeds, int seed) {
+        return seed <= seeds.size() ? Slot.team(seeds.get(seed - 1)) : Slot.BYE;
+    }
+
+    private static String eliminationLabel(int round, int rounds) {
+        return switch (rounds - round) {
+            case 0 -> "Final";
+            case 1 -> "Semifinal";
+            case 2 -> "Quarterfinal";
+            default -> "Round of " + (1 << (rounds - round + 1));
+        };
+    }
+
+    private static String lowerLabel(int round, int rounds) {
+        return round == rounds ? "Lower Final" : "Lower Round " + round;
+    }
+
+    // Drops matches a bye would have decided (rewiring their feeds past them), numbers the rest,
+    // links each result to where it goes and schedules them in waves of playable matches
+    private static List<Match> build(int tournamentId, List<Node> nodes, Schedule schedule) {
+        List<Node> kept = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            node.a = node.a.resolve();
+            node.b = node.b.resolve();
+            if (node.a.isBye() || node.b.isBye()) {
+                node.walkover = node.a.isBye() ? node.b : node.a;
+                continue;
+            }
+            node.wave = Math.max(node.wave, 1 + Math.max(node.a.wave(), node.b.wave()));
+            kept.add(node);
+        }
+
+        List<Match> matches = new ArrayList<>(kept.size());
+        for (Node node : kept) {
+            Match match = new Match(tournamentId, node.a.teamId, node.b.teamId, null, node.label);
+            match.setId(matches.size() + 1);
+            match.setBracketRound(node.round);
+            node.match = match;
+            matches.add(match);
+        }
+        for (Node node : kept) {
+            link(node.a, node.match, 1);
+            link(node.b, node.match, 2);
+        }
+        schedule(kept, schedule);
+        return matches;
+    }
+
+    private static void link(Slot slot, Match target, int position) {
+        if (slot.from == null) {
+            return;
+        }
+        if (slot.loser) {
+            slot.from.match.setLoserMatchId(target.getId());
+            slot.from.match.setLoserMatchSlot(position);
+        } else {
+            slot.from.match.setNextMatchId(target.getId());
+            slot.from.match.setNextMatchSlot(position);
+        }
+    }
+
+    private static void schedule(List<Node> kept, Schedule schedule) {
+        if (schedule == null) {
+            return;
+        }
+        Map<Integer, List<Node>> waves = new LinkedHashMap<>();
+        kept.stream().sorted(Comparator.comparingInt(n -> n.wave))
+                .forEach(n -> waves.computeIfAbsent(n.wave, w -> new ArrayList<>()).add(n));
+        int parallel = schedule.parallelMatches();
+        long slot = 0;
+        for (List<Node> wave : waves.values()) {
+            int perSlot = parallel < 1 ? wave.size() : parallel;
+            for (int i = 0; i < wave.size(); i++) {
+                wave.get(i).match.setScheduledTime(schedule.start().plus(schedule.matchLength().multipliedBy(slot + i / perSlot)));
+            }
+            slot += (wave.size() + perSlot - 1) / perSlot;
+        }
+    }
+
+    // A match before numbering; its slots are fed by seeds or by earlier nodes' results
+    private static final class Node {
+        final String label;
+        final int round;
+        Slot a;
+        Slot b;
+        Slot walkover; // set when a bye decided this node and it was dropped
+        int wave; // matches in the same wave can be played at the same time
+        Match match;
+
+        Node(String label, int round, Slot a, Slot b) {
+            this.label = label;
+            this.round = round;
+            this.a = a;
+            this.b = b;
+        }
+    }
+
+    private record Slot(int teamId, Node from, boolean loser) {
+        static final Slot BYE = new Slot(0, null, false);
+
+        static Slot team(int teamId) {
+            return new Slot(teamId, null, false);
+        }
+
+        static Slot winner(Node node) {
+            return new Slot(0, node, false);
+        }
+
+        static Slot loser(Node node) {
+            return new Slot(0, node, true);
+        }
+
+        boolean isBye() {
+            return teamId == 0 && from == null;
+        }
+
+        // A dropped node passes its walkover on as its winner and has no loser
+        Slot resolve() {
+            if (from == null || from.walkover == null) {
+                return this;
+            }
+            return loser ? BYE : from.walkover;
+        }
+
+        int wave() {
+            return from == null ? 0 : from.wave;
+        }
+    }
+}
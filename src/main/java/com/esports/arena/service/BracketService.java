@@ -0,0 +1,172 @@
+package com.esports.arena.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.TournamentDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentFormat;
+
+// Writes the matches BracketGenerator builds and keeps formats moving once results come in.
+// Elimination winners advance in the same PATCH as the result (MatchDAO.advancement); this class
+// handles what needs the rest of the tournament: the next Swiss round once every match of the
+// current one is done, and finishing the tournament after its last match.
+public class BracketService {
+    // Matches per PATCH; larger brackets are written in several, tournament status last
+    static final int WRITE_BATCH = 2000;
+
+    private final TournamentDAO tournamentDAO;
+    private final MatchDAO matchDAO;
+
+    public BracketService() {
+        this(new TournamentDAO(), new MatchDAO());
+    }
+
+    public BracketService(TournamentDAO tournamentDAO, MatchDAO matchDAO) {
+        this.tournamentDAO = tournamentDAO;
+        this.matchDAO = matchDAO;
+    }
+
+    // Noon on the start date, an hour per match, as many at once as there are pairings
+    public static BracketGenerator.Schedule defaultSchedule(LocalDate startDate) {
+        LocalDate day = startDate == null ? LocalDate.now() : startDate;
+        return new BracketGenerator.Schedule(day.atTime(LocalTime.NOON), Duration.ofHours(1), 0);
+    }
+
+    // Generates the bracket for the registered teams (seeded in teamIds order), writes every match
+    // with the tournament's matchIds and sets the tournament IN_PROGRESS. A tournament that already
+    // has matches (from a bracket, a migrated document or "Create Match"), has fewer than two teams
+    // or a format with no generator is only set IN_PROGRESS, as Start did before brackets. Returns
+    // the number of matches written (0 when play opened without a bracket), or -1 if the
+    // tournament is missing or the write failed.
+    public int startTournament(int tournamentId, BracketGenerator.Schedule schedule) {
+        try {
+            Tournament tournament = tournamentDAO.getTournamentById(tournamentId);
+            if (tournament == null) {
+                System.err.println("Cannot start missing tournament " + tournamentId);
+                return -1;
+            }
+            TournamentFormat format = tournament.getFormatType();
+            if (format == null || tournament.getTeamIds().size() < 2 || !tournament.getMatchIds().isEmpty()
+                    || !matchDAO.getMatchesByTournament(tournamentId).isEmpty()) {
+                return tournamentDAO.updateTournamentStatus(tournamentId, Tournament.TournamentStatus.IN_PROGRESS) ? 0 : -1;
+            }
+            List<Match> matches = BracketGenerator.generate(format, tournamentId, tournament.getTeamIds(), schedule);
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("tournaments/" + tournamentId + "/status", Tournament.TournamentStatus.IN_PROGRESS);
+            status.put(TournamentDAO.summaryPath(tournamentId) + "/status", Tournament.TournamentStatus.IN_PROGRESS);
+            if (format == TournamentFormat.SWISS) {
+                status.put(pairedRoundPath(tournamentId), 1);
+            }
+            writeMatches(tournamentId, matches, status);
+            return matches.size();
+        } catch (Exception e) {
+            System.err.println("Error generating bracket: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    // Call after a bracket match is completed (MatchFinalizationService does). Pairs the next Swiss
+    // round, or finishes the tournament, once the results allow it. Two results arriving together
+    // can both see the round complete, so the next round is first claimed with a compare-and-set on
+    // the tournament's pairedRound and only the result that wins the claim pairs it.
+    public boolean onMatchCompleted(Match match) {
+        if (match.getBracketRound() == null || match.getNextMatchId() != null || !match.isCompleted()) {
+            return true;
+        }
+        try {
+            Tournament tournament = tournamentDAO.getTournamentById(match.getTournamentId());
+            TournamentFormat format = tournament == null ? null : tournament.getFormatType();
+            if (format == null || tournament.getStatus() == Tournament.TournamentStatus.COMPLETED) {
+                return true;
+            }
+            if (format.isElimination()) {
+                // Only the final (or grand final) sends its winner nowhere
+                return match.getLoserMatchId() != null || match.getWinnerId() == null
+                        || tournamentDAO.finishTournament(tournament.getId(), match.getWinnerId());
+            }
+
+            List<Match> matches = matchDAO.getMatchesByTournament(tournament.getId());
+            List<Match> bracket = matches.stream().filter(m -> m.getBracketRound() != null).toList();
+            int round = match.getBracketRound();
+            boolean roundDone = bracket.stream()
+                    .filter(m -> format == TournamentFormat.ROUND_ROBIN || m.getBracketRound() == round)
+                    .allMatch(Match::isCompleted);
+            if (!roundDone) {
+                return true;
+            }
+            List<Integer> teams = tournament.getTeamIds();
+            if (format == TournamentFormat.SWISS && round < BracketGenerator.swissRounds(teams.size())) {
+                if (bracket.stream().anyMatch(m -> m.getBracketRound() > round) || !claimRound(tournament.getId(), round + 1)) {
+                    return true;
+                }
+                // The next round starts a match length after the last scheduled one
+                BracketGenerator.Schedule schedule = bracket.stream().map(Match::getScheduledTime)
+                        .filter(Objects::nonNull).max(Comparator.naturalOrder())
+                        .map(last -> new BracketGenerator.Schedule(last.plusHours(1), Duration.ofHours(1), 0))
+                        .orElse(null);
+                List<Match> next = BracketGenerator.swissRound(tournament.getId(), teams, bracket, round + 1, schedule);
+                try {
+                    writeMatches(tournament.getId(), next, Map.of());
+                } catch (Exception e) {
+                    // Give the claim back so the next result of the round can pair it
+                    RealtimeDatabaseService.transaction(pairedRoundPath(tournament.getId()), Integer.class,
+                            current -> current != null && current == round + 1 ? round : null);
+                    throw e;
+                }
+                return true;
+            }
+            List<Integer> standings = BracketGenerator.standings(teams, bracket);
+            return tournamentDAO.finishTournament(tournament.getId(), standings.get(0));
+        } catch (Exception e) {
+            System.err.println("Error advancing bracket: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Moves pairedRound up to round unless another client already has; true if this call did
+    private static boolean claimRound(int tournamentId, int round) throws Exception {
+        Integer claimed = RealtimeDatabaseService.transaction(pairedRoundPath(tournamentId), Integer.class,
+                current -> current != null && current >= round ? null : round);
+        return claimed != null;
+    }
+
+    private static String pairedRoundPath(int tournamentId) {
+        return "tournaments/" + tournamentId + "/pairedRound";
+    }
+
+    // Reserves one block of match ids and writes the matches and their matchIds entries in
+    // WRITE_BATCH-sized root PATCHes; extra updates go with the last one
+    private void writeMatches(int tournamentId, List<Match> matches, Map<String, Object> extra) throws Exception {
+        if (!matches.isEmpty()) {
+            long first = RealtimeDatabaseService.reserveIds("counters/matches", matches.size());
+            BracketGenerator.assignIds(matches, Math.toIntExact(first));
+        }
+        Map<String, Object> updates = new LinkedHashMap<>();
+        List<Map<String, Object>> batches = new ArrayList<>();
+        for (Match match : matches) {
+            updates.put("matches/" + match.getId(), match);
+            updates.put("tournaments/" + tournamentId + "/matchIds/" + match.getId(), true);
+            if (updates.size() >= 2 * WRITE_BATCH) {
+                batches.add(updates);
+                updates = new LinkedHashMap<>();
+            }
+        }
+        updates.putAll(extra);
+        batches.add(updates);
+        for (Map<String, Object> batch : batches) {
+            if (!batch.isEmpty()) {
+                RealtimeDatabaseService.updateMultiPath(batch);
+            }
+        }
+    }
+}
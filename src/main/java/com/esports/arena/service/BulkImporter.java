@@ -0,0 +1,311 @@
+package com.esports.arena.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.dao.TournamentDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.TeamSummary;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentSummary;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+// Loads an export file (plain or gzip, see JsonExportImportService) into the database. Entities
+// are read one at a time off the parser, given new ids from IdAllocator blocks with every
+// reference (team of a player, teams and winner of a match, stat lines...) rewritten to match,
+// and written as root multi-path PATCHes of batchSize entities. At most maxInFlight batches are
+// outstanding; when that many are, reading waits, so memory stays bounded by the batches in flight.
+public class BulkImporter {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    // rowsRead counts entities parsed, rowsWritten those whose batch has been acknowledged;
+    // fileFraction is the share of the file consumed so far (0..1)
+    public record Progress(String collection, long rowsRead, long rowsWritten, double fileFraction, double rowsPerSecond) { }
+
+    public record Result(Map<String, Integer> rows, int batches, long elapsedMillis) {
+        public int totalRows() {
+            return rows.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        public double rowsPerSecond() {
+            return elapsedMillis == 0 ? totalRows() : totalRows() * 1000.0 / elapsedMillis;
+        }
+    }
+
+    private static final Map<String, Class<?>> COLLECTIONS = Map.of(
+            "players", Player.class,
+            "teams", Team.class,
+            "tournaments", Tournament.class,
+            "matches", Match.class);
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Executor executor;
+
+    public BulkImporter() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT, IoExecutor.shared());
+    }
+
+    public BulkImporter(int batchSize, int maxInFlight, Executor executor) {
+        if (batchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("batchSize and maxInFlight must be positive");
+        }
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.executor = executor;
+    }
+
+    // Imports every collection in the file. On failure no further batches are sent, the ones
+    // already written stay, and the first error is thrown once the in-flight batches have ended.
+    public Result importFile(Path file, Consumer<Progress> progress) throws Exception {
+        return new Run(Files.size(file), progress).execute(file);
+    }
+
+    // State of one import: id mappings, the batch being filled and the in-flight accounting
+    private final class Run {
+        private final long fileSize;
+        private final Consumer<Progress> progress;
+        private final long start = System.nanoTime();
+        private final Map<String, Map<Integer, Integer>> idMaps = new HashMap<>();
+        private final Map<String, Integer> rows = new LinkedHashMap<>();
+        private final Semaphore slots = new Semaphore(maxInFlight);
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+        private Map<String, Object> batch = new LinkedHashMap<>();
+        private int batchRows;
+        private CountingInputStream counted;
+        private volatile String collection = "";
+        private volatile long read;
+        private int batches;
+
+        Run(long fileSize, Consumer<Progress> progress) {
+            this.fileSize = fileSize;
+            this.progress = progress;
+        }
+
+        Result execute(Path file) throws Exception {
+            try (InputStream raw = Files.newInputStream(file);
+                 CountingInputStream in = new CountingInputStream(raw);
+                 InputStream export = JsonExportImportService.wrapExport(in);
+                 JsonParser parser = mapper.getFactory().createParser(export)) {
+                counted = in;
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IOException("Not an export file: expected a JSON object");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME && failure.get() == null) {
+                    String name = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    Class<?> type = COLLECTIONS.get(name);
+                    if (type == null || value != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    collection = name;
+                    rows.putIfAbsent(name, 0);
+                    while (parser.nextToken() == JsonToken.START_OBJECT && failure.get() == null) {
+                        add(name, mapper.readValue(parser, type));
+                    }
+                }
+                flush();
+            } finally {
+                CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).handle((v, e) -> null).join();
+            }
+            Exception error = failure.get();
+            if (error != null) {
+                throw error;
+            }
+            report();
+            return new Result(rows, batches, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        private void add(String name, Object entity) throws Exception {
+            int id = switch (entity) {
+                case Player player -> remapPlayer(player);
+                case Team team -> remapTeam(team);
+                case Tournament tournament -> remapTournament(tournament);
+                case Match match -> remapMatch(match);
+                default -> throw new IllegalStateException("Unexpected entity " + entity);
+            };
+            batch.put(name + "/" + id, entity);
+            // Summary index entries ride along in the same PATCH; they are not counted as rows
+            switch (entity) {
+                case Team team -> batch.put(TeamDAO.summaryPath(id), TeamSummary.of(team));
+                case Tournament tournament -> batch.put(TournamentDAO.summaryPath(id), TournamentSummary.of(tournament));
+                default -> { }
+            }
+            batchRows++;
+            rows.merge(name, 1, Integer::sum);
+            read++;
+            if (batchRows >= batchSize) {
+                flush();
+            }
+        }
+
+        // Hands the batch to the executor, first waiting for a free slot (the back-pressure)
+        private void flush() throws InterruptedException {
+            if (batch.isEmpty() || failure.get() != null) {
+                return;
+            }
+            Map<String, Object> updates = batch;
+            int updatedRows = batchRows;
+            batch = new LinkedHashMap<>();
+            batchRows = 0;
+            slots.acquire();
+            batches++;
+            pending.add(CompletableFuture.runAsync(() -> {
+                try {
+                    if (failure.get() == null) {
+                        RealtimeDatabaseService.updateMultiPath(updates);
+                        written.addAndGet(updatedRows);
+                        report();
+                    }
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    slots.release();
+                }
+            }, executor));
+            pending.removeIf(CompletableFuture::isDone);
+        }
+
+        private void report() {
+            if (progress == null) {
+                return;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long done = written.get();
+            double fraction = fileSize == 0 ? 1 : Math.min(1, (double) counted.count / fileSize);
+            progress.accept(new Progress(collection, read, done, fraction, seconds == 0 ? 0 : done / seconds));
+        }
+
+        private int remapPlayer(Player player) throws Exception {
+            player.setId(newId("players", player.getId()));
+            player.setTeamId(ref("teams", player.getTeamId()));
+            return player.getId();
+        }
+
+        // Rosters are not stored with the team; they follow from each player's teamId
+        private int remapTeam(Team team) throws Exception {
+            team.setId(newId("teams", team.getId()));
+            team.setLeaderId(ref("players", team.getLeaderId()));
+            team.setPlayers(new ArrayList<>());
+            return team.getId();
+        }
+
+        private int remapTournament(Tournament tournament) throws Exception {
+            tournament.setId(newId("tournaments", tournament.getId()));
+            tournament.setWinnerId(ref("teams", tournament.getWinnerId()));
+            // Older exports embed whole teams and matches; Tournament keeps only their ids either way
+            List<Integer> teamIds = new ArrayList<>();
+            for (int teamId : tournament.getTeamIds()) {
+                teamIds.add(newId("teams", teamId));
+            }
+            tournament.setTeamIds(teamIds);
+            List<Integer> matchIds = new ArrayList<>();
+            for (int matchId : tournament.getMatchIds()) {
+                matchIds.add(newId("matches", matchId));
+            }
+            tournament.setMatchIds(matchIds);
+            return tournament.getId();
+        }
+
+        private int remapMatch(Match match) throws Exception {
+            remapMatchRefs(match);
+            if (match.getPlayerStats() != null) {
+                for (PlayerMatchStats stats : match.getPlayerStats()) {
+                    stats.setId(Math.toIntExact(IdAllocator.forCounter("counters/playerMatchStats").next()));
+                    stats.setMatchId(match.getId());
+                    stats.setPlayerId(newId("players", stats.getPlayerId()));
+                }
+            }
+            return match.getId();
+        }
+
+        private void remapMatchRefs(Match match) throws Exception {
+            match.setId(newId("matches", match.getId()));
+            match.setTournamentId(newId("tournaments", match.getTournamentId()));
+            match.setTeam1Id(newId("teams", match.getTeam1Id()));
+            match.setTeam2Id(newId("teams", match.getTeam2Id()));
+            match.setWinnerId(ref("teams", match.getWinnerId()));
+            // Bracket links point at matches later in the file as often as earlier ones
+            match.setNextMatchId(ref("matches", match.getNextMatchId()));
+            match.setLoserMatchId(ref("matches", match.getLoserMatchId()));
+        }
+
+        private Integer ref(String name, Integer oldId) throws Exception {
+            return oldId == null ? null : newId(name, oldId);
+        }
+
+        // The id an old id maps to in this import. Ids that are referenced before their entity
+        // appears (a player's team comes later in the file) are allocated on first sight; ids
+        // below 1 mean "none" and are kept.
+        private int newId(String name, int oldId) throws Exception {
+            if (oldId < 1) {
+                return oldId;
+            }
+            Map<Integer, Integer> ids = idMaps.computeIfAbsent(name, n -> new HashMap<>());
+            Integer mapped = ids.get(oldId);
+            if (mapped == null) {
+                mapped = Math.toIntExact(IdAllocator.forCounter("counters/" + name).next());
+                ids.put(oldId, mapped);
+            }
+            return mapped;
+        }
+    }
+
+    // Bytes consumed from the file, for progress on compressed input too
+    private static final class CountingInputStream extends FilterInputStream {
+        volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.esports.arena.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+
+// Treats player career totals and team records as a materialized view of the matches collection.
+// rebuild() recomputes every aggregate from the completed matches, fork/join over shards of
+// SHARD_SIZE matches, compares the result with what is stored and patches only the fields that
+// differ. Counting follows finalization: a player's win is a completed match won by their current
+// team, a completed match without a winner is a draw. Run it while no matches are being finalized.
+public class CareerStatsRebuilder {
+    static final int SHARD_SIZE = 256;
+    // Paths per root PATCH
+    static final int BATCH_SIZE = 500;
+
+    public record Report(int matches, int playersChanged, int teamsChanged, int requests, long elapsedMillis) { }
+
+    private final MatchDAO matchDAO;
+    private final PlayerDAO playerDAO;
+    private final TeamDAO teamDAO;
+    private final ForkJoinPool pool;
+
+    public CareerStatsRebuilder() {
+        this(new MatchDAO(), new PlayerDAO(), new TeamDAO(), ForkJoinPool.commonPool());
+    }
+
+    public CareerStatsRebuilder(MatchDAO matchDAO, PlayerDAO playerDAO, TeamDAO teamDAO, ForkJoinPool pool) {
+        this.matchDAO = matchDAO;
+        this.playerDAO = playerDAO;
+        this.teamDAO = teamDAO;
+        this.pool = pool;
+    }
+
+    // Recomputes and writes the differences; throws before writing anything if the matches cannot be read
+    public Report rebuild() throws Exception {
+        long start = System.nanoTime();
+        List<Match> matches = loadMatches();
+        List<Player> players = playerDAO.getAllPlayers();
+        List<Team> teams = teamDAO.getAllTeams();
+
+        Map<String, Object> updates = new LinkedHashMap<>();
+        int[] changed = diff(aggregate(matches, players, pool), players, teams, updates);
+
+        int requests = 0;
+        Map<String, Object> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> update : updates.entrySet()) {
+            batch.put(update.getKey(), update.getValue());
+            if (batch.size() >= BATCH_SIZE) {
+                RealtimeDatabaseService.updateMultiPath(batch);
+                batch.clear();
+                requests++;
+            }
+        }
+        if (!batch.isEmpty()) {
+            RealtimeDatabaseService.updateMultiPath(batch);
+            requests++;
+        }
+        return new Report(matches.size(), changed[0], changed[1], requests, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Root-relative paths and values rebuild() would write, without writing them
+    public Map<String, Object> plan() throws Exception {
+        List<Match> matches = loadMatches();
+        List<Player> players = playerDAO.getAllPlayers();
+        Map<String, Object> updates = new LinkedHashMap<>();
+        diff(aggregate(matches, players, pool), players, teamDAO.getAllTeams(), updates);
+        return updates;
+    }
+
+    // An empty list on a failed read would reset everyone to zero, so failures are fatal here
+    private List<Match> loadMatches() throws Exception {
+        List<Match> matches = new ArrayList<>();
+        if (!matchDAO.forEachMatch(matches::add)) {
+            throw new IllegalStateException("Could not read the matches collection");
+        }
+        return matches;
+    }
+
+    static Aggregates aggregate(List<Match> matches, List<Player> players, ForkJoinPool pool) {
+        Map<Integer, Integer> teamByPlayer = new HashMap<>();
+        for (Player player : players) {
+            if (player.getTeamId() != null) {
+                teamByPlayer.put(player.getId(), player.getTeamId());
+            }
+        }
+        return pool.invoke(new Shard(matches, 0, matches.size(), teamByPlayer));
+    }
+
+    // Adds the changed fields to updates; returns {players changed, teams changed}
+    static int[] diff(Aggregates expected, List<Player> players, List<Team> teams, Map<String, Object> updates) {
+        int playersChanged = 0;
+        for (Player player : players) {
+            Totals totals = expected.players.getOrDefault(player.getId(), new Totals());
+            String path = "players/" + player.getId() + "/";
+            int before = updates.size();
+            putIfChanged(updates, path + "totalKills", player.getTotalKills(), totals.kills);
+            putIfChanged(updates, path + "totalDeaths", player.getTotalDeaths(), totals.deaths);
+            putIfChanged(updates, path + "totalAssists", player.getTotalAssists(), totals.assists);
+            putIfChanged(updates, path + "matchesPlayed", player.getMatchesPlayed(), totals.played);
+            putIfChanged(updates, path + "matchesWon", player.getMatchesWon(), totals.won);
+            playersChanged += updates.size() > before ? 1 : 0;
+        }
+
+        int teamsChanged = 0;
+        for (Team team : teams) {
+            TeamRecord record = expected.teams.getOrDefault(team.getId(), new TeamRecord());
+            String path = "teams/" + team.getId() + "/";
+            int before = updates.size();
+            putIfChanged(updates, path + "wins", team.getWins(), record.wins);
+            putIfChanged(updates, path + "losses", team.getLosses(), record.losses);
+            putIfChanged(updates, path + "draws", team.getDraws(), record.draws);
+            teamsChanged += updates.size() > before ? 1 : 0;
+        }
+        return new int[] {playersChanged, teamsChanged};
+    }
+
+    private static void putIfChanged(Map<String, Object> updates, String path, int stored, int expected) {
+        if (stored != expected) {
+            updates.put(path, expected);
+        }
+    }
+
+    // Partial results of one shard, keyed by player and team id
+    static final class Aggregates {
+        final Map<Integer, Totals> players = new HashMap<>();
+        final Map<Integer, TeamRecord> teams = new HashMap<>();
+
+        Aggregates merge(Aggregates other) {
+            other.players.forEach((id, totals) -> players.merge(id, totals, Totals::add));
+            other.teams.forEach((id, record) -> teams.merge(id, record, TeamRecord::add));
+            return this;
+        }
+    }
+
+    static final class Totals {
+        int kills;
+        int deaths;
+        int assists;
+        int played;
+        int won;
+
+        Totals add(Totals other) {
+            kills += other.kills;
+            deaths += other.deaths;
+            assists += other.assists;
+            played += other.played;
+            won += other.won;
+            return this;
+        }
+    }
+
+    static final class TeamRecord {
+        int wins;
+        int losses;
+        int draws;
+
+        TeamRecord add(TeamRecord other) {
+            wins += other.wins;
+            losses += other.losses;
+            draws += other.draws;
+            return this;
+        }
+    }
+
+    private static final class Shard extends RecursiveTask<Aggregates> {
+        private final List<Match> matches;
+        private final int from;
+        private final int to;
+        private final Map<Integer, Integer> teamByPlayer;
+
+        Shard(List<Match> matches, int from, int to, Map<Integer, Integer> teamByPlayer) {
+            this.matches = matches;
+            this.from = from;
+            this.to = to;
+            this.teamByPlayer = teamByPlayer;
+        }
+
+        @Override
+        protected Aggregates compute() {
+            if (to - from <= SHARD_SIZE) {
+                Aggregates result = new Aggregates();
+                for (int i = from; i < to; i++) {
+                    count(result, matches.get(i));
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            Shard left = new Shard(matches, from, mid, teamByPlayer);
+            left.fork();
+            Aggregates right = new Shard(matches, mid, to, teamByPlayer).compute();
+            return left.join().merge(right);
+        }
+
+        private void count(Aggregates result, Match match) {
+            if (match.getStatus() != Match.MatchStatus.COMPLETED) {
+                return;
+            }
+            Integer winnerId = match.getWinnerId();
+            for (int teamId : new int[] {match.getTeam1Id(), match.getTeam2Id()}) {
+                TeamRecord record = result.teams.computeIfAbsent(teamId, id -> new TeamRecord());
+                if (winnerId == null) {
+                    record.draws++;
+                } else if (winnerId == teamId) {
+                    record.wins++;
+                } else {
+                    record.losses++;
+                }
+            }
+            if (match.getPlayerStats() == null) {
+                return;
+            }
+            for (PlayerMatchStats stats : match.getPlayerStats()) {
+                Totals totals = result.players.computeIfAbsent(stats.getPlayerId(), id -> new Totals());
+                totals.kills += stats.getKills();
+                totals.deaths += stats.getDeaths();
+                totals.assists += stats.getAssists();
+                totals.played++;
+                if (winnerId != null && winnerId.equals(teamByPlayer.get(stats.getPlayerId()))) {
+                    totals.won++;
+                }
+            }
+        }
+    }
+}
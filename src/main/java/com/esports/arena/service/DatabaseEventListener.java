@@ -0,0 +1,20 @@
+package com.esports.arena.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// Receives Firebase streaming events for a subscribed path. Event paths are relative to the
+// subscription ("/" is the subscribed node itself); data is null when the node was removed.
+// Callbacks run on the subscription's background thread.
+public interface DatabaseEventListener {
+
+    // The node at path was replaced by data
+    void onPut(String path, JsonNode data);
+
+    // Each child of data was written under path; siblings not mentioned are unchanged
+    void onPatch(String path, JsonNode data);
+
+    // Connection dropped or the server cancelled the stream; the subscription retries unless cancelled
+    default void onError(Exception e) {
+        System.err.println("Database stream error: " + e.getMessage());
+    }
+}
@@ -0,0 +1,213 @@
+package com.esports.arena.service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Firebase REST filter parameters (orderBy/equalTo/startAt/endAt/limitToFirst/limitToLast).
+// Child-based queries need a matching ".indexOn" rule in the database rules; when the server
+// rejects a query, RealtimeDatabaseService falls back to applyLocally on the full collection.
+public class DatabaseQuery {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String orderBy;
+    private Object equalTo;
+    private Object startAt;
+    private Object endAt;
+    private Integer limitToFirst;
+    private Integer limitToLast;
+
+    private DatabaseQuery(String orderBy) {
+        this.orderBy = orderBy;
+    }
+
+    public static DatabaseQuery orderByChild(String child) {
+        return new DatabaseQuery(child);
+    }
+
+    public static DatabaseQuery orderByKey() {
+        return new DatabaseQuery("$key");
+    }
+
+    public static DatabaseQuery orderByValue() {
+        return new DatabaseQuery("$value");
+    }
+
+    public DatabaseQuery equalTo(Object value) {
+        this.equalTo = normalize(value);
+        return this;
+    }
+
+    public DatabaseQuery startAt(Object value) {
+        this.startAt = normalize(value);
+        return this;
+    }
+
+    public DatabaseQuery endAt(Object value) {
+        this.endAt = normalize(value);
+        return this;
+    }
+
+    public DatabaseQuery limitToFirst(int limit) {
+        this.limitToFirst = limit;
+        return this;
+    }
+
+    public DatabaseQuery limitToLast(int limit) {
+        this.limitToLast = limit;
+        return this;
+    }
+
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    // Value for equalTo, or null when the query has none
+    Object getEqualTo() {
+        return equalTo;
+    }
+
+    boolean isChildQuery() {
+        return !"$key".equals(orderBy) && !"$value".equals(orderBy);
+    }
+
+    // Query string without a leading '?', values JSON-encoded as the REST API expects
+    public String toQueryString() {
+        StringBuilder sb = new StringBuilder();
+        append(sb, "orderBy", orderBy);
+        if (equalTo != null) append(sb, "equalTo", equalTo);
+        if (startAt != null) append(sb, "startAt", startAt);
+        if (endAt != null) append(sb, "endAt", endAt);
+        if (limitToFirst != null) append(sb, "limitToFirst", limitToFirst);
+        if (limitToLast != null) append(sb, "limitToLast", limitToLast);
+        return sb.toString();
+    }
+
+    // Evaluates the query client-side against a collection node (array or object)
+    public Map<String, JsonNode> applyLocally(JsonNode collection) {
+        List<Map.Entry<String, JsonNode>> candidates = new ArrayList<>();
+        if (collection == null || collection.isNull()) {
+            return new LinkedHashMap<>();
+        }
+        if (collection.isArray()) {
+            for (int i = 0; i < collection.size(); i++) {
+                JsonNode element = collection.get(i);
+                if (element != null && !element.isNull()) {
+                    candidates.add(Map.entry(String.valueOf(i), element));
+                }
+            }
+        } else {
+            collection.fields().forEachRemaining(candidates::add);
+        }
+
+        List<Map.Entry<String, JsonNode>> matched = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : candidates) {
+            JsonNode key = orderKey(entry.getKey(), entry.getValue());
+            if (equalTo != null && compare(key, bound(equalTo)) != 0) continue;
+            if (startAt != null && compare(key, bound(startAt)) < 0) continue;
+            if (endAt != null && compare(key, bound(endAt)) > 0) continue;
+            matched.add(entry);
+        }
+
+        matched.sort(Comparator.<Map.Entry<String, JsonNode>, JsonNode>comparing(
+                e -> orderKey(e.getKey(), e.getValue()), DatabaseQuery::compare)
+                .thenComparing(Map.Entry::getKey, KEY_ORDER));
+
+        int from = 0;
+        int to = matched.size();
+        if (limitToFirst != null) {
+            to = Math.min(to, limitToFirst);
+        }
+        if (limitToLast != null) {
+            from = Math.max(from, to - limitToLast);
+        }
+
+        Map<String, JsonNode> result = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> entry : matched.subList(from, to)) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toQueryString();
+    }
+
+    // Firebase key order: keys that parse as 32-bit integers first, numerically, then the rest as strings
+    static final Comparator<String> KEY_ORDER = (a, b) -> compare(keyNode(a), keyNode(b));
+
+    private static JsonNode keyNode(String key) {
+        if (key.matches("-?(0|[1-9][0-9]{0,9})")) {
+            long value = Long.parseLong(key);
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return JSON.getNodeFactory().numberNode(value);
+            }
+        }
+        return JSON.getNodeFactory().textNode(key);
+    }
+
+    // Key bounds are given as strings and ordered like keys
+    private JsonNode bound(Object value) {
+        return "$key".equals(orderBy) && value instanceof String key ? keyNode(key) : JSON.valueToTree(value);
+    }
+
+    private JsonNode orderKey(String key, JsonNode value) {
+        if ("$key".equals(orderBy)) {
+            return keyNode(key);
+        }
+        if ("$value".equals(orderBy)) {
+            return value;
+        }
+        JsonNode node = value;
+        for (String part : orderBy.split("/")) {
+            node = node == null ? null : node.get(part);
+        }
+        return node;
+    }
+
+    // Firebase ordering: null < false < true < numbers < strings < objects
+    private static int compare(JsonNode a, JsonNode b) {
+        int rankA = rank(a);
+        int rankB = rank(b);
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+        switch (rankA) {
+            case 3: return Double.compare(a.asDouble(), b.asDouble());
+            case 4: return a.asText().compareTo(b.asText());
+            default: return 0;
+        }
+    }
+
+    private static int rank(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) return 0;
+        if (node.isBoolean()) return node.asBoolean() ? 2 : 1;
+        if (node.isNumber()) return 3;
+        if (node.isTextual()) return 4;
+        return 5;
+    }
+
+    private static Object normalize(Object value) {
+        return value instanceof Enum<?> e ? e.name() : value;
+    }
+
+    private static void append(StringBuilder sb, String name, Object value) {
+        if (sb.length() > 0) {
+            sb.append('&');
+        }
+        try {
+            sb.append(name).append('=')
+                    .append(URLEncoder.encode(JSON.writeValueAsString(value), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unsupported query value: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.esports.arena.service;
+
+// Live subscription to one path, opened with RealtimeDatabaseService.subscribe. Events go to the
+// DatabaseEventListener until close() is called; the first one is a put of the current value at "/".
+public interface DatabaseSubscription extends AutoCloseable {
+
+    String getPath();
+
+    boolean isClosed();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,579 @@
+package com.esports.arena.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// Embedded storage for offline use: the whole tree lives in memory and every write is appended
+// to a log file as one JSON line ({"op":"put"|"patch","path":...,"data":...}) before it is
+// applied. Opening the file replays the log; a torn last line from a crash is dropped. Once the
+// log holds COMPACT_THRESHOLD entries it is rewritten as a single snapshot line.
+// Child queries with equalTo are answered from per-(collection, child) indexes that are built on
+// first use and kept up to date on every write below the collection.
+public class EmbeddedBackend implements StorageBackend {
+    static final int COMPACT_THRESHOLD = 50_000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final ObjectNode root = MAPPER.createObjectNode();
+    private final Map<String, ChildIndex> indexes = new HashMap<>();
+    private final List<LocalSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "embedded-db-events");
+        t.setDaemon(true);
+        return t;
+    });
+    private FileChannel log;
+    private int logEntries;
+    private boolean closed;
+
+    private EmbeddedBackend(Path file) {
+        this.file = file;
+    }
+
+    // Opens (or creates) the log at file and replays it
+    public static EmbeddedBackend open(Path file) throws IOException {
+        EmbeddedBackend backend = new EmbeddedBackend(file);
+        backend.replay();
+        if (backend.logEntries > COMPACT_THRESHOLD) {
+            backend.compact();
+        }
+        return backend;
+    }
+
+    // Memory-only instance, e.g. for tests
+    public static EmbeddedBackend inMemory() {
+        return new EmbeddedBackend(null);
+    }
+
+    @Override
+    public synchronized String get(String path, DatabaseQuery query) throws Exception {
+        RealtimeDatabaseService.countRequest();
+        String normalized = normalizePath(path);
+        JsonNode node = find(normalized);
+        if (query == null) {
+            return MAPPER.writeValueAsString(orNull(render(node)));
+        }
+        ObjectNode candidates = MAPPER.createObjectNode();
+        if (node instanceof ObjectNode collection) {
+            Iterable<String> keys = query.getEqualTo() != null && query.isChildQuery()
+                    ? index(normalized, query.getOrderBy()).keysFor(MAPPER.valueToTree(query.getEqualTo()))
+                    : collection::fieldNames;
+            for (String key : keys) {
+                JsonNode child = collection.get(key);
+                if (child != null) {
+                    candidates.set(key, render(child));
+                }
+            }
+        }
+        return MAPPER.writeValueAsString(query.applyLocally(candidates));
+    }
+
+    @Override
+    public InputStream openStream(String path) throws Exception {
+        return new ByteArrayInputStream(get(path, null).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public synchronized void put(String path, String json) throws Exception {
+        RealtimeDatabaseService.countRequest();
+        String normalized = normalizePath(path);
+        JsonNode data = ServerValue.resolve(normalized, MAPPER.readTree(json), this::find);
+        apply("put", normalized, data, true);
+    }
+
+    @Override
+    public synchronized void patch(String path, String json) throws Exception {
+        RealtimeDatabaseService.countRequest();
+        JsonNode data = MAPPER.readTree(json);
+        if (!data.isObject()) {
+            throw new IllegalArgumentException("PATCH body must be an object");
+        }
+        // Increments are resolved before logging, so replaying the log repeats the same values
+        String normalized = normalizePath(path);
+        ObjectNode resolved = MAPPER.createObjectNode();
+        data.fields().forEachRemaining(e -> resolved.set(e.getKey(),
+                ServerValue.resolve(join(normalized, normalizePath(e.getKey())), e.getValue(), this::find)));
+        apply("patch", normalized, resolved, true);
+    }
+
+    @Override
+    public synchronized void delete(String path) throws Exception {
+        RealtimeDatabaseService.countRequest();
+        apply("put", normalizePath(path), NullNode.getInstance(), true);
+    }
+
+    @Override
+    public synchronized long reserveIds(String counterPath, int count) throws Exception {
+        RealtimeDatabaseService.countRequest();
+        String normalized = normalizePath(counterPath);
+        JsonNode current = find(normalized);
+        long first = (current == null ? 0L : current.asLong()) + 1;
+        apply("put", normalized, MAPPER.getNodeFactory().numberNode(first + count - 1), true);
+        return first;
+    }
+
+    // Writers are serialized by the lock, so nothing can change the node between read and write
+    @Override
+    public synchronized String transaction(String path, UnaryOperator<String> update) throws Exception {
+        String next = update.apply(get(path, null));
+        if (next != null) {
+            put(path, next);
+        }
+        return next;
+    }
+
+    @Override
+    public synchronized DatabaseSubscription subscribe(String path, DatabaseEventListener listener) {
+        LocalSubscription subscription = new LocalSubscription(normalizePath(path), listener);
+        subscriptions.add(subscription);
+        JsonNode current = render(find(subscription.path));
+        dispatcher.execute(() -> subscription.deliver("put", "/", current));
+        return subscription;
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    @Override
+    public String describe() {
+        return file == null ? "embedded (in memory)" : "embedded log at " + file.toAbsolutePath();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Rewrites the log as one snapshot line, then swaps it in atomically
+    public synchronized void compact() throws IOException {
+        if (file == null) {
+            return;
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (!root.isEmpty()) {
+                writeLine(out, entry("put", "", root));
+            }
+            out.force(true);
+        }
+        if (log != null) {
+            log.close();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logEntries = root.isEmpty() ? 0 : 1;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        subscriptions.forEach(s -> s.closed = true);
+        subscriptions.clear();
+        dispatcher.shutdown();
+        if (log != null) {
+            try {
+                log.force(true);
+                log.close();
+            } catch (IOException e) {
+                System.err.println("Error closing local data file: " + e.getMessage());
+            }
+        }
+    }
+
+    private void replay() throws IOException {
+        if (file == null) {
+            return;
+        }
+        if (Files.exists(file)) {
+            byte[] bytes = Files.readAllBytes(file);
+            int start = 0;
+            while (start < bytes.length) {
+                int end = start;
+                while (end < bytes.length && bytes[end] != '\n') {
+                    end++;
+                }
+                String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                if (!line.isBlank()) {
+                    JsonNode entry;
+                    try {
+                        entry = MAPPER.readTree(line);
+                    } catch (IOException e) {
+                        if (end < bytes.length) {
+                            throw new IOException("Corrupt entry in " + file + " at byte " + start, e);
+                        }
+                        // Torn final write: keep everything before it
+                        try (FileChannel truncate = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                            truncate.truncate(start);
+                        }
+                        break;
+                    }
+                    apply(entry.path("op").asText(), entry.path("path").asText(), entry.get("data"), false);
+                    logEntries++;
+                }
+                start = end + 1;
+            }
+        }
+        log = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // Logs (when asked), updates the tree and indexes, then queues events for subscribers
+    private void apply(String op, String path, JsonNode data, boolean persist) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Embedded backend is closed");
+        }
+        if (persist && log != null) {
+            writeLine(log, entry(op, path, data));
+            logEntries++;
+        }
+        if ("patch".equals(op)) {
+            Map<String, JsonNode> writes = new LinkedHashMap<>();
+            data.fields().forEachRemaining(e -> writes.put(join(path, normalizePath(e.getKey())), e.getValue()));
+            writes.forEach((target, value) -> set(target, normalize(value)));
+            writes.keySet().forEach(this::updateIndexes);
+            publishPatch(path, data, writes);
+        } else {
+            set(path, normalize(data));
+            updateIndexes(path);
+            publishPut(path, data);
+        }
+        if (persist && logEntries > COMPACT_THRESHOLD) {
+            compact();
+        }
+    }
+
+    private static ObjectNode entry(String op, String path, JsonNode data) {
+        ObjectNode entry = MAPPER.createObjectNode();
+        entry.put("op", op);
+        entry.put("path", path);
+        entry.set("data", data == null ? NullNode.getInstance() : data);
+        return entry;
+    }
+
+    private static void writeLine(FileChannel channel, ObjectNode entry) throws IOException {
+        byte[] line = (MAPPER.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // ---- events ----
+
+    private void publishPut(String path, JsonNode data) {
+        for (LocalSubscription subscription : subscriptions) {
+            String subscribed = subscription.path;
+            if (isAtOrBelow(path, subscribed)) {
+                queue(subscription, "put", relative(subscribed, path), data == null ? null : data.deepCopy());
+            } else if (isAtOrBelow(subscribed, path)) {
+                queue(subscription, "put", "/", render(find(subscribed)));
+            }
+        }
+    }
+
+    private void publishPatch(String path, JsonNode data, Map<String, JsonNode> writes) {
+        for (LocalSubscription subscription : subscriptions) {
+            String subscribed = subscription.path;
+            if (isAtOrBelow(path, subscribed)) {
+                queue(subscription, "patch", relative(subscribed, path), data.deepCopy());
+                continue;
+            }
+            boolean replaced = false;
+            for (Map.Entry<String, JsonNode> write : writes.entrySet()) {
+                if (isAtOrBelow(write.getKey(), subscribed)) {
+                    queue(subscription, "put", relative(subscribed, write.getKey()), write.getValue().deepCopy());
+                } else if (!replaced && isAtOrBelow(subscribed, write.getKey())) {
+                    queue(subscription, "put", "/", render(find(subscribed)));
+                    replaced = true;
+                }
+            }
+        }
+    }
+
+    private void queue(LocalSubscription subscription, String event, String path, JsonNode data) {
+        JsonNode payload = data == null || data.isNull() ? null : data;
+        dispatcher.execute(() -> subscription.deliver(event, path, payload));
+    }
+
+    private final class LocalSubscription implements DatabaseSubscription {
+        private final String path;
+        private final DatabaseEventListener listener;
+        private volatile boolean closed;
+
+        LocalSubscription(String path, DatabaseEventListener listener) {
+            this.path = path;
+            this.listener = listener;
+        }
+
+        void deliver(String event, String eventPath, JsonNode data) {
+            if (closed) {
+                return;
+            }
+            try {
+                if ("put".equals(event)) {
+                    listener.onPut(eventPath, data);
+                } else {
+                    listener.onPatch(eventPath, data);
+                }
+            } catch (Exception e) {
+                listener.onError(e);
+            }
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+    }
+
+    // ---- indexes ----
+
+    // Keys of one collection grouped by the value of a child, e.g. matches by tournamentId
+    private static final class ChildIndex {
+        private final String collection;
+        private final String[] child;
+        private final Map<String, Set<String>> keysByValue = new HashMap<>();
+        private final Map<String, String> valueByKey = new HashMap<>();
+
+        ChildIndex(String collection, String child) {
+            this.collection = collection;
+            this.child = child.split("/");
+        }
+
+        void refresh(String key, JsonNode item) {
+            String previous = valueByKey.remove(key);
+            if (previous != null) {
+                Set<String> keys = keysByValue.get(previous);
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByValue.remove(previous);
+                }
+            }
+            JsonNode value = item;
+            for (String part : child) {
+                value = value == null ? null : value.get(part);
+            }
+            String indexed = indexValue(value);
+            if (indexed != null) {
+                valueByKey.put(key, indexed);
+                keysByValue.computeIfAbsent(indexed, v -> new HashSet<>()).add(key);
+            }
+        }
+
+        Iterable<String> keysFor(JsonNode value) {
+            String indexed = indexValue(value);
+            Set<String> keys = indexed == null ? null : keysByValue.get(indexed);
+            return keys == null ? List.of() : new ArrayList<>(keys);
+        }
+
+        // Numbers compare by value (1 == 1.0) as in Firebase ordering
+        private static String indexValue(JsonNode value) {
+            if (value == null || value.isNull() || value.isMissingNode()) {
+                return null;
+            }
+            if (value.isNumber()) {
+                return "n:" + new BigDecimal(value.asText()).stripTrailingZeros().toPlainString();
+            }
+            if (value.isBoolean()) {
+                return "b:" + value.asBoolean();
+            }
+            return (value.isTextual() ? "s:" + value.asText() : "o:" + value);
+        }
+    }
+
+    private ChildIndex index(String collection, String child) {
+        return indexes.computeIfAbsent(collection + "|" + child, k -> {
+            ChildIndex index = new ChildIndex(collection, child);
+            JsonNode node = find(collection);
+            if (node != null) {
+                node.fields().forEachRemaining(e -> index.refresh(e.getKey(), e.getValue()));
+            }
+            return index;
+        });
+    }
+
+    // Replacing a collection (or anything above it) drops its indexes; a write inside one item
+    // re-indexes just that item.
+    private void updateIndexes(String path) {
+        Iterator<ChildIndex> it = indexes.values().iterator();
+        while (it.hasNext()) {
+            ChildIndex index = it.next();
+            if (isAtOrBelow(index.collection, path)) {
+                it.remove();
+            } else if (path.startsWith(index.collection + "/")) {
+                String rest = path.substring(index.collection.length() + 1);
+                int slash = rest.indexOf('/');
+                String key = slash < 0 ? rest : rest.substring(0, slash);
+                index.refresh(key, find(index.collection + "/" + key));
+            }
+        }
+    }
+
+    // ---- tree ----
+
+    private JsonNode find(String path) {
+        JsonNode node = root;
+        if (path.isEmpty()) {
+            return node;
+        }
+        for (String key : path.split("/")) {
+            node = node == null ? null : node.get(key);
+        }
+        return node;
+    }
+
+    private void set(String path, JsonNode value) {
+        if (path.isEmpty()) {
+            root.removeAll();
+            if (value instanceof ObjectNode object) {
+                root.setAll(object);
+            }
+            return;
+        }
+        String[] keys = path.split("/");
+        ObjectNode parent = root;
+        List<ObjectNode> chain = new ArrayList<>();
+        for (int i = 0; i < keys.length - 1; i++) {
+            chain.add(parent);
+            JsonNode child = parent.get(keys[i]);
+            if (!(child instanceof ObjectNode)) {
+                if (value.isNull()) {
+                    return;
+                }
+                child = parent.putObject(keys[i]);
+            }
+            parent = (ObjectNode) child;
+        }
+        String last = keys[keys.length - 1];
+        if (!value.isNull()) {
+            parent.set(last, value);
+            return;
+        }
+        parent.remove(last);
+        // Like Firebase, a node whose last child is removed disappears too
+        for (int i = chain.size() - 1; i >= 0 && parent.isEmpty(); i--) {
+            chain.get(i).remove(keys[i]);
+            parent = chain.get(i);
+        }
+    }
+
+    // Stored form: arrays become objects keyed by index, nulls and empty objects are dropped
+    private static JsonNode normalize(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return NullNode.getInstance();
+        }
+        if (node.isArray()) {
+            ObjectNode object = MAPPER.createObjectNode();
+            for (int i = 0; i < node.size(); i++) {
+                JsonNode child = normalize(node.get(i));
+                if (!child.isNull()) {
+                    object.set(String.valueOf(i), child);
+                }
+            }
+            return object.isEmpty() ? NullNode.getInstance() : object;
+        }
+        if (node.isObject()) {
+            ObjectNode object = MAPPER.createObjectNode();
+            node.fields().forEachRemaining(e -> {
+                JsonNode child = normalize(e.getValue());
+                if (!child.isNull()) {
+                    object.set(e.getKey(), child);
+                }
+            });
+            return object.isEmpty() ? NullNode.getInstance() : object;
+        }
+        return node;
+    }
+
+    // Response form: objects whose keys are mostly sequential integers come back as arrays
+    private static JsonNode render(JsonNode node) {
+        if (node == null || !node.isContainerNode()) {
+            return node;
+        }
+        int max = -1;
+        boolean numeric = true;
+        for (Iterator<String> names = node.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!name.matches("0|[1-9][0-9]{0,8}")) {
+                numeric = false;
+                break;
+            }
+            max = Math.max(max, Integer.parseInt(name));
+        }
+        if (numeric && max >= 0 && max < 2 * node.size()) {
+            ArrayNode array = MAPPER.createArrayNode();
+            for (int i = 0; i <= max; i++) {
+                array.add(orNull(render(node.get(String.valueOf(i)))));
+            }
+            return array;
+        }
+        ObjectNode object = MAPPER.createObjectNode();
+        node.fields().forEachRemaining(e -> object.set(e.getKey(), render(e.getValue())));
+        return object;
+    }
+
+    private static JsonNode orNull(JsonNode node) {
+        return node == null || (node.isObject() && node.isEmpty()) ? NullNode.getInstance() : node;
+    }
+
+    private static String normalizePath(String path) {
+        return path == null ? "" : path.replaceAll("^/+|/+$", "");
+    }
+
+    private static String join(String base, String child) {
+        return base.isEmpty() ? child : child.isEmpty() ? base : base + "/" + child;
+    }
+
+    // True when path equals ancestor or lies below it (everything lies below the root "")
+    private static boolean isAtOrBelow(String path, String ancestor) {
+        return ancestor.isEmpty() || path.equals(ancestor) || path.startsWith(ancestor + "/");
+    }
+
+    private static String relative(String base, String path) {
+        String rest = path.substring(base.length());
+        return rest.isEmpty() ? "/" : rest.startsWith("/") ? rest : "/" + rest;
+    }
+}
@@ -0,0 +1,160 @@
+package com.esports.arena.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process cache of Firebase response bodies keyed by path.
+// Bodies are cached as raw JSON so every read still gets fresh objects that callers may mutate.
+public class EntityCache {
+
+    private final int maxEntries;
+    private final Duration defaultTtl;
+    private final Map<String, Duration> collectionTtls = new HashMap<>();
+    private final LinkedHashMap<String, Entry> entries;
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record Entry(String body, long expiresAtNanos) { }
+
+    public EntityCache(int maxEntries, Duration defaultTtl) {
+        this.maxEntries = maxEntries;
+        this.defaultTtl = defaultTtl;
+        // Access-ordered map gives LRU iteration order
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > EntityCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Overrides the TTL for every path under a top-level collection (e.g. "players").
+    // A zero TTL disables caching for that collection.
+    public EntityCache withCollectionTtl(String collection, Duration ttl) {
+        synchronized (this) {
+            collectionTtls.put(collection, ttl);
+        }
+        return this;
+    }
+
+    public synchronized String get(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAtNanos() >= 0) {
+            entries.remove(path);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.body();
+    }
+
+    // Bumped on every invalidation; lets callers detect a write that raced with their read
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(String path, String body) {
+        put(path, body, generation);
+    }
+
+    // Skips the put if anything was invalidated since the read started at readGeneration
+    public synchronized void put(String path, String body, long readGeneration) {
+        if (readGeneration != generation) {
+            return;
+        }
+        Duration ttl = ttlFor(path);
+        if (body == null || ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        entries.put(path, new Entry(body, System.nanoTime() + ttl.toNanos()));
+    }
+
+    // Drops the path itself, every cached ancestor (collections that contain it)
+    // and every cached descendant (children that it replaces).
+    public synchronized void invalidate(String path) {
+        generation++;
+        String normalized = normalize(path);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            String key = normalize(keyPath(keys.next()));
+            if (key.equals(normalized)
+                    || key.isEmpty()
+                    || normalized.isEmpty()
+                    || normalized.startsWith(key + "/")
+                    || key.startsWith(normalized + "/")) {
+                keys.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    public void resetStats() {
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EntityCache[size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%]",
+                size(), maxEntries, getHitCount(), getMissCount(), getEvictionCount(), getHitRate() * 100);
+    }
+
+    private Duration ttlFor(String path) {
+        String collection = normalize(keyPath(path));
+        int slash = collection.indexOf('/');
+        if (slash >= 0) {
+            collection = collection.substring(0, slash);
+        }
+        return collectionTtls.getOrDefault(collection, defaultTtl);
+    }
+
+    // Cache keys may carry a query string; invalidation only looks at the path part
+    private static String keyPath(String key) {
+        int query = key.indexOf('?');
+        return query >= 0 ? key.substring(0, query) : key;
+    }
+
+    private static String normalize(String path) {
+        String p = path;
+        while (p.startsWith("/")) {
+            p = p.substring(1);
+        }
+        while (p.endsWith("/")) {
+            p = p.substring(0, p.length() - 1);
+        }
+        return p;
+    }
+}
@@ -0,0 +1,154 @@
+package com.esports.arena.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Long-lived Firebase REST stream (Accept: text/event-stream) for one path. put/patch events are
+// delivered to the listener on a daemon thread; dropped connections are retried with backoff until
+// close() is called. Each event also invalidates the cached responses it affects.
+class EventStreamSubscription implements DatabaseSubscription {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long INITIAL_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final FirebaseBackend backend;
+    private final String path;
+    private final DatabaseEventListener listener;
+    private final Thread worker;
+    private volatile boolean closed;
+    private volatile InputStream currentStream;
+
+    EventStreamSubscription(FirebaseBackend backend, String path, DatabaseEventListener listener) {
+        this.backend = backend;
+        this.path = path;
+        this.listener = listener;
+        this.worker = new Thread(this::run, "db-stream-" + path);
+        this.worker.setDaemon(true);
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    @Override
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeStream();
+        worker.interrupt();
+    }
+
+    private void run() {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        while (!closed) {
+            try {
+                HttpResponse<InputStream> response = backend.openEventStream(path);
+                currentStream = response.body();
+                if (response.statusCode() != 200) {
+                    throw new IOException("HTTP " + response.statusCode() + " - "
+                            + new String(currentStream.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                backoff = INITIAL_BACKOFF_MILLIS;
+                readEvents(new BufferedReader(new InputStreamReader(currentStream, StandardCharsets.UTF_8)));
+            } catch (Exception e) {
+                if (!closed) {
+                    listener.onError(e);
+                }
+            } finally {
+                closeStream();
+            }
+
+            if (!closed) {
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    // Server-sent events: "event:" and "data:" lines terminated by a blank line
+    private void readEvents(BufferedReader reader) throws IOException {
+        String event = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+        while (!closed && (line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                dispatch(event, data.toString());
+                event = null;
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                event = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line.substring("data:".length()).trim());
+            }
+        }
+    }
+
+    private void dispatch(String event, String data) throws IOException {
+        if (event == null) {
+            return;
+        }
+        switch (event) {
+            case "put", "patch" -> {
+                JsonNode payload = MAPPER.readTree(data);
+                String eventPath = payload.path("path").asText("/");
+                JsonNode body = payload.get("data");
+                if (body != null && body.isNull()) {
+                    body = null;
+                }
+                RealtimeDatabaseService.invalidateCached(join(path, eventPath));
+                if ("put".equals(event)) {
+                    listener.onPut(eventPath, body);
+                } else {
+                    listener.onPatch(eventPath, body);
+                }
+            }
+            case "keep-alive" -> { }
+            case "auth_revoked" -> throw new IOException("Auth token revoked; reconnecting");
+            case "cancel" -> {
+                closed = true;
+                listener.onError(new IllegalStateException("Stream for " + path + " cancelled by server: " + data));
+            }
+            default -> System.err.println("Ignoring unknown stream event: " + event);
+        }
+    }
+
+    private void closeStream() {
+        InputStream stream = currentStream;
+        currentStream = null;
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+
+    private static String join(String base, String relative) {
+        String child = relative.startsWith("/") ? relative.substring(1) : relative;
+        return child.isEmpty() ? base : base + "/" + child;
+    }
+}
@@ -0,0 +1,289 @@
+package com.esports.arena.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Firebase Realtime Database over its REST API. The auth token (if any) is appended to every URL.
+// One shared client negotiates HTTP/2, so concurrent requests (e.g. several getAsync calls issued
+// together) are multiplexed as streams of a single connection instead of queuing for sockets.
+// Reads ask for gzip, which the JDK client does not decode itself, and writes ask for
+// print=silent so Firebase does not echo the written data back.
+public class FirebaseBackend implements StorageBackend {
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    // Until the response headers arrive; a long body that is already streaming is not cut off
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String url;
+    private final String token;
+    private final IoExecutor io;
+
+    public FirebaseBackend(String url, String token) {
+        this(url, token, IoExecutor.shared());
+    }
+
+    // Requests take a permit from io, which bounds how many are in flight at once
+    public FirebaseBackend(String url, String token, IoExecutor io) {
+        this.url = url.endsWith("/") ? url : url + "/";
+        this.token = token;
+        this.io = io;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public String get(String path, DatabaseQuery query) throws Exception {
+        return checkGet(send(getRequest(path, query), gzipString()), query);
+    }
+
+    // Sent at once on the shared client; the permit is held until the response has arrived
+    @Override
+    public CompletableFuture<String> getAsync(String path, DatabaseQuery query) {
+        HttpRequest request = getRequest(path, query);
+        RealtimeDatabaseService.countRequest();
+        return io.withPermitAsync(() -> CLIENT.sendAsync(request, gzipString()))
+                .thenApply(response -> {
+                    try {
+                        return checkGet(response, query);
+                    } catch (QueryRejectedException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    @Override
+    public InputStream openStream(String path) throws Exception {
+        HttpResponse<InputStream> response = send(getRequest(path, null), HttpResponse.BodyHandlers.ofInputStream());
+        InputStream body = isGzip(response.headers()) ? new GZIPInputStream(response.body(), 64 * 1024) : response.body();
+        if (response.statusCode() != 200) {
+            try (body) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + " - "
+                        + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return body;
+    }
+
+    @Override
+    public void put(String path, String json) throws Exception {
+        sendWithBody("PUT", path, json);
+    }
+
+    @Override
+    public void patch(String path, String json) throws Exception {
+        sendWithBody("PATCH", path, json);
+    }
+
+    @Override
+    public void delete(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(buildUri(path, "print=silent"))
+                .timeout(REQUEST_TIMEOUT)
+                .DELETE()
+                .build();
+        send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    // Compare-and-set on the counter node (see transaction)
+    @Override
+    public long reserveIds(String counterPath, int count) throws Exception {
+        long[] first = new long[1];
+        transaction(counterPath, body -> {
+            Long current = parseLong(body);
+            first[0] = (current == null ? 0L : current) + 1;
+            return String.valueOf(first[0] + count - 1);
+        });
+        return first[0];
+    }
+
+    // Reads the node with its ETag and writes the update with If-Match; a 412 means another
+    // client wrote it first, so the update runs again on the new value
+    @Override
+    public String transaction(String path, UnaryOperator<String> update) throws Exception {
+        int attempts = 0;
+        while (attempts++ < 5) {
+            HttpRequest getReq = HttpRequest.newBuilder()
+                    .uri(buildUri(path, null))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("X-Firebase-ETag", "true")
+                    .GET()
+                    .build();
+
+            HttpResponse<String> getResp = send(getReq, HttpResponse.BodyHandlers.ofString());
+            if (getResp.statusCode() != 200) {
+                throw new IllegalStateException("HTTP " + getResp.statusCode() + " - " + getResp.body());
+            }
+            String etag = getResp.headers().firstValue("etag").orElse(null);
+            String next = update.apply(getResp.body());
+            if (next == null) {
+                return null;
+            }
+
+            if (etag == null) {
+                // No ETag returned; accept the value and continue.
+                put(path, next);
+                return next;
+            }
+
+            HttpRequest putReq = HttpRequest.newBuilder()
+                    .uri(buildUri(path, "print=silent"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("If-Match", etag)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(next))
+                    .build();
+
+            HttpResponse<Void> putResp = send(putReq, HttpResponse.BodyHandlers.discarding());
+            if (putResp.statusCode() == 200 || putResp.statusCode() == 204) {
+                return next;
+            }
+
+            if (putResp.statusCode() != 412) {
+                throw new IllegalStateException("Failed to update " + path + ": HTTP " + putResp.statusCode());
+            }
+            // 412 means ETag mismatch; back off a little so contending clients spread out, then retry.
+            Thread.sleep(ThreadLocalRandom.current().nextInt(1, 10 * attempts));
+        }
+        throw new IllegalStateException("Failed to update " + path + " after retries");
+    }
+
+    @Override
+    public DatabaseSubscription subscribe(String path, DatabaseEventListener listener) {
+        EventStreamSubscription subscription = new EventStreamSubscription(this, path, listener);
+        subscription.start();
+        return subscription;
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public String describe() {
+        return "Firebase at " + url;
+    }
+
+    @Override
+    public void close() {
+        // connections belong to the shared HttpClient
+    }
+
+    // Firebase may answer a stream request with a temporary redirect to the node's host
+    HttpResponse<InputStream> openEventStream(String path) throws Exception {
+        URI uri = buildUri(path, null);
+        for (int redirects = 0; redirects < 3; redirects++) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(uri)
+                    .header("Accept", "text/event-stream")
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+            String location = response.headers().firstValue("location").orElse(null);
+            if (response.statusCode() != 307 || location == null) {
+                return response;
+            }
+            response.body().close();
+            uri = uri.resolve(location);
+        }
+        throw new IllegalStateException("Too many redirects opening stream for " + path);
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws Exception {
+        RealtimeDatabaseService.countRequest();
+        // Streaming handlers return once headers arrive, so a long body does not hold the permit
+        return io.withPermit(() -> CLIENT.send(request, handler));
+    }
+
+    private HttpRequest getRequest(String path, DatabaseQuery query) {
+        return HttpRequest.newBuilder()
+                .uri(buildUri(path, query == null ? null : query.toQueryString()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+
+    private static String checkGet(HttpResponse<String> response, DatabaseQuery query) throws QueryRejectedException {
+        if (query != null && response.statusCode() == 400) {
+            throw new QueryRejectedException(response.body());
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " - " + response.body());
+        }
+        return response.body();
+    }
+
+    // Body as UTF-8 text, inflated first when the server sent it gzip-encoded
+    private static HttpResponse.BodyHandler<String> gzipString() {
+        return info -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), bytes -> {
+            if (!isGzip(info.headers())) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static boolean isGzip(HttpHeaders headers) {
+        return headers.firstValue("content-encoding").map("gzip"::equalsIgnoreCase).orElse(false);
+    }
+
+    private URI buildUri(String path, String queryString) {
+        String auth = (token == null || token.isBlank()) ? "" : "auth=" + URLEncoder.encode(token, StandardCharsets.UTF_8);
+        String query = queryString == null || queryString.isEmpty() ? auth
+                : auth.isEmpty() ? queryString : auth + "&" + queryString;
+        return URI.create(url + path + ".json" + (query.isEmpty() ? "" : "?" + query));
+    }
+
+    private void sendWithBody(String method, String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(buildUri(path, "print=silent"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        HttpResponse<String> response = send(request, gzipString());
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " - " + response.body());
+        }
+    }
+
+    private static Long parseLong(String body) {
+        try {
+            if (body == null || body.isBlank() || "null".equals(body.trim())) {
+                return null;
+            }
+            return MAPPER.readValue(body, Long.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
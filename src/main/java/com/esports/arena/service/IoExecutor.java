@@ -0,0 +1,112 @@
+package com.esports.arena.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.esports.arena.util.EnvLoader;
+
+// Application-wide executor for blocking storage work. Every task runs on its own virtual thread, so
+// waiting on the network costs no platform threads; how many requests are actually on the wire at
+// once is capped separately through withPermit (ARENA_IO_CONCURRENCY, default 16).
+public final class IoExecutor implements Executor, AutoCloseable {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    private static final IoExecutor SHARED = new IoExecutor(configuredLimit());
+
+    private final ExecutorService threads = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("arena-io-", 0).factory());
+    private final int maxInFlight;
+    private final Semaphore permits;
+
+    public IoExecutor(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight, true);
+    }
+
+    // The instance the DAOs and FirebaseBackend use unless another one is injected
+    public static IoExecutor shared() {
+        return SHARED;
+    }
+
+    private static int configuredLimit() {
+        String value = EnvLoader.get("ARENA_IO_CONCURRENCY");
+        try {
+            return value == null || value.isBlank() ? DEFAULT_MAX_IN_FLIGHT : Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid ARENA_IO_CONCURRENCY: " + value);
+            return DEFAULT_MAX_IN_FLIGHT;
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        threads.execute(task);
+    }
+
+    // Runs one backend round trip once a permit is free. Permits are per request rather than per task,
+    // so a task that waits on other tasks never holds a slot while it waits.
+    public <T> T withPermit(Callable<T> request) throws Exception {
+        permits.acquire();
+        try {
+            return request.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    // withPermit for a non-blocking request: the permit is taken (waiting on a virtual thread if none
+    // is free) before the request is started and given back when its future completes
+    public <T> CompletableFuture<T> withPermitAsync(Supplier<CompletableFuture<T>> request) {
+        if (permits.tryAcquire()) {
+            return startWithPermit(request);
+        }
+        return CompletableFuture.runAsync(permits::acquireUninterruptibly, threads)
+                .thenCompose(ignored -> startWithPermit(request));
+    }
+
+    private <T> CompletableFuture<T> startWithPermit(Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> started;
+        try {
+            started = request.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return started.whenComplete((result, error) -> permits.release());
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public boolean isShutdown() {
+        return threads.isShutdown();
+    }
+
+    // Stops accepting tasks and gives running ones a few seconds to finish
+    @Override
+    public void close() {
+        threads.shutdown();
+        try {
+            if (!threads.awaitTermination(5, TimeUnit.SECONDS)) {
+                threads.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            threads.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
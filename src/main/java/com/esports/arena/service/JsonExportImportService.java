@@ -1,31 +1,50 @@
 package com.esports.arena.service;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import com.esports.arena.model.Match;
 import com.esports.arena.model.Player;
 import com.esports.arena.model.PlayerMatchStats;
 import com.esports.arena.model.Team;
 import com.esports.arena.model.Tournament;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 public class JsonExportImportService {
     private final ObjectMapper objectMapper;
-    private final ExecutorService executor;
+    private final Executor executor;
 
     public JsonExportImportService() {
+        this(IoExecutor.shared());
+    }
+
+    public JsonExportImportService(Executor executor) {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
         this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
         this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        this.executor = Executors.newFixedThreadPool(3);
+        this.executor = executor;
     }
 
     // Export Data Classes
@@ -68,6 +87,85 @@ public class JsonExportImportService {
         }, executor);
     }
 
+    // Collections written by exportDatabase, in file order
+    static final List<String> COLLECTIONS = List.of("players", "teams", "tournaments", "matches");
+
+    // compact drops indentation, gzip compresses the file, pageSize is the number of children read per request
+    public record ExportOptions(boolean compact, boolean gzip, int pageSize) {
+        public static final int DEFAULT_PAGE_SIZE = 500;
+
+        public static ExportOptions defaults() {
+            return new ExportOptions(false, false, DEFAULT_PAGE_SIZE);
+        }
+
+        // Compact and compressed for a .gz file name, otherwise indented JSON like the other exports
+        public static ExportOptions forFile(String filePath) {
+            boolean gzip = filePath.toLowerCase().endsWith(".gz");
+            return new ExportOptions(gzip, gzip, DEFAULT_PAGE_SIZE);
+        }
+    }
+
+    // Rows written per collection and the size of the finished file
+    public record ExportResult(Map<String, Integer> rows, long bytes) { }
+
+    public CompletableFuture<ExportResult> exportDatabaseAsync(String filePath, ExportOptions options,
+                                                               ObjIntConsumer<String> progress) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return exportDatabase(Path.of(filePath), options, progress);
+            } catch (Exception e) {
+                System.err.println("Error exporting database: " + e.getMessage());
+                return null;
+            }
+        }, executor);
+    }
+
+    // Streams every collection page by page straight into the file, in the same layout as ExportData
+    // (stats stay embedded in their matches), so memory use does not grow with the database. Stored
+    // nodes are copied as-is without binding them to models. progress receives the collection name
+    // and the rows written from it so far. The file only replaces target once it is complete.
+    public ExportResult exportDatabase(Path target, ExportOptions options, ObjIntConsumer<String> progress) throws Exception {
+        Path parent = target.toAbsolutePath().getParent();
+        Path partial = Files.createTempFile(parent, target.getFileName().toString(), ".part");
+        Map<String, Integer> rows = new LinkedHashMap<>();
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(partial));
+                 OutputStream out = options.gzip() ? new GZIPOutputStream(file, 64 * 1024) : file;
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                if (options.compact()) {
+                    generator.setPrettyPrinter(null);
+                } else {
+                    generator.useDefaultPrettyPrinter();
+                }
+                generator.writeStartObject();
+                for (String collection : COLLECTIONS) {
+                    int[] count = {0};
+                    generator.writeArrayFieldStart(collection);
+                    RealtimeDatabaseService.forEachPage(collection, options.pageSize(), JsonNode.class, page -> {
+                        try {
+                            for (JsonNode node : page.values()) {
+                                generator.writeTree(node);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        count[0] += page.size();
+                        if (progress != null) {
+                            progress.accept(collection, count[0]);
+                        }
+                    });
+                    generator.writeEndArray();
+                    rows.put(collection, count[0]);
+                }
+                generator.writeEndObject();
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return new ExportResult(rows, Files.size(target));
+    }
+
     // Export single player to JSON
     public CompletableFuture<Boolean> exportPlayerAsync(Player player, String filePath) {
         return CompletableFuture.supplyAsync(() -> {
@@ -111,7 +209,10 @@ public class JsonExportImportService {
     public CompletableFuture<ExportData> importAllDataAsync(String filePath) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                ExportData data = objectMapper.readValue(new File(filePath), ExportData.class);
+                ExportData data;
+                try (InputStream in = openExport(Path.of(filePath))) {
+                    data = objectMapper.readValue(in, ExportData.class);
+                }
                 System.out.println("Data imported successfully from: " + filePath);
                 return data;
             } catch (IOException e) {
@@ -121,6 +222,33 @@ public class JsonExportImportService {
         }, executor);
     }
 
+    // Reads plain or gzip-compressed exports, recognised by the gzip magic bytes
+    static InputStream openExport(Path file) throws IOException {
+        return wrapExport(Files.newInputStream(file));
+    }
+
+    static InputStream wrapExport(InputStream raw) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(raw, 64 * 1024);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == 0x1f && second == 0x8b ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    // Loads an export into the database with new ids (see BulkImporter); null if it failed
+    public CompletableFuture<BulkImporter.Result> importDatabaseAsync(String filePath, Consumer<BulkImporter.Progress> progress) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return new BulkImporter(BulkImporter.DEFAULT_BATCH_SIZE, BulkImporter.DEFAULT_MAX_IN_FLIGHT, executor)
+                        .importFile(Path.of(filePath), progress);
+            } catch (Exception e) {
+                System.err.println("Error importing database: " + e.getMessage());
+                return null;
+            }
+        }, executor);
+    }
+
     // Import single player from JSON
     public CompletableFuture<Player> importPlayerAsync(String filePath) {
         return CompletableFuture.supplyAsync(() -> {
@@ -224,8 +352,4 @@ public class JsonExportImportService {
             return null;
         }
     }
-
-    public void shutdown() {
-        executor.shutdown();
-    }
 }
\ No newline at end of file
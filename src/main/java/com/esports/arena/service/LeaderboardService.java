@@ -0,0 +1,214 @@
+package com.esports.arena.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Team;
+
+// Overall and per-tournament standings kept in memory and updated in place. The overall board is
+// loaded once from the teams collection (or the teams event stream) and then follows team record
+// changes; a tournament board is built on first use from that tournament's completed matches and
+// then counts each match finalized here once. Results finalized on other machines do not arrive
+// as events, so the leaderboard tab drops a tournament's board each time it is selected
+// (invalidateTournament) and reload() drops everything.
+public class LeaderboardService implements LiveCollection.Listener<Team> {
+    private static volatile LeaderboardService shared;
+
+    private final TeamDAO teamDAO;
+    private final MatchDAO matchDAO;
+    private Standings overall;
+    private final Map<Integer, Standings> tournaments = new HashMap<>();
+    private final Map<Integer, Set<Integer>> countedMatches = new HashMap<>();
+
+    public LeaderboardService(TeamDAO teamDAO, MatchDAO matchDAO) {
+        this.teamDAO = teamDAO;
+        this.matchDAO = matchDAO;
+    }
+
+    // Instance used by the leaderboard tabs and match finalization, so both see the same boards
+    public static LeaderboardService shared() {
+        LeaderboardService instance = shared;
+        if (instance == null) {
+            synchronized (LeaderboardService.class) {
+                if (shared == null) {
+                    shared = new LeaderboardService(new TeamDAO(), new MatchDAO());
+                }
+                instance = shared;
+            }
+        }
+        return instance;
+    }
+
+    // Whole board in rank order; tournamentId null = overall
+    public List<Team> getStandings(Integer tournamentId) {
+        Standings standings = standings(tournamentId);
+        synchronized (this) {
+            return standings.toList();
+        }
+    }
+
+    public List<Team> getTop(Integer tournamentId, int k) {
+        Standings standings = standings(tournamentId);
+        synchronized (this) {
+            return standings.top(k);
+        }
+    }
+
+    // 1-based rank, or -1 when the team is not on that board
+    public int getRank(Integer tournamentId, int teamId) {
+        Standings standings = standings(tournamentId);
+        synchronized (this) {
+            return standings.rankOf(teamId);
+        }
+    }
+
+    // Absolute record of a team as just written (e.g. by match finalization). Ignored until the
+    // overall board has been loaded, since the load will include it.
+    public synchronized void applyTeam(Team team) {
+        if (overall != null && team != null) {
+            overall.put(team);
+        }
+        for (Standings standings : tournaments.values()) {
+            Team entry = team == null ? null : standings.get(team.getId());
+            if (entry != null && !sameLabel(entry, team)) {
+                entry.setName(team.getName());
+                entry.setTag(team.getTag());
+                standings.put(entry);
+            }
+        }
+    }
+
+    public synchronized void removeTeam(int teamId) {
+        if (overall != null) {
+            overall.remove(teamId);
+        }
+        tournaments.values().forEach(standings -> standings.remove(teamId));
+    }
+
+    // Counts a completed match on its tournament's board if that board is loaded
+    public synchronized void recordMatch(Match match) {
+        if (match.getStatus() != Match.MatchStatus.COMPLETED) {
+            return;
+        }
+        Standings standings = tournaments.get(match.getTournamentId());
+        if (standings != null) {
+            count(match.getTournamentId(), standings, match);
+        }
+    }
+
+    // The board is rebuilt from the tournament's matches on its next use
+    public synchronized void invalidateTournament(int tournamentId) {
+        tournaments.remove(tournamentId);
+        countedMatches.remove(tournamentId);
+    }
+
+    public synchronized void reload() {
+        overall = null;
+        tournaments.clear();
+        countedMatches.clear();
+    }
+
+    @Override
+    public synchronized void onReset(Map<String, Team> items) {
+        overall = new Standings();
+        items.values().forEach(overall::put);
+    }
+
+    @Override
+    public void onChanged(String key, Team value) {
+        if (value == null) {
+            removeTeam(Integer.parseInt(key));
+        } else {
+            applyTeam(value);
+        }
+    }
+
+    // Loads outside the lock so a slow fetch does not block rank queries on other boards
+    private Standings standings(Integer tournamentId) {
+        synchronized (this) {
+            Standings loaded = tournamentId == null ? overall : tournaments.get(tournamentId);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+        return tournamentId == null ? loadOverall() : loadTournament(tournamentId);
+    }
+
+    private Standings loadOverall() {
+        Standings standings = new Standings();
+        teamDAO.getAllTeams().forEach(standings::put);
+        synchronized (this) {
+            if (overall == null) {
+                overall = standings;
+            }
+            return overall;
+        }
+    }
+
+    private Standings loadTournament(int tournamentId) {
+        List<Match> matches = matchDAO.getMatchesByTournament(tournamentId);
+        Map<Integer, Team> teams = new HashMap<>();
+        synchronized (this) {
+            if (overall != null) {
+                overall.toList().forEach(t -> teams.put(t.getId(), t));
+            }
+        }
+        if (teams.isEmpty()) {
+            loadOverall().toList().forEach(t -> teams.put(t.getId(), t));
+        }
+
+        synchronized (this) {
+            Standings existing = tournaments.get(tournamentId);
+            if (existing != null) {
+                return existing;
+            }
+            Standings standings = new Standings();
+            countedMatches.put(tournamentId, new HashSet<>());
+            for (Match match : matches) {
+                if (match.getStatus() == Match.MatchStatus.COMPLETED) {
+                    countIn(standings, tournamentId, match, teams);
+                }
+            }
+            tournaments.put(tournamentId, standings);
+            return standings;
+        }
+    }
+
+    private void count(int tournamentId, Standings standings, Match match) {
+        Map<Integer, Team> teams = new HashMap<>();
+        for (int teamId : new int[] {match.getTeam1Id(), match.getTeam2Id()}) {
+            Team team = standings.get(teamId);
+            if (team == null && overall != null) {
+                team = overall.get(teamId);
+            }
+            if (team != null) {
+                teams.put(teamId, team);
+            }
+        }
+        countIn(standings, tournamentId, match, teams);
+    }
+
+    // Only teams that still exist are ranked, as before; a match is never counted twice
+    private void countIn(Standings standings, int tournamentId, Match match, Map<Integer, Team> teams) {
+        if (!countedMatches.computeIfAbsent(tournamentId, id -> new HashSet<>()).add(match.getId())) {
+            return;
+        }
+        for (int teamId : new int[] {match.getTeam1Id(), match.getTeam2Id()}) {
+            Team team = teams.get(teamId);
+            if (team != null) {
+                standings.recordResult(team, match.getWinnerId());
+            }
+        }
+    }
+
+    private static boolean sameLabel(Team a, Team b) {
+        return Objects.equals(a.getName(), b.getName()) && Objects.equals(a.getTag(), b.getTag());
+    }
+}
@@ -0,0 +1,254 @@
+package com.esports.arena.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+// Mirrors a collection (e.g. "matches") from its event stream and turns put/patch events into
+// per-child changes. Only the children an event touches are re-bound and reported, so listeners
+// can patch their views instead of reloading the whole collection.
+public class LiveCollection<T> implements DatabaseEventListener, AutoCloseable {
+
+    public interface Listener<T> {
+        // Full contents, sent for the initial snapshot and whenever the collection root is replaced
+        void onReset(Map<String, T> items);
+
+        // A single child was added, modified (value != null) or removed (value == null)
+        void onChanged(String key, T value);
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final String path;
+    private final Class<T> type;
+    private final Listener<T> listener;
+    private ObjectNode snapshot = MAPPER.createObjectNode();
+    private DatabaseSubscription subscription;
+    private boolean seeded;
+
+    public LiveCollection(String path, Class<T> type, Listener<T> listener) {
+        this.path = path;
+        this.type = type;
+        this.listener = listener;
+    }
+
+    // Shows contents kept from an earlier run (see SnapshotStore) before start(): the listener gets
+    // them as a reset right away, and the stream's initial snapshot is then compared with them so
+    // only the children that changed in the meantime are reported
+    public synchronized LiveCollection<T> seed(ObjectNode contents) {
+        snapshot = toObject(contents);
+        seeded = true;
+        listener.onReset(bindAll());
+        return this;
+    }
+
+    // Subscribes through RealtimeDatabaseService; events then arrive on the stream thread
+    public LiveCollection<T> start() {
+        subscription = RealtimeDatabaseService.subscribe(path, this);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (subscription != null) {
+            subscription.close();
+        }
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public synchronized int size() {
+        return snapshot.size();
+    }
+
+    // Copy of the mirrored children keyed by child key, as the database stores them
+    public synchronized ObjectNode contents() {
+        return snapshot.deepCopy();
+    }
+
+    @Override
+    public synchronized void onPut(String eventPath, JsonNode data) {
+        String[] segments = split(eventPath);
+        if (segments.length == 0) {
+            ObjectNode previous = snapshot;
+            snapshot = toObject(data);
+            if (seeded) {
+                seeded = false;
+                catchUp(previous);
+            } else {
+                listener.onReset(bindAll());
+            }
+            return;
+        }
+        apply(segments, data);
+        fireChanged(segments[0]);
+    }
+
+    @Override
+    public synchronized void onPatch(String eventPath, JsonNode data) {
+        if (data == null || !data.isObject()) {
+            return;
+        }
+        String[] base = split(eventPath);
+        Set<String> changed = new LinkedHashSet<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = data.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String[] relative = split(field.getKey());
+            String[] segments = new String[base.length + relative.length];
+            System.arraycopy(base, 0, segments, 0, base.length);
+            System.arraycopy(relative, 0, segments, base.length, relative.length);
+            if (segments.length == 0) {
+                continue;
+            }
+            apply(segments, field.getValue());
+            changed.add(segments[0]);
+        }
+        changed.forEach(this::fireChanged);
+    }
+
+    @Override
+    public void onError(Exception e) {
+        System.err.println("Live updates for " + path + " interrupted: " + e.getMessage());
+    }
+
+    private Map<String, T> bindAll() {
+        Map<String, T> items = new LinkedHashMap<>();
+        snapshot.fields().forEachRemaining(e -> {
+            T value = bind(e.getKey(), e.getValue());
+            if (value != null) {
+                items.put(e.getKey(), value);
+            }
+        });
+        return items;
+    }
+
+    // Reports the children that differ between the seeded contents and the live snapshot
+    private void catchUp(ObjectNode seededContents) {
+        Set<String> changed = new LinkedHashSet<>();
+        seededContents.fieldNames().forEachRemaining(key -> {
+            if (!snapshot.has(key)) {
+                changed.add(key);
+            }
+        });
+        snapshot.fields().forEachRemaining(e -> {
+            if (!e.getValue().equals(seededContents.get(e.getKey()))) {
+                changed.add(e.getKey());
+            }
+        });
+        changed.forEach(this::fireChanged);
+    }
+
+    private void fireChanged(String key) {
+        JsonNode child = snapshot.get(key);
+        listener.onChanged(key, child == null ? null : bind(key, child));
+    }
+
+    private T bind(String key, JsonNode node) {
+        try {
+            return MAPPER.treeToValue(node, type);
+        } catch (Exception e) {
+            System.err.println("Error parsing " + path + "/" + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Writes value at segments inside the snapshot, creating or pruning intermediate nodes
+    private void apply(String[] segments, JsonNode value) {
+        boolean remove = value == null || value.isNull();
+        JsonNode parent = snapshot;
+        for (int i = 0; i < segments.length - 1; i++) {
+            JsonNode child = childOf(parent, segments[i]);
+            if (child == null || !child.isContainerNode()) {
+                if (remove) {
+                    return;
+                }
+                child = MAPPER.createObjectNode();
+                setChild(parent, segments[i], child);
+            }
+            parent = child;
+        }
+        String last = segments[segments.length - 1];
+        if (remove) {
+            removeChild(parent, last);
+        } else {
+            setChild(parent, last, value);
+        }
+    }
+
+    private static JsonNode childOf(JsonNode parent, String key) {
+        if (parent instanceof ArrayNode array) {
+            int index = parseIndex(key);
+            return index >= 0 ? array.get(index) : null;
+        }
+        return parent.get(key);
+    }
+
+    private static void setChild(JsonNode parent, String key, JsonNode value) {
+        if (parent instanceof ArrayNode array) {
+            int index = parseIndex(key);
+            while (array.size() <= index) {
+                array.add(NullNode.getInstance());
+            }
+            array.set(index, value);
+        } else {
+            ((ObjectNode) parent).set(key, value);
+        }
+    }
+
+    private static void removeChild(JsonNode parent, String key) {
+        if (parent instanceof ArrayNode array) {
+            int index = parseIndex(key);
+            if (index >= 0 && index < array.size()) {
+                array.set(index, NullNode.getInstance());
+            }
+        } else {
+            ((ObjectNode) parent).remove(key);
+        }
+    }
+
+    // Firebase sends sequential keys as an array; the snapshot always keys children by string
+    private static ObjectNode toObject(JsonNode data) {
+        ObjectNode object = MAPPER.createObjectNode();
+        if (data == null) {
+            return object;
+        }
+        if (data.isArray()) {
+            for (int i = 0; i < data.size(); i++) {
+                if (!data.get(i).isNull()) {
+                    object.set(String.valueOf(i), data.get(i));
+                }
+            }
+        } else if (data.isObject()) {
+            object.setAll((ObjectNode) data);
+        }
+        return object;
+    }
+
+    private static int parseIndex(String key) {
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String[] split(String path) {
+        String p = path == null ? "" : path.replaceAll("^/+|/+$", "");
+        return p.isEmpty() ? new String[0] : p.split("/+");
+    }
+}
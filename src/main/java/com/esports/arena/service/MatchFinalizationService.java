@@ -0,0 +1,225 @@
+package com.esports.arena.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.dao.TournamentDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+
+// Finalizes a match with one multi-location PATCH at the database root covering the result,
+// the stat line of each reported player, player career totals and both team records. Totals and
+// records are server-side increments, so two organizers finalizing different matches at once
+// both get counted. A bracket match also moves its winner on in the same PATCH. The update is
+// applied atomically, so a failure leaves everything untouched.
+public class MatchFinalizationService {
+
+    public record PlayerResult(int playerId, int kills, int deaths, int assists) { }
+
+    private final MatchDAO matchDAO;
+    private final PlayerDAO playerDAO;
+    private final TeamDAO teamDAO;
+    private final LeaderboardService leaderboard;
+    private final BracketService bracket;
+
+    public MatchFinalizationService() {
+        this(new MatchDAO(), new PlayerDAO(), new TeamDAO());
+    }
+
+    public MatchFinalizationService(MatchDAO matchDAO, PlayerDAO playerDAO, TeamDAO teamDAO) {
+        this(matchDAO, playerDAO, teamDAO, LeaderboardService.shared());
+    }
+
+    public MatchFinalizationService(MatchDAO matchDAO, PlayerDAO playerDAO, TeamDAO teamDAO, LeaderboardService leaderboard) {
+        this.matchDAO = matchDAO;
+        this.playerDAO = playerDAO;
+        this.teamDAO = teamDAO;
+        this.leaderboard = leaderboard;
+        this.bracket = new BracketService(new TournamentDAO(), matchDAO);
+    }
+
+    // Reads the match and both teams with their rosters, then writes everything in one request.
+    // Career totals and team records are only bumped the first time a match is completed.
+    public boolean finalizeMatch(int matchId, int team1Score, int team2Score, List<PlayerResult> results) {
+        try {
+            Match match = matchDAO.getMatchById(matchId);
+            if (match == null) {
+                System.err.println("Cannot finalize missing match " + matchId);
+                return false;
+            }
+            if (!match.hasTeams()) {
+                System.err.println("Cannot finalize match " + matchId + " before both teams are known");
+                return false;
+            }
+            Team team1 = teamDAO.getTeamById(match.getTeam1Id());
+            Team team2 = teamDAO.getTeamById(match.getTeam2Id());
+
+            Map<Integer, Player> players = new HashMap<>();
+            for (Team team : new Team[] {team1, team2}) {
+                if (team != null && team.getPlayers() != null) {
+                    team.getPlayers().forEach(p -> players.put(p.getId(), p));
+                }
+            }
+            for (PlayerResult result : results) {
+                if (!players.containsKey(result.playerId())) {
+                    Player player = playerDAO.getPlayerById(result.playerId());
+                    if (player != null) {
+                        players.put(player.getId(), player);
+                    }
+                }
+            }
+
+            int newStats = countNewStats(match, results);
+            long firstStatId = newStats == 0 ? 0 : RealtimeDatabaseService.reserveIds("counters/playerMatchStats", newStats);
+
+            boolean firstCompletion = isFirstCompletion(match);
+            Map<String, Object> updates = buildUpdates(match, team1Score, team2Score, results, players, team1, team2, firstStatId);
+            RealtimeDatabaseService.updateMultiPath(updates);
+            if (firstCompletion) {
+                // Re-rank just these two teams instead of reloading the leaderboards
+                leaderboard.applyTeam(withResult(team1, match.getWinnerId()));
+                leaderboard.applyTeam(withResult(team2, match.getWinnerId()));
+                leaderboard.recordMatch(match);
+            }
+            // The result stands even if pairing the next round fails (BracketService logs it)
+            bracket.onMatchCompleted(match);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error finalizing match: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Root-relative paths for the PATCH. Mutates match to its finalized state. New stat lines get
+    // consecutive ids starting at firstStatId.
+    static Map<String, Object> buildUpdates(Match match, int team1Score, int team2Score, List<PlayerResult> results,
+                                            Map<Integer, Player> players, Team team1, Team team2, long firstStatId) {
+        boolean firstCompletion = isFirstCompletion(match);
+        Integer winnerId = team1Score == team2Score ? null
+                : team1Score > team2Score ? match.getTeam1Id() : match.getTeam2Id();
+
+        match.setTeam1Score(team1Score);
+        match.setTeam2Score(team2Score);
+        match.setStatus(Match.MatchStatus.COMPLETED);
+        match.setWinnerId(winnerId);
+        if (match.getActualEndTime() == null) {
+            match.setActualEndTime(LocalDateTime.now());
+        }
+        if (match.getPlayerStats() == null) {
+            match.setPlayerStats(new ArrayList<>());
+        }
+
+        long nextStatId = firstStatId;
+        for (PlayerResult result : results) {
+            PlayerMatchStats stats = findStats(match, result.playerId());
+            if (stats == null) {
+                stats = new PlayerMatchStats(match.getId(), result.playerId());
+                stats.setId(Math.toIntExact(nextStatId++));
+                match.getPlayerStats().add(stats);
+            }
+            stats.setKills(result.kills());
+            stats.setDeaths(result.deaths());
+            stats.setAssists(result.assists());
+        }
+
+        String matchPath = "matches/" + match.getId();
+        Map<String, Object> updates = new LinkedHashMap<>();
+        updates.put(matchPath + "/team1Score", team1Score);
+        updates.put(matchPath + "/team2Score", team2Score);
+        updates.put(matchPath + "/status", match.getStatus());
+        updates.put(matchPath + "/winnerId", winnerId);
+        updates.put(matchPath + "/actualEndTime", match.getActualEndTime());
+        for (PlayerResult result : results) {
+            updates.put(matchPath + "/playerStats/" + result.playerId(), findStats(match, result.playerId()));
+        }
+        updates.putAll(MatchDAO.advancement(match));
+
+        if (!firstCompletion) {
+            return updates;
+        }
+
+        List<PlayerDAO.StatLine> roster = new ArrayList<>();
+        for (PlayerResult result : results) {
+            Player player = players.get(result.playerId());
+            if (player == null) {
+                continue;
+            }
+            boolean won = winnerId != null && isOnTeam(player, winnerId == match.getTeam1Id() ? team1 : team2);
+            roster.add(new PlayerDAO.StatLine(player.getId(), result.kills(), result.deaths(), result.assists(), won));
+        }
+        PlayerDAO.careerDeltas(roster).forEach((path, delta) -> updates.put(path, ServerValue.increment(delta)));
+
+        putRecord(updates, team1, winnerId);
+        putRecord(updates, team2, winnerId);
+        return updates;
+    }
+
+    // Status alone: a draw is completed with no winner, and must not be counted again
+    private static boolean isFirstCompletion(Match match) {
+        return match.getStatus() != Match.MatchStatus.COMPLETED;
+    }
+
+    // The team's record as read before finalizing plus this result. Another organizer's concurrent
+    // result may be missing; the leaderboard picks it up from the teams event stream.
+    private static Team withResult(Team team, Integer winnerId) {
+        if (team == null) {
+            return null;
+        }
+        if (winnerId == null) {
+            team.setDraws(team.getDraws() + 1);
+        } else if (winnerId == team.getId()) {
+            team.setWins(team.getWins() + 1);
+        } else {
+            team.setLosses(team.getLosses() + 1);
+        }
+        return team;
+    }
+
+    private static int countNewStats(Match match, List<PlayerResult> results) {
+        int count = 0;
+        for (PlayerResult result : results) {
+            if (findStats(match, result.playerId()) == null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static PlayerMatchStats findStats(Match match, int playerId) {
+        if (match.getPlayerStats() == null) {
+            return null;
+        }
+        for (PlayerMatchStats stats : match.getPlayerStats()) {
+            if (stats.getPlayerId() == playerId) {
+                return stats;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isOnTeam(Player player, Team team) {
+        if (team == null) {
+            return false;
+        }
+        if (team.getPlayers() != null && team.getPlayers().stream().anyMatch(p -> p.getId() == player.getId())) {
+            return true;
+        }
+        return player.getTeamId() != null && player.getTeamId() == team.getId();
+    }
+
+    private static void putRecord(Map<String, Object> updates, Team team, Integer winnerId) {
+        if (team != null) {
+            String field = TeamDAO.recordField(winnerId != null && winnerId == team.getId(), winnerId == null);
+            updates.put("teams/" + team.getId() + "/" + field, ServerValue.increment(1));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.esports.arena.service;
+
+// The backend refused a filtered read, typically for a missing ".indexOn" rule
+class QueryRejectedException extends Exception {
+    QueryRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,43 +1,128 @@
 package com.esports.arena.service;
 
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.esports.arena.util.EnvLoader;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+// Static entry point the DAOs use for storage: maps objects to and from JSON, caches remote reads
+// and delegates the transport to the configured StorageBackend (Firebase by default, or the
+// embedded EmbeddedBackend when ARENA_STORAGE=local).
 public class RealtimeDatabaseService {
 
-        private static final String DB_URL = "https://esports-arena-7fb9b-default-rtdb.firebaseio.com/";
+        private static final String DEFAULT_DB_URL = "https://esports-arena-7fb9b-default-rtdb.firebaseio.com/";
+        private static final String DEFAULT_DATA_FILE = "arena-data.log";
         private static final String TOKEN = EnvLoader.get("FIREBASE_DB_TOKEN");
-        private static final HttpClient CLIENT = HttpClient.newHttpClient();
         private static final ObjectMapper MAPPER = new ObjectMapper()
                         .registerModule(new JavaTimeModule())
                         .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-        private static URI buildUri(String path) {
-                String base = DB_URL.endsWith("/") ? DB_URL : DB_URL + "/";
-                String auth = (TOKEN == null || TOKEN.isBlank()) ? "" : "?auth=" + URLEncoder.encode(TOKEN, StandardCharsets.UTF_8);
-                return URI.create(base + path + ".json" + auth);
+        private static final AtomicLong REQUEST_COUNT = new AtomicLong();
+        private static final Set<String> WARNED_INDEXES = ConcurrentHashMap.newKeySet();
+
+        // Short TTLs keep other clients' writes visible; local writes invalidate immediately.
+        private static volatile EntityCache cache = new EntityCache(512, Duration.ofSeconds(10))
+                        .withCollectionTtl("counters", Duration.ZERO)
+                        .withCollectionTtl("organizers", Duration.ofSeconds(60))
+                        .withCollectionTtl("leader_votes", Duration.ofSeconds(5));
+
+        public static EntityCache getCache() {
+                return cache;
         }
 
-        public static <T> T read(String path, Class<T> type) throws Exception {
-                HttpRequest request = HttpRequest.newBuilder()
-                                .uri(buildUri(path))
-                                .GET()
-                                .build();
+        // Replaces the response cache; pass null to disable caching entirely.
+        public static void setCache(EntityCache newCache) {
+                cache = newCache;
+        }
+
+        private static volatile StorageBackend backend = configuredBackend();
+
+        // ARENA_STORAGE=local keeps all data in the embedded log (ARENA_DATA_FILE, default arena-data.log);
+        // otherwise Firebase, where FIREBASE_DB_URL overrides the default project (e.g. a local emulator).
+        private static StorageBackend configuredBackend() {
+                if ("local".equalsIgnoreCase(EnvLoader.get("ARENA_STORAGE"))) {
+                        String file = EnvLoader.get("ARENA_DATA_FILE");
+                        try {
+                                return EmbeddedBackend.open(Path.of(file == null || file.isBlank() ? DEFAULT_DATA_FILE : file));
+                        } catch (IOException e) {
+                                System.err.println("Could not open local data file, using Firebase: " + e.getMessage());
+                        }
+                }
+                String url = EnvLoader.get("FIREBASE_DB_URL");
+                return new FirebaseBackend(url == null || url.isBlank() ? DEFAULT_DB_URL : url, TOKEN);
+        }
+
+        public static StorageBackend getBackend() {
+                return backend;
+        }
+
+        // Switches storage for all DAOs. The previous backend is not closed; ids and cached reads are dropped.
+        public static void setBackend(StorageBackend newBackend) {
+                backend = newBackend;
+                IdAllocator.resetAll();
+                EntityCache current = cache;
+                if (current != null) {
+                        current.clear();
+                }
+        }
+
+        // Flushes and releases the active backend, e.g. on application exit
+        public static void shutdown() {
+                backend.close();
+        }
 
-                String body = CLIENT.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        // URL of the Firebase backend, or null when another backend is active
+        public static String getDatabaseUrl() {
+                return backend instanceof FirebaseBackend firebase ? firebase.getUrl() : null;
+        }
+
+        public static void setDatabaseUrl(String url) {
+                setBackend(new FirebaseBackend(url == null ? DEFAULT_DB_URL : url, TOKEN));
+        }
+
+        // Number of storage round trips (HTTP requests, or local operations) since start-up or the last reset
+        public static long getRequestCount() {
+                return REQUEST_COUNT.get();
+        }
+
+        public static void resetRequestCount() {
+                REQUEST_COUNT.set(0);
+        }
+
+        static void countRequest() {
+                REQUEST_COUNT.incrementAndGet();
+        }
+
+        public static <T> T read(String path, Class<T> type) throws Exception {
+                String body = fetchBody(path);
                 if (type == String.class) {
                         return type.cast(body);
                 }
@@ -45,29 +130,217 @@ public class RealtimeDatabaseService {
         }
 
         public static <T> T read(String path, TypeReference<T> type) throws Exception {
-                HttpRequest request = HttpRequest.newBuilder()
-                                .uri(buildUri(path))
-                                .GET()
-                                .build();
-
-                String body = CLIENT.send(request, HttpResponse.BodyHandlers.ofString()).body();
+                String body = fetchBody(path);
                 return MAPPER.readValue(body, type);
         }
 
         // Read collection that handles both Firebase array and object responses
         public static <T> Map<String, T> readCollection(String path, Class<T> valueType) throws Exception {
-                HttpRequest request = HttpRequest.newBuilder()
-                                .uri(buildUri(path))
-                                .GET()
-                                .build();
-
-                String body = CLIENT.send(request, HttpResponse.BodyHandlers.ofString()).body();
+                String body = fetchBody(path);
                 
                 if (body == null || "null".equals(body.trim())) {
                         return new HashMap<>();
                 }
 
-                JsonNode node = MAPPER.readTree(body);
+                return toMap(MAPPER.readTree(body), valueType);
+        }
+
+        // Server-side filtered read; only the matching children are transferred.
+        // Falls back to filtering the full collection locally if the server rejects the query
+        // (typically a missing ".indexOn" rule for the orderBy child).
+        public static <T> Map<String, T> query(String path, DatabaseQuery query, Class<T> valueType) throws Exception {
+                String body;
+                try {
+                        body = fetchBody(path, query);
+                } catch (QueryRejectedException e) {
+                        warnMissingIndex(path, query, e.getMessage());
+                        return filterLocally(fetchBody(path), query, valueType);
+                }
+
+                if (body == null || "null".equals(body.trim())) {
+                        return new HashMap<>();
+                }
+                return toMap(MAPPER.readTree(body), valueType);
+        }
+
+        // Non-blocking read: the request goes out at once and the value arrives on the future, so
+        // reads started together are in flight together (on Firebase, over one HTTP/2 connection)
+        public static <T> CompletableFuture<T> readAsync(String path, Class<T> type) {
+                return fetchBodyAsync(path, null).thenApply(body -> {
+                        try {
+                                return type == String.class ? type.cast(body) : MAPPER.readValue(body, type);
+                        } catch (IOException e) {
+                                throw new CompletionException(e);
+                        }
+                });
+        }
+
+        // Non-blocking query(), with the same local fallback when the server rejects the query
+        public static <T> CompletableFuture<Map<String, T>> queryAsync(String path, DatabaseQuery query, Class<T> valueType) {
+                return fetchBodyAsync(path, query)
+                                .thenApply(body -> {
+                                        try {
+                                                return body == null || "null".equals(body.trim())
+                                                                ? new HashMap<String, T>() : toMap(MAPPER.readTree(body), valueType);
+                                        } catch (Exception e) {
+                                                throw new CompletionException(e);
+                                        }
+                                })
+                                .exceptionallyCompose(error -> {
+                                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                                        if (!(cause instanceof QueryRejectedException)) {
+                                                return CompletableFuture.failedFuture(cause);
+                                        }
+                                        warnMissingIndex(path, query, cause.getMessage());
+                                        return fetchBodyAsync(path, null).thenApply(full -> {
+                                                try {
+                                                        return filterLocally(full, query, valueType);
+                                                } catch (Exception e) {
+                                                        throw new CompletionException(e);
+                                                }
+                                        });
+                                });
+        }
+
+        private static <T> Map<String, T> filterLocally(String full, DatabaseQuery query, Class<T> valueType) throws Exception {
+                if (full == null || "null".equals(full.trim())) {
+                        return new HashMap<>();
+                }
+                Map<String, T> result = new HashMap<>();
+                for (Map.Entry<String, JsonNode> entry : query.applyLocally(MAPPER.readTree(full)).entrySet()) {
+                        result.put(entry.getKey(), MAPPER.treeToValue(entry.getValue(), valueType));
+                }
+                return result;
+        }
+
+        // Streams a collection straight off the HTTP response, binding one child at a time, so peak
+        // memory is one entity rather than body string + JsonNode tree + objects. Keys are the child
+        // keys (array indexes for array-shaped responses). Bypasses the cache unless already cached.
+        public static <T> void forEachInCollection(String path, Class<T> valueType, BiConsumer<String, T> consumer) throws Exception {
+                try (Stream<Map.Entry<String, T>> entries = streamCollection(path, valueType)) {
+                        entries.forEach(e -> consumer.accept(e.getKey(), e.getValue()));
+                }
+        }
+
+        // Lazy variant of forEachInCollection; the stream holds the connection open and must be closed.
+        public static <T> Stream<Map.Entry<String, T>> streamCollection(String path, Class<T> valueType) throws Exception {
+                EntityCache current = cache;
+                String cached = current == null ? null : current.get(path);
+                InputStream body = cached == null ? backend.openStream(path) : null;
+                JsonParser parser = null;
+                CollectionSpliterator<T> spliterator;
+                try {
+                        parser = body == null ? MAPPER.createParser(cached) : MAPPER.createParser(body);
+                        spliterator = new CollectionSpliterator<>(parser, valueType);
+                } catch (Exception e) {
+                        // Nothing owns the response yet (onClose is not registered), so release it here
+                        try (AutoCloseable source = parser != null ? parser : body) {
+                                throw e;
+                        }
+                }
+                return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+        }
+
+        // Reads a collection pageSize children at a time in Firebase key order (orderBy="$key" with
+        // startAt/limitToFirst), handing each page to the consumer in order before fetching the next,
+        // so neither the server response nor the client holds more than one page. Bypasses the cache.
+        public static <T> void forEachPage(String path, int pageSize, Class<T> valueType,
+                                           Consumer<Map<String, T>> consumer) throws Exception {
+                if (pageSize < 1) {
+                        throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+                }
+                String after = null;
+                while (true) {
+                        // startAt is inclusive, so every page after the first asks for one extra child
+                        int limit = after == null ? pageSize : pageSize + 1;
+                        DatabaseQuery query = DatabaseQuery.orderByKey().limitToFirst(limit);
+                        if (after != null) {
+                                query.startAt(after);
+                        }
+                        JsonNode body = MAPPER.readTree(backend.get(path, query));
+                        // REST responses are unordered; this puts the children back in key order
+                        List<Map.Entry<String, JsonNode>> children = new ArrayList<>(
+                                        DatabaseQuery.orderByKey().applyLocally(body).entrySet());
+                        int received = children.size();
+                        if (after != null && !children.isEmpty() && children.get(0).getKey().equals(after)) {
+                                children.remove(0);
+                        }
+                        Map<String, T> page = new LinkedHashMap<>();
+                        for (Map.Entry<String, JsonNode> child : children) {
+                                page.put(child.getKey(), valueType == JsonNode.class
+                                                ? valueType.cast(child.getValue())
+                                                : MAPPER.treeToValue(child.getValue(), valueType));
+                        }
+                        if (!page.isEmpty()) {
+                                consumer.accept(page);
+                        }
+                        if (received < limit || children.isEmpty()) {
+                                return;
+                        }
+                        after = children.get(children.size() - 1).getKey();
+                }
+        }
+
+        // Walks a top-level array or object token by token, binding each child directly to the target type
+        private static class CollectionSpliterator<T> extends Spliterators.AbstractSpliterator<Map.Entry<String, T>> {
+                private final JsonParser parser;
+                private final Class<T> valueType;
+                private final boolean array;
+                private boolean done;
+                private int index;
+
+                CollectionSpliterator(JsonParser parser, Class<T> valueType) throws IOException {
+                        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+                        this.parser = parser;
+                        this.valueType = valueType;
+                        JsonToken first = parser.nextToken();
+                        this.array = first == JsonToken.START_ARRAY;
+                        this.done = first != JsonToken.START_ARRAY && first != JsonToken.START_OBJECT;
+                }
+
+                @Override
+                public boolean tryAdvance(Consumer<? super Map.Entry<String, T>> action) {
+                        try {
+                                while (!done) {
+                                        JsonToken token = parser.nextToken();
+                                        String key;
+                                        if (array) {
+                                                if (token == JsonToken.END_ARRAY || token == null) {
+                                                        done = true;
+                                                        break;
+                                                }
+                                                key = String.valueOf(index++);
+                                        } else {
+                                                if (token != JsonToken.FIELD_NAME) {
+                                                        done = true;
+                                                        break;
+                                                }
+                                                key = parser.currentName();
+                                                token = parser.nextToken();
+                                        }
+                                        if (token == JsonToken.VALUE_NULL) {
+                                                continue;
+                                        }
+                                        T value = MAPPER.readValue(parser, valueType);
+                                        action.accept(new AbstractMap.SimpleImmutableEntry<>(key, value));
+                                        return true;
+                                }
+                                return false;
+                        } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                        }
+                }
+
+                void close() {
+                        try {
+                                parser.close();
+                        } catch (IOException ignored) {
+                                // connection already gone
+                        }
+                }
+        }
+
+        private static <T> Map<String, T> toMap(JsonNode node, Class<T> valueType) throws Exception {
                 Map<String, T> result = new HashMap<>();
 
                 if (node.isArray()) {
@@ -106,76 +379,166 @@ public class RealtimeDatabaseService {
                 sendWithBody("PATCH", path, data);
         }
 
+        // Multi-location update: every key is a path from the database root and all of them are
+        // applied atomically in a single PATCH. Only the listed paths are invalidated in the cache.
+        public static void updateMultiPath(Map<String, Object> updates) throws Exception {
+                if (updates.isEmpty()) {
+                        return;
+                }
+                updates.keySet().forEach(RealtimeDatabaseService::invalidate);
+                try {
+                        backend.patch("", MAPPER.writeValueAsString(updates));
+                } finally {
+                        updates.keySet().forEach(RealtimeDatabaseService::invalidate);
+                }
+        }
+
+        // Adds each delta to the number stored at path/field in a single PATCH, without reading it first.
+        // The server applies the additions, so concurrent increments from other clients are never lost.
+        public static void increment(String path, Map<String, ? extends Number> deltas) throws Exception {
+                if (!deltas.isEmpty()) {
+                        patch(path, toIncrements(deltas));
+                }
+        }
+
+        // Root-relative variant of increment, applied atomically like updateMultiPath
+        public static void incrementMultiPath(Map<String, ? extends Number> deltas) throws Exception {
+                updateMultiPath(toIncrements(deltas));
+        }
+
+        private static Map<String, Object> toIncrements(Map<String, ? extends Number> deltas) {
+                Map<String, Object> increments = new LinkedHashMap<>();
+                deltas.forEach((key, delta) -> increments.put(key, delta instanceof Double || delta instanceof Float
+                                ? ServerValue.increment(delta.doubleValue())
+                                : ServerValue.increment(delta.longValue())));
+                return increments;
+        }
+
         public static void delete(String path) throws Exception {
-                HttpRequest request = HttpRequest.newBuilder()
-                                .uri(buildUri(path))
-                                .DELETE()
-                                .build();
-                CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+                invalidate(path);
+                try {
+                        backend.delete(path);
+                } finally {
+                        invalidate(path);
+                }
         }
 
-        // Atomically increments a numeric counter using ETag-based compare-and-set.
+        // Next unique id for the counter, served from a locally cached block (see IdAllocator).
         public static long nextId(String counterPath) throws Exception {
-                int attempts = 0;
-                while (attempts++ < 5) {
-                        HttpRequest getReq = HttpRequest.newBuilder()
-                                        .uri(buildUri(counterPath))
-                                        .header("X-Firebase-ETag", "true")
-                                        .GET()
-                                        .build();
-
-                        HttpResponse<String> getResp = CLIENT.send(getReq, HttpResponse.BodyHandlers.ofString());
-                        String etag = getResp.headers().firstValue("etag").orElse(null);
-                        Long current = parseLong(getResp.body());
-                        long next = (current == null ? 0L : current) + 1;
-
-                        if (etag == null) {
-                                // No ETag returned; accept the value and continue.
-                                write(counterPath, next);
-                                return next;
-                        }
+                return IdAllocator.forCounter(counterPath).next();
+        }
 
-                        HttpRequest putReq = HttpRequest.newBuilder()
-                                        .uri(buildUri(counterPath))
-                                        .header("If-Match", etag)
-                                        .header("Content-Type", "application/json")
-                                        .PUT(HttpRequest.BodyPublishers.ofString(String.valueOf(next)))
-                                        .build();
+        // Advances the counter by count (compare-and-set on Firebase) and returns the first id
+        // of the reserved block [first, first + count).
+        public static long reserveIds(String counterPath, int count) throws Exception {
+                if (count < 1) {
+                        throw new IllegalArgumentException("count must be positive: " + count);
+                }
+                invalidate(counterPath);
+                return backend.reserveIds(counterPath, count);
+        }
 
-                        HttpResponse<Void> putResp = CLIENT.send(putReq, HttpResponse.BodyHandlers.discarding());
-                        if (putResp.statusCode() == 200 || putResp.statusCode() == 204) {
-                                return next;
-                        }
+        // Compare-and-set on the node at path (ETag on Firebase): update gets the current value and
+        // returns the value to store, or null to leave the node alone. It may run more than once
+        // when other clients write the node at the same time. Returns the value stored, or null
+        // when update declined.
+        public static <T> T transaction(String path, Class<T> type, UnaryOperator<T> update) throws Exception {
+                invalidate(path);
+                try {
+                        String stored = backend.transaction(path, json -> {
+                                try {
+                                        T next = update.apply(MAPPER.readValue(json, type));
+                                        return next == null ? null : MAPPER.writeValueAsString(next);
+                                } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                }
+                        });
+                        return stored == null ? null : MAPPER.readValue(stored, type);
+                } finally {
+                        invalidate(path);
+                }
+        }
+
+        private static String fetchBody(String path) throws Exception {
+                return fetchBody(path, null);
+        }
 
-                        if (putResp.statusCode() != 412) {
-                                throw new IllegalStateException("Failed to increment counter: HTTP " + putResp.statusCode());
+        // Serves remote GETs from the cache when possible; only successful responses are cached.
+        private static String fetchBody(String path, DatabaseQuery query) throws Exception {
+                StorageBackend target = backend;
+                String cacheKey = query == null ? path : path + "?" + query.toQueryString();
+                EntityCache current = target.isRemote() ? cache : null;
+                long generation = 0;
+                if (current != null) {
+                        String cached = current.get(cacheKey);
+                        if (cached != null) {
+                                return cached;
                         }
-                        // 412 means ETag mismatch; retry.
+                        generation = current.generation();
+                }
+
+                String body = target.get(path, query);
+                if (current != null) {
+                        current.put(cacheKey, body, generation);
                 }
-                throw new IllegalStateException("Failed to increment counter after retries");
+                return body;
         }
 
-        private static void sendWithBody(String method, String path, Object data) throws Exception {
-                String json = MAPPER.writeValueAsString(data);
-                HttpRequest request = HttpRequest.newBuilder()
-                                .uri(buildUri(path))
-                                .header("Content-Type", "application/json")
-                                .method(method, HttpRequest.BodyPublishers.ofString(json))
-                                .build();
-                HttpResponse<String> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
-                if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                        throw new IllegalStateException("HTTP " + response.statusCode() + " - " + response.body());
+        // fetchBody without blocking; a cached body completes immediately
+        private static CompletableFuture<String> fetchBodyAsync(String path, DatabaseQuery query) {
+                StorageBackend target = backend;
+                String cacheKey = query == null ? path : path + "?" + query.toQueryString();
+                EntityCache current = target.isRemote() ? cache : null;
+                if (current == null) {
+                        return target.getAsync(path, query);
+                }
+                String cached = current.get(cacheKey);
+                if (cached != null) {
+                        return CompletableFuture.completedFuture(cached);
+                }
+                long generation = current.generation();
+                return target.getAsync(path, query).thenApply(body -> {
+                        current.put(cacheKey, body, generation);
+                        return body;
+                });
+        }
+
+        private static void warnMissingIndex(String path, DatabaseQuery query, String reason) {
+                if (WARNED_INDEXES.add(path + "/" + query.getOrderBy())) {
+                        System.err.println("Query on " + path + " rejected (" + reason + "); filtering locally. "
+                                        + "Add \".indexOn\": [\"" + query.getOrderBy() + "\"] under /" + path + " in the database rules.");
+                }
+        }
+
+        private static void invalidate(String path) {
+                EntityCache current = cache;
+                if (current != null) {
+                        current.invalidate(path);
                 }
         }
 
-        private static Long parseLong(String body) {
+        // Remote change reported by a DatabaseSubscription
+        static void invalidateCached(String path) {
+                invalidate(path);
+        }
+
+        // Opens a live subscription for path and keeps it alive until it is closed.
+        // The first event is a put of the current value at "/", followed by put/patch deltas.
+        public static DatabaseSubscription subscribe(String path, DatabaseEventListener listener) {
+                return backend.subscribe(path, listener);
+        }
+
+        private static void sendWithBody(String method, String path, Object data) throws Exception {
+                invalidate(path);
+                String json = MAPPER.writeValueAsString(data);
                 try {
-                        if (body == null || body.isBlank() || "null".equals(body.trim())) {
-                                return null;
+                        if ("PATCH".equals(method)) {
+                                backend.patch(path, json);
+                        } else {
+                                backend.put(path, json);
                         }
-                        return MAPPER.readValue(body, Long.class);
-                } catch (Exception e) {
-                        return null;
+                } finally {
+                        invalidate(path);
                 }
         }
 }
@@ -0,0 +1,55 @@
+package com.esports.arena.service;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// Placeholders the database resolves at write time, as in Firebase's ServerValue. An increment
+// written in a PATCH adds delta to whatever number is stored at that location when the write is
+// applied (a missing or non-numeric value counts as 0), so concurrent writers never lose counts.
+public final class ServerValue {
+    static final String KEY = ".sv";
+    static final String INCREMENT = "increment";
+
+    private ServerValue() {
+    }
+
+    public static Map<String, Object> increment(long delta) {
+        return Map.of(KEY, Map.of(INCREMENT, delta));
+    }
+
+    public static Map<String, Object> increment(double delta) {
+        return Map.of(KEY, Map.of(INCREMENT, delta));
+    }
+
+    static boolean isIncrement(JsonNode node) {
+        return node != null && node.isObject() && node.size() == 1 && node.path(KEY).path(INCREMENT).isNumber();
+    }
+
+    // Copy of data (about to be written at path) with every increment replaced by the resulting
+    // number; current looks up the stored value at a path. Used by backends that evaluate locally.
+    static JsonNode resolve(String path, JsonNode data, Function<String, JsonNode> current) {
+        if (isIncrement(data)) {
+            return add(current.apply(path), data.get(KEY).get(INCREMENT));
+        }
+        if (data == null || !data.isObject()) {
+            return data;
+        }
+        ObjectNode resolved = JsonNodeFactory.instance.objectNode();
+        data.fields().forEachRemaining(e -> resolved.set(e.getKey(),
+                resolve(path.isEmpty() ? e.getKey() : path + "/" + e.getKey(), e.getValue(), current)));
+        return resolved;
+    }
+
+    // Integers stay integers unless either side is fractional, like the server
+    private static JsonNode add(JsonNode stored, JsonNode delta) {
+        JsonNode base = stored != null && stored.isNumber() ? stored : JsonNodeFactory.instance.numberNode(0L);
+        if (base.isIntegralNumber() && delta.isIntegralNumber()) {
+            return JsonNodeFactory.instance.numberNode(base.asLong() + delta.asLong());
+        }
+        return JsonNodeFactory.instance.numberNode(base.asDouble() + delta.asDouble());
+    }
+}
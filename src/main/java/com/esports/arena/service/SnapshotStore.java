@@ -0,0 +1,206 @@
+package com.esports.arena.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.esports.arena.util.EnvLoader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// Keeps what the live collections mirrored in a local BinarySnapshot (ARENA_SNAPSHOT_FILE,
+// default arena-snapshot.bin) so the next start shows it immediately and the event stream only
+// has to deliver what changed since. Collections attached this run are saved from their live
+// contents; those not opened this run are carried over from the previous snapshot.
+// The snapshot read this run stays memory-mapped, and Windows will not replace a mapped file, so
+// each save writes the next generation beside it (arena-snapshot.bin.1, .2, ...) and then deletes
+// the older ones it can; one still mapped is left for a later save. Fields the tables do not show
+// and that must not sit on local disk (UNSAVED_FIELDS) are dropped before writing.
+public class SnapshotStore {
+    private static final Map<String, Set<String>> UNSAVED_FIELDS = Map.of("players", Set.of("password"));
+
+    private static SnapshotStore shared;
+
+    private final Path file;
+    private final Map<String, LiveCollection<?>> attached = new LinkedHashMap<>();
+    private BinarySnapshot previous;
+    private Path current;
+    private long generation;
+    private boolean opened;
+
+    public SnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    public static synchronized SnapshotStore shared() {
+        if (shared == null) {
+            String file = EnvLoader.get("ARENA_SNAPSHOT_FILE");
+            shared = new SnapshotStore(Path.of(file == null || file.isBlank() ? "arena-snapshot.bin" : file));
+        }
+        return shared;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // The generation read this run or last saved, or null if there is none yet
+    public synchronized Path getCurrentFile() {
+        snapshot();
+        return current;
+    }
+
+    // Seeds the collection from the snapshot, if it has one, and includes it in save(); call before start()
+    public synchronized <T> LiveCollection<T> attach(LiveCollection<T> live) {
+        attached.put(live.getPath(), live);
+        ObjectNode contents = read(live.getPath());
+        return contents == null ? live : live.seed(contents);
+    }
+
+    // Writes the snapshot; false (with the previous file left in place) if that failed
+    public synchronized boolean save() {
+        Map<String, JsonNode> collections = new LinkedHashMap<>();
+        BinarySnapshot old = snapshot();
+        if (old != null) {
+            for (String collection : old.getCollections()) {
+                if (!attached.containsKey(collection)) {
+                    ObjectNode contents = read(collection);
+                    if (contents != null) {
+                        collections.put(collection, contents);
+                    }
+                }
+            }
+        }
+        attached.forEach((path, live) -> collections.put(path, live.contents()));
+        if (collections.isEmpty()) {
+            return true;
+        }
+        collections.forEach(SnapshotStore::dropUnsavedFields);
+        Path next = generationFile(generation + 1);
+        try {
+            BinarySnapshot.write(next, collections);
+        } catch (IOException e) {
+            System.err.println("Error saving snapshot " + next + ": " + e.getMessage());
+            return false;
+        }
+        for (Path older : olderGenerations(generation + 1)) {
+            try {
+                Files.deleteIfExists(older);
+            } catch (IOException e) {
+                // Still mapped (Windows); the next save tries again
+            }
+        }
+        // Map the new file on the next read
+        previous = null;
+        opened = false;
+        return true;
+    }
+
+    // Both sources are copies (contents() and a fresh decode), so fields are removed in place
+    private static void dropUnsavedFields(String collection, JsonNode children) {
+        Set<String> fields = UNSAVED_FIELDS.get(collection);
+        if (fields != null) {
+            children.forEach(child -> {
+                if (child instanceof ObjectNode object) {
+                    object.remove(fields);
+                }
+            });
+        }
+    }
+
+    private ObjectNode read(String collection) {
+        BinarySnapshot snapshot = snapshot();
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return snapshot.read(collection);
+        } catch (IOException e) {
+            System.err.println("Ignoring snapshot of " + collection + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Opened once per run; a missing or unreadable file just means starting from the stream
+    private BinarySnapshot snapshot() {
+        if (!opened) {
+            opened = true;
+            current = latestGeneration();
+            if (current != null) {
+                try {
+                    previous = BinarySnapshot.open(current);
+                } catch (IOException e) {
+                    System.err.println("Ignoring snapshot " + current + ": " + e.getMessage());
+                }
+            }
+        }
+        return previous;
+    }
+
+    // The newest numbered generation, or the plain file name as written before generations
+    private Path latestGeneration() {
+        generation = 0;
+        Path latest = Files.isRegularFile(file) ? file : null;
+        for (Path candidate : listGenerations()) {
+            long number = generationOf(candidate);
+            if (number > generation) {
+                generation = number;
+                latest = candidate;
+            }
+        }
+        return latest;
+    }
+
+    private List<Path> olderGenerations(long newest) {
+        List<Path> older = new ArrayList<>();
+        if (Files.isRegularFile(file)) {
+            older.add(file);
+        }
+        for (Path candidate : listGenerations()) {
+            if (generationOf(candidate) < newest) {
+                older.add(candidate);
+            }
+        }
+        return older;
+    }
+
+    private List<Path> listGenerations() {
+        List<Path> generations = new ArrayList<>();
+        Path dir = file.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                if (generationOf(entry) > 0) {
+                    generations.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot list snapshots in " + dir + ": " + e.getMessage());
+        }
+        return generations;
+    }
+
+    private Path generationFile(long number) {
+        return file.resolveSibling(file.getFileName() + "." + number);
+    }
+
+    // N for "<file name>.N", otherwise 0 (temporary .part files included)
+    private long generationOf(Path candidate) {
+        String prefix = file.getFileName() + ".";
+        String name = candidate.getFileName().toString();
+        if (!name.startsWith(prefix) || name.length() == prefix.length() || name.length() - prefix.length() > 18) {
+            return 0;
+        }
+        for (int i = prefix.length(); i < name.length(); i++) {
+            if (name.charAt(i) < '0' || name.charAt(i) > '9') {
+                return 0;
+            }
+        }
+        return Long.parseLong(name.substring(prefix.length()));
+    }
+}
@@ -0,0 +1,227 @@
+package com.esports.arena.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Team;
+
+// Teams in leaderboard order, held in a treap where every node knows its subtree size. Replacing
+// one team's record, finding a team's rank and reading the top K all take O(log n) (+K), so a
+// finished match re-ranks two teams instead of re-sorting the board. Not thread-safe.
+public class Standings {
+    // Ties on the leaderboard order fall back to the id so every team has one exact position
+    private static final Comparator<Team> ORDER = TeamDAO.LEADERBOARD_ORDER.thenComparingInt(Team::getId);
+
+    private static final class Node {
+        final Team team;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Team team) {
+            this.team = team;
+        }
+    }
+
+    // The exact instances stored in the tree, which must not change while they are in it
+    private final Map<Integer, Team> byId = new HashMap<>();
+    private Node root;
+
+    // Inserts the team or replaces its previous record; a copy is stored
+    public void put(Team team) {
+        Team copy = copyOf(team);
+        Team previous = byId.put(copy.getId(), copy);
+        if (previous != null) {
+            root = delete(root, previous);
+        }
+        Node[] parts = split(root, copy);
+        root = merge(merge(parts[0], new Node(copy)), parts[1]);
+    }
+
+    public boolean remove(int teamId) {
+        Team previous = byId.remove(teamId);
+        if (previous == null) {
+            return false;
+        }
+        root = delete(root, previous);
+        return true;
+    }
+
+    public Team get(int teamId) {
+        Team team = byId.get(teamId);
+        return team == null ? null : copyOf(team);
+    }
+
+    public boolean contains(int teamId) {
+        return byId.containsKey(teamId);
+    }
+
+    // Adds one win, loss or draw to the team's record (winnerId null = draw)
+    public void recordResult(Team team, Integer winnerId) {
+        Team current = byId.get(team.getId());
+        Team updated = copyOf(current != null ? current : team);
+        if (current == null) {
+            updated.setWins(0);
+            updated.setLosses(0);
+            updated.setDraws(0);
+        }
+        if (winnerId == null) {
+            updated.setDraws(updated.getDraws() + 1);
+        } else if (winnerId == team.getId()) {
+            updated.setWins(updated.getWins() + 1);
+        } else {
+            updated.setLosses(updated.getLosses() + 1);
+        }
+        put(updated);
+    }
+
+    // 1-based position, or -1 for a team that is not ranked
+    public int rankOf(int teamId) {
+        Team team = byId.get(teamId);
+        if (team == null) {
+            return -1;
+        }
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = ORDER.compare(team, node.team);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return before + size(node.left) + 1;
+            }
+        }
+        return -1;
+    }
+
+    // Team at a 1-based position, or null when out of range
+    public Team atRank(int rank) {
+        if (rank < 1 || rank > size()) {
+            return null;
+        }
+        int index = rank - 1;
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return copyOf(node.team);
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    // The first k teams in order (copies)
+    public List<Team> top(int k) {
+        List<Team> result = new ArrayList<>(Math.min(Math.max(k, 0), size()));
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        while (result.size() < k && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            result.add(copyOf(node.team));
+            node = node.right;
+        }
+        return result;
+    }
+
+    public List<Team> toList() {
+        return top(size());
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        byId.clear();
+        root = null;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        }
+        b.left = merge(a, b.left);
+        return update(b);
+    }
+
+    // [teams ordered before key, teams at or after key]
+    private static Node[] split(Node node, Team key) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (ORDER.compare(node.team, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            return new Node[] {update(node), parts[1]};
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        return new Node[] {parts[0], update(node)};
+    }
+
+    private static Node delete(Node node, Team team) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDER.compare(team, node.team);
+        if (cmp < 0) {
+            node.left = delete(node.left, team);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, team);
+        } else {
+            return merge(node.left, node.right);
+        }
+        return update(node);
+    }
+
+    // Leaderboard rows only need the team's identity and record, not its roster
+    static Team copyOf(Team team) {
+        Team copy = new Team();
+        copy.setId(team.getId());
+        copy.setName(team.getName());
+        copy.setTag(team.getTag());
+        copy.setRegion(team.getRegion());
+        copy.setLeaderId(team.getLeaderId());
+        copy.setCreatedDate(team.getCreatedDate());
+        copy.setWins(team.getWins());
+        copy.setLosses(team.getLosses());
+        copy.setDraws(team.getDraws());
+        return copy;
+    }
+}
@@ -0,0 +1,57 @@
+package com.esports.arena.service;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.UnaryOperator;
+
+// Transport behind RealtimeDatabaseService. Paths are slash-separated from the database root and
+// bodies are JSON text in the Firebase REST shape (missing nodes read as "null", objects with
+// mostly sequential integer keys come back as arrays), so the mapping, caching and DAOs on top
+// work the same on every backend. Select one with ARENA_STORAGE or RealtimeDatabaseService.setBackend.
+public interface StorageBackend extends AutoCloseable {
+
+    // JSON of the node at path; with a query, only the matching children. A backend that cannot
+    // answer the query throws QueryRejectedException and the caller filters the full node itself.
+    String get(String path, DatabaseQuery query) throws Exception;
+
+    // get() without blocking the caller, so independent reads can be in flight together. By default
+    // a blocking get() on the shared IoExecutor; a backend with a non-blocking transport overrides it.
+    default CompletableFuture<String> getAsync(String path, DatabaseQuery query) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return get(path, query);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, IoExecutor.shared());
+    }
+
+    // Same body as get(path, null), for parsing incrementally
+    InputStream openStream(String path) throws Exception;
+
+    void put(String path, String json) throws Exception;
+
+    // Keys of the JSON object may be multi-segment paths relative to path; all are applied atomically
+    void patch(String path, String json) throws Exception;
+
+    void delete(String path) throws Exception;
+
+    // Advances the counter at counterPath by count and returns the first id of the reserved block
+    long reserveIds(String counterPath, int count) throws Exception;
+
+    // Compare-and-set on the node at path: update maps its current JSON to the JSON to store, or to
+    // null to leave it alone, and runs again if another client wrote the node in between. Returns
+    // the JSON stored, or null when update declined.
+    String transaction(String path, UnaryOperator<String> update) throws Exception;
+
+    DatabaseSubscription subscribe(String path, DatabaseEventListener listener);
+
+    // Whether responses are worth caching on the client
+    boolean isRemote();
+
+    String describe();
+
+    @Override
+    void close();
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 import com.esports.arena.dao.MatchDAO;
 import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
 import com.esports.arena.model.PlayerMatchStats;
 
 
@@ -24,28 +25,31 @@ public class TournamentStatsService {
     public TournamentPlayerStats getPlayerTournamentStats(int playerId, int tournamentId) {
         TournamentPlayerStats stats = new TournamentPlayerStats();
         
-        // Get all matches for this tournament
+        // Player stats are embedded in each match, so one fetch covers the whole tournament
         List<Match> tournamentMatches = matchDAO.getMatchesByTournament(tournamentId);
-        
-        int kills = 0, deaths = 0, assists = 0, matchesPlayed = 0, matchesWon = 0;
+        Player player = null;
+        boolean playerLoaded = false;
         
         for (Match match : tournamentMatches) {
-            // Get player stats for this match
-            List<PlayerMatchStats> matchStats = matchDAO.getPlayerStatsByMatch(match.getId());
-            
-            for (PlayerMatchStats pms : matchStats) {
+            if (match.getPlayerStats() == null) {
+                continue;
+            }
+            for (PlayerMatchStats pms : match.getPlayerStats()) {
                 if (pms.getPlayerId() == playerId) {
-                    kills += pms.getKills();
-                    deaths += pms.getDeaths();
-                    assists += pms.getAssists();
-                    matchesPlayed++;
+                    stats.kills += pms.getKills();
+                    stats.deaths += pms.getDeaths();
+                    stats.assists += pms.getAssists();
+                    stats.matchesPlayed++;
                     
                     // Check if player's team won
                     if (match.getWinnerId() != null) {
-                        com.esports.arena.model.Player player = playerDAO.getPlayerById(playerId);
-                        if (player != null && player.getTeamId() != null && 
+                        if (!playerLoaded) {
+                            player = playerDAO.getPlayerById(playerId);
+                            playerLoaded = true;
+                        }
+                        if (player != null && player.getTeamId() != null &&
                             player.getTeamId().equals(match.getWinnerId())) {
-                            matchesWon++;
+                            stats.matchesWon++;
                         }
                     }
                     break;
@@ -53,12 +57,6 @@ public class TournamentStatsService {
             }
         }
         
-        stats.kills = kills;
-        stats.deaths = deaths;
-        stats.assists = assists;
-        stats.matchesPlayed = matchesPlayed;
-        stats.matchesWon = matchesWon;
-        
         return stats;
     }
 
@@ -68,31 +66,12 @@ public class TournamentStatsService {
     public TournamentTeamStats getTeamTournamentStats(int teamId, int tournamentId) {
         TournamentTeamStats stats = new TournamentTeamStats();
         
-        List<Match> tournamentMatches = matchDAO.getMatchesByTournament(tournamentId);
-        
-        int wins = 0, losses = 0, draws = 0;
-        
-        for (Match match : tournamentMatches) {
+        for (Match match : matchDAO.getMatchesByTournament(tournamentId)) {
             if (match.getTeam1Id() == teamId || match.getTeam2Id() == teamId) {
-                if (match.getStatus() == Match.MatchStatus.COMPLETED) {
-                    if (match.getWinnerId() != null) {
-                        if (match.getWinnerId() == teamId) {
-                            wins++;
-                        } else {
-                            losses++;
-                        }
-                    } else {
-                        draws++;
-                    }
-                }
+                recordTeamResult(stats, match, teamId);
             }
         }
         
-        stats.wins = wins;
-        stats.losses = losses;
-        stats.draws = draws;
-        stats.matchesPlayed = wins + losses + draws;
-        
         return stats;
     }
 
@@ -100,14 +79,87 @@ public class TournamentStatsService {
     // Get all players' tournament stats
 
     public Map<Integer, TournamentPlayerStats> getAllPlayersTournamentStats(int tournamentId) {
-        Map<Integer, TournamentPlayerStats> statsMap = new HashMap<>();
-        List<com.esports.arena.model.Player> players = playerDAO.getAllPlayers();
-        
-        for (com.esports.arena.model.Player player : players) {
-            statsMap.put(player.getId(), getPlayerTournamentStats(player.getId(), tournamentId));
+        return getTournamentStats(tournamentId).getPlayerStats();
+    }
+
+    // Get all player and team stats for a tournament from one matches fetch and one players fetch
+
+    public TournamentStatsSnapshot getTournamentStats(int tournamentId) {
+        List<Match> tournamentMatches = matchDAO.getMatchesByTournament(tournamentId);
+        List<Player> players = playerDAO.getAllPlayers();
+        return aggregate(tournamentMatches, players);
+    }
+
+    // Single pass over the matches and their embedded player stats; team membership
+    // comes from the player snapshot instead of a lookup per win.
+    public static TournamentStatsSnapshot aggregate(List<Match> matches, List<Player> players) {
+        TournamentStatsSnapshot snapshot = new TournamentStatsSnapshot();
+        Map<Integer, Integer> teamByPlayer = new HashMap<>();
+
+        for (Player player : players) {
+            snapshot.playerStats.put(player.getId(), new TournamentPlayerStats());
+            if (player.getTeamId() != null) {
+                teamByPlayer.put(player.getId(), player.getTeamId());
+            }
+        }
+
+        for (Match match : matches) {
+            if (match.getStatus() == Match.MatchStatus.COMPLETED) {
+                recordTeamResult(snapshot.teamStats.computeIfAbsent(match.getTeam1Id(), id -> new TournamentTeamStats()), match, match.getTeam1Id());
+                recordTeamResult(snapshot.teamStats.computeIfAbsent(match.getTeam2Id(), id -> new TournamentTeamStats()), match, match.getTeam2Id());
+            }
+
+            if (match.getPlayerStats() == null) {
+                continue;
+            }
+            Integer winnerId = match.getWinnerId();
+            for (PlayerMatchStats pms : match.getPlayerStats()) {
+                TournamentPlayerStats stats = snapshot.playerStats.get(pms.getPlayerId());
+                if (stats == null) {
+                    // Stats for a player that no longer exists are ignored, as before
+                    continue;
+                }
+                stats.kills += pms.getKills();
+                stats.deaths += pms.getDeaths();
+                stats.assists += pms.getAssists();
+                stats.matchesPlayed++;
+                if (winnerId != null && winnerId.equals(teamByPlayer.get(pms.getPlayerId()))) {
+                    stats.matchesWon++;
+                }
+            }
+        }
+
+        return snapshot;
+    }
+
+    private static void recordTeamResult(TournamentTeamStats stats, Match match, int teamId) {
+        if (match.getStatus() != Match.MatchStatus.COMPLETED) {
+            return;
+        }
+        if (match.getWinnerId() == null) {
+            stats.draws++;
+        } else if (match.getWinnerId() == teamId) {
+            stats.wins++;
+        } else {
+            stats.losses++;
+        }
+        stats.matchesPlayed = stats.wins + stats.losses + stats.draws;
+    }
+
+    public static class TournamentStatsSnapshot {
+        private final Map<Integer, TournamentPlayerStats> playerStats = new HashMap<>();
+        private final Map<Integer, TournamentTeamStats> teamStats = new HashMap<>();
+
+        public Map<Integer, TournamentPlayerStats> getPlayerStats() { return playerStats; }
+        public Map<Integer, TournamentTeamStats> getTeamStats() { return teamStats; }
+
+        public TournamentPlayerStats getPlayer(int playerId) {
+            return playerStats.getOrDefault(playerId, new TournamentPlayerStats());
+        }
+
+        public TournamentTeamStats getTeam(int teamId) {
+            return teamStats.getOrDefault(teamId, new TournamentTeamStats());
         }
-        
-        return statsMap;
     }
 
     public static class TournamentPlayerStats {
@@ -141,4 +193,3 @@ public class TournamentStatsService {
         }
     }
 }
-
@@ -1,16 +1,19 @@
 package com.esports.arena.tabs;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import com.esports.arena.MainApp;
-import com.esports.arena.dao.MatchDAO;
 import com.esports.arena.dao.TeamDAO;
 import com.esports.arena.dao.TournamentDAO;
-import com.esports.arena.model.Match;
 import com.esports.arena.model.Team;
-import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentSummary;
+import com.esports.arena.service.LeaderboardService;
+import com.esports.arena.service.LiveCollection;
+import com.esports.arena.service.SnapshotStore;
+import com.esports.arena.util.LiveListBinding;
 import com.esports.arena.util.LoadingDialog;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -18,6 +21,7 @@ import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -29,30 +33,63 @@ public class LeaderboardTabController {
     @FXML private TableColumn<Team, Integer> lbWinsCol;
     @FXML private TableColumn<Team, Integer> lbLossesCol;
     @FXML private TableColumn<Team, Double> lbWinRateCol;
-    @FXML private ComboBox<Tournament> tournamentFilterCombo;
+    @FXML private ComboBox<TournamentSummary> tournamentFilterCombo;
 
     private TeamDAO teamDAO;
     private TournamentDAO tournamentDAO;
-    private MatchDAO matchDAO;
+    private LeaderboardService leaderboardService;
     private Integer currentTournamentFilter;
     private ObservableList<Team> leaderboardData;
+    private LiveListBinding<Team> liveBinding;
+    private LiveCollection<Team> liveTeams;
 
     public void initialize(TeamDAO teamDAO) {
         this.teamDAO = teamDAO;
         this.tournamentDAO = new TournamentDAO();
-        this.matchDAO = new MatchDAO();
+        this.leaderboardService = LeaderboardService.shared();
         this.currentTournamentFilter = null;
         this.leaderboardData = FXCollections.observableArrayList();
         setupLeaderboardTable();
         loadTournamentFilter();
         updateLeaderboard();
+        startLiveUpdates();
+    }
+
+    // Team record changes re-rank single rows of the overall leaderboard and keep the shared
+    // standings current; tournament views are served from the standings when selected
+    private void startLiveUpdates() {
+        liveBinding = new LiveListBinding<>(leaderboardData, t -> String.valueOf(t.getId()));
+        liveBinding.setView(null, TeamDAO.LEADERBOARD_ORDER);
+        liveTeams = SnapshotStore.shared().attach(new LiveCollection<>("teams", Team.class, new LiveCollection.Listener<Team>() {
+            @Override
+            public void onReset(Map<String, Team> items) {
+                leaderboardService.onReset(items);
+                liveBinding.onReset(items);
+            }
+
+            @Override
+            public void onChanged(String key, Team value) {
+                leaderboardService.onChanged(key, value);
+                liveBinding.onChanged(key, value);
+            }
+        })).start();
+    }
+
+    public void stopLiveUpdates() {
+        if (liveTeams != null) {
+            liveTeams.close();
+        }
     }
 
     private void setupLeaderboardTable() {
-        lbRankCol.setCellValueFactory(cellData ->
-                javafx.beans.binding.Bindings.createIntegerBinding(
-                        () -> leaderboardTable.getItems().indexOf(cellData.getValue()) + 1
-                ).asObject());
+        // Rows are already in rank order, so a row's rank is its index
+        lbRankCol.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(Integer item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : String.valueOf(getIndex() + 1));
+            }
+        });
         lbTeamCol.setCellValueFactory(new PropertyValueFactory<>("name"));
         lbWinsCol.setCellValueFactory(new PropertyValueFactory<>("wins"));
         lbLossesCol.setCellValueFactory(new PropertyValueFactory<>("losses"));
@@ -64,40 +101,42 @@ public class LeaderboardTabController {
     }
 
     private void loadTournamentFilter() {
-        Task<List<Tournament>> task = new Task<>() {
+        Task<List<TournamentSummary>> task = new Task<>() {
             @Override
-            protected List<Tournament> call() {
-                return tournamentDAO.getAllTournaments();
+            protected List<TournamentSummary> call() {
+                return tournamentDAO.getTournamentSummaries();
             }
         };
 
         task.setOnSucceeded(e -> {
-            List<Tournament> tournaments = task.getValue();
+            List<TournamentSummary> tournaments = task.getValue();
             tournamentFilterCombo.setItems(FXCollections.observableArrayList(tournaments));
-            tournamentFilterCombo.setCellFactory(param -> new javafx.scene.control.ListCell<Tournament>() {
+            tournamentFilterCombo.setCellFactory(param -> new javafx.scene.control.ListCell<TournamentSummary>() {
                 @Override
-                protected void updateItem(Tournament item, boolean empty) {
+                protected void updateItem(TournamentSummary item, boolean empty) {
                     super.updateItem(item, empty);
                     setText(empty || item == null ? null : item.getName());
                 }
             });
-            tournamentFilterCombo.setButtonCell(new javafx.scene.control.ListCell<Tournament>() {
+            tournamentFilterCombo.setButtonCell(new javafx.scene.control.ListCell<TournamentSummary>() {
                 @Override
-                protected void updateItem(Tournament item, boolean empty) {
+                protected void updateItem(TournamentSummary item, boolean empty) {
                     super.updateItem(item, empty);
                     setText(empty || item == null ? "Select Tournament" : item.getName());
                 }
             });
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runOnce("leaderboard:tournaments", task);
     }
 
     @FXML
     private void handleApplyTournamentFilter() {
-        Tournament selected = tournamentFilterCombo.getSelectionModel().getSelectedItem();
+        TournamentSummary selected = tournamentFilterCombo.getSelectionModel().getSelectedItem();
         if (selected != null) {
             currentTournamentFilter = selected.getId();
+            // Recount from the database so results finalized on other machines show up
+            leaderboardService.invalidateTournament(selected.getId());
             updateLeaderboard();
         } else {
             MainApp.showError("No Selection", "Please select a tournament");
@@ -115,23 +154,34 @@ public class LeaderboardTabController {
         loadTournamentFilter();
     }
 
+    // Rebuilds the standings from the database, e.g. after changes made by other clients
+    public void refreshLeaderboard() {
+        leaderboardService.reload();
+        updateLeaderboard();
+    }
+
     public void updateLeaderboard() {
         System.out.println("LeaderboardTabController.updateLeaderboard() called");
+        if (liveBinding != null) {
+            liveBinding.setPaused(currentTournamentFilter != null);
+        }
         System.out.println("  Current tournament filter: " + (currentTournamentFilter != null ? currentTournamentFilter : "None"));
+        // Captured so a superseded load cannot answer for the filter chosen after it
+        Integer tournamentId = currentTournamentFilter;
         LoadingDialog.showLoading("Updating leaderboard...");
         Task<List<Team>> task = new Task<>() {
             @Override
             protected List<Team> call() {
                 System.out.println("  LeaderboardTabController - Loading teams in background task");
-                if (currentTournamentFilter == null) {
+                if (tournamentId == null) {
                     // Overall leaderboard
-                    List<Team> teams = teamDAO.getLeaderboard();
+                    List<Team> teams = leaderboardService.getStandings(null);
                     System.out.println("  LeaderboardTabController - Loaded " + teams.size() + " teams for overall leaderboard");
                     return teams;
                 } else {
                     // Tournament-specific leaderboard
-                    List<Team> teams = getTournamentLeaderboard(currentTournamentFilter);
-                    System.out.println("  LeaderboardTabController - Loaded " + teams.size() + " teams for tournament " + currentTournamentFilter);
+                    List<Team> teams = leaderboardService.getStandings(tournamentId);
+                    System.out.println("  LeaderboardTabController - Loaded " + teams.size() + " teams for tournament " + tournamentId);
                     return teams;
                 }
             }
@@ -151,61 +201,7 @@ public class LeaderboardTabController {
                 LoadingDialog.hideLoading();
         });
 
-        new Thread(task).start();
-        System.out.println("  LeaderboardTabController - Background thread started");
-    }
-
-    private List<Team> getTournamentLeaderboard(int tournamentId) {
-        List<Match> tournamentMatches = matchDAO.getAllMatches().stream()
-                .filter(m -> m.getTournamentId() == tournamentId && m.getStatus() == Match.MatchStatus.COMPLETED)
-                .collect(Collectors.toList());
-
-        List<Team> allTeams = teamDAO.getAllTeams();
-        
-        // Create a copy of teams with tournament-specific stats
-        List<Team> tournamentTeams = allTeams.stream()
-                .map(team -> {
-                    Team copy = new Team();
-                    copy.setId(team.getId());
-                    copy.setName(team.getName());
-                    copy.setTag(team.getTag());
-                    copy.setRegion(team.getRegion());
-                    copy.setLeaderId(team.getLeaderId());
-                    copy.setCreatedDate(team.getCreatedDate());
-                    
-                    // Calculate tournament-specific stats
-                    int wins = 0;
-                    int losses = 0;
-                    int draws = 0;
-                    
-                    for (Match match : tournamentMatches) {
-                        if (match.getTeam1Id() == team.getId() || match.getTeam2Id() == team.getId()) {
-                            if (match.getWinnerId() == null) {
-                                draws++;
-                            } else if (match.getWinnerId() == team.getId()) {
-                                wins++;
-                            } else {
-                                losses++;
-                            }
-                        }
-                    }
-                    
-                    copy.setWins(wins);
-                    copy.setLosses(losses);
-                    copy.setDraws(draws);
-                    
-                    return copy;
-                })
-                .filter(team -> team.getWins() > 0 || team.getLosses() > 0 || team.getDraws() > 0) // Only teams that played
-                .sorted((a, b) -> {
-                    // Sort by wins first, then by win rate
-                    int winsComp = Integer.compare(b.getWins(), a.getWins());
-                    if (winsComp != 0) return winsComp;
-                    return Double.compare(b.getWinRate(), a.getWinRate());
-                })
-                .collect(Collectors.toList());
-        
-        return tournamentTeams;
+        UiTaskScheduler.shared().runLatest("leaderboard", tournamentId == null ? "overall" : "tournament=" + tournamentId, task);
+        System.out.println("  LeaderboardTabController - Load scheduled");
     }
 }
-
@@ -1,15 +1,23 @@
 package com.esports.arena.tabs;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.esports.arena.MainApp;
 import com.esports.arena.dao.MatchDAO;
 import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.service.LiveCollection;
+import com.esports.arena.service.MatchFinalizationService;
+import com.esports.arena.service.SnapshotStore;
+import com.esports.arena.util.LiveListBinding;
 import com.esports.arena.util.LoadingDialog;
+import com.esports.arena.util.UiTaskScheduler;
 import com.esports.arena.model.Match;
 import com.esports.arena.model.Player;
-import com.esports.arena.model.PlayerMatchStats;
 import com.esports.arena.model.Team;
 
 import javafx.collections.FXCollections;
@@ -42,7 +50,7 @@ public class MatchesTabController {
     @FXML private TableColumn<Match, String> matchRoundCol;
     @FXML private Button viewMatchDetailsBtn;
     @FXML private Button editMatchStatsBtn;
-    @FXML private ComboBox<com.esports.arena.model.Tournament> tournamentFilterCombo;
+    @FXML private ComboBox<com.esports.arena.model.TournamentSummary> tournamentFilterCombo;
 
     private MatchDAO matchDAO;
     private com.esports.arena.dao.TournamentDAO tournamentDAO;
@@ -50,10 +58,15 @@ public class MatchesTabController {
     private PlayerDAO playerDAO;
     private ObservableList<Match> matchesData;
     private ObservableList<Team> teamsData;
+    private MatchFinalizationService finalizationService;
+    private LiveListBinding<Match> liveBinding;
+    private LiveCollection<Match> liveMatches;
 
     private record MatchDetailData(Match match, Team team1, Team team2,
                                    List<Player> playersTeam1, List<Player> playersTeam2,
                                    List<com.esports.arena.model.PlayerMatchStats> stats) { }
+
+    private record MatchTeams(Team team1, Team team2, List<Player> players1, List<Player> players2) { }
     
     private record PlayerStatsInput(int playerId, int kills, int deaths, int assists) { }
 
@@ -63,33 +76,55 @@ public class MatchesTabController {
         this.playerDAO = playerDAO;
         this.teamsData = teamsData;
         this.tournamentDAO = new com.esports.arena.dao.TournamentDAO();
+        this.finalizationService = new MatchFinalizationService(matchDAO, playerDAO, teamDAO);
         this.matchesData = FXCollections.observableArrayList();
         setupMatchesTable();
         setupTournamentFilter();
         refreshTournamentFilter();
         loadAllMatches();
+        startLiveUpdates();
+    }
+
+    // Streams match changes (scores, status) into the table instead of reloading every match
+    private void startLiveUpdates() {
+        liveBinding = new LiveListBinding<>(matchesData, m -> String.valueOf(m.getId()));
+        showAllMatchesLive();
+        liveMatches = SnapshotStore.shared().attach(new LiveCollection<>("matches", Match.class, liveBinding)).start();
+    }
+
+    private void showAllMatchesLive() {
+        if (liveBinding != null) {
+            liveBinding.setView(null,
+                    Comparator.comparing(Match::getScheduledTime, Comparator.nullsLast(LocalDateTime::compareTo)).reversed());
+        }
+    }
+
+    public void stopLiveUpdates() {
+        if (liveMatches != null) {
+            liveMatches.close();
+        }
     }
 
     private void setupTournamentFilter() {
         if (tournamentFilterCombo != null) {
-            tournamentFilterCombo.setCellFactory(param -> new ListCell<com.esports.arena.model.Tournament>() {
+            tournamentFilterCombo.setCellFactory(param -> new ListCell<com.esports.arena.model.TournamentSummary>() {
                 @Override
-                protected void updateItem(com.esports.arena.model.Tournament item, boolean empty) {
+                protected void updateItem(com.esports.arena.model.TournamentSummary item, boolean empty) {
                     super.updateItem(item, empty);
                     setText(empty || item == null ? null : item.getName() + " (" + item.getStatus() + ")");
                 }
             });
 
-            tournamentFilterCombo.setButtonCell(new ListCell<com.esports.arena.model.Tournament>() {
+            tournamentFilterCombo.setButtonCell(new ListCell<com.esports.arena.model.TournamentSummary>() {
                 @Override
-                protected void updateItem(com.esports.arena.model.Tournament item, boolean empty) {
+                protected void updateItem(com.esports.arena.model.TournamentSummary item, boolean empty) {
                     super.updateItem(item, empty);
                     setText(empty || item == null ? "All Tournaments" : item.getName());
                 }
             });
 
             tournamentFilterCombo.setOnAction(e -> {
-                com.esports.arena.model.Tournament selected = tournamentFilterCombo.getValue();
+                com.esports.arena.model.TournamentSummary selected = tournamentFilterCombo.getValue();
                 if (selected != null) {
                     loadMatchesForTournament(selected.getId());
                 }
@@ -102,16 +137,16 @@ public class MatchesTabController {
             return;
         }
 
-        Task<List<com.esports.arena.model.Tournament>> task = new Task<>() {
+        Task<List<com.esports.arena.model.TournamentSummary>> task = new Task<>() {
             @Override
-            protected List<com.esports.arena.model.Tournament> call() {
-                return tournamentDAO.getAllTournaments();
+            protected List<com.esports.arena.model.TournamentSummary> call() {
+                return tournamentDAO.getTournamentSummaries();
             }
         };
 
         task.setOnSucceeded(e -> {
-            List<com.esports.arena.model.Tournament> tournaments = task.getValue();
-            com.esports.arena.model.Tournament previouslySelected = tournamentFilterCombo.getValue();
+            List<com.esports.arena.model.TournamentSummary> tournaments = task.getValue();
+            com.esports.arena.model.TournamentSummary previouslySelected = tournamentFilterCombo.getValue();
             tournamentFilterCombo.setItems(FXCollections.observableArrayList(tournaments));
             if (previouslySelected != null) {
                 tournamentFilterCombo.getItems().stream()
@@ -123,7 +158,7 @@ public class MatchesTabController {
 
         task.setOnFailed(e -> MainApp.showError("Error", "Failed to load tournaments for filter: " + task.getException().getMessage()));
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runOnce("matches:tournaments", task);
     }
 
     private void setupMatchesTable() {
@@ -135,6 +170,9 @@ public class MatchesTabController {
                 if (match == null) {
                     return "Unknown";
                 }
+                if (match.getTeam1Id() == 0) {
+                    return "TBD"; // waiting on an earlier bracket result
+                }
                 Team team = findTeamInCache(match.getTeam1Id());
                 return team != null ? team.getName() : "Team " + match.getTeam1Id();
             });
@@ -146,6 +184,9 @@ public class MatchesTabController {
                 if (match == null) {
                     return "Unknown";
                 }
+                if (match.getTeam2Id() == 0) {
+                    return "TBD"; // waiting on an earlier bracket result
+                }
                 Team team = findTeamInCache(match.getTeam2Id());
                 return team != null ? team.getName() : "Team " + match.getTeam2Id();
             });
@@ -192,6 +233,10 @@ public class MatchesTabController {
     }
 
     public void loadMatchesForTournament(int tournamentId) {
+        if (liveBinding != null) {
+            liveBinding.setView(m -> m.getTournamentId() == tournamentId,
+                    Comparator.comparing(Match::getScheduledTime, Comparator.nullsLast(LocalDateTime::compareTo)));
+        }
         LoadingDialog.showLoading("Loading matches...");
         Task<List<Match>> task = new Task<>() {
             @Override
@@ -213,7 +258,7 @@ public class MatchesTabController {
             LoadingDialog.hideLoading();
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runLatest("matches:list", task);
     }
 
     @FXML
@@ -225,6 +270,7 @@ public class MatchesTabController {
     }
 
     public void loadAllMatches() {
+        showAllMatchesLive();
         LoadingDialog.showLoading("Loading all matches...");
         Task<List<Match>> task = new Task<>() {
             @Override
@@ -248,11 +294,12 @@ public class MatchesTabController {
             LoadingDialog.hideLoading();
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runLatest("matches:list", task);
     }
 
     public void updateMatchesList() {
         System.out.println("MatchesTabController.updateMatchesList() called");
+        showAllMatchesLive();
         LoadingDialog.showLoading("Refreshing matches...");
         Task<List<Match>> task = new Task<>() {
             @Override
@@ -276,7 +323,19 @@ public class MatchesTabController {
             LoadingDialog.hideLoading();
         });
         
-        new Thread(task).start();
+        UiTaskScheduler.shared().runLatest("matches:list", task);
+    }
+
+    // Both teams and their rosters are requested at once, four reads in flight together, instead of
+    // one after another. Runs on the task thread; a missing team comes back null with an empty roster.
+    private MatchTeams loadTeams(Match match) {
+        CompletableFuture<Team> team1 = teamDAO.getTeamByIdAsync(match.getTeam1Id());
+        CompletableFuture<Team> team2 = teamDAO.getTeamByIdAsync(match.getTeam2Id());
+        Team first = team1.join();
+        Team second = team2.join();
+        return new MatchTeams(first, second,
+                first == null ? new ArrayList<>() : first.getPlayers(),
+                second == null ? new ArrayList<>() : second.getPlayers());
     }
 
     @FXML
@@ -295,12 +354,11 @@ public class MatchesTabController {
                 if (match == null) {
                     throw new IllegalStateException("Match not found");
                 }
-                Team team1 = teamDAO.getTeamById(match.getTeam1Id());
-                Team team2 = teamDAO.getTeamById(match.getTeam2Id());
-                List<Player> playersTeam1 = playerDAO.getPlayersByTeam(match.getTeam1Id());
-                List<Player> playersTeam2 = playerDAO.getPlayersByTeam(match.getTeam2Id());
-                List<com.esports.arena.model.PlayerMatchStats> stats = matchDAO.getPlayerStatsByMatch(match.getId());
-                return new MatchDetailData(match, team1, team2, playersTeam1, playersTeam2, stats);
+                MatchTeams teams = loadTeams(match);
+                // The stat lines come with the match itself
+                List<com.esports.arena.model.PlayerMatchStats> stats = match.getPlayerStats() == null
+                        ? new ArrayList<>() : new ArrayList<>(match.getPlayerStats());
+                return new MatchDetailData(match, teams.team1(), teams.team2(), teams.players1(), teams.players2(), stats);
             }
         };
 
@@ -410,7 +468,7 @@ public class MatchesTabController {
             MainApp.showError("Error", "Failed to load match details: " + evt.getSource().getException().getMessage());
         });
 
-        new Thread(loadTask).start();
+        UiTaskScheduler.shared().runOnce("matches:details", loadTask);
     }
 
     @FXML
@@ -429,11 +487,8 @@ public class MatchesTabController {
                 if (match == null) {
                     throw new IllegalStateException("Match not found");
                 }
-                Team team1 = teamDAO.getTeamById(match.getTeam1Id());
-                Team team2 = teamDAO.getTeamById(match.getTeam2Id());
-                List<Player> playersTeam1 = playerDAO.getPlayersByTeam(match.getTeam1Id());
-                List<Player> playersTeam2 = playerDAO.getPlayersByTeam(match.getTeam2Id());
-                return new MatchDetailData(match, team1, team2, playersTeam1, playersTeam2, java.util.Collections.emptyList());
+                MatchTeams teams = loadTeams(match);
+                return new MatchDetailData(match, teams.team1(), teams.team2(), teams.players1(), teams.players2(), java.util.Collections.emptyList());
             }
         };
 
@@ -572,70 +627,11 @@ public class MatchesTabController {
                             Task<Boolean> finalizeTask = new Task<>() {
                                 @Override
                                 protected Boolean call() {
-                                    try {
-                                        Match match = data.match();
-                                        Match.MatchStatus previousStatus = match.getStatus();
-                                        Integer previousWinner = match.getWinnerId();
-
-                                        match.setTeam1Score(team1Score);
-                                        match.setTeam2Score(team2Score);
-                                        match.setStatus(Match.MatchStatus.COMPLETED);
-
-                                        int winningTeamId = team1Score > team2Score ? match.getTeam1Id() : match.getTeam2Id();
-                                        int losingTeamId = winningTeamId == match.getTeam1Id() ? match.getTeam2Id() : match.getTeam1Id();
-                                        match.setWinnerId(winningTeamId);
-                                        boolean shouldUpdateTeamRecords = previousStatus != Match.MatchStatus.COMPLETED || previousWinner == null;
-
-                                        System.out.println("Updating match stats for match ID: " + match.getId());
-                                        System.out.println("Should update records: " + shouldUpdateTeamRecords);
-
-                                        // Update player match stats and career stats
-                                        for (PlayerStatsInput psi : statsInputs) {
-                                            System.out.println("Updating stats for player " + psi.playerId + ": K=" + psi.kills + " D=" + psi.deaths + " A=" + psi.assists);
-                                            matchDAO.updatePlayerStats(match.getId(), psi.playerId, psi.kills, psi.deaths, psi.assists);
-
-                                            boolean onWinningTeam = (winningTeamId == match.getTeam1Id() && playersTeam1.stream().anyMatch(p -> p.getId() == psi.playerId))
-                                                    || (winningTeamId == match.getTeam2Id() && playersTeam2.stream().anyMatch(p -> p.getId() == psi.playerId));
-                                            if (shouldUpdateTeamRecords) {
-                                                System.out.println("Updating career stats for player " + psi.playerId + ", won: " + onWinningTeam);
-                                                playerDAO.updatePlayerStats(psi.playerId, psi.kills, psi.deaths, psi.assists, onWinningTeam);
-                                            }
-                                        }
-
-                                        // Update team records
-                                        if (shouldUpdateTeamRecords) {
-                                            System.out.println("Updating team records: Winner=" + winningTeamId + ", Loser=" + losingTeamId);
-                                            teamDAO.updateTeamRecord(winningTeamId, true, false);
-                                            teamDAO.updateTeamRecord(losingTeamId, false, false);
-                                        }
-
-                                        // Reload match from database to ensure all playerStats are there
-                                        Match reloadedMatch = matchDAO.getMatchById(match.getId());
-                                        System.out.println("Match reloaded from DB - player stats count: " + (reloadedMatch.getPlayerStats() != null ? reloadedMatch.getPlayerStats().size() : 0));
-                                        if (reloadedMatch.getPlayerStats() != null && !reloadedMatch.getPlayerStats().isEmpty()) {
-                                            for (PlayerMatchStats pms : reloadedMatch.getPlayerStats()) {
-                                                System.out.println("  Stored stat - Player: " + pms.getPlayerId() + ", K=" + pms.getKills() + " D=" + pms.getDeaths() + " A=" + pms.getAssists());
-                                            }
-                                        }
-
-                                        // Copy the scores and status to the reloaded match
-                                        System.out.println("Before merge - reloaded match status: " + reloadedMatch.getStatus() + ", score: " + reloadedMatch.getTeam1Score() + "-" + reloadedMatch.getTeam2Score());
-                                        reloadedMatch.setTeam1Score(match.getTeam1Score());
-                                        reloadedMatch.setTeam2Score(match.getTeam2Score());
-                                        reloadedMatch.setStatus(match.getStatus());
-                                        reloadedMatch.setWinnerId(match.getWinnerId());
-                                        System.out.println("After merge - reloaded match status: " + reloadedMatch.getStatus() + ", score: " + reloadedMatch.getTeam1Score() + "-" + reloadedMatch.getTeam2Score());
-
-                                        // Save match again to ensure all changes are persisted
-                                        System.out.println("Final match save - player stats count before save: " + (reloadedMatch.getPlayerStats() != null ? reloadedMatch.getPlayerStats().size() : 0));
-                                        matchDAO.updateMatch(reloadedMatch);
-                                        System.out.println("Match finalization complete!");
-                                        return true;
-                                    } catch (Exception ex) {
-                                        System.err.println("EXCEPTION DURING MATCH FINALIZATION: " + ex.getMessage());
-                                        ex.printStackTrace();
-                                        return false;
-                                    }
+                                    // Result, stats, career totals and team records in one atomic write
+                                    List<MatchFinalizationService.PlayerResult> results = statsInputs.stream()
+                                            .map(psi -> new MatchFinalizationService.PlayerResult(psi.playerId, psi.kills, psi.deaths, psi.assists))
+                                            .collect(java.util.stream.Collectors.toList());
+                                    return finalizationService.finalizeMatch(data.match().getId(), team1Score, team2Score, results);
                                 }
                             };
 
@@ -653,7 +649,7 @@ public class MatchesTabController {
                                                 }
                                             };
                                             refreshTeamsTask.setOnSucceeded(ev -> teamsData.setAll(refreshTeamsTask.getValue()));
-                                            new Thread(refreshTeamsTask).start();
+                                            UiTaskScheduler.shared().runOnce("matches:teams", refreshTeamsTask);
                                         }
                                         MainApp.showInfo("Success", "Match finalized and stats saved");
                                     } else {
@@ -672,7 +668,7 @@ public class MatchesTabController {
                                     MainApp.showError("Error", "Failed to finalize match: " + (cause != null ? cause.getMessage() : "Unknown error"));
                             });
 
-                            new Thread(finalizeTask).start();
+                            UiTaskScheduler.shared().run(finalizeTask);
                         });
 
                     } catch (NumberFormatException ex) {
@@ -690,7 +686,7 @@ public class MatchesTabController {
             MainApp.showError("Error", "Failed to load match: " + evt.getSource().getException().getMessage());
         });
 
-        new Thread(loadTask).start();
+        UiTaskScheduler.shared().runOnce("matches:edit-stats", loadTask);
     }
 
     public void refreshMatchesData() {
@@ -5,6 +5,7 @@ import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.dao.TeamDAO;
 import com.esports.arena.model.Player;
 import com.esports.arena.model.Team;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
@@ -86,7 +87,7 @@ public class PlayerProfileTabController {
             
             loadTeamTask.setOnFailed(e -> playerTeamLabel.setText("Error loading team"));
             
-            new Thread(loadTeamTask).start();
+            UiTaskScheduler.shared().runLatest("profile:team", loadTeamTask);
         }
     }
 
@@ -119,6 +120,6 @@ public class PlayerProfileTabController {
 
         task.setOnFailed(e -> MainApp.showError("Error", "Failed to update availability"));
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().run(task);
     }
 }
@@ -6,8 +6,9 @@ import com.esports.arena.MainApp;
 import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.dao.TournamentDAO;
 import com.esports.arena.model.Player;
-import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentSummary;
 import com.esports.arena.service.TournamentStatsService;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
@@ -28,7 +29,7 @@ public class PlayerStatsTabController {
     @FXML private Label totalAssistsLabel;
     @FXML private Label matchesPlayedLabel;
     @FXML private Label matchesWonLabel;
-    @FXML private ComboBox<Tournament> tournamentCombo;
+    @FXML private ComboBox<TournamentSummary> tournamentCombo;
     @FXML private Label tournamentKillsLabel;
     @FXML private Label tournamentDeathsLabel;
     @FXML private Label tournamentAssistsLabel;
@@ -82,15 +83,15 @@ public class PlayerStatsTabController {
     }
 
     private void loadTournaments() {
-        Task<List<Tournament>> task = new Task<>() {
+        Task<List<TournamentSummary>> task = new Task<>() {
             @Override
-            protected List<Tournament> call() {
-                return tournamentDAO.getAllTournaments();
+            protected List<TournamentSummary> call() {
+                return tournamentDAO.getTournamentSummaries();
             }
         };
 
         task.setOnSucceeded(e -> {
-            List<Tournament> tournaments = task.getValue();
+            List<TournamentSummary> tournaments = task.getValue();
             tournamentCombo.getItems().clear();
             tournamentCombo.getItems().add(null);
             tournamentCombo.getItems().addAll(tournaments);
@@ -104,10 +105,10 @@ public class PlayerStatsTabController {
 
         task.setOnFailed(e -> MainApp.showError("Error", "Failed to load tournaments"));
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runOnce("player-stats:tournaments", task);
     }
 
-    private void loadTournamentStats(Tournament tournament) {
+    private void loadTournamentStats(TournamentSummary tournament) {
         if (currentPlayer == null) return;
 
         if (tournament == null) {
@@ -158,7 +159,7 @@ public class PlayerStatsTabController {
             tournamentStatsChart.getData().clear();
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runLatest("player-stats:tournament", task);
     }
 
     private void loadPlayerStats(Player player) {
@@ -191,7 +192,7 @@ public class PlayerStatsTabController {
         performanceChart.setTitle("Career Performance Summary (K/D Ratio: " + String.format("%.2f", player.getKdRatio()) + ")");
     }
 
-    private void updateTournamentStatsChart(Tournament tournament, com.esports.arena.service.TournamentStatsService.TournamentPlayerStats stats) {
+    private void updateTournamentStatsChart(TournamentSummary tournament, com.esports.arena.service.TournamentStatsService.TournamentPlayerStats stats) {
         XYChart.Series<String, Number> tournamentSeries = new XYChart.Series<>();
         if (tournament != null) {
             tournamentSeries.setName(tournament.getName());
@@ -8,6 +8,7 @@ import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.dao.TeamDAO;
 import com.esports.arena.model.Player;
 import com.esports.arena.model.Team;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -77,7 +78,7 @@ public class PlayerTeamTabController {
             }
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runLatest("player-team:team", task);
     }
 
     private void updateTeamInfo(Team team) {
@@ -98,7 +99,7 @@ public class PlayerTeamTabController {
             teamLeaderLabel.setText(leader != null ? leader.getUsername() : "No leader");
         });
 
-        new Thread(leaderTask).start();
+        UiTaskScheduler.shared().runLatest("player-team:leader", leaderTask);
     }
 
     private void loadTeamMembers(int teamId) {
@@ -113,6 +114,6 @@ public class PlayerTeamTabController {
             teamMembers.setAll(task.getValue());
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runLatest("player-team:members", task);
     }
 }
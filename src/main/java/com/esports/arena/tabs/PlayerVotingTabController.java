@@ -1,14 +1,12 @@
 package com.esports.arena.tabs;
 
-import java.util.List;
-import java.util.Map;
-
 import com.esports.arena.MainApp;
 import com.esports.arena.dao.LeaderVoteDAO;
-import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.dao.VotingSnapshot;
 import com.esports.arena.model.Player;
 import com.esports.arena.model.Team;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -31,12 +29,12 @@ public class PlayerVotingTabController {
 
     private MainApp mainApp;
     private LeaderVoteDAO voteDAO;
-    private PlayerDAO playerDAO;
     private TeamDAO teamDAO;
     private ObservableList<Player> voteCandidates = FXCollections.observableArrayList();
 
     private Player currentPlayer;
     private Team currentTeam;
+    private VotingSnapshot snapshot;
 
     public void setMainApp(MainApp mainApp) { this.mainApp = mainApp; }
     public void setCurrentPlayer(Player p) {
@@ -47,7 +45,6 @@ public class PlayerVotingTabController {
     @FXML
     private void initialize() {
         voteDAO = new LeaderVoteDAO();
-        playerDAO = new PlayerDAO();
         teamDAO = new TeamDAO();
         voteCandidatesList.setItems(voteCandidates);
         voteCandidatesList.setCellFactory(param -> new javafx.scene.control.ListCell<>() {
@@ -61,24 +58,28 @@ public class PlayerVotingTabController {
     }
 
     private void loadVotingData(int teamId) {
-        Task<Map<Integer, Integer>> task = new Task<>() {
+        int voterId = currentPlayer.getId();
+        Task<VotingSnapshot> task = new Task<>() {
             @Override
-            protected Map<Integer, Integer> call() {
-                return voteDAO.getVoteCounts(teamId);
+            protected VotingSnapshot call() {
+                return voteDAO.getVotingSnapshot(teamId, voterId);
             }
         };
 
         task.setOnSucceeded(e -> {
-            boolean hasVoted = voteDAO.hasVoted(teamId, currentPlayer.getId());
-            votingStatusLabel.setText(hasVoted ? "You have already voted" : "You haven't voted yet");
-            castVoteBtn.setDisable(hasVoted);
-
-            // load candidates
-            List<Player> members = playerDAO.getPlayersByTeam(teamId);
-            voteCandidates.setAll(members);
+            if (task.getValue() != null) {
+                showSnapshot(task.getValue());
+            }
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runLatest("voting:data", task);
+    }
+
+    private void showSnapshot(VotingSnapshot snapshot) {
+        this.snapshot = snapshot;
+        votingStatusLabel.setText(snapshot.hasVoted() ? "You have already voted" : "You haven't voted yet");
+        castVoteBtn.setDisable(snapshot.hasVoted());
+        voteCandidates.setAll(snapshot.getRoster());
     }
 
     @FXML
@@ -106,7 +107,13 @@ public class PlayerVotingTabController {
         });
     }
 
+    // Shows the vote as cast straight away and only falls back to the previous state if the write fails
     private void castVote(Player candidate) {
+        VotingSnapshot before = snapshot;
+        if (before != null) {
+            showSnapshot(before.withVote(candidate.getId()));
+        }
+
         Task<Boolean> task = new Task<>() {
             @Override
             protected Boolean call() {
@@ -117,15 +124,21 @@ public class PlayerVotingTabController {
         task.setOnSucceeded(e -> {
             if (task.getValue()) {
                 MainApp.showInfo("Success", "Vote cast successfully!");
-                loadVotingData(currentPlayer.getTeamId());
             } else {
-                MainApp.showError("Error", "Failed to cast vote");
+                revertVote(before);
             }
         });
 
-        task.setOnFailed(e -> MainApp.showError("Error", "Failed to cast vote"));
+        task.setOnFailed(e -> revertVote(before));
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().run(task);
+    }
+
+    private void revertVote(VotingSnapshot before) {
+        if (before != null) {
+            showSnapshot(before);
+        }
+        MainApp.showError("Error", "Failed to cast vote");
     }
 
     @FXML
@@ -150,20 +163,23 @@ public class PlayerVotingTabController {
 
         resultsTable.getColumns().addAll(nameCol, votesCol);
 
-        Task<Map<Integer, Integer>> task = new Task<>() {
+        int teamId = currentPlayer.getTeamId();
+        int voterId = currentPlayer.getId();
+        Task<VotingSnapshot> task = new Task<>() {
             @Override
-            protected Map<Integer, Integer> call() {
-                return voteDAO.getVoteCounts(currentPlayer.getTeamId());
+            protected VotingSnapshot call() {
+                return voteDAO.getVotingSnapshot(teamId, voterId);
             }
         };
 
         task.setOnSucceeded(e -> {
-            Map<Integer, Integer> voteCounts = task.getValue();
+            VotingSnapshot voting = task.getValue();
+            if (voting == null) {
+                return;
+            }
             javafx.collections.ObservableList<VoteResultDisplay> results = javafx.collections.FXCollections.observableArrayList();
-            List<Player> members = playerDAO.getPlayersByTeam(currentPlayer.getTeamId());
-            for (Player p : members) {
-                int votes = voteCounts.getOrDefault(p.getId(), 0);
-                results.add(new VoteResultDisplay(p.getUsername(), votes));
+            for (Player p : voting.getRoster()) {
+                results.add(new VoteResultDisplay(p.getUsername(), voting.getVotes(p.getId())));
             }
             results.sort((a,b)->Integer.compare(b.votes, a.votes));
             
@@ -172,7 +188,7 @@ public class PlayerVotingTabController {
             resultsTable.setItems(results);
         });
 
-        new Thread(task).start();
+        UiTaskScheduler.shared().runOnce("voting:results", task);
 
         dialog.getDialogPane().setContent(resultsTable);
         dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
@@ -1,5 +1,6 @@
 package com.esports.arena.tabs;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,7 +9,11 @@ import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.dao.TeamDAO;
 import com.esports.arena.model.Player;
 import com.esports.arena.model.Team;
+import com.esports.arena.service.LiveCollection;
+import com.esports.arena.service.SnapshotStore;
+import com.esports.arena.util.LiveListBinding;
 import com.esports.arena.util.LoadingDialog;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -49,6 +54,7 @@ public class PlayersTabController {
     private ObservableList<Team> teamsData;
     private com.esports.arena.MainApp mainApp;
     private Runnable onPlayerUpdateCallback;
+    private LiveCollection<Player> livePlayers;
 
     public void initialize(PlayerDAO playerDAO, TeamDAO teamDAO, ObservableList<Team> teamsData) {
         this.playerDAO = playerDAO;
@@ -56,6 +62,20 @@ public class PlayersTabController {
         this.playersData = FXCollections.observableArrayList();
         setupPlayersTable();
         loadPlayers();
+        startLiveUpdates();
+    }
+
+    // Streams player changes (stats, availability, team moves) into the table row by row
+    private void startLiveUpdates() {
+        LiveListBinding<Player> binding = new LiveListBinding<>(playersData, p -> String.valueOf(p.getId()));
+        binding.setView(null, Comparator.comparing(Player::getUsername, Comparator.nullsLast(String::compareToIgnoreCase)));
+        livePlayers = SnapshotStore.shared().attach(new LiveCollection<>("players", Player.class, binding)).start();
+    }
+
+    public void stopLiveUpdates() {
+        if (livePlayers != null) {
+            livePlayers.close();
+        }
     }
 
     public void setOnPlayerUpdateCallback(Runnable callback) {
@@ -103,7 +123,7 @@ public class PlayersTabController {
                 LoadingDialog.hideLoading();
         });
 
-        new Thread(loadPlayersTask).start();
+        UiTaskScheduler.shared().runOnce("players:list", loadPlayersTask);
     }
 
     public void updatePlayersList() {
@@ -131,7 +151,7 @@ public class PlayersTabController {
             LoadingDialog.hideLoading();
         });
         
-        new Thread(task).start();
+        UiTaskScheduler.shared().runOnce("players:list", task);
     }
 
     @FXML
@@ -276,6 +296,13 @@ public class PlayersTabController {
             @Override
             protected Boolean call() {
                 System.out.println("  Background task: Updating player in database");
+                if (player.getPassword() == null) {
+                    // Rows shown from the local snapshot carry no password; keep the stored one
+                    Player stored = playerDAO.getPlayerById(player.getId());
+                    if (stored != null) {
+                        player.setPassword(stored.getPassword());
+                    }
+                }
                 return playerDAO.updatePlayer(player);
             }
         };
@@ -297,7 +324,7 @@ public class PlayersTabController {
         updateTask.setOnFailed(e ->
                 MainApp.showError("Error", "Failed to update player"));
 
-        new Thread(updateTask).start();
+        UiTaskScheduler.shared().run(updateTask);
     }
 
     @FXML
@@ -387,7 +414,7 @@ public class PlayersTabController {
                         }
                     });
 
-                    new Thread(deleteTask).start();
+                    UiTaskScheduler.shared().run(deleteTask);
                 }
             });
         } else {
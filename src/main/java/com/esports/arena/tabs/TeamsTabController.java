@@ -1,5 +1,6 @@
 package com.esports.arena.tabs;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,7 +9,11 @@ import com.esports.arena.dao.PlayerDAO;
 import com.esports.arena.dao.TeamDAO;
 import com.esports.arena.model.Player;
 import com.esports.arena.model.Team;
+import com.esports.arena.service.LiveCollection;
+import com.esports.arena.service.SnapshotStore;
+import com.esports.arena.util.LiveListBinding;
 import com.esports.arena.util.LoadingDialog;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -46,6 +51,7 @@ public class TeamsTabController {
     private PlayerDAO playerDAO;
     private ObservableList<Team> teamsData;
     private Runnable onTeamUpdateCallback;
+    private LiveCollection<Team> liveTeams;
 
     public void initialize(TeamDAO teamDAO, PlayerDAO playerDAO) {
         this.teamDAO = teamDAO;
@@ -53,6 +59,20 @@ public class TeamsTabController {
         this.teamsData = FXCollections.observableArrayList();
         setupTeamsTable();
         loadTeams();
+        startLiveUpdates();
+    }
+
+    // Streams team changes into the table so edits from other clients show up without a refresh
+    private void startLiveUpdates() {
+        LiveListBinding<Team> binding = new LiveListBinding<>(teamsData, t -> String.valueOf(t.getId()));
+        binding.setView(null, Comparator.comparing(Team::getName, Comparator.nullsLast(String::compareToIgnoreCase)));
+        liveTeams = SnapshotStore.shared().attach(new LiveCollection<>("teams", Team.class, binding)).start();
+    }
+
+    public void stopLiveUpdates() {
+        if (liveTeams != null) {
+            liveTeams.close();
+        }
     }
 
     public void setOnTeamUpdateCallback(Runnable callback) {
@@ -98,7 +118,7 @@ public class TeamsTabController {
             LoadingDialog.hideLoading();
         });
 
-        new Thread(loadTeamsTask).start();
+        UiTaskScheduler.shared().runOnce("teams:list", loadTeamsTask);
     }
 
     public void updateTeamsList() {
@@ -120,7 +140,7 @@ public class TeamsTabController {
         
         task.setOnFailed(e -> LoadingDialog.hideLoading());
         
-        new Thread(task).start();
+        UiTaskScheduler.shared().runOnce("teams:list", task);
     }
 
     @FXML
@@ -218,7 +238,7 @@ public class TeamsTabController {
             MainApp.showError("Error", "Failed to save team");
         });
 
-        new Thread(saveTask).start();
+        UiTaskScheduler.shared().run(saveTask);
     }
 
     @FXML
@@ -264,7 +284,7 @@ public class TeamsTabController {
                         System.out.println("=== TeamsTabController.handleDeleteTeam() END ===\n");
                     });
 
-                    new Thread(deleteTask).start();
+                    UiTaskScheduler.shared().run(deleteTask);
                 }
             });
         } else {
@@ -316,7 +336,7 @@ public class TeamsTabController {
             });
         });
 
-        new Thread(loadTask).start();
+        UiTaskScheduler.shared().runOnce("teams:players:" + team.getId(), loadTask);
 
         dialog.getDialogPane().setContent(playersList);
         dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
@@ -11,7 +11,12 @@ import com.esports.arena.dao.TournamentDAO;
 import com.esports.arena.util.LoadingDialog;
 import com.esports.arena.model.Match;
 import com.esports.arena.model.Team;
+import com.esports.arena.model.TeamSummary;
 import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentFormat;
+import com.esports.arena.model.TournamentSummary;
+import com.esports.arena.service.BracketService;
+import com.esports.arena.util.UiTaskScheduler;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -32,7 +37,7 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 
 public class TournamentsTabController {
-    @FXML private ListView<Tournament> tournamentsList;
+    @FXML private ListView<TournamentSummary> tournamentsList;
     @FXML private Label tournamentNameLabel;
     @FXML private Label tournamentGameLabel;
     @FXML private Label tournamentStatusLabel;
@@ -48,7 +53,8 @@ public class TournamentsTabController {
     private TournamentDAO tournamentDAO;
     private MatchDAO matchDAO;
     private TeamDAO teamDAO;
-    private ObservableList<Tournament> tournamentsData;
+    private BracketService bracketService;
+    private ObservableList<TournamentSummary> tournamentsData;
     private ObservableList<Team> teamsData;
     private MatchesTabController matchesTabController;
     private LeaderboardTabController leaderboardTabController;
@@ -58,6 +64,7 @@ public class TournamentsTabController {
         this.tournamentDAO = tournamentDAO;
         this.matchDAO = matchDAO;
         this.teamDAO = teamDAO;
+        this.bracketService = new BracketService(tournamentDAO, matchDAO);
         this.teamsData = teamsData;
         this.matchesTabController = matchesTabController;
         this.tournamentsData = FXCollections.observableArrayList();
@@ -71,9 +78,9 @@ public class TournamentsTabController {
 
     private void setupTournamentsList() {
         tournamentsList.setItems(tournamentsData);
-        tournamentsList.setCellFactory(param -> new ListCell<Tournament>() {
+        tournamentsList.setCellFactory(param -> new ListCell<TournamentSummary>() {
             @Override
-            protected void updateItem(Tournament item, boolean empty) {
+            protected void updateItem(TournamentSummary item, boolean empty) {
                 super.updateItem(item, empty);
                 if (empty || item == null) {
                     setText(null);
@@ -89,10 +96,10 @@ public class TournamentsTabController {
 
     public void loadTournaments() {
         LoadingDialog.showLoading("Loading tournaments...");
-        Task<List<Tournament>> loadTournamentsTask = new Task<>() {
+        Task<List<TournamentSummary>> loadTournamentsTask = new Task<>() {
             @Override
-            protected List<Tournament> call() {
-                return tournamentDAO.getAllTournaments();
+            protected List<TournamentSummary> call() {
+                return tournamentDAO.getTournamentSummaries();
             }
         };
 
@@ -106,20 +113,20 @@ public class TournamentsTabController {
                 LoadingDialog.hideLoading();
         });
 
-        new Thread(loadTournamentsTask).start();
+        UiTaskScheduler.shared().runOnce("tournaments:list", loadTournamentsTask);
     }
 
     public void updateTournamentsList() {
         LoadingDialog.showLoading("Refreshing tournaments...");
-        Task<List<Tournament>> task = new Task<>() {
+        Task<List<TournamentSummary>> task = new Task<>() {
             @Override
-            protected List<Tournament> call() {
-                return tournamentDAO.getAllTournaments();
+            protected List<TournamentSummary> call() {
+                return tournamentDAO.getTournamentSummaries();
             }
         };
         
         task.setOnSucceeded(e -> {
-            List<Tournament> tournaments = task.getValue();
+            List<TournamentSummary> tournaments = task.getValue();
             if (tournaments != null) {
                 tournamentsData.setAll(tournaments);
             }
@@ -128,25 +135,25 @@ public class TournamentsTabController {
         
         task.setOnFailed(e -> LoadingDialog.hideLoading());
         
-        new Thread(task).start();
+        UiTaskScheduler.shared().runOnce("tournaments:list", task);
     }
 
-    private void updateTournamentDetails(Tournament tournament) {
+    private void updateTournamentDetails(TournamentSummary tournament) {
         if (tournament != null) {
             tournamentNameLabel.setText(tournament.getName());
             tournamentGameLabel.setText(tournament.getGame());
             
             String statusText = tournament.getStatus().toString();
             if (tournament.getStatus() == Tournament.TournamentStatus.COMPLETED && tournament.getWinnerId() != null) {
-                Task<Team> loadWinnerTask = new Task<>() {
+                Task<TeamSummary> loadWinnerTask = new Task<>() {
                     @Override
-                    protected Team call() {
-                        return teamDAO.getTeamById(tournament.getWinnerId());
+                    protected TeamSummary call() {
+                        return teamDAO.getTeamSummary(tournament.getWinnerId());
                     }
                 };
                 
                 loadWinnerTask.setOnSucceeded(e -> {
-                    Team winner = loadWinnerTask.getValue();
+                    TeamSummary winner = loadWinnerTask.getValue();
                     if (winner != null) {
                         tournamentStatusLabel.setText(statusText + " - Winner: " + winner.getName());
                     } else {
@@ -154,27 +161,14 @@ public class TournamentsTabController {
                     }
                 });
                 
-                new Thread(loadWinnerTask).start();
+                UiTaskScheduler.shared().runLatest("tournaments:winner", loadWinnerTask);
             } else {
                 tournamentStatusLabel.setText(statusText);
             }
             
             tournamentPrizeLabel.setText(String.format("$%.2f", tournament.getPrizePool()));
             
-            // Load and display registered teams count
-            Task<List<Team>> loadTeamsTask = new Task<>() {
-                @Override
-                protected List<Team> call() {
-                    return tournamentDAO.getRegisteredTeams(tournament.getId());
-                }
-            };
-            
-            loadTeamsTask.setOnSucceeded(e -> {
-                List<Team> registeredTeams = loadTeamsTask.getValue();
-                tournamentTeamsLabel.setText(registeredTeams.size() + "/" + tournament.getMaxTeams());
-            });
-            
-            new Thread(loadTeamsTask).start();
+            tournamentTeamsLabel.setText(tournament.getTeamCount() + "/" + tournament.getMaxTeams());
         } else {
             tournamentNameLabel.setText("-");
             tournamentGameLabel.setText("-");
@@ -202,8 +196,10 @@ public class TournamentsTabController {
         TextField gameField = new TextField();
         gameField.setPromptText("Game (e.g., VALORANT, CS:GO)");
         ComboBox<String> formatCombo = new ComboBox<>();
-        formatCombo.getItems().addAll("Single Elimination", "Double Elimination", "Round Robin");
-        formatCombo.setValue("Single Elimination");
+        for (TournamentFormat format : TournamentFormat.values()) {
+            formatCombo.getItems().add(format.getLabel());
+        }
+        formatCombo.setValue(TournamentFormat.SINGLE_ELIMINATION.getLabel());
         DatePicker startDatePicker = new DatePicker();
         startDatePicker.setValue(LocalDate.now().plusDays(7));
         DatePicker endDatePicker = new DatePicker();
@@ -286,12 +282,12 @@ public class TournamentsTabController {
         saveTask.setOnFailed(e ->
                 MainApp.showError("Error", "Failed to create tournament: " + e.getSource().getException().getMessage()));
 
-        new Thread(saveTask).start();
+        UiTaskScheduler.shared().run(saveTask);
     }
 
     @FXML
     private void handleStartTournament() {
-        Tournament selected = tournamentsList.getSelectionModel().getSelectedItem();
+        TournamentSummary selected = tournamentsList.getSelectionModel().getSelectedItem();
         if (selected == null) {
             MainApp.showError("No Selection", "Please select a tournament to start");
             return;
@@ -305,35 +301,44 @@ public class TournamentsTabController {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Start Tournament");
         alert.setHeaderText("Start " + selected.getName() + "?");
-        alert.setContentText("This will close registration and begin the tournament.");
+        alert.setContentText("This will close registration, schedule every match for the registered teams "
+                + "and begin the tournament. A tournament that already has matches, fewer than two teams "
+                + "or a custom format is started without generating any.");
 
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                Task<Boolean> task = new Task<>() {
+                Task<Integer> task = new Task<>() {
                     @Override
-                    protected Boolean call() {
-                        selected.setStatus(Tournament.TournamentStatus.IN_PROGRESS);
-                        return tournamentDAO.updateTournament(selected);
+                    protected Integer call() {
+                        return bracketService.startTournament(selected.getId(),
+                                BracketService.defaultSchedule(selected.getStartDate()));
                     }
                 };
 
                 task.setOnSucceeded(e -> {
-                    if (task.getValue()) {
-                        MainApp.showInfo("Success", "Tournament started successfully!");
+                    if (task.getValue() > 0) {
+                        MainApp.showInfo("Success", "Tournament started with " + task.getValue() + " scheduled matches!");
+                        loadTournaments();
+                    } else if (task.getValue() == 0) {
+                        MainApp.showInfo("Success", "Tournament started. No bracket was generated, so add its matches "
+                                + "with 'Create Match'.");
                         loadTournaments();
                     } else {
                         MainApp.showError("Error", "Failed to start tournament");
                     }
                 });
 
-                new Thread(task).start();
+                task.setOnFailed(e ->
+                    MainApp.showError("Error", "Failed to start tournament: " + task.getException().getMessage()));
+
+                UiTaskScheduler.shared().run(task);
             }
         });
     }
 
     @FXML
     private void handleViewMatches() {
-        Tournament selected = tournamentsList.getSelectionModel().getSelectedItem();
+        TournamentSummary selected = tournamentsList.getSelectionModel().getSelectedItem();
         if (selected == null) {
             MainApp.showError("No Selection", "Please select a tournament");
             return;
@@ -357,7 +362,7 @@ public class TournamentsTabController {
 
     @FXML
     private void handleManageTeams() {
-        Tournament selected = tournamentsList.getSelectionModel().getSelectedItem();
+        TournamentSummary selected = tournamentsList.getSelectionModel().getSelectedItem();
         if (selected == null) {
             MainApp.showError("No Selection", "Please select a tournament");
             return;
@@ -429,7 +434,7 @@ public class TournamentsTabController {
                 }
             });
 
-            Label infoLabel = new Label("Tip: Select multiple teams (Ctrl+Click) and click 'Add Selected Teams'.\nThen create matches manually using the 'Create Match' button in the tournament actions.");
+            Label infoLabel = new Label("Tip: Select multiple teams (Ctrl+Click) and click 'Add Selected Teams'.\nStarting the tournament then schedules every match for its format.");
             infoLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #555; -fx-wrap-text: true;");
             infoLabel.setWrapText(true);
             infoLabel.setMaxWidth(480);
@@ -484,7 +489,7 @@ public class TournamentsTabController {
                     });
 
                     registerTask.setOnFailed(e -> MainApp.showError("Error", "Failed to register teams"));
-                    new Thread(registerTask).start();
+                    UiTaskScheduler.shared().run(registerTask);
 
                 }
                 return null;
@@ -498,12 +503,12 @@ public class TournamentsTabController {
             MainApp.showError("Error", "Failed to load registered teams: " + evt.getSource().getException().getMessage());
         });
 
-        new Thread(loadRegisteredTask).start();
+        UiTaskScheduler.shared().runOnce("tournaments:manage-teams", loadRegisteredTask);
     }
 
     @FXML
     private void handleCreateMatch() {
-        Tournament selected = tournamentsList.getSelectionModel().getSelectedItem();
+        TournamentSummary selected = tournamentsList.getSelectionModel().getSelectedItem();
         if (selected == null) {
             MainApp.showError("No Selection", "Please select a tournament");
             return;
@@ -640,13 +645,13 @@ public class TournamentsTabController {
             createTask.setOnFailed(e ->
                     MainApp.showError("Error", "Failed to create match: " + createTask.getException().getMessage()));
 
-            new Thread(createTask).start();
+            UiTaskScheduler.shared().run(createTask);
         });
     }
 
     @FXML
     private void handleFinishTournament() {
-        Tournament selected = tournamentsList.getSelectionModel().getSelectedItem();
+        TournamentSummary selected = tournamentsList.getSelectionModel().getSelectedItem();
         if (selected == null) {
             MainApp.showError("No Selection", "Please select a tournament to finish");
             return;
@@ -720,9 +725,7 @@ public class TournamentsTabController {
                     Task<Boolean> finishTask = new Task<>() {
                         @Override
                         protected Boolean call() {
-                            selected.setStatus(Tournament.TournamentStatus.COMPLETED);
-                            selected.setWinnerId(winner.getId());
-                            return tournamentDAO.updateTournament(selected);
+                            return tournamentDAO.finishTournament(selected.getId(), winner.getId());
                         }
                     };
 
@@ -740,7 +743,7 @@ public class TournamentsTabController {
                     finishTask.setOnFailed(e -> 
                         MainApp.showError("Error", "Failed to finish tournament: " + finishTask.getException().getMessage()));
 
-                    new Thread(finishTask).start();
+                    UiTaskScheduler.shared().run(finishTask);
                 }
             });
         });
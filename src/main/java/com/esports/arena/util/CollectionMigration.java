@@ -0,0 +1,77 @@
+package com.esports.arena.util;
+
+import com.esports.arena.service.RealtimeDatabaseService;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+
+/**
+ * Shared driver for the one-off Migrate* tools: streams a collection once and rewrites each entry
+ * the tool recognises as legacy, in root PATCHes of up to BATCH_SIZE entries. Entries already in
+ * the new layout are skipped, so running a migration again is harmless.
+ */
+public final class CollectionMigration {
+    static final int BATCH_SIZE = 100;
+
+    private CollectionMigration() { }
+
+    // Root-relative updates that replace one legacy entry, given its key and stored JSON
+    @FunctionalInterface
+    public interface Rewrite {
+        Map<String, Object> apply(String key, JsonNode entry) throws Exception;
+    }
+
+    // Entry point for a tool's main: prints the banner, runs the migration and reports the count
+    public static void run(String banner, String noun, Callable<Integer> migration) {
+        System.out.println(banner);
+        try {
+            int migrated = migration.call();
+            System.out.println("✓ Migrated " + migrated + " " + noun);
+        } catch (Exception e) {
+            System.err.println("✗ Migration failed: " + e.getMessage());
+        }
+    }
+
+    // Returns the number of entries rewritten; stops at the first failed rewrite or PATCH
+    public static int migrate(String collection, Predicate<JsonNode> isLegacy, Rewrite rewrite) throws Exception {
+        Map<String, Object> updates = new LinkedHashMap<>();
+        int[] migrated = {0};
+        int[] pending = {0};
+        Exception[] failure = {null};
+        RealtimeDatabaseService.forEachInCollection(collection, JsonNode.class, (key, entry) -> {
+            if (failure[0] != null || entry == null || !isLegacy.test(entry)) {
+                return;
+            }
+            try {
+                updates.putAll(rewrite.apply(key, entry));
+            } catch (Exception e) {
+                failure[0] = e;
+                return;
+            }
+            migrated[0]++;
+            if (++pending[0] >= BATCH_SIZE) {
+                failure[0] = flush(updates);
+                pending[0] = 0;
+            }
+        });
+        if (failure[0] == null) {
+            failure[0] = flush(updates);
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return migrated[0];
+    }
+
+    private static Exception flush(Map<String, Object> updates) {
+        try {
+            RealtimeDatabaseService.updateMultiPath(updates);
+            updates.clear();
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
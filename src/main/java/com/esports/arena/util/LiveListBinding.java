@@ -0,0 +1,107 @@
+package com.esports.arena.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.esports.arena.service.LiveCollection;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+
+// Applies LiveCollection changes to an ObservableList on the FX thread: a changed child replaces
+// its row in place (or moves to its sorted position), removals drop the row, and only a reset
+// replaces the whole list. The view (filter + order) can be switched while the stream stays open.
+public class LiveListBinding<T> implements LiveCollection.Listener<T> {
+    private final ObservableList<T> items;
+    private final Function<T, String> keyOf;
+    private volatile Predicate<T> filter = item -> true;
+    private volatile Comparator<T> order;
+    private volatile boolean paused;
+
+    public LiveListBinding(ObservableList<T> items, Function<T, String> keyOf) {
+        this.items = items;
+        this.keyOf = keyOf;
+    }
+
+    // Items rejected by filter are removed when they change; order may be null to keep arrival order
+    public void setView(Predicate<T> filter, Comparator<T> order) {
+        this.filter = filter == null ? item -> true : filter;
+        this.order = order;
+    }
+
+    // While paused, events are ignored (e.g. the table shows a derived view loaded another way)
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    @Override
+    public void onReset(Map<String, T> snapshot) {
+        if (paused) {
+            return;
+        }
+        Predicate<T> currentFilter = filter;
+        Comparator<T> currentOrder = order;
+        List<T> visible = new ArrayList<>();
+        for (T item : snapshot.values()) {
+            if (currentFilter.test(item)) {
+                visible.add(item);
+            }
+        }
+        if (currentOrder != null) {
+            visible.sort(currentOrder);
+        }
+        Platform.runLater(() -> items.setAll(visible));
+    }
+
+    @Override
+    public void onChanged(String key, T value) {
+        if (paused) {
+            return;
+        }
+        Predicate<T> currentFilter = filter;
+        Comparator<T> currentOrder = order;
+        Platform.runLater(() -> apply(key, value == null || !currentFilter.test(value) ? null : value, currentOrder));
+    }
+
+    private void apply(String key, T value, Comparator<T> currentOrder) {
+        int existing = -1;
+        for (int i = 0; i < items.size(); i++) {
+            if (key.equals(keyOf.apply(items.get(i)))) {
+                existing = i;
+                break;
+            }
+        }
+        if (value == null) {
+            if (existing >= 0) {
+                items.remove(existing);
+            }
+            return;
+        }
+        if (currentOrder == null) {
+            if (existing >= 0) {
+                items.set(existing, value);
+            } else {
+                items.add(value);
+            }
+            return;
+        }
+        if (existing >= 0) {
+            boolean fitsBefore = existing == 0 || currentOrder.compare(items.get(existing - 1), value) <= 0;
+            boolean fitsAfter = existing == items.size() - 1 || currentOrder.compare(value, items.get(existing + 1)) <= 0;
+            if (fitsBefore && fitsAfter) {
+                items.set(existing, value);
+                return;
+            }
+            items.remove(existing);
+        }
+        int insertAt = 0;
+        while (insertAt < items.size() && currentOrder.compare(items.get(insertAt), value) <= 0) {
+            insertAt++;
+        }
+        items.add(insertAt, value);
+    }
+}
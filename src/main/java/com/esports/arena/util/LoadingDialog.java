@@ -12,6 +12,8 @@ import javafx.stage.StageStyle;
 
 public class LoadingDialog {
     private Stage loadingStage;
+    private Label messageLabel;
+    private ProgressIndicator progressIndicator;
     private static LoadingDialog instance;
 
     private LoadingDialog() {
@@ -44,13 +46,13 @@ public class LoadingDialog {
                          "-fx-border-width: 2; " +
                          "-fx-border-radius: 10;");
 
-            ProgressIndicator progressIndicator = new ProgressIndicator();
+            progressIndicator = new ProgressIndicator();
             progressIndicator.setPrefSize(60, 60);
 
-            Label label = new Label(message);
-            label.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: #333;");
+            messageLabel = new Label(message);
+            messageLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: #333;");
 
-            vbox.getChildren().addAll(progressIndicator, label);
+            vbox.getChildren().addAll(progressIndicator, messageLabel);
 
             Scene scene = new Scene(vbox);
             scene.setFill(javafx.scene.paint.Color.TRANSPARENT);
@@ -61,11 +63,25 @@ public class LoadingDialog {
         });
     }
 
+    // Replaces the message and shows progress (0..1) instead of the spinner; ignored when hidden
+    public void update(String message, double progress) {
+        Platform.runLater(() -> {
+            if (loadingStage == null) {
+                return;
+            }
+            messageLabel.setText(message);
+            progressIndicator.setProgress(Math.max(0, Math.min(1, progress)));
+            loadingStage.sizeToScene();
+        });
+    }
+
     public void hide() {
         Platform.runLater(() -> {
             if (loadingStage != null && loadingStage.isShowing()) {
                 loadingStage.close();
                 loadingStage = null;
+                messageLabel = null;
+                progressIndicator = null;
             }
         });
     }
@@ -74,6 +90,10 @@ public class LoadingDialog {
         getInstance().show(message);
     }
 
+    public static void updateLoading(String message, double progress) {
+        getInstance().update(message, progress);
+    }
+
     public static void hideLoading() {
         getInstance().hide();
     }
@@ -0,0 +1,87 @@
+package com.esports.arena.util;
+
+import com.esports.arena.dao.LeaderVoteDAO;
+import com.esports.arena.model.LeaderVote;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts teams whose leader_votes node is still the legacy list of votes into the keyed layout
+ * (votes by voter, per-candidate tallies, leader and history). Run with voting closed.
+ */
+public class MigrateLeaderVotes {
+    private static final Set<String> LAYOUT = Set.of("votes", "tallies", "leader", "history");
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    public static void main(String[] args) {
+        CollectionMigration.run("Migrating leader votes to the keyed layout...", "team(s)", MigrateLeaderVotes::migrate);
+    }
+
+    // Replaces each legacy team node with the keyed layout
+    public static int migrate() throws Exception {
+        return CollectionMigration.migrate("leader_votes", MigrateLeaderVotes::isLegacy,
+                (teamId, votes) -> Map.of("leader_votes/" + teamId, keyByVoter(votes)));
+    }
+
+    // The legacy node is a list (an array, or an object keyed by index) of whole votes
+    static boolean isLegacy(JsonNode votes) {
+        if (votes.isArray()) {
+            return true;
+        }
+        if (!votes.isObject() || votes.isEmpty()) {
+            return false;
+        }
+        Iterable<String> names = votes::fieldNames;
+        for (String name : names) {
+            if (LAYOUT.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Each voter's latest active vote stays active; every other vote goes to history
+    static Map<String, Object> keyByVoter(JsonNode legacy) throws Exception {
+        List<LeaderVote> votes = new ArrayList<>();
+        for (JsonNode node : legacy) {
+            if (node != null && node.isObject()) {
+                votes.add(MAPPER.treeToValue(node, LeaderVote.class));
+            }
+        }
+        votes.sort(Comparator.comparing(LeaderVote::getVoteTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Map<Integer, LeaderVote> active = new LinkedHashMap<>();
+        for (LeaderVote vote : votes) {
+            if (vote.isActive()) {
+                active.put(vote.getVoterId(), vote);
+            }
+        }
+        Map<String, Object> byVoter = new LinkedHashMap<>();
+        Map<Integer, Integer> tallies = new LinkedHashMap<>();
+        Map<String, Object> history = new LinkedHashMap<>();
+        for (LeaderVote vote : votes) {
+            if (active.get(vote.getVoterId()) == vote) {
+                byVoter.put(String.valueOf(vote.getVoterId()), vote);
+                tallies.merge(vote.getCandidateId(), 1, Integer::sum);
+            } else {
+                history.put(String.valueOf(vote.getId()), LeaderVoteDAO.compact(vote));
+            }
+        }
+
+        Map<String, Object> layout = new LinkedHashMap<>();
+        layout.put("votes", byVoter);
+        Map<String, Integer> tallyNode = new LinkedHashMap<>();
+        tallies.forEach((candidateId, count) -> tallyNode.put(String.valueOf(candidateId), count));
+        layout.put("tallies", tallyNode);
+        layout.put("leader", LeaderVoteDAO.leaderOf(tallies));
+        layout.put("history", history);
+        return layout;
+    }
+}
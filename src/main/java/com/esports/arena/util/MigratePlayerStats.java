@@ -0,0 +1,60 @@
+package com.esports.arena.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts matches that still store playerStats as a list into the keyed layout
+ * (matches/{id}/playerStats/{playerId}). Run with no scorekeeping in progress.
+ */
+public class MigratePlayerStats {
+    public static void main(String[] args) {
+        CollectionMigration.run("Migrating match player stats to the keyed layout...", "match(es)", MigratePlayerStats::migrate);
+    }
+
+    // Rewrites only the playerStats node of each legacy match
+    public static int migrate() throws Exception {
+        return CollectionMigration.migrate("matches", match -> match.has("playerStats") && isLegacy(match.get("playerStats")),
+                (matchId, match) -> Map.of("matches/" + matchId + "/playerStats", keyByPlayer(match.get("playerStats"))));
+    }
+
+    // Keyed nodes have every entry under its own playerId. Firebase hands a keyed map with small
+    // sequential player ids back as an array, so the position is checked rather than the shape.
+    static boolean isLegacy(JsonNode stats) {
+        if (!stats.isContainerNode()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = stats.isArray() ? indexed(stats) : stats.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            JsonNode playerId = entry.getValue().get("playerId");
+            if (playerId != null && !entry.getKey().equals(playerId.asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Duplicate lines for a player keep the first, the one the list-based updates used to edit
+    static Map<String, JsonNode> keyByPlayer(JsonNode stats) {
+        Map<String, JsonNode> keyed = new LinkedHashMap<>();
+        for (JsonNode entry : stats) {
+            if (entry != null && entry.hasNonNull("playerId")) {
+                keyed.putIfAbsent(entry.get("playerId").asText(), entry);
+            }
+        }
+        return keyed;
+    }
+
+    private static Iterator<Map.Entry<String, JsonNode>> indexed(JsonNode array) {
+        Map<String, JsonNode> entries = new LinkedHashMap<>();
+        for (int i = 0; i < array.size(); i++) {
+            if (!array.get(i).isNull()) {
+                entries.put(String.valueOf(i), array.get(i));
+            }
+        }
+        return entries.entrySet().iterator();
+    }
+}
@@ -0,0 +1,38 @@
+package com.esports.arena.util;
+
+import com.esports.arena.dao.TournamentDAO;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rewrites tournaments that still embed whole teams (registeredTeams) and matches so they store
+ * only teamIds and matchIds, and refreshes their summaries. Run with registration closed.
+ */
+public class MigrateTournamentRefs {
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    public static void main(String[] args) {
+        CollectionMigration.run("Migrating tournaments to team and match ids...", "tournament(s)", MigrateTournamentRefs::migrate);
+    }
+
+    // Replaces each legacy document with one storing ids, together with its summary
+    public static int migrate() throws Exception {
+        return CollectionMigration.migrate("tournaments", MigrateTournamentRefs::isLegacy, (key, node) -> {
+            // Tournament reads the legacy fields into ids and writes only the ids back
+            Tournament tournament = MAPPER.treeToValue(node, Tournament.class);
+            Map<String, Object> updates = new LinkedHashMap<>();
+            updates.put("tournaments/" + key, tournament);
+            updates.put(TournamentDAO.summaryPath(tournament.getId()), TournamentSummary.of(tournament));
+            return updates;
+        });
+    }
+
+    static boolean isLegacy(JsonNode tournament) {
+        return tournament.isObject() && (tournament.has("registeredTeams") || tournament.has("matches"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.esports.arena.util;
+
+import com.esports.arena.service.CareerStatsRebuilder;
+import com.esports.arena.service.IoExecutor;
+import com.esports.arena.service.RealtimeDatabaseService;
+
+/**
+ * Recomputes player career totals and team records from the match history and writes back
+ * only the values that drifted (e.g. after a failed finalization). Meant for a nightly job;
+ * pass --dry-run to list the corrections without writing them.
+ */
+public class RebuildCareerStats {
+    public static void main(String[] args) {
+        boolean dryRun = args.length > 0 && "--dry-run".equals(args[0]);
+        System.out.println("Rebuilding career totals from match history" + (dryRun ? " (dry run)..." : "..."));
+        try {
+            CareerStatsRebuilder rebuilder = new CareerStatsRebuilder();
+            if (dryRun) {
+                rebuilder.plan().forEach((path, value) -> System.out.println("  " + path + " -> " + value));
+            } else {
+                CareerStatsRebuilder.Report report = rebuilder.rebuild();
+                System.out.println("✓ Scanned " + report.matches() + " match(es) in " + report.elapsedMillis() + " ms; corrected "
+                        + report.playersChanged() + " player(s) and " + report.teamsChanged() + " team(s) in "
+                        + report.requests() + " request(s)");
+            }
+        } catch (Exception e) {
+            System.err.println("✗ Rebuild failed: " + e.getMessage());
+        } finally {
+            IoExecutor.shared().close();
+            RealtimeDatabaseService.shutdown();
+        }
+    }
+}
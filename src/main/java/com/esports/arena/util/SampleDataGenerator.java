@@ -12,7 +12,11 @@ import com.esports.arena.dao.TournamentDAO;
 import com.esports.arena.model.Organizer;
 import com.esports.arena.model.Player;
 import com.esports.arena.model.Team;
+import com.esports.arena.model.TeamSummary;
 import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentFormat;
+import com.esports.arena.service.IoExecutor;
+import com.esports.arena.service.RealtimeDatabaseService;
 
 public class SampleDataGenerator {
 
@@ -197,8 +201,6 @@ public class SampleDataGenerator {
                         playerDAO.getPlayerById(electedLeader).getUsername());
             }
 
-            voteDAO.shutdown();
-
         } catch (Exception e) {
             System.err.println("Error setting up leader for team " + teamId + ": " + e.getMessage());
         }
@@ -222,15 +224,15 @@ public class SampleDataGenerator {
         System.out.println("\n🏆 Generating sample tournaments...");
 
         String[] games = {"League of Legends", "CS:GO", "Dota 2", "Valorant", "Overwatch"};
-        String[] formats = {"Single Elimination", "Double Elimination", "Round Robin"};
+        TournamentFormat[] formats = TournamentFormat.values();
 
-        List<Team> allTeams = teamDAO.getAllTeams();
+        List<TeamSummary> allTeams = teamDAO.getTeamSummaries();
         
         for (int i = 0; i < 3; i++) {
             Tournament tournament = new Tournament(
                     games[i] + " Championship 2025",
                     games[i],
-                    formats[random.nextInt(formats.length)],
+                    formats[random.nextInt(formats.length)].getLabel(),
                     LocalDate.now().plusDays(random.nextInt(30)),
                     LocalDate.now().plusDays(random.nextInt(30) + 30),
                     random.nextDouble() * 100000 + 50000, // $50k-$150k prize pool
@@ -246,7 +248,7 @@ public class SampleDataGenerator {
                 // Register some teams to the tournament
                 int teamsToRegister = Math.min(allTeams.size(), random.nextInt(5) + 3);
                 for (int j = 0; j < teamsToRegister; j++) {
-                    Team team = allTeams.get(j);
+                    TeamSummary team = allTeams.get(j);
                     tournamentDAO.registerTeam(tournamentId, team.getId());
                     System.out.println("    ✓ Registered team: " + team.getName());
                 }
@@ -255,9 +257,8 @@ public class SampleDataGenerator {
     }
 
     private void shutdown() {
-        teamDAO.shutdown();
-        playerDAO.shutdown();
-        tournamentDAO.shutdown();
+        IoExecutor.shared().close();
+        RealtimeDatabaseService.shutdown();
     }
 
     public static void main(String[] args) {
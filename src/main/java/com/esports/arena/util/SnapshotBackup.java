@@ -0,0 +1,73 @@
+package com.esports.arena.util;
+
+import com.esports.arena.service.BinarySnapshot;
+import com.esports.arena.service.IoExecutor;
+import com.esports.arena.service.RealtimeDatabaseService;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backs the database up to a binary snapshot file, or restores one:
+ * {@code SnapshotBackup save <file>} / {@code SnapshotBackup restore <file>}.
+ * Restoring replaces each collection in the snapshot, counters included, so run it with
+ * no one else writing.
+ */
+public class SnapshotBackup {
+    static final List<String> COLLECTIONS = List.of("players", "teams", "tournaments", "matches", "leader_votes",
+            "team_summaries", "tournament_summaries", "counters");
+
+    public static void main(String[] args) {
+        if (args.length != 2 || !List.of("save", "restore").contains(args[0])) {
+            System.err.println("Usage: SnapshotBackup save|restore <file>");
+            return;
+        }
+        Path file = Path.of(args[1]);
+        try {
+            if ("save".equals(args[0])) {
+                Map<String, Integer> sizes = save(file);
+                System.out.println("✓ Saved " + sizes + " to " + file + " (" + Files.size(file) + " bytes)");
+            } else {
+                Map<String, Integer> sizes = restore(file);
+                System.out.println("✓ Restored " + sizes + " from " + file);
+            }
+        } catch (Exception e) {
+            System.err.println("✗ Snapshot " + args[0] + " failed: " + e.getMessage());
+        } finally {
+            IoExecutor.shared().close();
+            RealtimeDatabaseService.shutdown();
+        }
+    }
+
+    // Reads every collection and writes them to file; returns the children per collection
+    public static Map<String, Integer> save(Path file) throws Exception {
+        Map<String, JsonNode> collections = new LinkedHashMap<>();
+        for (String collection : COLLECTIONS) {
+            JsonNode node = RealtimeDatabaseService.read(collection, JsonNode.class);
+            if (node != null && !node.isNull()) {
+                collections.put(collection, node);
+            }
+        }
+        BinarySnapshot.write(file, collections);
+        return sizes(BinarySnapshot.open(file));
+    }
+
+    public static Map<String, Integer> restore(Path file) throws Exception {
+        BinarySnapshot snapshot = BinarySnapshot.open(file);
+        for (String collection : snapshot.getCollections()) {
+            RealtimeDatabaseService.write(collection, snapshot.read(collection));
+        }
+        return sizes(snapshot);
+    }
+
+    private static Map<String, Integer> sizes(BinarySnapshot snapshot) {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (String collection : snapshot.getCollections()) {
+            sizes.put(collection, snapshot.size(collection));
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,176 @@
+package com.esports.arena.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs the controllers' background work (a JavaFX Task is a FutureTask) on one pool of
+// named daemon threads. Loads can be keyed: runOnce drops a request while an identical one is still
+// pending, runLatest cancels the pending one so only the newest view's result reaches the UI.
+public final class UiTaskScheduler {
+    private static final UiTaskScheduler SHARED = new UiTaskScheduler(Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+    // Point-in-time counters; waits are measured from submission to start, runs from start to finish
+    public record Metrics(int queued, int running, long submitted, long coalesced, long superseded,
+                          long completed, double averageWaitMillis, long maxWaitMillis, double averageRunMillis) { }
+
+    private record Pending(String request, FutureTask<?> task) { }
+
+    private final ThreadPoolExecutor pool;
+    private final Map<String, Pending> byKey = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder superseded = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public UiTaskScheduler(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "ui-task-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    public static UiTaskScheduler shared() {
+        return SHARED;
+    }
+
+    // Fire-and-forget work such as saves and deletes, which must never be merged or cancelled
+    public void run(FutureTask<?> task) {
+        schedule(null, task);
+    }
+
+    // Skips task (returns false) while another task under the same key has not finished,
+    // e.g. repeated clicks on Refresh while "teams:list" is still loading
+    public boolean runOnce(String key, FutureTask<?> task) {
+        boolean[] accepted = new boolean[1];
+        byKey.compute(key, (k, current) -> {
+            if (current != null && !current.task().isDone()) {
+                return current;
+            }
+            accepted[0] = true;
+            return new Pending(key, task);
+        });
+        if (!accepted[0]) {
+            coalesced.increment();
+            return false;
+        }
+        schedule(key, task);
+        return true;
+    }
+
+    // Cancels (and interrupts) the unfinished task under key, then schedules this one in its place,
+    // e.g. switching the tournament filter while the previous tournament is still loading
+    public void runLatest(String key, FutureTask<?> task) {
+        runLatest(key, null, task);
+    }
+
+    // Like runLatest(key, task), except that a pending task for the same request is kept and the
+    // new one dropped: runLatest("leaderboard", "tournament=7", task) loads tournament 7 only once
+    // however often it is asked for, while asking for another tournament supersedes it.
+    public boolean runLatest(String key, String request, FutureTask<?> task) {
+        Pending[] previous = new Pending[1];
+        boolean[] accepted = new boolean[1];
+        byKey.compute(key, (k, current) -> {
+            if (current != null && !current.task().isDone()
+                    && request != null && request.equals(current.request())) {
+                return current;
+            }
+            previous[0] = current;
+            accepted[0] = true;
+            return new Pending(request, task);
+        });
+        if (!accepted[0]) {
+            coalesced.increment();
+            return false;
+        }
+        if (previous[0] != null && previous[0].task().cancel(true)) {
+            superseded.increment();
+        }
+        schedule(key, task);
+        return true;
+    }
+
+    // Cancels whatever is pending under key, e.g. when the view that wanted the result closes
+    public boolean cancel(String key) {
+        Pending current = byKey.remove(key);
+        if (current != null && current.task().cancel(true)) {
+            superseded.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public Metrics metrics() {
+        long startedCount = started.sum();
+        long finishedCount = completed.sum();
+        return new Metrics(pool.getQueue().size(), running.get(), submitted.sum(), coalesced.sum(), superseded.sum(),
+                finishedCount,
+                startedCount == 0 ? 0 : waitNanos.sum() / 1e6 / startedCount,
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                finishedCount == 0 ? 0 : runNanos.sum() / 1e6 / finishedCount);
+    }
+
+    // Called once on application exit: keyed loads are cancelled, while unkeyed work (saves) gets a
+    // few seconds to finish before the remaining threads are interrupted
+    public void shutdown() {
+        byKey.values().forEach(pending -> pending.task().cancel(true));
+        byKey.clear();
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void schedule(String key, FutureTask<?> task) {
+        submitted.increment();
+        long queuedAt = System.nanoTime();
+        pool.execute(() -> {
+            if (task.isDone()) {
+                // superseded while still queued; nothing to run
+                release(key, task);
+                return;
+            }
+            long startedAt = System.nanoTime();
+            long waited = startedAt - queuedAt;
+            started.increment();
+            waitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            running.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+                if (!task.isCancelled()) {
+                    completed.increment();
+                    runNanos.add(System.nanoTime() - startedAt);
+                }
+                release(key, task);
+            }
+        });
+    }
+
+    private void release(String key, FutureTask<?> task) {
+        if (key != null) {
+            byKey.computeIfPresent(key, (k, current) -> current.task() == task ? null : current);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.esports.arena.dao;
+
+import com.esports.arena.model.LeaderVote;
+import com.esports.arena.model.Player;
+import com.esports.arena.service.EntityCache;
+import com.esports.arena.service.RealtimeDatabaseService;
+import com.esports.arena.support.LocalFirebaseServer;
+import com.esports.arena.util.MigrateLeaderVotes;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderVoteDAOTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Votes Are Keyed By Voter With Tallies")
+    void testKeyedVotes() {
+        // Arrange
+        server.clear();
+        LeaderVoteDAO voteDAO = new LeaderVoteDAO();
+
+        // Act
+        assertTrue(voteDAO.castVote(1, 11, 20));
+        assertTrue(voteDAO.castVote(1, 12, 20));
+        assertTrue(voteDAO.castVote(1, 13, 21));
+        assertTrue(voteDAO.castVote(1, 11, 21));
+
+        // Assert
+        JsonNode team = server.get("leader_votes/1");
+        assertEquals(3, team.get("votes").size(), "One vote per voter");
+        assertEquals(21, team.get("votes").get("11").get("candidateId").asInt());
+        assertEquals(1, team.get("tallies").get("20").asInt());
+        assertEquals(2, team.get("tallies").get("21").asInt());
+        assertEquals(21, team.get("leader").asInt());
+        int replacedId = voteDAO.getVoteHistory(1).get(0).getId();
+        assertFalse(server.get("leader_votes/1/history/" + replacedId).has("teamId"), "History entries are compacted");
+
+        assertEquals(Map.of(21, 2, 20, 1), voteDAO.getVoteCounts(1));
+        assertEquals(List.of(21, 20), List.copyOf(voteDAO.getVoteCounts(1).keySet()), "Most votes first");
+        assertEquals(Integer.valueOf(21), voteDAO.getCurrentLeader(1));
+        assertTrue(voteDAO.hasVoted(1, 13));
+        assertFalse(voteDAO.hasVoted(1, 14));
+        assertEquals(3, voteDAO.getActiveVotes(1).size());
+        assertEquals(1, voteDAO.getVoteHistory(1).size(), "The replaced vote moved to history");
+        LeaderVote replaced = voteDAO.getVoteHistory(1).get(0);
+        assertEquals(11, replaced.getVoterId());
+        assertEquals(20, replaced.getCandidateId());
+        assertFalse(replaced.isActive());
+        assertEquals(Map.of("totalVoters", 3, "totalVotes", 3, "totalCandidates", 2), voteDAO.getVotingStats(1));
+        assertNull(voteDAO.getCurrentLeader(2));
+    }
+
+    @Test
+    @DisplayName("Test Casting A Vote Does Not Rewrite The Team's Votes")
+    void testConstantSizeCast() {
+        // Arrange
+        server.clear();
+        LeaderVoteDAO voteDAO = new LeaderVoteDAO();
+        for (int voter = 1; voter <= 40; voter++) {
+            voteDAO.castVote(1, voter, 100 + voter % 3);
+        }
+        server.resetRequestCount();
+
+        // Act
+        assertTrue(voteDAO.castVote(1, 7, 100));
+        assertTrue(voteDAO.castVote(1, 7, 100), "Repeating the same vote is a no-op");
+
+        // Assert
+        assertEquals(1, server.getRequestCount("PUT"), "Only the voter's own vote is replaced");
+        assertEquals(1, server.getRequestCount("PATCH"));
+        assertEquals(3, server.getRequestCount("GET"), "Previous vote per cast, tallies only when it changed");
+        assertEquals(14, server.get("leader_votes/1/tallies/100").asInt());
+        assertEquals(13, server.get("leader_votes/1/tallies/101").asInt());
+        assertEquals(100, server.get("leader_votes/1/leader").asInt());
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Casts By One Voter Keep Tallies Exact")
+    void testConcurrentSameVoter() throws Exception {
+        // Arrange - every voter starts on candidate 100
+        server.clear();
+        LeaderVoteDAO voteDAO = new LeaderVoteDAO();
+        for (int voter = 1; voter <= 3; voter++) {
+            assertTrue(voteDAO.castVote(1, voter, 100));
+        }
+
+        // Act - each voter switches from two windows at once, to different candidates
+        List<Thread> windows = new ArrayList<>();
+        for (int voter = 1; voter <= 3; voter++) {
+            for (int candidate = 101; candidate <= 102; candidate++) {
+                int v = voter;
+                int c = candidate;
+                Thread thread = new Thread(() -> voteDAO.castVote(1, v, c));
+                windows.add(thread);
+                thread.start();
+            }
+        }
+        for (Thread thread : windows) {
+            thread.join();
+        }
+
+        // Assert - the tallies count each voter's surviving vote exactly once
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (LeaderVote vote : voteDAO.getActiveVotes(1)) {
+            expected.merge(vote.getCandidateId(), 1, Integer::sum);
+        }
+        assertEquals(3, voteDAO.getActiveVotes(1).size());
+        assertEquals(expected, voteDAO.getVoteCounts(1));
+        assertEquals(0, server.get("leader_votes/1/tallies/100").asInt(), "The first votes are each taken back once");
+        assertEquals(6, voteDAO.getVoteHistory(1).size(), "Both replaced votes of every voter are kept");
+    }
+
+    @Test
+    @DisplayName("Test Voting Snapshot Matches The Cast It Predicts")
+    void testVotingSnapshot() {
+        // Arrange
+        server.clear();
+        for (int id = 1; id <= 4; id++) {
+            Player player = new Player("member" + id, "Member " + id, "m" + id + "@test.com", "DPS");
+            player.setId(id);
+            player.setTeamId(1);
+            server.seed("players/" + id, player);
+        }
+        LeaderVoteDAO voteDAO = new LeaderVoteDAO();
+        voteDAO.castVote(1, 2, 3);
+        voteDAO.castVote(1, 4, 3);
+        voteDAO.castVote(1, 1, 2);
+        server.resetRequestCount();
+
+        // Act
+        VotingSnapshot snapshot = voteDAO.getVotingSnapshot(1, 1);
+        int reads = server.getRequestCount("GET");
+        VotingSnapshot predicted = snapshot.withVote(3);
+        voteDAO.castVote(1, 1, 3);
+        VotingSnapshot actual = voteDAO.getVotingSnapshot(1, 1);
+
+        // Assert
+        assertEquals(3, reads, "Tallies, the voter's vote and the roster");
+        assertEquals(List.of("member1", "member2", "member3", "member4"),
+                snapshot.getRoster().stream().map(Player::getUsername).toList());
+        assertEquals(Integer.valueOf(2), snapshot.getCurrentVote());
+        assertEquals(2, snapshot.getVotes(3));
+        assertEquals(Integer.valueOf(3), snapshot.getLeader());
+        assertEquals(Integer.valueOf(3), predicted.getCurrentVote());
+        assertEquals(3, predicted.getVotes(3));
+        assertEquals(0, predicted.getVotes(2));
+        for (int candidate = 1; candidate <= 4; candidate++) {
+            assertEquals(actual.getVotes(candidate), predicted.getVotes(candidate), "Candidate " + candidate);
+        }
+        assertFalse(voteDAO.getVotingSnapshot(1, 9).hasVoted());
+    }
+
+    @Test
+    @DisplayName("Test Migrating Legacy Vote Lists")
+    void testMigration() throws Exception {
+        // Arrange - the old layout: every vote ever cast, with active flags
+        server.clear();
+        LeaderVote first = vote(1, 1, 5, 6, LocalDateTime.of(2025, 1, 1, 10, 0));
+        first.setActive(false);
+        LeaderVote second = vote(2, 1, 5, 7, LocalDateTime.of(2025, 1, 2, 10, 0));
+        LeaderVote third = vote(3, 1, 6, 7, LocalDateTime.of(2025, 1, 3, 10, 0));
+        server.seed("leader_votes/1", List.of(first, second, third));
+
+        // Act
+        int migrated = MigrateLeaderVotes.migrate();
+
+        // Assert
+        assertEquals(1, migrated);
+        LeaderVoteDAO voteDAO = new LeaderVoteDAO();
+        assertEquals(Map.of(7, 2), voteDAO.getVoteCounts(1));
+        assertEquals(Integer.valueOf(7), voteDAO.getCurrentLeader(1));
+        assertEquals(1, voteDAO.getVoteHistory(1).size());
+        assertEquals(6, voteDAO.getVoteHistory(1).get(0).getCandidateId());
+        assertTrue(voteDAO.castVote(1, 6, 5), "Migrated teams take new votes");
+        assertEquals(Map.of(7, 1, 5, 1), voteDAO.getVoteCounts(1));
+        assertEquals(0, MigrateLeaderVotes.migrate(), "A second run finds nothing to do");
+    }
+
+    private static LeaderVote vote(int id, int teamId, int voterId, int candidateId, LocalDateTime time) {
+        LeaderVote vote = new LeaderVote(teamId, voterId, candidateId);
+        vote.setId(id);
+        vote.setVoteTime(time);
+        return vote;
+    }
+}
@@ -0,0 +1,158 @@
+package com.esports.arena.dao;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.service.EntityCache;
+import com.esports.arena.service.RealtimeDatabaseService;
+import com.esports.arena.support.LocalFirebaseServer;
+import com.esports.arena.util.MigratePlayerStats;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchPlayerStatsTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Stats Are Stored Keyed By Player")
+    void testKeyedLayout() {
+        // Arrange
+        server.clear();
+        Match match = match(1);
+        match.getPlayerStats().add(stats(1, 12, 5));
+        match.getPlayerStats().add(stats(1, 30, 6));
+        MatchDAO matchDAO = new MatchDAO();
+
+        // Act
+        matchDAO.createMatch(match);
+        PlayerMatchStats added = stats(match.getId(), 31, 0);
+        added.setKills(9);
+        assertTrue(matchDAO.addPlayerStats(added));
+
+        // Assert
+        JsonNode stored = server.get("matches/" + match.getId() + "/playerStats");
+        assertTrue(stored.isObject());
+        assertEquals(12, stored.get("12").get("playerId").asInt());
+        assertEquals(9, stored.get("31").get("kills").asInt());
+        assertEquals(3, matchDAO.getPlayerStatsByMatch(match.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Stat Updates Are Not Lost")
+    void testConcurrentUpdates() throws Exception {
+        // Arrange - one match, one scorekeeper thread per player, plus a status change mid-way
+        server.clear();
+        server.seed("matches/5", match(5));
+        int players = 16;
+        int rounds = 5;
+        MatchDAO matchDAO = new MatchDAO();
+        ExecutorService pool = Executors.newFixedThreadPool(players + 1);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        // Act
+        for (int p = 1; p <= players; p++) {
+            int playerId = p;
+            futures.add(pool.submit(() -> {
+                go.await();
+                boolean ok = true;
+                for (int round = 1; round <= rounds; round++) {
+                    ok &= matchDAO.updatePlayerStats(5, playerId, playerId * round, round, playerId);
+                }
+                return ok;
+            }));
+        }
+        futures.add(pool.submit(() -> {
+            go.await();
+            return matchDAO.startMatch(5);
+        }));
+        go.countDown();
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+        pool.shutdown();
+
+        // Assert
+        Match stored = matchDAO.getMatchById(5);
+        assertEquals(Match.MatchStatus.LIVE, stored.getStatus());
+        assertEquals(players, stored.getPlayerStats().size(), "Every player's line must survive");
+        for (PlayerMatchStats line : stored.getPlayerStats()) {
+            assertEquals(line.getPlayerId() * rounds, line.getKills());
+            assertEquals(rounds, line.getDeaths());
+            assertEquals(5, line.getMatchId());
+        }
+        long distinctIds = stored.getPlayerStats().stream().mapToInt(PlayerMatchStats::getId).distinct().count();
+        assertEquals(players, distinctIds);
+    }
+
+    @Test
+    @DisplayName("Test Migration Converts Legacy Lists")
+    void testMigration() throws Exception {
+        // Arrange - match 1 uses the old list layout, match 2 is already keyed
+        server.clear();
+        Map<String, Object> legacy = new LinkedHashMap<>();
+        legacy.put("id", 1);
+        legacy.put("status", "COMPLETED");
+        legacy.put("playerStats", List.of(stats(1, 7, 70), stats(1, 3, 71)));
+        server.seed("matches/1", legacy);
+        Match keyed = match(2);
+        keyed.getPlayerStats().add(stats(2, 1, 72));
+        keyed.getPlayerStats().add(stats(2, 2, 73));
+        server.seed("matches/2", keyed);
+
+        // Legacy lists still read correctly before the migration
+        assertEquals(2, new MatchDAO().getPlayerStatsByMatch(1).size());
+
+        // Act
+        int migrated = MigratePlayerStats.migrate();
+
+        // Assert
+        assertEquals(1, migrated);
+        assertEquals(70, server.get("matches/1/playerStats/7/id").asInt());
+        assertEquals(71, server.get("matches/1/playerStats/3/id").asInt());
+        assertEquals("COMPLETED", server.get("matches/1/status").asText(), "Only playerStats is rewritten");
+        assertEquals(73, server.get("matches/2/playerStats/2/id").asInt());
+        assertEquals(0, MigratePlayerStats.migrate(), "A second run finds nothing to do");
+    }
+
+    private static Match match(int id) {
+        Match match = new Match(1, 1, 2, LocalDateTime.of(2025, 3, 1, 18, 0), "Final");
+        match.setId(id);
+        return match;
+    }
+
+    private static PlayerMatchStats stats(int matchId, int playerId, int id) {
+        PlayerMatchStats stats = new PlayerMatchStats(matchId, playerId);
+        stats.setId(id);
+        return stats;
+    }
+}
@@ -22,7 +22,6 @@ public class PlayerDAOTest {
 
     @AfterAll
     static void tearDown() {
-        playerDAO.shutdown();
         System.out.println("PlayerDAO Test Suite Completed");
     }
 
@@ -0,0 +1,120 @@
+package com.esports.arena.dao;
+
+import com.esports.arena.model.Player;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.TeamSummary;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentSummary;
+import com.esports.arena.service.EntityCache;
+import com.esports.arena.service.RealtimeDatabaseService;
+import com.esports.arena.support.LocalFirebaseServer;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SummaryIndexTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Summaries Follow Tournament And Team Writes")
+    void testSummariesFollowWrites() {
+        // Arrange
+        server.clear();
+        TeamDAO teamDAO = new TeamDAO();
+        TournamentDAO tournamentDAO = new TournamentDAO();
+        int wolves = teamDAO.createTeam(new Team("Wolves", "WLF", "EU"));
+        int bears = teamDAO.createTeam(new Team("Bears", "BRS", "NA"));
+        for (int i = 1; i <= 5; i++) {
+            Player player = new Player("wolf" + i, "Wolf " + i, "w" + i + "@test.com", "DPS");
+            player.setTeamId(wolves);
+            new PlayerDAO().createPlayer(player);
+        }
+        int spring = tournamentDAO.createTournament(tournament("Spring Cup", LocalDate.of(2025, 3, 1)));
+        int summer = tournamentDAO.createTournament(tournament("Summer Cup", LocalDate.of(2025, 6, 1)));
+
+        // Act
+        assertTrue(tournamentDAO.registerTeam(spring, wolves));
+        assertTrue(tournamentDAO.registerTeam(spring, bears));
+        assertTrue(tournamentDAO.updateTournamentStatus(spring, Tournament.TournamentStatus.IN_PROGRESS));
+        assertTrue(tournamentDAO.finishTournament(summer, bears));
+        Team renamed = teamDAO.getTeamById(bears);
+        renamed.setName("Grizzlies");
+        assertTrue(teamDAO.updateTeam(renamed));
+        server.resetRequestCount();
+        List<TournamentSummary> tournaments = tournamentDAO.getTournamentSummaries();
+        List<TeamSummary> teams = teamDAO.getTeamSummaries();
+
+        // Assert
+        assertEquals(2, server.getRequestCount(), "One read per dropdown, no teams or rosters");
+        assertEquals(List.of("Summer Cup", "Spring Cup"), tournaments.stream().map(TournamentSummary::getName).toList());
+        assertEquals(Tournament.TournamentStatus.COMPLETED, tournaments.get(0).getStatus());
+        assertEquals(Integer.valueOf(bears), tournaments.get(0).getWinnerId());
+        assertEquals(Tournament.TournamentStatus.IN_PROGRESS, tournaments.get(1).getStatus());
+        assertEquals(2, tournaments.get(1).getTeamCount());
+        assertEquals(Tournament.TournamentStatus.IN_PROGRESS, tournamentDAO.getTournamentById(spring).getStatus(),
+                "Status changes reach the tournament too");
+        assertEquals(List.of("Grizzlies", "Wolves"), teams.stream().map(TeamSummary::getName).toList());
+        assertEquals("WLF", teamDAO.getTeamSummary(wolves).getTag());
+
+        assertTrue(tournamentDAO.deleteTournament(summer));
+        assertTrue(teamDAO.deleteTeam(bears));
+        assertEquals(1, tournamentDAO.getTournamentSummaries().size());
+        assertNull(teamDAO.getTeamSummary(bears));
+    }
+
+    @Test
+    @DisplayName("Test Missing Summary Index Is Rebuilt")
+    void testRebuild() {
+        // Arrange - data written before the index existed
+        server.clear();
+        for (int id = 1; id <= 3; id++) {
+            Tournament tournament = tournament("Cup " + id, LocalDate.of(2025, id, 1));
+            tournament.setId(id);
+            server.seed("tournaments/" + id, tournament);
+            Team team = new Team("Team " + id, "T" + id, "EU");
+            team.setId(id);
+            server.seed("teams/" + id, team);
+        }
+        TournamentDAO tournamentDAO = new TournamentDAO();
+        TeamDAO teamDAO = new TeamDAO();
+
+        // Act
+        List<TournamentSummary> tournaments = tournamentDAO.getTournamentSummaries();
+        List<TeamSummary> teams = teamDAO.getTeamSummaries();
+
+        // Assert
+        assertEquals(List.of("Cup 3", "Cup 2", "Cup 1"), tournaments.stream().map(TournamentSummary::getName).toList());
+        assertEquals(3, teams.size());
+        assertEquals("Cup 2", server.get("tournament_summaries/2").get("name").asText(), "The index was written back");
+        server.resetRequestCount();
+        assertEquals(3, tournamentDAO.getTournamentSummaries().size());
+        assertEquals(1, server.getRequestCount(), "Later reads use the index");
+    }
+
+    private static Tournament tournament(String name, LocalDate start) {
+        Tournament tournament = new Tournament(name, "Valorant", "Single Elimination", start, start.plusDays(7), 1000, 8);
+        tournament.setStatus(Tournament.TournamentStatus.REGISTRATION_OPEN);
+        return tournament;
+    }
+}
@@ -0,0 +1,129 @@
+package com.esports.arena.dao;
+
+import com.esports.arena.model.Player;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.service.EntityCache;
+import com.esports.arena.service.RealtimeDatabaseService;
+import com.esports.arena.support.LocalFirebaseServer;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Request-count benchmark for roster hydration against the local Firebase stand-in.
+// Per-team roster queries grow with the number of teams; the batch join stays constant.
+public class TeamLoadingBenchmarkTest {
+
+    private static final int PLAYERS_PER_TEAM = 5;
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+    private static TeamDAO teamDAO;
+    private static PlayerDAO playerDAO;
+    private static TournamentDAO tournamentDAO;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null); // count every round trip
+        teamDAO = new TeamDAO();
+        playerDAO = new PlayerDAO();
+        tournamentDAO = new TournamentDAO();
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Team Loading Uses Constant Requests")
+    void testTeamLoadingRequestCount() throws Exception {
+        System.out.printf("%8s %16s %12s %16s %12s%n", "teams", "per-team reqs", "per-team ms", "batched reqs", "batched ms");
+        for (int teamCount : new int[] {10, 50, 200}) {
+            seedTeams(teamCount);
+
+            // Previous behaviour: one roster query per team
+            RealtimeDatabaseService.resetRequestCount();
+            long start = System.nanoTime();
+            Map<String, Team> raw = RealtimeDatabaseService.readCollection("teams", Team.class);
+            for (Team team : raw.values()) {
+                team.setPlayers(playerDAO.getPlayersByTeam(team.getId()));
+            }
+            long perTeamNanos = System.nanoTime() - start;
+            long perTeamRequests = RealtimeDatabaseService.getRequestCount();
+
+            RealtimeDatabaseService.resetRequestCount();
+            start = System.nanoTime();
+            List<Team> teams = teamDAO.getAllTeams();
+            long batchedNanos = System.nanoTime() - start;
+            long batchedRequests = RealtimeDatabaseService.getRequestCount();
+
+            System.out.printf("%8d %16d %12.1f %16d %12.1f%n", teamCount,
+                    perTeamRequests, perTeamNanos / 1e6, batchedRequests, batchedNanos / 1e6);
+
+            assertEquals(teamCount + 1, perTeamRequests);
+            assertEquals(2, batchedRequests, "Teams and players should each be read once");
+            assertEquals(teamCount, teams.size());
+            assertTrue(teams.stream().allMatch(t -> t.getPlayers().size() == PLAYERS_PER_TEAM),
+                    "Every team should be hydrated with its roster");
+        }
+    }
+
+    @Test
+    @DisplayName("Test Tournament Loading Shares One Team Snapshot")
+    void testTournamentLoadingRequestCount() {
+        seedTeams(40);
+        for (int i = 1; i <= 10; i++) {
+            Tournament tournament = new Tournament("Cup " + i, "Valorant", "Single Elimination",
+                    LocalDate.of(2025, 1, i), LocalDate.of(2025, 2, i), 1000, 8);
+            tournament.setId(i);
+            List<Team> registered = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                Team stub = new Team();
+                stub.setId(((i + t) % 40) + 1);
+                registered.add(stub);
+            }
+            tournament.setRegisteredTeams(registered);
+            server.seed("tournaments/" + i, tournament);
+        }
+
+        RealtimeDatabaseService.resetRequestCount();
+        List<Tournament> tournaments = tournamentDAO.getAllTournaments();
+
+        assertEquals(3, RealtimeDatabaseService.getRequestCount(), "Tournaments, teams and players read once each");
+        assertEquals(10, tournaments.size());
+        for (Tournament tournament : tournaments) {
+            assertEquals(8, tournament.getRegisteredTeams().size());
+            assertTrue(tournament.getRegisteredTeams().stream()
+                    .allMatch(t -> t.getName() != null && t.getPlayers().size() == PLAYERS_PER_TEAM));
+        }
+    }
+
+    private static void seedTeams(int teamCount) {
+        server.clear();
+        int playerId = 1;
+        for (int teamId = 1; teamId <= teamCount; teamId++) {
+            Team team = new Team("Team " + teamId, "T" + teamId, "EU");
+            team.setId(teamId);
+            server.seed("teams/" + teamId, team);
+            for (int p = 0; p < PLAYERS_PER_TEAM; p++) {
+                Player player = new Player("player" + playerId, "Player " + playerId, "p" + playerId + "@test.com", "DPS");
+                player.setId(playerId);
+                player.setTeamId(teamId);
+                server.seed("players/" + playerId, player);
+                playerId++;
+            }
+        }
+    }
+}
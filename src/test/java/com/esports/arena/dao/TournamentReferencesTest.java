@@ -0,0 +1,216 @@
+package com.esports.arena.dao;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.service.EntityCache;
+import com.esports.arena.service.RealtimeDatabaseService;
+import com.esports.arena.support.LocalFirebaseServer;
+import com.esports.arena.util.MigrateTournamentRefs;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentReferencesTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Registration Is A Small Patch Of Ids")
+    void testRegistration() {
+        // Arrange
+        server.clear();
+        TeamDAO teamDAO = new TeamDAO();
+        TournamentDAO tournamentDAO = new TournamentDAO();
+        int wolves = teamDAO.createTeam(new Team("Wolves", "WLF", "EU"));
+        int bears = teamDAO.createTeam(new Team("Bears", "BRS", "NA"));
+        int owls = teamDAO.createTeam(new Team("Owls", "OWL", "EU"));
+        for (int i = 1; i <= 3; i++) {
+            Player player = new Player("wolf" + i, "Wolf " + i, "w" + i + "@test.com", "DPS");
+            player.setTeamId(wolves);
+            new PlayerDAO().createPlayer(player);
+        }
+        Tournament cup = new Tournament("Spring Cup", "Valorant", "Single Elimination",
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 8), 1000, 2);
+        int id = tournamentDAO.createTournament(cup);
+
+        // Act
+        server.resetRequestCount();
+        boolean registered = tournamentDAO.registerTeam(id, bears);
+
+        // Assert
+        assertTrue(registered);
+        assertEquals(1, server.getRequestCount("PUT"), "Only the id set is written, with a compare-and-set");
+        assertEquals(1, server.getRequestCount("PATCH"), "The summary count is one increment");
+        assertEquals(5, server.getRequestCount());
+        assertTrue(tournamentDAO.registerTeam(id, wolves));
+        assertFalse(tournamentDAO.registerTeam(id, wolves), "Already registered");
+        assertFalse(tournamentDAO.registerTeam(id, owls), "Full");
+        assertFalse(tournamentDAO.registerTeam(id, 99), "No such team");
+
+        JsonNode stored = server.get("tournaments/" + id);
+        assertFalse(stored.has("registeredTeams"));
+        assertFalse(stored.has("matches"));
+        assertFalse(stored.has("registeredTeamCount"), "Derived counts are not stored");
+        assertTrue(stored.toString().length() < 300, "Only ids are stored: " + stored);
+        assertEquals(2, server.get("tournament_summaries/" + id).get("teamCount").asInt());
+
+        Tournament read = tournamentDAO.getTournamentById(id);
+        assertEquals(List.of(wolves, bears), read.getTeamIds(), "Ids come back in id order");
+        assertTrue(read.getRegisteredTeams().isEmpty(), "Teams are resolved on demand");
+        List<Team> teams = tournamentDAO.getRegisteredTeams(id);
+        assertEquals(List.of("Wolves", "Bears"), teams.stream().map(Team::getName).toList());
+        assertEquals(3, teams.get(0).getPlayers().size(), "Resolved teams come with rosters");
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Registrations Respect The Limit")
+    void testConcurrentRegistration() throws Exception {
+        // Arrange
+        server.clear();
+        TeamDAO teamDAO = new TeamDAO();
+        TournamentDAO tournamentDAO = new TournamentDAO();
+        int id = tournamentDAO.createTournament(new Tournament("Rush Cup", "Valorant", "Single Elimination",
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 8), 1000, 4));
+        List<Integer> teams = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            teams.add(teamDAO.createTeam(new Team("Team " + i, "T" + i, "EU")));
+        }
+
+        // Act - two organizers register every team at the same time
+        List<Thread> organizers = new ArrayList<>();
+        AtomicInteger accepted = new AtomicInteger();
+        for (int organizer = 0; organizer < 2; organizer++) {
+            for (int teamId : teams) {
+                Thread thread = new Thread(() -> {
+                    if (tournamentDAO.registerTeam(id, teamId)) {
+                        accepted.incrementAndGet();
+                    }
+                });
+                organizers.add(thread);
+                thread.start();
+            }
+        }
+        for (Thread thread : organizers) {
+            thread.join();
+        }
+
+        // Assert
+        Tournament read = tournamentDAO.getTournamentById(id);
+        assertEquals(4, read.getTeamIds().size(), "Never past maxTeams");
+        assertEquals(4, accepted.get(), "Each registered team accepted once");
+        assertEquals(4, server.get("tournament_summaries/" + id).get("teamCount").asInt(), "The count matches the ids");
+    }
+
+    @Test
+    @DisplayName("Test Resolver Reads Each Entity Once")
+    void testResolver() {
+        // Arrange
+        server.clear();
+        for (int id = 1; id <= 3; id++) {
+            Team team = new Team("Team " + id, "T" + id, "EU");
+            team.setId(id);
+            server.seed("teams/" + id, team);
+            Match match = new Match(1, id, id % 3 + 1, LocalDateTime.of(2025, 3, id, 18, 0), "Round " + id);
+            match.setId(id);
+            server.seed("matches/" + id, match);
+        }
+        Tournament first = new Tournament();
+        first.setId(1);
+        first.setTeamIds(List.of(1, 2));
+        first.setMatchIds(List.of(2, 1));
+        Tournament second = new Tournament();
+        second.setId(2);
+        second.setTeamIds(List.of(2, 3, 7));
+        TournamentResolver resolver = new TournamentResolver();
+
+        // Act
+        server.resetRequestCount();
+        resolver.resolveTeams(List.of(first, second));
+        int teamRequests = server.getRequestCount();
+        resolver.resolveMatches(List.of(first, second));
+        resolver.resolveTeams(first);
+
+        // Assert
+        assertEquals(8, teamRequests, "Teams 1, 2, 3 and 7 read by id once each, with rosters");
+        assertEquals(10, server.getRequestCount(), "Two matches, then nothing already resolved");
+        assertEquals(List.of("Team 1", "Team 2"), first.getRegisteredTeams().stream().map(Team::getName).toList());
+        assertEquals(List.of("Team 2", "Team 3"), second.getRegisteredTeams().stream().map(Team::getName).toList(),
+                "Deleted teams are skipped");
+        assertSame(first.getRegisteredTeams().get(1), second.getRegisteredTeams().get(0));
+        assertEquals(List.of("Round 2", "Round 1"), first.getMatches().stream().map(Match::getRound).toList());
+    }
+
+    @Test
+    @DisplayName("Test Legacy Tournaments Are Read And Migrated")
+    void testLegacyMigration() throws Exception {
+        // Arrange - a document that embeds whole teams and matches
+        server.clear();
+        Team team = new Team("Wolves", "WLF", "EU");
+        team.setId(4);
+        Player player = new Player("wolf", "Wolf", "w@test.com", "DPS");
+        player.setId(1);
+        team.getPlayers().add(player);
+        Team other = new Team("Bears", "BRS", "NA");
+        other.setId(6);
+        Match match = new Match(1, 4, 6, LocalDateTime.of(2025, 3, 2, 18, 0), "Final");
+        match.setId(9);
+        Map<String, Object> legacy = new LinkedHashMap<>();
+        legacy.put("id", 1);
+        legacy.put("name", "Legacy Cup");
+        legacy.put("maxTeams", 8);
+        legacy.put("startDate", "2025-03-01");
+        legacy.put("registeredTeams", List.of(team, other));
+        legacy.put("matches", List.of(match));
+        server.seed("tournaments/1", legacy);
+        Tournament current = new Tournament();
+        current.setId(2);
+        current.setName("Current Cup");
+        server.seed("tournaments/2", current);
+        TournamentDAO tournamentDAO = new TournamentDAO();
+
+        // Act
+        Tournament read = tournamentDAO.getTournamentById(1);
+        int migrated = MigrateTournamentRefs.migrate();
+
+        // Assert
+        assertEquals(List.of(4, 6), read.getTeamIds(), "Legacy documents are readable before migrating");
+        assertEquals(List.of(9), read.getMatchIds());
+        assertEquals(1, migrated, "Only the legacy tournament is rewritten");
+        JsonNode stored = server.get("tournaments/1");
+        assertFalse(stored.has("registeredTeams"));
+        assertFalse(stored.has("matches"));
+        assertEquals("Legacy Cup", stored.get("name").asText());
+        assertEquals(List.of(4, 6), tournamentDAO.getTournamentById(1).getTeamIds());
+        assertEquals(List.of(9), tournamentDAO.getTournamentById(1).getMatchIds());
+        assertEquals(2, server.get("tournament_summaries/1").get("teamCount").asInt());
+        assertEquals(0, MigrateTournamentRefs.migrate(), "Running it again changes nothing");
+    }
+}
@@ -0,0 +1,110 @@
+package com.esports.arena.service;
+
+import com.esports.arena.model.LeaderVote;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.Tournament;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinarySnapshotTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws Exception {
+        file = Files.createTempFile("arena-snapshot", ".bin");
+    }
+
+    @AfterEach
+    void deleteFile() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("Test Snapshot Round Trips Every Model Class")
+    void testRoundTrip() throws Exception {
+        // Arrange
+        ObjectNode players = mapper.createObjectNode();
+        ObjectNode matches = mapper.createObjectNode();
+        for (int id = 1; id <= 200; id++) {
+            Player player = new Player("player" + id, "Pläyer " + id, "p" + id + "@test.com", id % 2 == 0 ? "DPS" : "Support");
+            player.setId(id);
+            player.setTeamId(id % 10 + 1);
+            player.setTotalKills(id * 1000);
+            players.set(String.valueOf(id), mapper.valueToTree(player));
+        }
+        Match match = new Match(3, 1, 2, LocalDateTime.of(2025, 3, 1, 18, 0), "Final");
+        match.setId(1);
+        PlayerMatchStats stats = new PlayerMatchStats(1, 5);
+        stats.setKills(12);
+        match.getPlayerStats().add(stats);
+        matches.set("1", mapper.valueToTree(match));
+        Team team = new Team("Night Owls", "NO", "EU");
+        team.setId(1);
+        team.setLeaderId(5);
+        Tournament tournament = new Tournament();
+        tournament.setId(3);
+        tournament.setName("Spring Cup");
+        LeaderVote vote = new LeaderVote(1, 5, 6);
+        vote.setId(9);
+
+        Map<String, JsonNode> collections = new LinkedHashMap<>();
+        collections.put("players", players);
+        collections.put("matches", matches);
+        collections.put("teams", mapper.createArrayNode().add(mapper.nullNode()).add(mapper.valueToTree(team)));
+        collections.put("tournaments", mapper.createObjectNode().set("3", mapper.valueToTree(tournament)));
+        collections.put("leader_votes", mapper.createObjectNode().set("9", mapper.valueToTree(vote)));
+        collections.put("counters", mapper.createObjectNode().put("players", 200).put("ratio", 0.25).put("big", Long.MAX_VALUE));
+
+        // Act
+        BinarySnapshot.write(file, collections);
+        BinarySnapshot snapshot = BinarySnapshot.open(file);
+
+        // Assert
+        assertEquals(collections.keySet(), snapshot.getCollections());
+        assertEquals(players, snapshot.read("players"), "Trees come back unchanged");
+        assertEquals(200, snapshot.size("players"));
+        assertEquals("Pläyer 7", snapshot.read("players", Player.class).get("7").getRealName());
+        Match readMatch = snapshot.read("matches", Match.class).get("1");
+        assertEquals(12, readMatch.getPlayerStats().get(0).getKills());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 18, 0), readMatch.getScheduledTime());
+        assertEquals("Night Owls", snapshot.read("teams", Team.class).get("1").getName(), "Arrays are keyed by index");
+        assertEquals("Spring Cup", snapshot.read("tournaments", Tournament.class).get("3").getName());
+        assertEquals(6, snapshot.read("leader_votes", LeaderVote.class).get("9").getCandidateId());
+        assertEquals(Long.MAX_VALUE, snapshot.read("counters").get("big").longValue());
+        assertEquals(0.25, snapshot.read("counters").get("ratio").doubleValue());
+        assertNull(snapshot.read("organizers"));
+
+        long json = mapper.writeValueAsBytes(collections).length;
+        assertTrue(Files.size(file) * 2 < json, "Snapshot " + Files.size(file) + " bytes should be well under JSON " + json);
+    }
+
+    @Test
+    @DisplayName("Test Corrupt Snapshot Is Rejected")
+    void testCorruptFile() throws Exception {
+        Files.writeString(file, "{\"players\": {}}");
+        assertThrows(java.io.IOException.class, () -> BinarySnapshot.open(file));
+
+        BinarySnapshot.write(file, Map.of("players", mapper.createObjectNode().put("1", "x")));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 2));
+        // Truncated bodies are caught on open
+        assertThrows(java.io.IOException.class, () -> BinarySnapshot.open(file));
+    }
+}
@@ -0,0 +1,190 @@
+package com.esports.arena.service;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.TournamentFormat;
+import org.junit.jupiter.api.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BracketGeneratorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 12, 0);
+    private static final BracketGenerator.Schedule SCHEDULE = new BracketGenerator.Schedule(START, Duration.ofHours(1), 0);
+
+    @Test
+    @DisplayName("Test Single Elimination Gives Byes To Top Seeds")
+    void testSingleElimination() {
+        // Arrange
+        List<Integer> seeds = List.of(11, 12, 13, 14, 15);
+
+        // Act
+        List<Match> matches = BracketGenerator.generate(TournamentFormat.SINGLE_ELIMINATION, 7, seeds, SCHEDULE);
+
+        // Assert
+        assertEquals(4, matches.size(), "n - 1 matches once byes are dropped");
+        Match opener = matches.get(0);
+        assertEquals(Set.of(14, 15), Set.of(opener.getTeam1Id(), opener.getTeam2Id()), "Seeds 4 and 5 play in");
+        assertEquals("Quarterfinal", opener.getRound());
+        assertEquals(START, opener.getScheduledTime());
+        assertTrue(matches.stream().allMatch(m -> m.getTournamentId() == 7));
+        assertEquals(List.of("Semifinal", "Semifinal", "Final"), matches.subList(1, 4).stream().map(Match::getRound).toList());
+        Match semifinal = matches.stream().filter(m -> m.getTeam1Id() == 11).findFirst().orElseThrow();
+        assertEquals(0, semifinal.getTeam2Id(), "Seed 1 waits for the play-in winner");
+        assertEquals(opener.getNextMatchId(), Integer.valueOf(semifinal.getId()));
+        assertEquals(START.plusHours(1), semifinal.getScheduledTime());
+        assertNull(matches.get(3).getNextMatchId());
+        assertEquals(seeds.get(0), play(matches, new Random(1), true), "The better seed always wins");
+    }
+
+    @Test
+    @DisplayName("Test Elimination Brackets Play Out For Any Team Count")
+    void testEliminationPlaysOut() {
+        Random random = new Random(42);
+        for (int teams = 2; teams <= 40; teams++) {
+            List<Integer> seeds = IntStream.rangeClosed(1, teams).boxed().toList();
+
+            List<Match> single = BracketGenerator.generate(TournamentFormat.SINGLE_ELIMINATION, 1, seeds, SCHEDULE);
+            List<Match> doubled = BracketGenerator.generate(TournamentFormat.DOUBLE_ELIMINATION, 1, seeds, SCHEDULE);
+
+            assertEquals(teams - 1, single.size(), teams + " teams");
+            assertEquals(2 * teams - 2, doubled.size(), teams + " teams, one grand final");
+            assertNotNull(play(single, random, false));
+            Map<Integer, Integer> losses = new HashMap<>();
+            assertNotNull(play(doubled, random, false, losses));
+            assertTrue(losses.values().stream().allMatch(l -> l <= 2), "Out after two losses");
+            assertTrue(losses.values().stream().filter(l -> l == 2).count() >= teams - 2,
+                    "Everyone but the two grand finalists goes out on a second loss");
+            assertEveryTeamOncePerStartTime(doubled);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Round Robin Pairs Everyone Once")
+    void testRoundRobin() {
+        // Arrange
+        List<Integer> seeds = List.of(1, 2, 3, 4, 5, 6, 7);
+
+        // Act
+        List<Match> matches = BracketGenerator.generate(TournamentFormat.ROUND_ROBIN, 1, seeds, SCHEDULE);
+
+        // Assert
+        assertEquals(21, matches.size());
+        Set<Set<Integer>> pairs = matches.stream().map(m -> Set.of(m.getTeam1Id(), m.getTeam2Id())).collect(Collectors.toSet());
+        assertEquals(21, pairs.size(), "No pair meets twice");
+        assertEquals(7, matches.stream().map(Match::getBracketRound).distinct().count());
+        assertEquals(START.plusHours(6), matches.get(20).getScheduledTime(), "One slot per round");
+        assertEveryTeamOncePerStartTime(matches);
+    }
+
+    @Test
+    @DisplayName("Test Swiss Avoids Rematches And Rotates The Bye")
+    void testSwiss() {
+        // Arrange
+        List<Integer> seeds = IntStream.rangeClosed(1, 9).boxed().toList();
+        List<Match> played = new ArrayList<>();
+        Set<Integer> byes = new HashSet<>();
+        Random random = new Random(7);
+        int rounds = BracketGenerator.swissRounds(seeds.size());
+
+        // Act
+        for (int round = 1; round <= rounds; round++) {
+            List<Match> pairings = round == 1
+                    ? BracketGenerator.generate(TournamentFormat.SWISS, 1, seeds, SCHEDULE)
+                    : BracketGenerator.swissRound(1, seeds, played, round, SCHEDULE);
+            BracketGenerator.assignIds(pairings, played.size() + 1);
+            Set<Integer> playing = new HashSet<>();
+            for (Match match : pairings) {
+                assertTrue(playing.add(match.getTeam1Id()) && playing.add(match.getTeam2Id()));
+                match.endMatch(random.nextBoolean() ? match.getTeam1Id() : match.getTeam2Id());
+            }
+            assertEquals(4, pairings.size());
+            assertEquals("Swiss Round " + round, pairings.get(0).getRound());
+            seeds.stream().filter(t -> !playing.contains(t)).forEach(t -> assertTrue(byes.add(t), "Second bye for " + t));
+            played.addAll(pairings);
+        }
+
+        // Assert
+        assertEquals(4, rounds);
+        Set<Set<Integer>> pairs = played.stream().map(m -> Set.of(m.getTeam1Id(), m.getTeam2Id())).collect(Collectors.toSet());
+        assertEquals(played.size(), pairs.size(), "No rematches");
+        assertEquals(9, BracketGenerator.standings(seeds, played).size());
+        assertEquals(List.of(1, 5, 2, 6, 3, 7, 4, 8), firstRoundTeams(BracketGenerator.generate(TournamentFormat.SWISS, 1, seeds, null)),
+                "Top half meets bottom half and the last seed sits out");
+    }
+
+    @Test
+    @DisplayName("Test Ids Are Moved Onto A Reserved Block")
+    void testAssignIds() {
+        List<Match> matches = BracketGenerator.generate(TournamentFormat.DOUBLE_ELIMINATION, 1, List.of(1, 2, 3, 4), null);
+
+        BracketGenerator.assignIds(matches, 101);
+
+        assertEquals(101, matches.get(0).getId());
+        assertTrue(matches.stream().allMatch(m -> m.getScheduledTime() == null));
+        Set<Integer> ids = matches.stream().map(Match::getId).collect(Collectors.toSet());
+        assertTrue(matches.stream().filter(m -> m.getNextMatchId() != null).allMatch(m -> ids.contains(m.getNextMatchId())));
+        assertTrue(matches.stream().filter(m -> m.getLoserMatchId() != null).allMatch(m -> ids.contains(m.getLoserMatchId())));
+    }
+
+    private static List<Integer> firstRoundTeams(List<Match> matches) {
+        List<Integer> teams = new ArrayList<>();
+        matches.forEach(m -> {
+            teams.add(m.getTeam1Id());
+            teams.add(m.getTeam2Id());
+        });
+        return teams;
+    }
+
+    private static Integer play(List<Match> matches, Random random, boolean favourites) {
+        return play(matches, random, favourites, new HashMap<>());
+    }
+
+    // Plays every match as soon as both teams are known, applying MatchDAO.advancement in memory.
+    // Returns the last winner, or null if a match was left without its teams.
+    private static Integer play(List<Match> matches, Random random, boolean favourites, Map<Integer, Integer> losses) {
+        Map<Integer, Match> byId = new HashMap<>();
+        matches.forEach(m -> byId.put(m.getId(), m));
+        Integer champion = null;
+        for (Match match : matches) {
+            if (!match.hasTeams()) {
+                return null;
+            }
+            int winner = favourites ? Math.min(match.getTeam1Id(), match.getTeam2Id())
+                    : random.nextBoolean() ? match.getTeam1Id() : match.getTeam2Id();
+            match.endMatch(winner);
+            losses.merge(winner == match.getTeam1Id() ? match.getTeam2Id() : match.getTeam1Id(), 1, Integer::sum);
+            MatchDAO.advancement(match).forEach((path, team) -> {
+                String[] parts = path.split("/");
+                Match next = byId.get(Integer.parseInt(parts[1]));
+                if (parts[2].equals("team1Id")) {
+                    next.setTeam1Id((Integer) team);
+                } else {
+                    next.setTeam2Id((Integer) team);
+                }
+            });
+            champion = winner;
+        }
+        return champion;
+    }
+
+    private static void assertEveryTeamOncePerStartTime(List<Match> matches) {
+        Map<LocalDateTime, Set<Integer>> busy = new HashMap<>();
+        for (Match match : matches) {
+            Set<Integer> teams = busy.computeIfAbsent(match.getScheduledTime(), t -> new HashSet<>());
+            assertTrue(teams.add(match.getTeam1Id()) && teams.add(match.getTeam2Id()),
+                    "A team is booked twice at " + match.getScheduledTime());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.esports.arena.service;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.dao.TournamentDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.Tournament;
+import com.esports.arena.model.TournamentFormat;
+import com.esports.arena.support.LocalFirebaseServer;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BracketServiceTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Double Elimination Is Written At Once And Plays Out")
+    void testDoubleElimination() {
+        // Arrange
+        server.clear();
+        TournamentDAO tournamentDAO = new TournamentDAO();
+        MatchDAO matchDAO = new MatchDAO();
+        int id = tournament(tournamentDAO, TournamentFormat.DOUBLE_ELIMINATION, 6);
+        BracketService bracket = new BracketService(tournamentDAO, matchDAO);
+
+        // Act
+        server.resetRequestCount();
+        int written = bracket.startTournament(id, BracketService.defaultSchedule(LocalDate.of(2025, 3, 1)));
+
+        // Assert
+        assertEquals(10, written);
+        assertEquals(1, server.getRequestCount("PATCH"), "Every match, the match ids and the status in one PATCH");
+        Tournament started = tournamentDAO.getTournamentById(id);
+        assertEquals(Tournament.TournamentStatus.IN_PROGRESS, started.getStatus());
+        assertEquals(10, started.getMatchIds().size());
+        assertEquals(Tournament.TournamentStatus.IN_PROGRESS, tournamentDAO.getTournamentSummaries().get(0).getStatus());
+        List<Match> matches = matchDAO.getMatchesByTournament(id);
+        assertEquals(LocalDateTime.of(2025, 3, 1, 12, 0), matches.get(0).getScheduledTime());
+        assertEquals(0, bracket.startTournament(id, null), "A bracket is only generated once");
+        assertEquals(10, matchDAO.getMatchesByTournament(id).size());
+
+        int winner = playOut(matchDAO, id);
+        Tournament finished = tournamentDAO.getTournamentById(id);
+        assertEquals(Tournament.TournamentStatus.COMPLETED, finished.getStatus(), "The grand final finishes the tournament");
+        assertEquals(Integer.valueOf(winner), finished.getWinnerId());
+    }
+
+    @Test
+    @DisplayName("Test Start Without A Bracket Still Opens Play")
+    void testStartWithoutBracket() {
+        // Arrange - a hand-made match, a lone team and a format with no generator
+        server.clear();
+        TournamentDAO tournamentDAO = new TournamentDAO();
+        MatchDAO matchDAO = new MatchDAO();
+        BracketService bracket = new BracketService(tournamentDAO, matchDAO);
+        int manual = tournament(tournamentDAO, TournamentFormat.SINGLE_ELIMINATION, 4);
+        Tournament read = tournamentDAO.getTournamentById(manual);
+        assertTrue(matchDAO.createMatch(new Match(manual, read.getTeamIds().get(0), read.getTeamIds().get(1),
+                LocalDateTime.of(2025, 3, 1, 18, 0), "Showmatch")) > 0);
+        int lone = tournament(tournamentDAO, TournamentFormat.SINGLE_ELIMINATION, 1);
+        Tournament custom = new Tournament("Community Night", "Valorant", "King of the Hill",
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 1), 0, 8);
+        custom.setStatus(Tournament.TournamentStatus.REGISTRATION_OPEN);
+        int customId = tournamentDAO.createTournament(custom);
+
+        // Act & Assert
+        for (int id : List.of(manual, lone, customId)) {
+            assertEquals(0, bracket.startTournament(id, null), "Started without generating matches");
+            assertEquals(Tournament.TournamentStatus.IN_PROGRESS, tournamentDAO.getTournamentById(id).getStatus());
+        }
+        assertEquals(1, matchDAO.getMatchesByTournament(manual).size(), "No bracket on top of the manual match");
+        assertEquals(-1, bracket.startTournament(999, null));
+    }
+
+    @Test
+    @DisplayName("Test Swiss Rounds Are Paired As Results Come In")
+    void testSwiss() {
+        // Arrange
+        server.clear();
+        TournamentDAO tournamentDAO = new TournamentDAO();
+        MatchDAO matchDAO = new MatchDAO();
+        int id = tournament(tournamentDAO, TournamentFormat.SWISS, 4);
+        BracketService bracket = new BracketService(tournamentDAO, matchDAO);
+
+        // Act
+        assertEquals(2, bracket.startTournament(id, BracketService.defaultSchedule(LocalDate.of(2025, 3, 1))));
+        playOut(matchDAO, id);
+
+        // Assert
+        List<Match> matches = matchDAO.getMatchesByTournament(id);
+        assertEquals(4, matches.size(), "Two rounds for four teams");
+        assertEquals(4, matches.stream().map(m -> Set.of(m.getTeam1Id(), m.getTeam2Id())).collect(Collectors.toSet()).size(),
+                "No rematches");
+        assertEquals(LocalDateTime.of(2025, 3, 1, 13, 0), matches.stream().filter(m -> m.getBracketRound() == 2)
+                .findFirst().orElseThrow().getScheduledTime(), "Round two follows round one");
+        Tournament finished = tournamentDAO.getTournamentById(id);
+        assertEquals(Tournament.TournamentStatus.COMPLETED, finished.getStatus());
+        assertEquals(finished.getTeamIds().get(0), finished.getWinnerId(), "The top seed won both of its matches");
+        assertEquals(4, finished.getMatchIds().size());
+    }
+
+    @Test
+    @DisplayName("Test Results Completing A Swiss Round Together Pair It Once")
+    void testSwissRoundClaimedOnce() throws Exception {
+        // Arrange - round one of eight teams is finished without pairing the next round
+        server.clear();
+        TournamentDAO tournamentDAO = new TournamentDAO();
+        MatchDAO matchDAO = new MatchDAO();
+        int id = tournament(tournamentDAO, TournamentFormat.SWISS, 8);
+        BracketService bracket = new BracketService(tournamentDAO, matchDAO);
+        assertEquals(4, bracket.startTournament(id, BracketService.defaultSchedule(LocalDate.of(2025, 3, 1))));
+        List<Match> roundOne = matchDAO.getMatchesByTournament(id);
+        for (Match match : roundOne) {
+            assertTrue(matchDAO.endMatch(match.getId(), match.getTeam1Id()));
+        }
+        List<Match> completed = matchDAO.getMatchesByTournament(id);
+
+        // Act - every result of the round reports in at once, twice over
+        List<Thread> reporters = new ArrayList<>();
+        for (int copy = 0; copy < 2; copy++) {
+            for (Match match : completed) {
+                reporters.add(Thread.ofVirtual().start(() -> bracket.onMatchCompleted(match)));
+            }
+        }
+        for (Thread reporter : reporters) {
+            reporter.join();
+        }
+
+        // Assert
+        List<Match> matches = matchDAO.getMatchesByTournament(id);
+        assertEquals(4, matches.stream().filter(m -> m.getBracketRound() == 2).count(), "Round two is paired once");
+        assertEquals(8, tournamentDAO.getTournamentById(id).getMatchIds().size());
+        assertEquals(Integer.valueOf(2), tournamentDAO.getTournamentById(id).getPairedRound());
+    }
+
+    // Finalizes whichever match is ready, team 1 winning, until none is left; returns the last winner
+    private static int playOut(MatchDAO matchDAO, int tournamentId) {
+        MatchFinalizationService finalization = new MatchFinalizationService(matchDAO, new PlayerDAO(), new TeamDAO(),
+                new LeaderboardService(new TeamDAO(), matchDAO));
+        int last = -1;
+        for (int guard = 0; guard < 50; guard++) {
+            Match ready = matchDAO.getMatchesByTournament(tournamentId).stream()
+                    .filter(m -> !m.isCompleted() && m.hasTeams())
+                    .findFirst().orElse(null);
+            if (ready == null) {
+                return last;
+            }
+            assertTrue(finalization.finalizeMatch(ready.getId(), 1, 0, List.of()));
+            last = ready.getTeam1Id();
+        }
+        fail("The bracket never finished");
+        return last;
+    }
+
+    private static int tournament(TournamentDAO tournamentDAO, TournamentFormat format, int teams) {
+        TeamDAO teamDAO = new TeamDAO();
+        Tournament tournament = new Tournament("Open Qualifier", "Valorant", format.getLabel(),
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 8), 1000, 128);
+        tournament.setStatus(Tournament.TournamentStatus.REGISTRATION_OPEN);
+        int id = tournamentDAO.createTournament(tournament);
+        for (int i = 1; i <= teams; i++) {
+            int teamId = teamDAO.createTeam(new Team("Team " + i, "T" + i, "EU"));
+            assertTrue(tournamentDAO.registerTeam(id, teamId));
+        }
+        return id;
+    }
+}
@@ -0,0 +1,190 @@
+package com.esports.arena.service;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+import com.esports.arena.model.TournamentFormat;
+import org.junit.jupiter.api.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkImporterTest {
+
+    private static StorageBackend previousBackend;
+    private Path file;
+
+    @BeforeAll
+    static void setup() {
+        previousBackend = RealtimeDatabaseService.getBackend();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        RealtimeDatabaseService.setBackend(previousBackend);
+    }
+
+    @BeforeEach
+    void exportSeason() throws Exception {
+        // Two teams of three players and one completed match between them, exported to a file
+        RealtimeDatabaseService.setBackend(EmbeddedBackend.inMemory());
+        for (int teamId = 1; teamId <= 2; teamId++) {
+            Team team = new Team("Team " + teamId, "T" + teamId, "EU");
+            team.setId(teamId);
+            team.setLeaderId(teamId * 3);
+            RealtimeDatabaseService.write("teams/" + teamId, team);
+        }
+        for (int id = 1; id <= 6; id++) {
+            Player player = new Player("player" + id, "Player " + id, "p" + id + "@test.com", "DPS");
+            player.setId(id);
+            player.setTeamId(id <= 3 ? 1 : 2);
+            RealtimeDatabaseService.write("players/" + id, player);
+        }
+        Match match = new Match(0, 1, 2, LocalDateTime.of(2025, 3, 1, 18, 0), "Final");
+        match.setId(1);
+        match.setStatus(Match.MatchStatus.COMPLETED);
+        match.setWinnerId(2);
+        PlayerMatchStats stats = new PlayerMatchStats(1, 5);
+        stats.setKills(12);
+        match.getPlayerStats().add(stats);
+        RealtimeDatabaseService.write("matches/1", match);
+
+        file = Files.createTempFile("arena-import", ".json.gz");
+        new JsonExportImportService().exportDatabase(file, JsonExportImportService.ExportOptions.forFile(file.toString()), null);
+    }
+
+    @AfterEach
+    void deleteFile() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("Test Import Remaps Ids And References")
+    void testImportRemapsIds() throws Exception {
+        // Arrange - the target database already uses the exported ids
+        RealtimeDatabaseService.setBackend(EmbeddedBackend.inMemory());
+        RealtimeDatabaseService.write("counters/players", 100);
+        RealtimeDatabaseService.write("counters/teams", 100);
+        RealtimeDatabaseService.write("counters/matches", 100);
+
+        // Act
+        BulkImporter.Result result = new BulkImporter().importFile(file, null);
+
+        // Assert
+        assertEquals(Map.of("players", 6, "teams", 2, "tournaments", 0, "matches", 1), result.rows());
+        List<Player> players = new PlayerDAO().getAllPlayers();
+        List<Team> teams = new TeamDAO().getAllTeams();
+        assertEquals(6, players.size());
+        assertTrue(players.stream().allMatch(p -> p.getId() > 100), "Players get new ids");
+        Team team1 = teams.stream().filter(t -> t.getName().equals("Team 1")).findFirst().orElseThrow();
+        Team team2 = teams.stream().filter(t -> t.getName().equals("Team 2")).findFirst().orElseThrow();
+        Player player3 = players.stream().filter(p -> p.getUsername().equals("player3")).findFirst().orElseThrow();
+        Player player5 = players.stream().filter(p -> p.getUsername().equals("player5")).findFirst().orElseThrow();
+        assertEquals(Integer.valueOf(team1.getId()), player3.getTeamId(), "A player follows their team's new id");
+        assertEquals(Integer.valueOf(player3.getId()), team1.getLeaderId());
+
+        Match match = new MatchDAO().getAllMatches().get(0);
+        assertEquals(team1.getId(), match.getTeam1Id());
+        assertEquals(team2.getId(), match.getTeam2Id());
+        assertEquals(Integer.valueOf(team2.getId()), match.getWinnerId());
+        assertEquals(0, match.getTournamentId(), "No tournament stays no tournament");
+        PlayerMatchStats stats = match.getPlayerStats().get(0);
+        assertEquals(player5.getId(), stats.getPlayerId());
+        assertEquals(match.getId(), stats.getMatchId());
+        assertEquals(12, stats.getKills());
+    }
+
+    @Test
+    @DisplayName("Test Import Keeps Bracket Links")
+    void testImportBracketLinks() throws Exception {
+        // Arrange - a generated double-elimination bracket, exported on its own
+        RealtimeDatabaseService.setBackend(EmbeddedBackend.inMemory());
+        List<Match> bracket = BracketGenerator.generate(TournamentFormat.DOUBLE_ELIMINATION, 1, List.of(1, 2, 3, 4, 5, 6), null);
+        BracketGenerator.assignIds(bracket, 1);
+        for (Match match : bracket) {
+            RealtimeDatabaseService.write("matches/" + match.getId(), match);
+        }
+        Path bracketFile = Files.createTempFile("arena-bracket", ".json.gz");
+        new JsonExportImportService().exportDatabase(bracketFile, JsonExportImportService.ExportOptions.forFile(bracketFile.toString()), null);
+        RealtimeDatabaseService.setBackend(EmbeddedBackend.inMemory());
+        RealtimeDatabaseService.write("counters/matches", 100);
+
+        // Act
+        try {
+            new BulkImporter().importFile(bracketFile, null);
+        } finally {
+            Files.deleteIfExists(bracketFile);
+        }
+
+        // Assert - every link lands on the imported match that took the old one's place
+        List<Match> imported = new MatchDAO().getAllMatches();
+        assertEquals(bracket.size(), imported.size());
+        assertTrue(imported.stream().allMatch(m -> m.getId() > 100));
+        assertEquals(links(bracket), links(imported));
+    }
+
+    // "round -> next round" and "round -> loser round" for every link, which survive renumbering
+    private static List<String> links(List<Match> matches) {
+        Map<Integer, Match> byId = new HashMap<>();
+        matches.forEach(m -> byId.put(m.getId(), m));
+        List<String> links = new ArrayList<>();
+        for (Match match : matches) {
+            if (match.getNextMatchId() != null) {
+                links.add(match.getRound() + " -> " + byId.get(match.getNextMatchId()).getRound() + " " + match.getNextMatchSlot());
+            }
+            if (match.getLoserMatchId() != null) {
+                links.add(match.getRound() + " loser -> " + byId.get(match.getLoserMatchId()).getRound() + " " + match.getLoserMatchSlot());
+            }
+        }
+        links.sort(null);
+        return links;
+    }
+
+    @Test
+    @DisplayName("Test Import Batches Writes With Bounded Concurrency")
+    void testBackPressure() throws Exception {
+        // Arrange - a slow executor that records how many batches run at once
+        RealtimeDatabaseService.setBackend(EmbeddedBackend.inMemory());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Executor slow = task -> Thread.ofVirtual().start(() -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            task.run();
+        });
+        List<BulkImporter.Progress> progress = new ArrayList<>();
+
+        // Act
+        BulkImporter.Result result = new BulkImporter(2, 2, slow).importFile(file, p -> {
+            synchronized (progress) {
+                progress.add(p);
+            }
+        });
+
+        // Assert
+        assertEquals(9, result.totalRows());
+        assertEquals(5, result.batches(), "Nine entities in batches of two");
+        assertEquals(2, peak.get(), "Never more than two batches in flight");
+        assertEquals(6, new PlayerDAO().getAllPlayers().size());
+        BulkImporter.Progress last = progress.get(progress.size() - 1);
+        assertEquals(9, last.rowsWritten());
+        assertEquals(1.0, last.fileFraction(), 1e-9);
+    }
+}
@@ -0,0 +1,123 @@
+package com.esports.arena.service;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+import org.junit.jupiter.api.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CareerStatsRebuilderTest {
+
+    private static StorageBackend previousBackend;
+
+    @BeforeAll
+    static void setup() {
+        previousBackend = RealtimeDatabaseService.getBackend();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        RealtimeDatabaseService.setBackend(previousBackend);
+    }
+
+    @Test
+    @DisplayName("Test Rebuild Corrects Only Drifted Records")
+    void testRebuild() throws Exception {
+        // Arrange - player 1 and team 2 drifted, everyone else is correct
+        RealtimeDatabaseService.setBackend(EmbeddedBackend.inMemory());
+        RealtimeDatabaseService.write("players/1", player(1, 1, 99, 1));
+        RealtimeDatabaseService.write("players/2", player(2, 1, 4, 1));
+        RealtimeDatabaseService.write("players/3", player(3, 2, 2, 1));
+        RealtimeDatabaseService.write("teams/1", team(1, 1, 0));
+        RealtimeDatabaseService.write("teams/2", team(2, 0, 3));
+        Match completed = match(10, Match.MatchStatus.COMPLETED, 1, stats(10, 1, 5), stats(10, 2, 4), stats(10, 3, 2));
+        Match scheduled = match(11, Match.MatchStatus.SCHEDULED, null, stats(11, 1, 50));
+        RealtimeDatabaseService.write("matches/10", completed);
+        RealtimeDatabaseService.write("matches/11", scheduled);
+        CareerStatsRebuilder rebuilder = new CareerStatsRebuilder(new MatchDAO(), new PlayerDAO(), new TeamDAO(), new ForkJoinPool(2));
+
+        // Act
+        Map<String, Object> plan = rebuilder.plan();
+        CareerStatsRebuilder.Report report = rebuilder.rebuild();
+        CareerStatsRebuilder.Report again = rebuilder.rebuild();
+
+        // Assert
+        assertEquals(Map.of("players/1/totalKills", 5, "teams/2/losses", 1), plan, "Only drifted fields are written");
+        assertEquals(1, report.playersChanged());
+        assertEquals(1, report.teamsChanged());
+        assertEquals(1, report.requests());
+        assertEquals(5, new PlayerDAO().getPlayerById(1).getTotalKills(), "Scheduled match is not counted");
+        assertEquals("player1", new PlayerDAO().getPlayerById(1).getUsername());
+        assertEquals(1, new TeamDAO().getTeamById(2).getLosses());
+        assertEquals(0, again.requests(), "A clean view writes nothing");
+    }
+
+    @Test
+    @DisplayName("Test Sharded Aggregation Matches A Sequential Count")
+    void testAggregateShards() {
+        // Arrange - enough matches for many shards
+        List<Player> players = List.of(player(1, 1, 0, 0), player(2, 2, 0, 0));
+        List<Match> matches = new ArrayList<>();
+        for (int id = 1; id <= 10 * CareerStatsRebuilder.SHARD_SIZE + 7; id++) {
+            Integer winner = id % 3 == 0 ? null : id % 3 == 1 ? 1 : 2;
+            matches.add(match(id, Match.MatchStatus.COMPLETED, winner, stats(id, 1, 2), stats(id, 2, 1)));
+        }
+
+        // Act
+        CareerStatsRebuilder.Aggregates aggregates = CareerStatsRebuilder.aggregate(matches, players, new ForkJoinPool(4));
+
+        // Assert
+        int total = matches.size();
+        int draws = total / 3;
+        int team1Wins = (int) matches.stream().filter(m -> Integer.valueOf(1).equals(m.getWinnerId())).count();
+        assertEquals(2 * total, aggregates.players.get(1).kills);
+        assertEquals(total, aggregates.players.get(2).played);
+        assertEquals(team1Wins, aggregates.players.get(1).won);
+        assertEquals(team1Wins, aggregates.teams.get(1).wins);
+        assertEquals(team1Wins, aggregates.teams.get(2).losses);
+        assertEquals(draws, aggregates.teams.get(2).draws);
+    }
+
+    private static Player player(int id, int teamId, int kills, int played) {
+        Player player = new Player("player" + id, "Player " + id, "p" + id + "@test.com", "DPS");
+        player.setId(id);
+        player.setTeamId(teamId);
+        player.setTotalKills(kills);
+        player.setMatchesPlayed(played);
+        player.setMatchesWon(teamId == 1 ? played : 0);
+        return player;
+    }
+
+    private static Team team(int id, int wins, int losses) {
+        Team team = new Team("Team " + id, "T" + id, "EU");
+        team.setId(id);
+        team.setWins(wins);
+        team.setLosses(losses);
+        return team;
+    }
+
+    private static Match match(int id, Match.MatchStatus status, Integer winnerId, PlayerMatchStats... stats) {
+        Match match = new Match(1, 1, 2, LocalDateTime.of(2025, 3, 1, 18, 0), "Group");
+        match.setId(id);
+        match.setStatus(status);
+        match.setWinnerId(winnerId);
+        match.setPlayerStats(new ArrayList<>(List.of(stats)));
+        return match;
+    }
+
+    private static PlayerMatchStats stats(int matchId, int playerId, int kills) {
+        PlayerMatchStats stats = new PlayerMatchStats(matchId, playerId);
+        stats.setKills(kills);
+        return stats;
+    }
+}
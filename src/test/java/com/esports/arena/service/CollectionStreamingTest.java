@@ -0,0 +1,161 @@
+package com.esports.arena.service;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.support.LocalFirebaseServer;
+import org.junit.jupiter.api.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionStreamingTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Streaming Array-Shaped Collection")
+    void testStreamArrayCollection() throws Exception {
+        // Arrange - sequential ids come back as an array with a null hole at index 0 and 3
+        server.clear();
+        for (int id : new int[] {1, 2, 4, 5}) {
+            server.seed("matches/" + id, match(id));
+        }
+
+        // Act
+        Map<String, Match> streamed = new LinkedHashMap<>();
+        RealtimeDatabaseService.forEachInCollection("matches", Match.class, streamed::put);
+
+        // Assert
+        assertEquals(List.of("1", "2", "4", "5"), List.copyOf(streamed.keySet()));
+        assertEquals(4, streamed.get("4").getId());
+        assertEquals(2, streamed.get("4").getPlayerStats().size(), "Nested stats should be bound");
+        assertEquals(RealtimeDatabaseService.readCollection("matches", Match.class).keySet(), streamed.keySet());
+    }
+
+    @Test
+    @DisplayName("Test Streaming Object-Shaped Collection Lazily")
+    void testStreamObjectCollection() throws Exception {
+        // Arrange - sparse ids come back as an object
+        server.clear();
+        for (int id : new int[] {10, 200, 3000}) {
+            server.seed("matches/" + id, match(id));
+        }
+
+        // Act
+        List<Integer> firstTwo;
+        try (Stream<Map.Entry<String, Match>> entries = RealtimeDatabaseService.streamCollection("matches", Match.class)) {
+            firstTwo = entries.limit(2).map(e -> e.getValue().getId()).collect(Collectors.toList());
+        }
+        List<Integer> all = new ArrayList<>();
+        RealtimeDatabaseService.forEachInCollection("matches", Match.class, (key, m) -> all.add(m.getId()));
+
+        // Assert
+        assertEquals(2, firstTwo.size());
+        assertEquals(3, all.size());
+        assertTrue(all.containsAll(List.of(10, 200, 3000)));
+    }
+
+    @Test
+    @DisplayName("Test Streaming Missing Collection")
+    void testStreamMissingCollection() throws Exception {
+        server.clear();
+        List<Match> seen = new ArrayList<>();
+        RealtimeDatabaseService.forEachInCollection("matches", Match.class, (key, m) -> seen.add(m));
+        assertTrue(seen.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test Failed Stream Start Releases The Response")
+    void testStreamStartFailureCloses() {
+        // Arrange - the connection resets before the first token
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream reset = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        StorageBackend previous = RealtimeDatabaseService.getBackend();
+        RealtimeDatabaseService.setBackend(new FirebaseBackend(server.getUrl(), null) {
+            @Override
+            public InputStream openStream(String path) {
+                return reset;
+            }
+        });
+
+        // Act & Assert
+        try {
+            assertThrows(IOException.class, () -> RealtimeDatabaseService.streamCollection("matches", Match.class));
+            assertTrue(closed.get(), "The response stream is closed when parsing cannot start");
+        } finally {
+            RealtimeDatabaseService.setBackend(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Reading A Collection Page By Page")
+    void testForEachPage() throws Exception {
+        // Arrange - ids 1..25 plus 100, so pages cross from "9" to "10" and from "25" to "100"
+        server.clear();
+        for (int id = 1; id <= 25; id++) {
+            server.seed("matches/" + id, match(id));
+        }
+        server.seed("matches/100", match(100));
+        server.resetRequestCount();
+
+        // Act
+        List<Integer> pageSizes = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        RealtimeDatabaseService.forEachPage("matches", 10, Match.class, page -> {
+            pageSizes.add(page.size());
+            page.values().forEach(m -> ids.add(m.getId()));
+        });
+
+        // Assert
+        assertEquals(List.of(10, 10, 6), pageSizes);
+        assertEquals(26, ids.size());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids, "Pages follow key order, 9 before 10");
+        assertEquals(Integer.valueOf(100), ids.get(25));
+        assertEquals(3, server.getRequestCount(), "One request per page");
+    }
+
+    private static Match match(int id) {
+        Match match = new Match(1, 1, 2, LocalDateTime.of(2025, 3, 1, 18, 0), "Final");
+        match.setId(id);
+        match.getPlayerStats().add(new PlayerMatchStats(id, 1));
+        match.getPlayerStats().add(new PlayerMatchStats(id, 2));
+        return match;
+    }
+}
@@ -0,0 +1,56 @@
+package com.esports.arena.service;
+
+import com.esports.arena.model.Match;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseQueryTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("Test Query String Encoding")
+    void testQueryString() {
+        assertEquals("orderBy=%22teamId%22&equalTo=5",
+                DatabaseQuery.orderByChild("teamId").equalTo(5).toQueryString());
+        assertEquals("orderBy=%22status%22&equalTo=%22COMPLETED%22",
+                DatabaseQuery.orderByChild("status").equalTo(Match.MatchStatus.COMPLETED).toQueryString());
+        assertEquals("orderBy=%22%24key%22&startAt=%2210%22&limitToFirst=2",
+                DatabaseQuery.orderByKey().startAt("10").limitToFirst(2).toQueryString());
+    }
+
+    @Test
+    @DisplayName("Test Local Fallback Filtering")
+    void testApplyLocally() throws Exception {
+        // Arrange - Firebase returns sequential numeric keys as an array with null holes
+        JsonNode players = MAPPER.readTree("[null,"
+                + "{\"id\":1,\"teamId\":3,\"username\":\"c\"},"
+                + "{\"id\":2,\"teamId\":4,\"username\":\"a\"},"
+                + "{\"id\":3,\"teamId\":3,\"username\":\"b\"},"
+                + "{\"id\":4,\"username\":\"d\"}]");
+
+        // Act
+        Map<String, JsonNode> byTeam = DatabaseQuery.orderByChild("teamId").equalTo(3).applyLocally(players);
+        Map<String, JsonNode> range = DatabaseQuery.orderByChild("username").startAt("b").limitToLast(2).applyLocally(players);
+
+        // Assert
+        assertEquals(List.of("1", "3"), List.copyOf(byTeam.keySet()));
+        assertEquals(List.of("1", "4"), List.copyOf(range.keySet()), "Sorted b,c,d then last two");
+    }
+
+    @Test
+    @DisplayName("Test Key Order Puts Integer Keys First")
+    void testKeyOrder() throws Exception {
+        JsonNode collection = MAPPER.readTree("{\"10\":1,\"9\":2,\"alpha\":3,\"100\":4,\"2\":5}");
+
+        Map<String, JsonNode> page = DatabaseQuery.orderByKey().startAt("9").limitToFirst(3).applyLocally(collection);
+
+        assertEquals(List.of("9", "10", "100"), List.copyOf(page.keySet()), "Numeric, not lexicographic, order");
+        assertTrue(DatabaseQuery.KEY_ORDER.compare("100", "alpha") < 0);
+    }
+}
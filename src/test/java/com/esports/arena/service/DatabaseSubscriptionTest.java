@@ -0,0 +1,166 @@
+package com.esports.arena.service;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.support.LocalFirebaseServer;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseSubscriptionTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+
+    // One entry per callback: "reset:<size>", "changed:<key>:<status>" or "removed:<key>"
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Live Collection Receives Deltas")
+    void testLiveCollectionDeltas() throws Exception {
+        // Arrange
+        server.clear();
+        server.seed("matches/1", match(1));
+        server.seed("matches/2", match(2));
+
+        try (LiveCollection<Match> live = new LiveCollection<>("matches", Match.class, recorder()).start()) {
+            assertEquals("reset:2", next(), "Initial snapshot should arrive as a reset");
+
+            // Act + Assert - field patch on one match
+            RealtimeDatabaseService.patch("matches/1", Map.of("status", "LIVE"));
+            assertEquals("changed:1:LIVE", next());
+
+            // nested put below a child
+            RealtimeDatabaseService.write("matches/2/status", "COMPLETED");
+            assertEquals("changed:2:COMPLETED", next());
+
+            // new child, then removal
+            RealtimeDatabaseService.write("matches/3", match(3));
+            assertEquals("changed:3:SCHEDULED", next());
+            RealtimeDatabaseService.delete("matches/2");
+            assertEquals("removed:2", next());
+
+            // multi-location patch at the collection root touches two children
+            RealtimeDatabaseService.patch("matches", Map.of("1/team1Score", 2, "3/status", "CANCELLED"));
+            String first = next();
+            String second = next();
+            assertTrue((first + second).contains("changed:1:LIVE") && (first + second).contains("changed:3:CANCELLED"));
+            assertEquals(2, live.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Seeded Live Collection Catches Up With Deltas")
+    void testSeededCatchUp() throws Exception {
+        // Arrange - a snapshot saved before match 2 completed, match 3 was added and match 4 deleted
+        Path file = Files.createTempFile("arena-snapshot", ".bin");
+        server.clear();
+        server.seed("matches/1", match(1));
+        server.seed("matches/2", match(2));
+        server.seed("matches/4", match(4));
+        ObjectNode teams = JsonNodeFactory.instance.objectNode().put("7", "kept");
+        BinarySnapshot.write(file, Map.of("matches", server.get("matches"), "teams", teams));
+        Match completed = match(2);
+        completed.setStatus(Match.MatchStatus.COMPLETED);
+        server.seed("matches/2", completed);
+        server.seed("matches/3", match(3));
+        RealtimeDatabaseService.delete("matches/4");
+        SnapshotStore store = new SnapshotStore(file);
+
+        try (LiveCollection<Match> live = store.attach(new LiveCollection<>("matches", Match.class, recorder()))) {
+            // Act
+            String seeded = next();
+            live.start();
+
+            // Assert - the snapshot shows at once, the stream then only reports differences
+            assertEquals("reset:3", seeded);
+            assertEquals("removed:4", next());
+            assertEquals("changed:2:COMPLETED", next());
+            assertEquals("changed:3:SCHEDULED", next());
+            assertNull(events.poll(200, TimeUnit.MILLISECONDS), "Unchanged match 1 is not reported");
+
+            assertTrue(store.save());
+            BinarySnapshot reopened = BinarySnapshot.open(store.getCurrentFile());
+            assertEquals(3, reopened.size("matches"));
+            assertEquals(Match.MatchStatus.COMPLETED, reopened.read("matches", Match.class).get("2").getStatus());
+            assertEquals("kept", reopened.read("teams").get("7").asText(), "Collections not opened are carried over");
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(store.getCurrentFile());
+        }
+    }
+
+    @Test
+    @DisplayName("Test Closing Subscription Releases Stream")
+    void testCloseSubscription() throws Exception {
+        server.clear();
+        DatabaseSubscription subscription = RealtimeDatabaseService.subscribe("teams", new DatabaseEventListener() {
+            @Override
+            public void onPut(String path, com.fasterxml.jackson.databind.JsonNode data) {
+                events.add("put:" + path);
+            }
+
+            @Override
+            public void onPatch(String path, com.fasterxml.jackson.databind.JsonNode data) {
+                events.add("patch:" + path);
+            }
+        });
+        assertEquals("put:/", next());
+
+        subscription.close();
+
+        assertTrue(subscription.isClosed());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.getOpenStreamCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, server.getOpenStreamCount(), "Server should see the stream disconnect");
+    }
+
+    private LiveCollection.Listener<Match> recorder() {
+        return new LiveCollection.Listener<>() {
+            @Override
+            public void onReset(Map<String, Match> items) {
+                events.add("reset:" + items.size());
+            }
+
+            @Override
+            public void onChanged(String key, Match value) {
+                events.add(value == null ? "removed:" + key : "changed:" + key + ":" + value.getStatus());
+            }
+        };
+    }
+
+    private String next() throws InterruptedException {
+        String event = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "Timed out waiting for a stream event");
+        return event;
+    }
+
+    private static Match match(int id) {
+        Match match = new Match(1, 1, 2, LocalDateTime.of(2025, 3, 1, 18, 0), "Final");
+        match.setId(id);
+        return match;
+    }
+}
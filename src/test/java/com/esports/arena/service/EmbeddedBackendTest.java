@@ -0,0 +1,194 @@
+package com.esports.arena.service;
+
+import com.esports.arena.dao.LeaderVoteDAO;
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.Team;
+import org.junit.jupiter.api.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmbeddedBackendTest {
+
+    private static StorageBackend previousBackend;
+    private Path dataFile;
+
+    @BeforeAll
+    static void setup() {
+        previousBackend = RealtimeDatabaseService.getBackend();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        RealtimeDatabaseService.setBackend(previousBackend);
+    }
+
+    @BeforeEach
+    void createFile() throws Exception {
+        dataFile = Files.createTempFile("arena-test", ".log");
+    }
+
+    @AfterEach
+    void deleteFile() throws Exception {
+        Files.deleteIfExists(dataFile);
+    }
+
+    @Test
+    @DisplayName("Test DAOs Run On The Embedded Backend")
+    void testDaosOffline() {
+        // Arrange
+        RealtimeDatabaseService.setBackend(EmbeddedBackend.inMemory());
+        PlayerDAO playerDAO = new PlayerDAO();
+        TeamDAO teamDAO = new TeamDAO();
+        MatchDAO matchDAO = new MatchDAO();
+        LeaderVoteDAO voteDAO = new LeaderVoteDAO();
+
+        // Act
+        int teamId = teamDAO.createTeam(new Team("Offline", "OFF", "LAN"));
+        for (int i = 1; i <= 3; i++) {
+            Player player = new Player("lan" + i, "LAN Player " + i, "lan" + i + "@arena.test", "DPS");
+            player.setTeamId(teamId);
+            playerDAO.createPlayer(player);
+        }
+        playerDAO.createPlayer(new Player("solo", "Solo", "solo@arena.test", "Support"));
+        Match match = new Match(1, teamId, teamId + 1, LocalDateTime.of(2025, 3, 1, 18, 0), "Final");
+        int matchId = matchDAO.createMatch(match);
+        assertTrue(matchDAO.updatePlayerStats(matchId, 2, 10, 1, 3));
+        assertTrue(voteDAO.castVote(teamId, 1, 2));
+        assertTrue(voteDAO.castVote(teamId, 3, 2));
+
+        // Assert
+        assertEquals(3, playerDAO.getPlayersByTeam(teamId).size(), "Child query answered from the index");
+        assertEquals(3, teamDAO.getTeamById(teamId).getPlayers().size());
+        assertEquals(10, matchDAO.getPlayerStatsByMatch(matchId).get(0).getKills());
+        assertEquals(1, matchDAO.getMatchesByTournament(1).size());
+        assertEquals(Map.of(2, 2), voteDAO.getVoteCounts(teamId), "List-shaped nodes read back as arrays");
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Increments Are All Counted And Replayed")
+    void testIncrements() throws Exception {
+        // Arrange
+        EmbeddedBackend backend = EmbeddedBackend.open(dataFile);
+        RealtimeDatabaseService.setBackend(backend);
+        PlayerDAO playerDAO = new PlayerDAO();
+        TeamDAO teamDAO = new TeamDAO();
+        int playerId = playerDAO.createPlayer(new Player("grinder", "Grinder", "grinder@arena.test", "DPS"));
+        int teamId = teamDAO.createTeam(new Team("Counters", "CNT", "LAN"));
+
+        // Act - no read-modify-write, so no update can overwrite another
+        Thread[] organizers = new Thread[8];
+        for (int i = 0; i < organizers.length; i++) {
+            organizers[i] = new Thread(() -> {
+                for (int round = 0; round < 25; round++) {
+                    playerDAO.updatePlayerStats(playerId, 2, 1, 3, round % 2 == 0);
+                    teamDAO.updateTeamRecord(teamId, true, false);
+                }
+            });
+            organizers[i].start();
+        }
+        for (Thread organizer : organizers) {
+            organizer.join();
+        }
+        backend.close();
+        RealtimeDatabaseService.setBackend(EmbeddedBackend.open(dataFile));
+
+        // Assert - the log holds resolved values, so a reopen sees the same totals
+        Player player = playerDAO.getPlayerById(playerId);
+        assertEquals(400, player.getTotalKills());
+        assertEquals(200, player.getMatchesPlayed());
+        assertEquals(104, player.getMatchesWon());
+        assertEquals(200, teamDAO.getTeamById(teamId).getWins());
+        assertEquals("Grinder", player.getRealName(), "Untouched fields survive");
+        assertFalse(Files.readString(dataFile).contains(".sv"));
+    }
+
+    @Test
+    @DisplayName("Test Log Replays After Reopen")
+    void testReplay() throws Exception {
+        // Arrange
+        EmbeddedBackend backend = EmbeddedBackend.open(dataFile);
+        backend.put("teams/1", "{\"id\":1,\"name\":\"A\",\"wins\":1}");
+        backend.patch("", "{\"teams/1/wins\":2,\"teams/2\":{\"id\":2,\"name\":\"B\"}}");
+        backend.delete("teams/2");
+        assertEquals(1, backend.reserveIds("counters/teams", 5));
+        backend.close();
+        // Simulate a crash halfway through the next append
+        Files.writeString(dataFile, "{\"op\":\"put\",\"path\":\"teams/3\",\"da", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // Act
+        EmbeddedBackend reopened = EmbeddedBackend.open(dataFile);
+
+        // Assert
+        assertEquals("{\"id\":1,\"name\":\"A\",\"wins\":2}", reopened.get("teams/1", null));
+        assertEquals("null", reopened.get("teams/2", null));
+        assertEquals("5", reopened.get("counters/teams", null));
+        assertEquals(10, reopened.reserveIds("counters/teams", 5) + 4);
+        reopened.compact();
+        assertEquals(1, Files.readAllLines(dataFile).size(), "Compaction leaves a single snapshot line");
+        reopened.close();
+
+        EmbeddedBackend compacted = EmbeddedBackend.open(dataFile);
+        assertEquals("10", compacted.get("counters/teams", null));
+        assertEquals("null", compacted.get("teams/3", null), "Torn entry must not be applied");
+        compacted.close();
+    }
+
+    @Test
+    @DisplayName("Test Sequential Keys Render As Arrays")
+    void testArrayRendering() throws Exception {
+        EmbeddedBackend backend = EmbeddedBackend.inMemory();
+        backend.put("leader_votes/4", "[{\"id\":1},{\"id\":2}]");
+        backend.put("players", "{\"1\":{\"teamId\":4},\"2\":{\"teamId\":5},\"3\":{\"teamId\":4}}");
+
+        assertEquals("[{\"id\":1},{\"id\":2}]", backend.get("leader_votes/4", null));
+        assertEquals("[null,{\"teamId\":4},{\"teamId\":5},{\"teamId\":4}]", backend.get("players", null));
+        assertEquals("{\"1\":{\"teamId\":4},\"3\":{\"teamId\":4}}",
+                backend.get("players", DatabaseQuery.orderByChild("teamId").equalTo(4)));
+
+        // The index follows writes inside the collection
+        backend.patch("players/3", "{\"teamId\":5}");
+        assertEquals("{\"1\":{\"teamId\":4}}", backend.get("players", DatabaseQuery.orderByChild("teamId").equalTo(4)));
+        backend.close();
+    }
+
+    @Test
+    @DisplayName("Test Live Collection Works Offline")
+    void testSubscription() throws Exception {
+        RealtimeDatabaseService.setBackend(EmbeddedBackend.inMemory());
+        BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        RealtimeDatabaseService.write("matches/1", new Match(1, 1, 2, LocalDateTime.of(2025, 3, 1, 18, 0), "Final"));
+
+        try (LiveCollection<Match> live = new LiveCollection<>("matches", Match.class, new LiveCollection.Listener<>() {
+            @Override
+            public void onReset(Map<String, Match> items) {
+                events.add("reset:" + items.size());
+            }
+
+            @Override
+            public void onChanged(String key, Match value) {
+                events.add(value == null ? "removed:" + key : "changed:" + key + ":" + value.getStatus());
+            }
+        }).start()) {
+            assertEquals("reset:1", events.poll(5, TimeUnit.SECONDS));
+            RealtimeDatabaseService.patch("matches/1", Map.of("status", "LIVE"));
+            assertEquals("changed:1:LIVE", events.poll(5, TimeUnit.SECONDS));
+            RealtimeDatabaseService.updateMultiPath(Map.of("matches/1/status", "COMPLETED"));
+            assertEquals("changed:1:COMPLETED", events.poll(5, TimeUnit.SECONDS));
+            RealtimeDatabaseService.delete("matches/1");
+            assertEquals("removed:1", events.poll(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.esports.arena.service;
+
+import org.junit.jupiter.api.*;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityCacheTest {
+
+    @Test
+    @DisplayName("Test Hit And Miss Counters")
+    void testHitAndMiss() {
+        EntityCache cache = new EntityCache(10, Duration.ofMinutes(1));
+
+        assertNull(cache.get("players"));
+        cache.put("players", "{}");
+        assertEquals("{}", cache.get("players"));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Test LRU Eviction")
+    void testLruEviction() {
+        EntityCache cache = new EntityCache(2, Duration.ofMinutes(1));
+        cache.put("players/1", "a");
+        cache.put("players/2", "b");
+        cache.get("players/1"); // players/2 is now least recently used
+        cache.put("players/3", "c");
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("players/2"));
+        assertNotNull(cache.get("players/1"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Test Per-Collection TTL")
+    void testCollectionTtl() throws Exception {
+        EntityCache cache = new EntityCache(10, Duration.ofMinutes(1))
+                .withCollectionTtl("counters", Duration.ZERO)
+                .withCollectionTtl("matches", Duration.ofMillis(20));
+
+        cache.put("counters/players", "5");
+        cache.put("matches/1", "{}");
+        assertNull(cache.get("counters/players"), "Zero TTL collections are never cached");
+        assertNotNull(cache.get("matches/1"));
+
+        Thread.sleep(40);
+        assertNull(cache.get("matches/1"), "Entry should expire after its TTL");
+    }
+
+    @Test
+    @DisplayName("Test Write-Through Invalidation")
+    void testInvalidation() {
+        EntityCache cache = new EntityCache(10, Duration.ofMinutes(1));
+        cache.put("players", "[]");
+        cache.put("players/1", "{}");
+        cache.put("players/1/stats", "{}");
+        cache.put("players/12", "{}");
+        cache.put("teams", "[]");
+
+        cache.invalidate("players/1");
+
+        assertNull(cache.get("players"), "Parent collection must be invalidated");
+        assertNull(cache.get("players/1"));
+        assertNull(cache.get("players/1/stats"), "Children must be invalidated");
+        assertNotNull(cache.get("players/12"), "Sibling with a shared prefix must survive");
+        assertNotNull(cache.get("teams"));
+    }
+
+    @Test
+    @DisplayName("Test Stale Read Is Not Cached")
+    void testRacingWrite() {
+        EntityCache cache = new EntityCache(10, Duration.ofMinutes(1));
+        long readGeneration = cache.generation();
+        cache.invalidate("players/1");
+        cache.put("players/1", "stale", readGeneration);
+
+        assertNull(cache.get("players/1"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.esports.arena.service;
+
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.Team;
+import com.esports.arena.support.LocalFirebaseServer;
+import org.junit.jupiter.api.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FirebaseBackendTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Compressed Responses Are Decoded")
+    void testGzipResponses() throws Exception {
+        // Arrange
+        server.clear();
+        for (int id = 1; id <= 50; id++) {
+            server.seed("players/" + id, player(id, 1));
+        }
+        server.resetRequestCount();
+
+        // Act
+        Map<String, Player> read = RealtimeDatabaseService.readCollection("players", Player.class);
+        Map<String, Player> streamed = new HashMap<>();
+        RealtimeDatabaseService.forEachInCollection("players", Player.class, streamed::put);
+        Player single = RealtimeDatabaseService.readAsync("players/7", Player.class).join();
+        RealtimeDatabaseService.write("players/51", player(51, 1));
+
+        // Assert
+        assertEquals(50, read.size());
+        assertEquals("player50", read.get("50").getUsername());
+        assertEquals(read.keySet(), streamed.keySet(), "Streamed reads are inflated too");
+        assertEquals("player7", single.getUsername());
+        assertEquals(3, server.getGzipResponseCount(), "Both collection reads and the single player came compressed");
+        assertEquals("player51", RealtimeDatabaseService.read("players/51", Player.class).getUsername(),
+                "Silent writes are still applied");
+    }
+
+    @Test
+    @DisplayName("Test Async Reads Are In Flight Together")
+    void testConcurrentReads() throws Exception {
+        // Arrange - a transport that holds every read until four are in flight
+        server.clear();
+        for (int id = 1; id <= 6; id++) {
+            server.seed("players/" + id, player(id, id <= 3 ? 1 : 2));
+        }
+        server.seed("teams/1", team(1));
+        server.seed("teams/2", team(2));
+        StorageBackend previous = RealtimeDatabaseService.getBackend();
+        CountDownLatch allStarted = new CountDownLatch(4);
+        RealtimeDatabaseService.setBackend(new FirebaseBackend(server.getUrl(), null) {
+            @Override
+            public CompletableFuture<String> getAsync(String path, DatabaseQuery query) {
+                allStarted.countDown();
+                return CompletableFuture.runAsync(() -> {
+                    try {
+                        // Completes only once all four reads have been issued
+                        allStarted.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }).thenCompose(ignored -> super.getAsync(path, query));
+            }
+        });
+
+        try {
+            // Act
+            TeamDAO teamDAO = new TeamDAO();
+            CompletableFuture<Team> team1 = teamDAO.getTeamByIdAsync(1);
+            CompletableFuture<Team> team2 = teamDAO.getTeamByIdAsync(2);
+            boolean overlapped = allStarted.await(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertTrue(overlapped, "Both teams and both rosters should be requested before any answer");
+            assertEquals("Team 1", team1.join().getName());
+            assertEquals(List.of("player4", "player5", "player6"),
+                    team2.join().getPlayers().stream().map(Player::getUsername).toList());
+        } finally {
+            RealtimeDatabaseService.setBackend(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Async Read Of A Missing Team")
+    void testMissingTeamAsync() {
+        server.clear();
+        assertNull(new TeamDAO().getTeamByIdAsync(99).join());
+    }
+
+    private static Player player(int id, int teamId) {
+        Player player = new Player("player" + id, "Player " + id, "p" + id + "@test.com", "DPS");
+        player.setId(id);
+        player.setTeamId(teamId);
+        return player;
+    }
+
+    private static Team team(int id) {
+        Team team = new Team("Team " + id, "T" + id, "EU");
+        team.setId(id);
+        return team;
+    }
+}
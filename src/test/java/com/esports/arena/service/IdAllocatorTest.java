@@ -0,0 +1,90 @@
+package com.esports.arena.service;
+
+import com.esports.arena.support.LocalFirebaseServer;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdAllocatorTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Blocks Grow And Continue The Counter")
+    void testBlockGrowth() throws Exception {
+        server.clear();
+        server.seed("counters/teams", 41);
+        IdAllocator allocator = new IdAllocator("counters/teams");
+
+        assertEquals(42, allocator.next(), "First id continues from the stored counter");
+        for (int i = 1; i < IdAllocator.INITIAL_BLOCK; i++) {
+            allocator.next();
+        }
+        assertEquals(1, allocator.getRefillCount());
+        assertEquals(41 + IdAllocator.INITIAL_BLOCK, server.get("counters/teams").asLong());
+
+        allocator.next();
+        assertEquals(2, allocator.getRefillCount());
+        assertEquals(41 + 3L * IdAllocator.INITIAL_BLOCK, server.get("counters/teams").asLong(), "Second block is twice as large");
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Clients Never Share Ids")
+    void testConcurrentAllocation() throws Exception {
+        // Arrange - two allocators on one counter stand in for two app instances
+        server.clear();
+        IdAllocator clientA = new IdAllocator("counters/players");
+        IdAllocator clientB = new IdAllocator("counters/players");
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 500;
+        server.resetRequestCount();
+
+        // Act
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            IdAllocator allocator = t % 2 == 0 ? clientA : clientB;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    assertTrue(seen.add(allocator.next()), "Duplicate id handed out");
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(threads * perThread, seen.size());
+        long maxId = seen.stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertTrue(server.get("counters/players").asLong() >= maxId, "Counter must cover every issued id");
+        long refills = clientA.getRefillCount() + clientB.getRefillCount();
+        assertTrue(refills < 20, "Expected a few block reservations, got " + refills);
+        System.out.println(threads * perThread + " ids with " + refills + " reservations, "
+                + server.getRequestCount() + " requests (" + server.getRequestCount("PUT") + " compare-and-set writes)");
+    }
+}
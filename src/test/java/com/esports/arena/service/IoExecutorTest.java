@@ -0,0 +1,80 @@
+package com.esports.arena.service;
+
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IoExecutorTest {
+
+    @Test
+    @DisplayName("Test Tasks Run On Virtual Threads")
+    void testVirtualThreads() throws Exception {
+        try (IoExecutor io = new IoExecutor(4)) {
+            boolean virtual = CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), io)
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue(virtual);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Permits Cap Requests In Flight")
+    void testLimiter() throws Exception {
+        // Arrange
+        IoExecutor io = new IoExecutor(3);
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return io.withPermit(() -> {
+                        peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                        Thread.sleep(5);
+                        current.decrementAndGet();
+                        return 1;
+                    });
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, io));
+        }
+        int done = 0;
+        for (CompletableFuture<Integer> future : futures) {
+            done += future.get(10, TimeUnit.SECONDS);
+        }
+        io.close();
+
+        // Assert
+        assertEquals(50, done);
+        assertTrue(peak.get() <= 3, "At most 3 requests at once, saw " + peak.get());
+        assertEquals(0, io.getInFlight(), "Permits are returned after each request");
+        assertTrue(io.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> io.execute(() -> { }));
+    }
+
+    @Test
+    @DisplayName("Test Failed Request Releases Its Permit")
+    void testPermitReleasedOnFailure() throws Exception {
+        try (IoExecutor io = new IoExecutor(1)) {
+            assertThrows(IllegalStateException.class, () -> io.withPermit(() -> {
+                throw new IllegalStateException("HTTP 500");
+            }));
+            assertEquals("ok", io.withPermit(() -> "ok"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test Shared Instance Has A Positive Limit")
+    void testShared() {
+        assertSame(IoExecutor.shared(), IoExecutor.shared());
+        assertTrue(IoExecutor.shared().getMaxInFlight() > 0);
+    }
+}
@@ -0,0 +1,118 @@
+package com.esports.arena.service;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+import com.esports.arena.support.LocalFirebaseServer;
+import org.junit.jupiter.api.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonExportImportServiceTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+    private Path dir;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @BeforeEach
+    void createDir() throws Exception {
+        dir = Files.createTempDirectory("arena-export");
+    }
+
+    @AfterEach
+    void deleteDir() throws Exception {
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    @DisplayName("Test Streaming Export Round Trip")
+    void testExportDatabase() throws Exception {
+        // Arrange
+        server.clear();
+        for (int id = 1; id <= 250; id++) {
+            Player player = new Player("player" + id, "Player " + id, "p" + id + "@test.com", "DPS");
+            player.setId(id);
+            server.seed("players/" + id, player);
+        }
+        Team team = new Team("Exporters", "EXP", "EU");
+        team.setId(1);
+        server.seed("teams/1", team);
+        for (int id = 1; id <= 40; id++) {
+            Match match = new Match(1, 1, 2, LocalDateTime.of(2025, 3, 1, 18, 0), "Group");
+            match.setId(id);
+            match.getPlayerStats().add(new PlayerMatchStats(id, 3));
+            server.seed("matches/" + id, match);
+        }
+        JsonExportImportService service = new JsonExportImportService();
+        List<String> progress = new ArrayList<>();
+        server.resetRequestCount();
+
+        // Act
+        Path plain = dir.resolve("season.json");
+        Path packed = dir.resolve("season.json.gz");
+        JsonExportImportService.ExportResult result = service.exportDatabase(plain,
+                new JsonExportImportService.ExportOptions(false, false, 100), (collection, rows) -> progress.add(collection + ":" + rows));
+        long requests = server.getRequestCount();
+        JsonExportImportService.ExportResult compressed = service.exportDatabase(packed,
+                JsonExportImportService.ExportOptions.forFile(packed.toString()), null);
+        JsonExportImportService.ExportData imported = service.importAllDataAsync(packed.toString()).join();
+
+        // Assert
+        assertEquals(Map.of("players", 250, "teams", 1, "tournaments", 0, "matches", 40), result.rows());
+        assertEquals(List.of("players:100", "players:200", "players:250", "teams:1", "matches:40"), progress);
+        assertEquals(6, requests, "Three player pages, then one page per other collection");
+        assertEquals(Files.size(plain), result.bytes());
+        assertTrue(compressed.bytes() * 5 < result.bytes(), "Compact gzip should be far smaller");
+        assertEquals(250, imported.getPlayers().size());
+        assertEquals("player250", imported.getPlayers().get(249).getUsername(), "Players stay in id order");
+        assertEquals(1, imported.getMatches().get(0).getPlayerStats().size(), "Stats stay embedded in matches");
+        assertTrue(imported.getTournaments().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test Failed Export Leaves The Previous File")
+    void testFailedExportKeepsTarget() throws Exception {
+        Path target = dir.resolve("season.json");
+        Files.writeString(target, "previous");
+        RealtimeDatabaseService.setDatabaseUrl("http://127.0.0.1:1/");
+        try {
+            assertThrows(Exception.class, () -> new JsonExportImportService().exportDatabase(target,
+                    JsonExportImportService.ExportOptions.defaults(), null));
+        } finally {
+            RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        }
+        assertEquals("previous", Files.readString(target));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count(), "The partial file is removed");
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.esports.arena.service;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.Team;
+import com.esports.arena.support.LocalFirebaseServer;
+import org.junit.jupiter.api.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardServiceTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @BeforeEach
+    void seed() {
+        server.clear();
+        for (int id = 1; id <= 4; id++) {
+            Team team = new Team("Team " + id, "T" + id, "EU");
+            team.setId(id);
+            team.setWins(id == 4 ? 10 : 0);
+            server.seed("teams/" + id, team);
+            Player player = new Player("player" + id, "Player " + id, "p" + id + "@test.com", "DPS");
+            player.setId(id);
+            player.setTeamId(id);
+            server.seed("players/" + id, player);
+        }
+        // Tournament 1: team 1 beat team 2 twice, team 3 drew team 2; team 4 only plays in tournament 2
+        server.seed("matches/1", match(1, 1, 1, 2, 1));
+        server.seed("matches/2", match(2, 1, 1, 2, 1));
+        server.seed("matches/3", match(3, 1, 3, 2, null));
+        server.seed("matches/4", match(4, 2, 4, 1, 4));
+        Match scheduled = new Match(1, 3, 1, LocalDateTime.of(2025, 3, 2, 18, 0), "Final");
+        scheduled.setId(5);
+        server.seed("matches/5", scheduled);
+        server.seed("counters/playerMatchStats", 0);
+    }
+
+    private static Match match(int id, int tournamentId, int team1, int team2, Integer winner) {
+        Match match = new Match(tournamentId, team1, team2, LocalDateTime.of(2025, 3, 1, 18, 0), "Group");
+        match.setId(id);
+        match.setStatus(Match.MatchStatus.COMPLETED);
+        match.setWinnerId(winner);
+        return match;
+    }
+
+    @Test
+    @DisplayName("Test Tournament Board From Completed Matches")
+    void testTournamentBoard() {
+        LeaderboardService service = new LeaderboardService(new TeamDAO(), new MatchDAO());
+
+        List<Team> board = service.getStandings(1);
+
+        assertEquals(List.of(1, 3, 2), board.stream().map(Team::getId).toList(), "Only teams that played, in leaderboard order");
+        assertEquals(2, board.get(0).getWins());
+        assertEquals(2, board.get(2).getLosses());
+        assertEquals(1, board.get(2).getDraws());
+        assertEquals(-1, service.getRank(1, 4));
+        assertEquals(1, service.getRank(null, 4), "Overall board uses the teams' own records");
+        assertEquals(List.of(4), service.getTop(null, 1).stream().map(Team::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Test Finalized Match Re-Ranks Without Reloading")
+    void testIncrementalUpdate() {
+        // Arrange
+        LeaderboardService service = new LeaderboardService(new TeamDAO(), new MatchDAO());
+        MatchFinalizationService finalization = new MatchFinalizationService(new MatchDAO(), new PlayerDAO(), new TeamDAO(), service);
+        assertEquals(2, service.getRank(1, 3));
+        assertEquals(4, service.getRank(null, 3));
+
+        // Act - team 3 wins the scheduled match against team 1
+        assertTrue(finalization.finalizeMatch(5, 3, 0, List.of(new MatchFinalizationService.PlayerResult(3, 5, 0, 0))));
+        server.resetRequestCount();
+        int tournamentRank = service.getRank(1, 3);
+        int overallRank = service.getRank(null, 3);
+        List<Team> board = service.getStandings(1);
+
+        // Assert
+        assertEquals(0, server.getRequestCount(), "Ranks are served from memory after finalization");
+        assertEquals(2, tournamentRank, "1 win 1 draw still trails 2 wins");
+        assertEquals(1, board.get(0).getId());
+        assertEquals(2, board.get(0).getWins());
+        assertEquals(1, board.get(0).getLosses());
+        assertEquals(1, board.get(1).getWins());
+        assertEquals(2, overallRank, "Team 3's first win moves it above the winless teams");
+
+        // Finalizing again must not count the match twice
+        assertTrue(finalization.finalizeMatch(5, 3, 0, List.of()));
+        assertEquals(1, service.getStandings(1).get(1).getWins());
+
+        // reload() rebuilds from the database with the same result
+        service.reload();
+        assertEquals(board.stream().map(Team::getId).toList(), service.getStandings(1).stream().map(Team::getId).toList());
+        assertEquals(1, service.getStandings(1).get(1).getWins());
+    }
+
+    @Test
+    @DisplayName("Test Invalidated Tournament Board Picks Up Results From Elsewhere")
+    void testInvalidateTournament() {
+        // Arrange
+        LeaderboardService service = new LeaderboardService(new TeamDAO(), new MatchDAO());
+        assertEquals(2, service.getRank(1, 3));
+
+        // Act - another machine finalizes the scheduled match, team 3 beating team 1
+        server.seed("matches/5", match(5, 1, 3, 1, 3));
+        int cached = service.getRank(1, 3);
+        service.invalidateTournament(1);
+
+        // Assert
+        assertEquals(2, cached, "Not seen until the board is dropped");
+        assertEquals(1, service.getStandings(1).get(1).getWins());
+        assertEquals(1, service.getStandings(1).get(0).getLosses(), "Team 1's loss is counted");
+    }
+
+    @Test
+    @DisplayName("Test Team Events Update The Overall Board")
+    void testTeamEvents() {
+        LeaderboardService service = new LeaderboardService(new TeamDAO(), new MatchDAO());
+        Team leader = new Team("Team 4", "T4", "EU");
+        leader.setId(4);
+        leader.setWins(10);
+        Team challenger = new Team("Team 2", "T2", "EU");
+        challenger.setId(2);
+        service.onReset(Map.of("4", leader, "2", challenger));
+
+        challenger.setWins(11);
+        service.onChanged("2", challenger);
+        assertEquals(1, service.getRank(null, 2));
+
+        service.onChanged("4", null);
+        assertEquals(List.of(2), service.getStandings(null).stream().map(Team::getId).toList());
+    }
+}
@@ -0,0 +1,230 @@
+package com.esports.arena.service;
+
+import com.esports.arena.dao.MatchDAO;
+import com.esports.arena.dao.PlayerDAO;
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import com.esports.arena.model.Team;
+import com.esports.arena.support.LocalFirebaseServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchFinalizationServiceTest {
+
+    private static LocalFirebaseServer server;
+    private static String previousUrl;
+    private static EntityCache previousCache;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        server = LocalFirebaseServer.start();
+        previousUrl = RealtimeDatabaseService.getDatabaseUrl();
+        previousCache = RealtimeDatabaseService.getCache();
+        RealtimeDatabaseService.setDatabaseUrl(server.getUrl());
+        RealtimeDatabaseService.setCache(null);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        RealtimeDatabaseService.setDatabaseUrl(previousUrl);
+        RealtimeDatabaseService.setCache(previousCache);
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test Update Paths For First Completion")
+    void testBuildUpdates() {
+        // Arrange - player 1 already has a stat line, players 2 and 3 do not
+        Match match = match(7);
+        match.getPlayerStats().add(stats(7, 1, 50));
+        Team team1 = team(1, 3, 1, player(1, 1), player(2, 1));
+        Team team2 = team(2, 0, 2, player(3, 2));
+        Map<Integer, Player> players = Map.of(1, team1.getPlayers().get(0), 2, team1.getPlayers().get(1), 3, team2.getPlayers().get(0));
+        List<MatchFinalizationService.PlayerResult> results = List.of(
+                new MatchFinalizationService.PlayerResult(1, 10, 2, 4),
+                new MatchFinalizationService.PlayerResult(2, 5, 5, 5),
+                new MatchFinalizationService.PlayerResult(3, 1, 9, 0));
+
+        // Act
+        Map<String, Object> updates = MatchFinalizationService.buildUpdates(match, 13, 7, results, players, team1, team2, 100);
+
+        // Assert
+        assertEquals(Match.MatchStatus.COMPLETED, updates.get("matches/7/status"));
+        assertEquals(1, updates.get("matches/7/winnerId"));
+        assertEquals(3, match.getPlayerStats().size());
+        assertEquals(50, match.getPlayerStats().get(0).getId(), "Existing stat line keeps its id");
+        assertEquals(100, match.getPlayerStats().get(1).getId());
+        assertEquals(101, match.getPlayerStats().get(2).getId());
+        assertSame(match.getPlayerStats().get(1), updates.get("matches/7/playerStats/2"), "Stat lines are written under their player id");
+        assertFalse(updates.containsKey("matches/7/playerStats"), "The whole stats node must not be replaced");
+        assertEquals(ServerValue.increment(10), updates.get("players/1/totalKills"), "Career totals are added on the server");
+        assertEquals(ServerValue.increment(1), updates.get("players/1/matchesWon"));
+        assertFalse(updates.containsKey("players/3/matchesWon"), "Zero deltas are not sent");
+        assertEquals(ServerValue.increment(1), updates.get("players/3/matchesPlayed"));
+        assertEquals(ServerValue.increment(1), updates.get("teams/1/wins"));
+        assertEquals(ServerValue.increment(1), updates.get("teams/2/losses"));
+    }
+
+    @Test
+    @DisplayName("Test Re-Finalizing Only Rewrites The Match")
+    void testRefinalize() {
+        Match match = match(7);
+        match.setStatus(Match.MatchStatus.COMPLETED);
+        match.setWinnerId(1);
+        Team team1 = team(1, 3, 1, player(1, 1));
+        Team team2 = team(2, 0, 2, player(3, 2));
+
+        Map<String, Object> updates = MatchFinalizationService.buildUpdates(match, 7, 13, List.of(
+                new MatchFinalizationService.PlayerResult(1, 1, 1, 1)), Map.of(1, team1.getPlayers().get(0)), team1, team2, 1);
+
+        assertEquals(2, updates.get("matches/7/winnerId"));
+        assertTrue(updates.keySet().stream().allMatch(k -> k.startsWith("matches/7/")),
+                "Career totals and records must not be counted twice");
+    }
+
+    @Test
+    @DisplayName("Test Finalization Writes Once")
+    void testFinalizeAgainstServer() {
+        // Arrange
+        server.clear();
+        Team team1 = team(1, 0, 0, player(1, 1), player(2, 1));
+        Team team2 = team(2, 0, 0, player(3, 2), player(4, 2));
+        for (Team team : List.of(team1, team2)) {
+            for (Player player : team.getPlayers()) {
+                server.seed("players/" + player.getId(), player);
+            }
+            Team stored = team(team.getId(), team.getWins(), team.getLosses());
+            server.seed("teams/" + team.getId(), stored);
+        }
+        server.seed("matches/7", match(7));
+        server.seed("counters/playerMatchStats", 40);
+
+        MatchFinalizationService service = new MatchFinalizationService(new MatchDAO(), new PlayerDAO(), new TeamDAO());
+        List<MatchFinalizationService.PlayerResult> results = new ArrayList<>();
+        for (int playerId = 1; playerId <= 4; playerId++) {
+            results.add(new MatchFinalizationService.PlayerResult(playerId, playerId, 1, 2));
+        }
+        server.resetRequestCount();
+
+        // Act
+        boolean finalized = service.finalizeMatch(7, 2, 1, results);
+
+        // Assert
+        assertTrue(finalized);
+        assertEquals(1, server.getRequestCount("PATCH"), "All writes should go out as a single PATCH");
+        assertEquals(1, server.getRequestCount("PUT"), "Stat ids reserved with one compare-and-set");
+        assertTrue(server.getRequestCount() <= 8, "Expected a handful of requests, got " + server.getRequestCount());
+
+        JsonNode stored = server.get("matches/7");
+        assertEquals("COMPLETED", stored.get("status").asText());
+        assertEquals(4, new MatchDAO().getPlayerStatsByMatch(7).size());
+        assertEquals(41, server.get("matches/7/playerStats/1/id").asInt());
+        assertEquals(44, server.get("counters/playerMatchStats").asInt());
+        assertEquals(14, server.get("players/4/totalKills").asInt(), "Seeded 10 kills plus 4");
+        assertEquals(1, server.get("players/1/matchesWon").asInt());
+        assertEquals(0, server.get("players/3/matchesWon").asInt());
+        assertEquals(1, server.get("teams/1/wins").asInt());
+        assertEquals(1, server.get("teams/2/losses").asInt());
+    }
+
+    @Test
+    @DisplayName("Test Re-Finalizing A Draw Counts It Once")
+    void testRefinalizeDraw() {
+        // Arrange
+        server.clear();
+        server.seed("players/1", player(1, 1));
+        server.seed("players/3", player(3, 2));
+        server.seed("teams/1", team(1, 0, 0, player(1, 1)));
+        server.seed("teams/2", team(2, 0, 0, player(3, 2)));
+        server.seed("matches/7", match(7));
+        MatchFinalizationService service = new MatchFinalizationService(new MatchDAO(), new PlayerDAO(), new TeamDAO());
+        List<MatchFinalizationService.PlayerResult> results = List.of(
+                new MatchFinalizationService.PlayerResult(1, 3, 3, 3),
+                new MatchFinalizationService.PlayerResult(3, 4, 4, 4));
+
+        // Act
+        assertTrue(service.finalizeMatch(7, 1, 1, results));
+        assertTrue(service.finalizeMatch(7, 2, 2, results));
+
+        // Assert
+        assertEquals(2, server.get("matches/7/team1Score").asInt(), "The corrected score is kept");
+        assertTrue(server.get("matches/7/winnerId") == null || server.get("matches/7/winnerId").isNull());
+        assertEquals(1, server.get("teams/1/draws").asInt(), "The draw is recorded once");
+        assertEquals(1, server.get("teams/2/draws").asInt());
+        assertEquals(1, server.get("players/1/matchesPlayed").asInt());
+        assertEquals(13, server.get("players/1/totalKills").asInt(), "Seeded 10 kills plus 3, once");
+    }
+
+    @Test
+    @DisplayName("Test Roster Stats In One Increment Request")
+    void testRosterIncrements() {
+        // Arrange
+        server.clear();
+        for (int playerId = 1; playerId <= 5; playerId++) {
+            server.seed("players/" + playerId, player(playerId, 1));
+        }
+        PlayerDAO playerDAO = new PlayerDAO();
+        List<PlayerDAO.StatLine> roster = new ArrayList<>();
+        for (int playerId = 1; playerId <= 5; playerId++) {
+            roster.add(new PlayerDAO.StatLine(playerId, playerId, 2, 1, playerId <= 3));
+        }
+        server.resetRequestCount();
+
+        // Act
+        assertTrue(playerDAO.updatePlayerStats(roster));
+        assertTrue(playerDAO.updatePlayerStats(5, 5, 0, 0, true));
+        assertFalse(playerDAO.updatePlayerStats(99, 5, 0, 0, true), "Missing players are not created");
+        assertFalse(new TeamDAO().updateTeamRecord(99, true, false), "Missing teams are not created");
+        assertFalse(playerDAO.updatePlayerStats(List.of(new PlayerDAO.StatLine(1, 1, 1, 1, true),
+                new PlayerDAO.StatLine(99, 1, 1, 1, true))), "A roster with a missing player writes nothing");
+
+        // Assert
+        assertEquals(2, server.getRequestCount("PATCH"), "One PATCH per call");
+        assertEquals(5 + 3 + 2, server.getRequestCount("GET"), "Players and teams are only checked by id");
+        assertTrue(server.get("players/99") == null || server.get("players/99").isNull());
+        assertTrue(server.get("teams/99") == null || server.get("teams/99").isNull());
+        assertEquals(11, server.get("players/1/totalKills").asInt(), "Seeded 10 kills plus 1; the rejected roster added nothing");
+        assertEquals(20, server.get("players/5/totalKills").asInt());
+        assertEquals(2, server.get("players/5/matchesPlayed").asInt());
+        assertEquals(1, server.get("players/3/matchesWon").asInt());
+        assertEquals(0, server.get("players/4/matchesWon").asInt());
+        assertEquals("player4", server.get("players/4/username").asText());
+    }
+
+    private static Match match(int id) {
+        Match match = new Match(1, 1, 2, LocalDateTime.of(2025, 3, 1, 18, 0), "Final");
+        match.setId(id);
+        return match;
+    }
+
+    private static PlayerMatchStats stats(int matchId, int playerId, int id) {
+        PlayerMatchStats stats = new PlayerMatchStats(matchId, playerId);
+        stats.setId(id);
+        return stats;
+    }
+
+    private static Player player(int id, int teamId) {
+        Player player = new Player("player" + id, "Player " + id, "p" + id + "@test.com", "DPS");
+        player.setId(id);
+        player.setTeamId(teamId);
+        player.setTotalKills(10);
+        return player;
+    }
+
+    private static Team team(int id, int wins, int losses, Player... players) {
+        Team team = new Team("Team " + id, "T" + id, "EU");
+        team.setId(id);
+        team.setWins(wins);
+        team.setLosses(losses);
+        team.setPlayers(new ArrayList<>(List.of(players)));
+        return team;
+    }
+}
@@ -0,0 +1,129 @@
+package com.esports.arena.service;
+
+import com.esports.arena.model.Player;
+import com.esports.arena.model.Team;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotStoreTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private Path dir;
+    private Path file;
+
+    @BeforeEach
+    void createDir() throws Exception {
+        dir = Files.createTempDirectory("arena-snapshots");
+        file = dir.resolve("arena-snapshot.bin");
+    }
+
+    @AfterEach
+    void deleteDir() throws Exception {
+        try (Stream<Path> entries = Files.walk(dir)) {
+            for (Path entry : entries.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(entry);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test Saving Twice While Snapshot Is Mapped")
+    void testSaveWhileMapped() throws Exception {
+        // Arrange - teams are shown this run, players only carried over
+        Map<String, JsonNode> collections = new LinkedHashMap<>();
+        collections.put("teams", teams("Night Owls"));
+        collections.put("players", players());
+        BinarySnapshot.write(file, collections);
+        SnapshotStore store = new SnapshotStore(file);
+        store.attach(new LiveCollection<>("teams", Team.class, ignore()));
+        Path mapped = store.getCurrentFile();
+
+        // Act
+        assertTrue(store.save());
+        Path first = store.getCurrentFile();
+        LiveCollection<Team> teams = store.attach(new LiveCollection<>("teams", Team.class, ignore()));
+        teams.onPut("/1/name", mapper.getNodeFactory().textNode("Early Birds"));
+        assertTrue(store.save());
+        Path second = store.getCurrentFile();
+
+        // Assert - every save goes to a new file instead of replacing the mapped one
+        assertEquals(file, mapped);
+        assertNotEquals(mapped, first);
+        assertNotEquals(first, second);
+        try (Stream<Path> entries = Files.list(dir)) {
+            assertEquals(List.of(second), entries.toList(), "Older generations are removed once written over");
+        }
+        BinarySnapshot saved = BinarySnapshot.open(second);
+        assertEquals("Early Birds", saved.read("teams", Team.class).get("1").getName());
+        assertEquals("ace", saved.read("players", Player.class).get("1").getUsername(), "Players are carried over");
+
+        // a new run picks the newest generation
+        assertEquals(second, new SnapshotStore(file).getCurrentFile());
+    }
+
+    @Test
+    @DisplayName("Test Player Passwords Are Not Saved")
+    void testPasswordsNotSaved() throws Exception {
+        // Arrange - snapshots from before passwords were dropped
+        Path other = dir.resolve("other-snapshot.bin");
+        BinarySnapshot.write(file, Map.of("players", players(), "teams", teams("Night Owls")));
+        BinarySnapshot.write(other, Map.of("players", players()));
+
+        // Act - players carried over by one run and shown by another
+        SnapshotStore carried = new SnapshotStore(file);
+        carried.attach(new LiveCollection<>("teams", Team.class, ignore()));
+        assertTrue(carried.save());
+        SnapshotStore shown = new SnapshotStore(other);
+        shown.attach(new LiveCollection<>("players", Player.class, ignore()));
+        assertTrue(shown.save());
+        BinarySnapshot afterCarry = BinarySnapshot.open(carried.getCurrentFile());
+        BinarySnapshot afterShow = BinarySnapshot.open(shown.getCurrentFile());
+
+        // Assert
+        for (BinarySnapshot snapshot : List.of(afterCarry, afterShow)) {
+            ObjectNode player = (ObjectNode) snapshot.read("players").get("1");
+            assertFalse(player.has("password"), "Password should not be written to local disk");
+            assertEquals("ace", player.get("username").asText());
+            assertEquals("ace@test.com", player.get("email").asText());
+        }
+    }
+
+    private ObjectNode players() {
+        Player player = new Player("ace", "Ace Player", "ace@test.com", "DPS");
+        player.setId(1);
+        player.setPassword("hunter2");
+        return mapper.createObjectNode().set("1", mapper.valueToTree(player));
+    }
+
+    private ObjectNode teams(String name) {
+        Team team = new Team(name, "NO", "EU");
+        team.setId(1);
+        return mapper.createObjectNode().set("1", mapper.valueToTree(team));
+    }
+
+    private static <T> LiveCollection.Listener<T> ignore() {
+        return new LiveCollection.Listener<>() {
+            @Override
+            public void onReset(Map<String, T> items) {
+            }
+
+            @Override
+            public void onChanged(String key, T value) {
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.esports.arena.service;
+
+import com.esports.arena.dao.TeamDAO;
+import com.esports.arena.model.Team;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StandingsTest {
+
+    private static Team team(int id, int wins, int losses) {
+        Team team = new Team("Team " + id, "T" + id, "EU");
+        team.setId(id);
+        team.setWins(wins);
+        team.setLosses(losses);
+        return team;
+    }
+
+    @Test
+    @DisplayName("Test Rank And Top K Follow Leaderboard Order")
+    void testOrder() {
+        Standings standings = new Standings();
+        standings.put(team(1, 3, 0));
+        standings.put(team(2, 5, 1));
+        standings.put(team(3, 3, 2));
+        standings.put(team(4, 0, 4));
+
+        assertEquals(List.of(2, 1, 3, 4), standings.toList().stream().map(Team::getId).toList());
+        assertEquals(1, standings.rankOf(2));
+        assertEquals(3, standings.rankOf(3), "Same wins, more games played ranks lower");
+        assertEquals(-1, standings.rankOf(99));
+        assertEquals(List.of(2, 1), standings.top(2).stream().map(Team::getId).toList());
+        assertEquals(4, standings.atRank(4).getId());
+        assertNull(standings.atRank(5));
+    }
+
+    @Test
+    @DisplayName("Test Recorded Results Re-Rank In Place")
+    void testRecordResult() {
+        Standings standings = new Standings();
+        Team underdog = team(4, 0, 4);
+        standings.put(team(1, 1, 0));
+        standings.put(underdog);
+
+        standings.recordResult(underdog, 4);
+        standings.recordResult(underdog, 4);
+
+        assertEquals(1, standings.rankOf(4));
+        assertEquals(2, standings.get(4).getWins());
+        assertEquals(0, underdog.getWins(), "Callers' objects are never modified");
+
+        // A team seen for the first time starts from an empty record
+        standings.recordResult(team(9, 20, 20), null);
+        assertEquals(1, standings.get(9).getDraws());
+        assertEquals(0, standings.get(9).getWins());
+    }
+
+    @Test
+    @DisplayName("Test Random Updates Match A Full Sort")
+    void testAgainstSort() {
+        Comparator<Team> order = TeamDAO.LEADERBOARD_ORDER.thenComparingInt(Team::getId);
+        Random random = new Random(42);
+        Standings standings = new Standings();
+        Map<Integer, Team> expected = new HashMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            int id = random.nextInt(300);
+            if (random.nextInt(10) == 0) {
+                assertEquals(expected.remove(id) != null, standings.remove(id));
+            } else {
+                Team team = team(id, random.nextInt(20), random.nextInt(20));
+                expected.put(id, team);
+                standings.put(team);
+            }
+
+            if (step % 250 == 0) {
+                List<Team> sorted = new ArrayList<>(expected.values());
+                sorted.sort(order);
+                assertEquals(sorted.size(), standings.size());
+                assertEquals(sorted.stream().map(Team::getId).toList(), standings.toList().stream().map(Team::getId).toList());
+                for (int i = 0; i < sorted.size(); i++) {
+                    assertEquals(i + 1, standings.rankOf(sorted.get(i).getId()));
+                }
+            }
+        }
+    }
+}
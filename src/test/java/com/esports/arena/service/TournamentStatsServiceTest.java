@@ -0,0 +1,92 @@
+package com.esports.arena.service;
+
+import com.esports.arena.model.Match;
+import com.esports.arena.model.Player;
+import com.esports.arena.model.PlayerMatchStats;
+import org.junit.jupiter.api.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentStatsServiceTest {
+
+    private static Player player(int id, Integer teamId) {
+        Player player = new Player("P" + id, "Player " + id, "p" + id + "@test.com", "DPS");
+        player.setId(id);
+        player.setTeamId(teamId);
+        return player;
+    }
+
+    private static PlayerMatchStats stats(int matchId, int playerId, int kills, int deaths, int assists) {
+        PlayerMatchStats stats = new PlayerMatchStats(matchId, playerId);
+        stats.setKills(kills);
+        stats.setDeaths(deaths);
+        stats.setAssists(assists);
+        return stats;
+    }
+
+    private static Match completed(int id, int team1Id, int team2Id, Integer winnerId) {
+        Match match = new Match(1, team1Id, team2Id, null, "Round 1");
+        match.setId(id);
+        match.setStatus(Match.MatchStatus.COMPLETED);
+        match.setWinnerId(winnerId);
+        return match;
+    }
+
+    @Test
+    @DisplayName("Test Single Pass Aggregation")
+    void testAggregate() {
+        // Arrange
+        List<Player> players = List.of(player(1, 10), player(2, 20), player(3, null));
+
+        Match first = completed(100, 10, 20, 10);
+        first.addPlayerStats(stats(100, 1, 10, 2, 5));
+        first.addPlayerStats(stats(100, 2, 3, 8, 1));
+
+        Match second = completed(101, 10, 20, 20);
+        second.addPlayerStats(stats(101, 1, 4, 4, 4));
+        second.addPlayerStats(stats(101, 2, 6, 1, 2));
+
+        Match scheduled = new Match(1, 10, 20, null, "Round 2");
+        scheduled.setId(102);
+
+        // Act
+        TournamentStatsService.TournamentStatsSnapshot snapshot =
+                TournamentStatsService.aggregate(List.of(first, second, scheduled), players);
+
+        // Assert
+        TournamentStatsService.TournamentPlayerStats p1 = snapshot.getPlayer(1);
+        assertEquals(14, p1.kills);
+        assertEquals(6, p1.deaths);
+        assertEquals(9, p1.assists);
+        assertEquals(2, p1.matchesPlayed);
+        assertEquals(1, p1.matchesWon);
+
+        assertEquals(1, snapshot.getPlayer(2).matchesWon);
+        assertEquals(0, snapshot.getPlayer(3).matchesPlayed);
+        assertEquals(3, snapshot.getPlayerStats().size());
+
+        TournamentStatsService.TournamentTeamStats team10 = snapshot.getTeam(10);
+        assertEquals(1, team10.wins);
+        assertEquals(1, team10.losses);
+        assertEquals(2, team10.matchesPlayed);
+        assertEquals(50.0, team10.getWinRate(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Test Draws And Unknown Players")
+    void testDrawsAndUnknownPlayers() {
+        // Arrange
+        Match draw = completed(200, 10, 20, null);
+        draw.addPlayerStats(stats(200, 99, 5, 5, 5));
+
+        // Act
+        TournamentStatsService.TournamentStatsSnapshot snapshot =
+                TournamentStatsService.aggregate(List.of(draw), List.of(player(1, 10)));
+
+        // Assert
+        assertEquals(1, snapshot.getTeam(10).draws);
+        assertEquals(1, snapshot.getTeam(20).draws);
+        assertFalse(snapshot.getPlayerStats().containsKey(99), "Stats for unknown players are skipped");
+    }
+}
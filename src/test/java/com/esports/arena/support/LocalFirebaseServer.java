@@ -0,0 +1,508 @@
+package com.esports.arena.support;
+
+import com.esports.arena.service.DatabaseQuery;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+// In-memory stand-in for the Firebase Realtime Database REST API, good enough for offline tests:
+// GET (with orderBy/equalTo/startAt/endAt/limitTo* filters and X-Firebase-ETag), PUT (with If-Match),
+// PATCH (including multi-location "a/b" keys and {".sv":{"increment":n}} values) and DELETE. Sequential integer keys are returned as
+// arrays the same way Firebase does, so the client's array/object handling gets exercised.
+// GET bodies are gzip-compressed for clients that accept it, and writes with print=silent answer 204.
+// GET with "Accept: text/event-stream" opens a streaming subscription that receives put/patch events
+// for every later write at, above or below the subscribed path.
+public class LocalFirebaseServer implements AutoCloseable {
+
+    private static final int GZIP_MIN_BYTES = 256;
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "local-firebase");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ObjectNode root = MAPPER.createObjectNode();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final Map<String, AtomicInteger> requestsByMethod = new ConcurrentHashMap<>();
+    private final AtomicInteger gzipResponses = new AtomicInteger();
+    private final List<EventStream> streams = new CopyOnWriteArrayList<>();
+
+    private record EventStream(String path, OutputStream out) { }
+
+    private LocalFirebaseServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        workers.submit(this::acceptLoop);
+    }
+
+    public static LocalFirebaseServer start() throws IOException {
+        return new LocalFirebaseServer();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + serverSocket.getLocalPort() + "/";
+    }
+
+    // Stores any model object (or JsonNode) at the given path
+    public void seed(String path, Object value) {
+        synchronized (root) {
+            set(path, normalize(MAPPER.valueToTree(value)));
+        }
+    }
+
+    public JsonNode get(String path) {
+        synchronized (root) {
+            return render(find(path));
+        }
+    }
+
+    public void clear() {
+        synchronized (root) {
+            root.removeAll();
+        }
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getRequestCount(String method) {
+        AtomicInteger count = requestsByMethod.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    public int getGzipResponseCount() {
+        return gzipResponses.get();
+    }
+
+    public int getOpenStreamCount() {
+        return streams.size();
+    }
+
+    public void resetRequestCount() {
+        requestCount.set(0);
+        requestsByMethod.clear();
+        gzipResponses.set(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (EventStream stream : streams) {
+            try {
+                stream.out().close();
+            } catch (IOException ignored) {
+                // already gone
+            }
+        }
+        serverSocket.close();
+        workers.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                workers.submit(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            while (true) {
+                String requestLine = readLine(in);
+                if (requestLine == null || requestLine.isEmpty()) {
+                    return;
+                }
+                Map<String, String> headers = new HashMap<>();
+                String line;
+                while ((line = readLine(in)) != null && !line.isEmpty()) {
+                    int colon = line.indexOf(':');
+                    if (colon > 0) {
+                        headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+                    }
+                }
+                int length = Integer.parseInt(headers.getOrDefault("content-length", "0"));
+                String body = new String(in.readNBytes(length), StandardCharsets.UTF_8);
+
+                String[] parts = requestLine.split(" ");
+                if ("GET".equals(parts[0]) && headers.getOrDefault("accept", "").contains("text/event-stream")) {
+                    stream(parts[1], out, in);
+                    return;
+                }
+                handle(parts[0], parts[1], headers, body, out);
+                if ("close".equalsIgnoreCase(headers.get("connection"))) {
+                    return;
+                }
+            }
+        } catch (IOException ignored) {
+            // client went away
+        }
+    }
+
+    private void handle(String method, String target, Map<String, String> headers, String body, OutputStream out)
+            throws IOException {
+        requestCount.incrementAndGet();
+        requestsByMethod.computeIfAbsent(method, m -> new AtomicInteger()).incrementAndGet();
+
+        int q = target.indexOf('?');
+        String path = URLDecoder.decode(q >= 0 ? target.substring(0, q) : target, StandardCharsets.UTF_8);
+        Map<String, String> params = parseQuery(q >= 0 ? target.substring(q + 1) : "");
+        if (path.endsWith(".json")) {
+            path = path.substring(0, path.length() - ".json".length());
+        }
+
+        try {
+            synchronized (root) {
+                switch (method) {
+                    case "GET" -> {
+                        JsonNode node = render(find(path));
+                        if (params.containsKey("orderBy")) {
+                            node = MAPPER.valueToTree(toQuery(params).applyLocally(node));
+                        }
+                        String json = MAPPER.writeValueAsString(node == null ? NullNode.getInstance() : node);
+                        String etag = "true".equalsIgnoreCase(headers.get("x-firebase-etag")) ? etag(path) : null;
+                        boolean acceptsGzip = headers.getOrDefault("accept-encoding", "").contains("gzip");
+                        if (acceptsGzip && json.length() >= GZIP_MIN_BYTES) {
+                            gzipResponses.incrementAndGet();
+                        }
+                        respond(out, 200, json, etag, acceptsGzip);
+                    }
+                    case "PUT" -> {
+                        String ifMatch = headers.get("if-match");
+                        if (ifMatch != null && !ifMatch.equals(etag(path))) {
+                            respond(out, 412, "{\"error\":\"ETag mismatch\"}", etag(path));
+                            return;
+                        }
+                        JsonNode value = resolveIncrements(path, MAPPER.readTree(body));
+                        set(path, normalize(value));
+                        respondWritten(out, params, value);
+                        broadcast("put", path, value);
+                    }
+                    case "PATCH" -> {
+                        ObjectNode updates = MAPPER.createObjectNode();
+                        Iterator<Map.Entry<String, JsonNode>> fields = MAPPER.readTree(body).fields();
+                        while (fields.hasNext()) {
+                            Map.Entry<String, JsonNode> field = fields.next();
+                            updates.set(field.getKey(), resolveIncrements(join(path, field.getKey()), field.getValue()));
+                        }
+                        for (Iterator<Map.Entry<String, JsonNode>> it = updates.fields(); it.hasNext(); ) {
+                            Map.Entry<String, JsonNode> field = it.next();
+                            set(join(path, field.getKey()), normalize(field.getValue()));
+                        }
+                        respondWritten(out, params, updates);
+                        broadcast("patch", path, updates);
+                    }
+                    case "DELETE" -> {
+                        set(path, NullNode.getInstance());
+                        respond(out, 200, "null", null);
+                        broadcast("put", path, NullNode.getInstance());
+                    }
+                    default -> respond(out, 405, "{\"error\":\"Unsupported method\"}", null);
+                }
+            }
+        } catch (Exception e) {
+            respond(out, 400, MAPPER.writeValueAsString(Map.of("error", String.valueOf(e.getMessage()))), null);
+        }
+    }
+
+    // Holds the connection open: initial put of the current value, then events until the client disconnects
+    private void stream(String target, OutputStream out, InputStream in) throws IOException {
+        requestCount.incrementAndGet();
+        requestsByMethod.computeIfAbsent("STREAM", m -> new AtomicInteger()).incrementAndGet();
+        int q = target.indexOf('?');
+        String path = trimPath(URLDecoder.decode(q >= 0 ? target.substring(0, q) : target, StandardCharsets.UTF_8)
+                .replaceAll("\\.json$", ""));
+        EventStream stream = new EventStream(path, out);
+        synchronized (root) {
+            out.write(("HTTP/1.1 200 OK\r\nContent-Type: text/event-stream\r\nCache-Control: no-cache\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            sendEvent(out, "put", "/", render(find(path)));
+            streams.add(stream);
+        }
+        try {
+            while (in.read() != -1) {
+                // wait for the client to hang up
+            }
+        } finally {
+            streams.remove(stream);
+        }
+    }
+
+    // Called with the root lock held after a write at path
+    private void broadcast(String event, String path, JsonNode data) {
+        String written = trimPath(path);
+        List<EventStream> dead = new ArrayList<>();
+        for (EventStream stream : streams) {
+            String subscribed = stream.path();
+            try {
+                if (subscribed.isEmpty() || written.equals(subscribed) || written.startsWith(subscribed + "/")) {
+                    String relative = "/" + written.substring(subscribed.length()).replaceAll("^/", "");
+                    sendEvent(stream.out(), event, relative, data);
+                } else if (written.isEmpty() || subscribed.startsWith(written + "/")) {
+                    sendEvent(stream.out(), "put", "/", render(find(subscribed)));
+                }
+            } catch (IOException e) {
+                dead.add(stream);
+            }
+        }
+        streams.removeAll(dead);
+    }
+
+    private static void sendEvent(OutputStream out, String event, String path, JsonNode data) throws IOException {
+        ObjectNode payload = MAPPER.createObjectNode();
+        payload.put("path", path);
+        payload.set("data", data == null ? NullNode.getInstance() : data);
+        String frame = "event: " + event + "\ndata: " + MAPPER.writeValueAsString(payload) + "\n\n";
+        out.write(frame.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String trimPath(String path) {
+        return path.replaceAll("^/+|/+$", "");
+    }
+
+    private static DatabaseQuery toQuery(Map<String, String> params) throws IOException {
+        String orderBy = MAPPER.readValue(params.get("orderBy"), String.class);
+        DatabaseQuery query = switch (orderBy) {
+            case "$key" -> DatabaseQuery.orderByKey();
+            case "$value" -> DatabaseQuery.orderByValue();
+            default -> DatabaseQuery.orderByChild(orderBy);
+        };
+        if (params.containsKey("equalTo")) query.equalTo(MAPPER.readValue(params.get("equalTo"), Object.class));
+        if (params.containsKey("startAt")) query.startAt(MAPPER.readValue(params.get("startAt"), Object.class));
+        if (params.containsKey("endAt")) query.endAt(MAPPER.readValue(params.get("endAt"), Object.class));
+        if (params.containsKey("limitToFirst")) query.limitToFirst(Integer.parseInt(params.get("limitToFirst")));
+        if (params.containsKey("limitToLast")) query.limitToLast(Integer.parseInt(params.get("limitToLast")));
+        return query;
+    }
+
+    private static void respond(OutputStream out, int status, String body, String etag) throws IOException {
+        respond(out, status, body, etag, false);
+    }
+
+    // Bodies of at least GZIP_MIN_BYTES are compressed when the client accepts gzip, like Firebase does
+    private static void respond(OutputStream out, int status, String body, String etag, boolean acceptsGzip) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        boolean gzip = acceptsGzip && bytes.length >= GZIP_MIN_BYTES;
+        if (gzip) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream zip = new GZIPOutputStream(compressed)) {
+                zip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+        }
+        StringBuilder head = new StringBuilder()
+                .append("HTTP/1.1 ").append(status).append(status == 200 ? " OK" : status == 204 ? " No Content" : " Error").append("\r\n")
+                .append("Content-Type: application/json; charset=utf-8\r\n")
+                .append("Content-Length: ").append(bytes.length).append("\r\n");
+        if (gzip) {
+            head.append("Content-Encoding: gzip\r\n");
+        }
+        if (etag != null) {
+            head.append("ETag: ").append(etag).append("\r\n");
+        }
+        head.append("\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.US_ASCII));
+        out.write(bytes);
+        out.flush();
+    }
+
+    // Writes echo the stored value unless the client asked for print=silent
+    private static void respondWritten(OutputStream out, Map<String, String> params, JsonNode value) throws IOException {
+        if ("silent".equals(params.get("print"))) {
+            respond(out, 204, "", null);
+        } else {
+            respond(out, 200, MAPPER.writeValueAsString(value), null);
+        }
+    }
+
+    private String etag(String path) throws IOException {
+        JsonNode node = render(find(path));
+        return "\"" + Integer.toHexString(MAPPER.writeValueAsString(node == null ? NullNode.getInstance() : node).hashCode()) + "\"";
+    }
+
+    // Server values: {".sv":{"increment":n}} becomes the stored number (0 if absent) plus n
+    private JsonNode resolveIncrements(String path, JsonNode value) {
+        JsonNode delta = value.path(".sv").path("increment");
+        if (value.isObject() && value.size() == 1 && delta.isNumber()) {
+            JsonNode stored = find(path);
+            JsonNode base = stored != null && stored.isNumber() ? stored : MAPPER.getNodeFactory().numberNode(0L);
+            return base.isIntegralNumber() && delta.isIntegralNumber()
+                    ? MAPPER.getNodeFactory().numberNode(base.asLong() + delta.asLong())
+                    : MAPPER.getNodeFactory().numberNode(base.asDouble() + delta.asDouble());
+        }
+        if (!value.isObject()) {
+            return value;
+        }
+        ObjectNode resolved = MAPPER.createObjectNode();
+        value.fields().forEachRemaining(f -> resolved.set(f.getKey(), resolveIncrements(join(path, f.getKey()), f.getValue())));
+        return resolved;
+    }
+
+    private JsonNode find(String path) {
+        JsonNode node = root;
+        for (String key : split(path)) {
+            node = node == null ? null : node.get(key);
+        }
+        return node;
+    }
+
+    private void set(String path, JsonNode value) {
+        String[] keys = split(path);
+        if (keys.length == 0) {
+            root.removeAll();
+            if (value instanceof ObjectNode object) {
+                root.setAll(object);
+            }
+            return;
+        }
+        ObjectNode parent = root;
+        for (int i = 0; i < keys.length - 1; i++) {
+            JsonNode child = parent.get(keys[i]);
+            if (!(child instanceof ObjectNode)) {
+                if (value.isNull()) {
+                    return;
+                }
+                child = parent.putObject(keys[i]);
+            }
+            parent = (ObjectNode) child;
+        }
+        String last = keys[keys.length - 1];
+        if (value.isNull()) {
+            parent.remove(last);
+        } else {
+            parent.set(last, value);
+        }
+    }
+
+    // Stored form: arrays become objects keyed by index, nulls are dropped
+    private static JsonNode normalize(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return NullNode.getInstance();
+        }
+        if (node.isArray()) {
+            ObjectNode object = MAPPER.createObjectNode();
+            for (int i = 0; i < node.size(); i++) {
+                JsonNode child = normalize(node.get(i));
+                if (!child.isNull()) {
+                    object.set(String.valueOf(i), child);
+                }
+            }
+            return object.isEmpty() ? NullNode.getInstance() : object;
+        }
+        if (node.isObject()) {
+            ObjectNode object = MAPPER.createObjectNode();
+            node.fields().forEachRemaining(e -> {
+                JsonNode child = normalize(e.getValue());
+                if (!child.isNull()) {
+                    object.set(e.getKey(), child);
+                }
+            });
+            return object.isEmpty() ? NullNode.getInstance() : object;
+        }
+        return node;
+    }
+
+    // Response form: objects with mostly sequential integer keys come back as arrays, like Firebase
+    private static JsonNode render(JsonNode node) {
+        if (node == null || !node.isObject() || node.isEmpty()) {
+            return node == null || (node.isObject() && node.isEmpty()) ? null : node;
+        }
+        int max = -1;
+        boolean numeric = true;
+        for (Iterator<String> names = node.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!name.matches("0|[1-9][0-9]{0,8}")) {
+                numeric = false;
+                break;
+            }
+            max = Math.max(max, Integer.parseInt(name));
+        }
+        if (numeric && max < 2 * node.size()) {
+            ArrayNode array = MAPPER.createArrayNode();
+            for (int i = 0; i <= max; i++) {
+                JsonNode child = render(node.get(String.valueOf(i)));
+                array.add(child == null ? NullNode.getInstance() : child);
+            }
+            return array;
+        }
+        ObjectNode object = MAPPER.createObjectNode();
+        node.fields().forEachRemaining(e -> object.set(e.getKey(), render(e.getValue())));
+        return object;
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String name = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String[] split(String path) {
+        String p = path.replaceAll("^/+|/+$", "");
+        return p.isEmpty() ? new String[0] : p.split("/+");
+    }
+
+    private static String join(String base, String child) {
+        String b = base.replaceAll("/+$", "");
+        return b.isEmpty() ? child : b + "/" + child;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                break;
+            }
+            if (c != '\r') {
+                line.write(c);
+            }
+        }
+        if (c == -1 && line.size() == 0) {
+            return null;
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+}
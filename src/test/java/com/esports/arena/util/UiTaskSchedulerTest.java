@@ -0,0 +1,165 @@
+package com.esports.arena.util;
+
+import org.junit.jupiter.api.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UiTaskSchedulerTest {
+
+    private UiTaskScheduler scheduler;
+
+    @BeforeEach
+    void setup() {
+        scheduler = new UiTaskScheduler(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    // A task that blocks until release is counted down, like a slow collection download
+    private FutureTask<String> blocking(CountDownLatch started, CountDownLatch release, String result) {
+        return new FutureTask<>(() -> {
+            started.countDown();
+            release.await();
+            return result;
+        });
+    }
+
+    @Test
+    @DisplayName("Test Repeated Refresh Runs Once")
+    void testRunOnce() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger downloads = new AtomicInteger();
+        FutureTask<String> first = new FutureTask<>(() -> {
+            downloads.incrementAndGet();
+            started.countDown();
+            release.await();
+            return "teams";
+        });
+
+        // Act
+        assertTrue(scheduler.runOnce("teams:list", first));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            assertFalse(scheduler.runOnce("teams:list", new FutureTask<>(downloads::incrementAndGet)));
+        }
+        release.countDown();
+
+        // Assert
+        assertEquals("teams", first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, downloads.get(), "Five clicks, one download");
+        assertEquals(4, scheduler.metrics().coalesced());
+
+        // Once finished, the key is free again
+        FutureTask<Integer> again = new FutureTask<>(downloads::incrementAndGet);
+        waitUntilReleased("teams:list", again);
+        assertEquals(Integer.valueOf(2), again.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Test Newer View Cancels The Superseded Load")
+    void testRunLatest() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch never = new CountDownLatch(1);
+        FutureTask<String> tournament7 = blocking(started, never, "tournament 7");
+
+        // Act
+        scheduler.runLatest("leaderboard", tournament7);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        FutureTask<String> tournament8 = new FutureTask<>(() -> "tournament 8");
+        scheduler.runLatest("leaderboard", tournament8);
+
+        // Assert
+        assertTrue(tournament7.isCancelled(), "Superseded load is cancelled and interrupted");
+        assertEquals("tournament 8", tournament8.get(5, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.metrics().superseded());
+    }
+
+    @Test
+    @DisplayName("Test Same Request Is Not Restarted")
+    void testRunLatestSameRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FutureTask<String> first = blocking(started, release, "tournament 7");
+
+        assertTrue(scheduler.runLatest("leaderboard", "tournament=7", first));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertFalse(scheduler.runLatest("leaderboard", "tournament=7", new FutureTask<>(() -> "again")));
+        assertFalse(first.isCancelled());
+
+        FutureTask<String> overall = new FutureTask<>(() -> "overall");
+        assertTrue(scheduler.runLatest("leaderboard", "overall", overall));
+        assertTrue(first.isCancelled());
+        assertEquals("overall", overall.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Test Metrics Report Queue Depth And Latency")
+    void testMetrics() throws Exception {
+        // Arrange: two threads, both busy, so further work queues up
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        FutureTask<String> a = blocking(started, release, "a");
+        FutureTask<String> b = blocking(started, release, "b");
+        scheduler.run(a);
+        scheduler.run(b);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        FutureTask<String> c = new FutureTask<>(() -> "c");
+        scheduler.run(c);
+
+        // Act
+        UiTaskScheduler.Metrics busy = scheduler.metrics();
+        release.countDown();
+        c.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, busy.running());
+        assertEquals(1, busy.queued());
+        assertEquals(3, busy.submitted());
+        UiTaskScheduler.Metrics idle = waitForCompleted(3);
+        assertEquals(0, idle.queued());
+        assertTrue(idle.averageRunMillis() >= 0);
+        assertTrue(idle.maxWaitMillis() >= 0);
+    }
+
+    @Test
+    @DisplayName("Test Cancel By Key")
+    void testCancel() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        FutureTask<String> load = blocking(started, new CountDownLatch(1), "details");
+        scheduler.runOnce("matches:details", load);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(scheduler.cancel("matches:details"));
+        assertTrue(load.isCancelled());
+        assertFalse(scheduler.cancel("matches:details"));
+    }
+
+    private void waitUntilReleased(String key, FutureTask<?> task) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!scheduler.runOnce(key, task)) {
+            assertTrue(System.nanoTime() < deadline, "Key was never released");
+            Thread.sleep(5);
+        }
+    }
+
+    private UiTaskScheduler.Metrics waitForCompleted(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        UiTaskScheduler.Metrics metrics = scheduler.metrics();
+        while (metrics.completed() < count || metrics.running() > 0) {
+            assertTrue(System.nanoTime() < deadline, "Tasks did not finish");
+            Thread.sleep(5);
+            metrics = scheduler.metrics();
+        }
+        return metrics;
+    }
+}